@@ -0,0 +1,582 @@
+package org.deeplearning4j.datasets.csv;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reads a numeric csv file with a label column on several threads.
+ *
+ * The file is cut in to byte ranges (splits); a line belongs to the split it starts in.
+ * Opening the reader makes one light pass over the file that counts the rows and,
+ * unless a {@link LabelDictionary} is given, collects the labels.
+ * Reading then parses the splits in parallel in to {@link Block}s of rows which are
+ * handed out as soon as they are full, so only a few blocks are in memory at a time.
+ *
+ * With more than one thread blocks arrive in no particular order;
+ * the rows within a block are always in file order.
+ * Rows with a different number of columns than the first row are skipped.
+ *
+ * Fields may be quoted (with '"' unless set otherwise): separators within quotes don't split,
+ * and a doubled quote within a quoted label is a literal quote.
+ * Lines are found before fields, so a quoted field can't contain a line break;
+ * a line with an unterminated quote fails the read.
+ *
+ * @author Adam Gibson
+ */
+public class CSVRecordReader implements Closeable {
+
+    public final static Charset UTF_8 = Charset.forName("UTF-8");
+    public final static long DEFAULT_SPLIT_SIZE = 32 * 1024 * 1024;
+    private final static int BUFFER_SIZE = 1 << 20;
+    //roughly how many values a block holds
+    private final static int BLOCK_VALUES = 1 << 16;
+    private static Logger log = LoggerFactory.getLogger(CSVRecordReader.class);
+    //marks a finished split
+    private final static Object SPLIT_DONE = new Object();
+
+    private File file;
+    private int labelColumn;
+    private int skipLines;
+    private int threads;
+    private byte separator = ',';
+    private byte quote = '"';
+    private long splitSize = DEFAULT_SPLIT_SIZE;
+    private LabelDictionary labels;
+    private int numColumns;
+    private int numRows;
+    //split i is the lines starting in [splits[i],splits[i + 1])
+    private long[] splits;
+
+    private BlockingQueue<Object> queue;
+    private BlockingQueue<Block> free;
+    private Thread[] workers;
+    private volatile boolean stopped;
+    //the first failure of a pass over every split
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private int splitsDone;
+    //why reading failed, rethrown by take until stop
+    private Throwable failed;
+
+
+    /**
+     * @param file the file to read
+     * @param labelColumn the index (0 based) of the label column
+     * @param skipLines the number of lines to skip at the start of the file
+     * @param threads the number of threads to parse with
+     * @param labels the labels in outcome order, null to collect them from the file
+     */
+    public CSVRecordReader(File file,int labelColumn,int skipLines,int threads,LabelDictionary labels) {
+        if(threads < 1)
+            throw new IllegalArgumentException("Must have at least 1 thread");
+        this.file = file;
+        this.labelColumn = labelColumn;
+        this.skipLines = skipLines;
+        this.threads = threads;
+        this.labels = labels;
+    }
+
+
+    /**
+     * Finds the columns, splits the file and counts the rows,
+     * collecting the labels if none were given
+     * @throws IOException
+     */
+    public void open() throws IOException {
+        long dataStart;
+        long length = file.length();
+        try (RandomAccessFile raf = new RandomAccessFile(file,"r")) {
+            LineScanner scanner = new LineScanner(raf.getChannel(),0,Long.MAX_VALUE,true);
+            for(int i = 0; i < skipLines && scanner.nextLine(); i++);
+            dataStart = scanner.position();
+            numColumns = 0;
+            while(numColumns == 0 && scanner.nextLine())
+                if(scanner.lineEnd > scanner.lineStart)
+                    numColumns = countColumns(scanner.buffer,scanner.lineStart,scanner.lineEnd);
+        }
+        if(numColumns == 0)
+            throw new IOException(file + " has no rows");
+        if(labelColumn < 0 || labelColumn >= numColumns)
+            throw new IllegalArgumentException("Label column " + labelColumn + " is not one of the " + numColumns + " columns");
+
+        int numSplits = (int) Math.max(1,Math.min(Integer.MAX_VALUE - 1,(length - dataStart + splitSize - 1) / splitSize));
+        splits = new long[numSplits + 1];
+        for(int i = 0; i < numSplits; i++)
+            splits[i] = dataStart + i * splitSize;
+        splits[numSplits] = length;
+
+        final boolean collectLabels = labels == null;
+        final AtomicInteger rows = new AtomicInteger();
+        final Set<String> found = new HashSet<>();
+        run(new SplitTask() {
+            @Override
+            public void run(LineScanner scanner) throws IOException {
+                int count = 0;
+                Set<String> splitLabels = new HashSet<>();
+                int[] label = new int[2];
+                String last = null;
+                while(!stopped && scanner.nextLine()) {
+                    if(!isRow(scanner))
+                        continue;
+                    count++;
+                    if(collectLabels) {
+                        field(scanner.buffer,scanner.lineStart,scanner.lineEnd,labelColumn,label);
+                        //labels tend to repeat, only normalize when it changes
+                        if(last == null || !matches(last,scanner.buffer,label[0],label[1])) {
+                            last = new String(scanner.buffer,label[0],label[1] - label[0],UTF_8);
+                            splitLabels.add(LabelDictionary.normalize(scanner.buffer,label[0],label[1]));
+                        }
+                    }
+                }
+                rows.addAndGet(count);
+                if(collectLabels)
+                    synchronized (found) {
+                        found.addAll(splitLabels);
+                    }
+            }
+        });
+
+        if(collectLabels)
+            labels = LabelDictionary.fromLabels(found);
+        numRows = rows.get();
+        log.info("Found " + numRows + " rows with " + labels.size() + " labels in " + numSplits + " splits of " + file);
+    }
+
+
+    /**
+     * The next block of rows, starting to read if needed.
+     * Pass blocks to {@link #release(Block)} when done so they can be reused.
+     * Once reading failed every call throws until {@link #stop()}
+     * @return the next block or null when every row has been read
+     */
+    public Block take() {
+        if(failed != null)
+            throw new RuntimeException("Failed to read " + file,failed);
+        if(workers == null)
+            start();
+        while(true) {
+            if(splitsDone == splits.length - 1)
+                return null;
+            Object next;
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for rows",e);
+            }
+            if(next == SPLIT_DONE)
+                splitsDone++;
+            else if(next instanceof Failure) {
+                //stay failed: starting over would hand out the rows read so far again
+                stopWorkers();
+                failed = ((Failure) next).cause;
+                throw new RuntimeException("Failed to read " + file,failed);
+            }
+            else
+                return (Block) next;
+        }
+    }
+
+    /**
+     * Hands a block back for reuse
+     * @param block the block taken from {@link #take()}
+     */
+    public void release(Block block) {
+        block.rows = 0;
+        if(free != null)
+            free.offer(block);
+    }
+
+    /**
+     * Stops reading and clears a failure,
+     * the next {@link #take()} starts from the beginning of the file
+     */
+    public void stop() {
+        stopWorkers();
+        failed = null;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * The number of feature columns, every column but the label
+     * @return the number of features per row
+     */
+    public int numInputs() {
+        return numColumns - 1;
+    }
+
+    public int numRows() {
+        return numRows;
+    }
+
+    public LabelDictionary getLabels() {
+        return labels;
+    }
+
+    public int numSplits() {
+        return splits.length - 1;
+    }
+
+    /**
+     * The size of the byte ranges the file is cut in to, set before {@link #open()}
+     * @param splitSize the number of bytes per split
+     */
+    public void setSplitSize(long splitSize) {
+        if(splitSize < 1)
+            throw new IllegalArgumentException("Split size must be positive");
+        this.splitSize = splitSize;
+    }
+
+    public void setSeparator(char separator) {
+        this.separator = (byte) separator;
+    }
+
+    /**
+     * The character fields are quoted with, separators within quotes don't split fields
+     * @param quote the quote character, 0 to split on every separator
+     */
+    public void setQuote(char quote) {
+        this.quote = (byte) quote;
+    }
+
+
+    //waits for every worker to exit, an interrupt while waiting is restored once they have
+    private void stopWorkers() {
+        stopped = true;
+        if(workers != null) {
+            boolean interrupted = false;
+            for(Thread worker : workers) {
+                //make room so a worker blocked on a full queue can finish
+                while(worker.isAlive()) {
+                    queue.clear();
+                    try {
+                        worker.join(10);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            queue.clear();
+            if(interrupted)
+                Thread.currentThread().interrupt();
+        }
+        workers = null;
+    }
+
+    private void start() {
+        stopped = false;
+        splitsDone = 0;
+        queue = new ArrayBlockingQueue<>(threads * 2 + 1);
+        if(free == null)
+            free = new ArrayBlockingQueue<>(threads * 3 + 2);
+        final int numInputs = numInputs();
+        final int blockRows = Math.max(1,BLOCK_VALUES / Math.max(1,numInputs));
+        workers = start(new SplitTask() {
+            @Override
+            public void run(LineScanner scanner) throws IOException {
+                Block block = block(blockRows,numInputs);
+                while(!stopped && scanner.nextLine()) {
+                    if(!isRow(scanner))
+                        continue;
+                    parse(scanner.buffer,scanner.lineStart,scanner.lineEnd,block);
+                    if(block.rows == blockRows) {
+                        put(block);
+                        block = block(blockRows,numInputs);
+                    }
+                }
+                if(block.rows > 0)
+                    put(block);
+            }
+        },true);
+    }
+
+    private Block block(int rows,int numInputs) {
+        Block ret = free.poll();
+        return ret != null ? ret : new Block(rows,numInputs);
+    }
+
+    //parses a row in to the next row of the block
+    private void parse(byte[] buffer,int start,int end,Block block) {
+        int numInputs = numInputs();
+        int offset = block.rows * numInputs;
+        int column = 0;
+        for(int fieldStart = start; fieldStart <= end; column++) {
+            int i = nextSeparator(buffer,fieldStart,end);
+            if(column == labelColumn) {
+                int label = labels.indexOf(buffer,fieldStart,i);
+                if(label < 0)
+                    throw new IllegalStateException("Unknown label " + new String(buffer,fieldStart,i - fieldStart,UTF_8));
+                block.labels[block.rows] = label;
+            }
+            else
+                block.features[offset++] = NumberParser.parseDouble(buffer,fieldStart,i);
+            fieldStart = i + 1;
+        }
+        block.rows++;
+    }
+
+    private void put(Object o) {
+        try {
+            while(!queue.offer(o,10,TimeUnit.MILLISECONDS))
+                if(stopped)
+                    return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //runs the task over every split and waits for it to finish
+    private void run(SplitTask task) throws IOException {
+        stopped = false;
+        for(Thread thread : start(task,false)) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped = true;
+                throw new IOException("Interrupted while reading " + file);
+            }
+        }
+        Throwable t = error.getAndSet(null);
+        if(t instanceof IOException)
+            throw (IOException) t;
+        if(t != null)
+            throw new IOException("Failed to read " + file,t);
+    }
+
+    //one thread per requested thread, each claiming splits until there are none left
+    private Thread[] start(final SplitTask task,final boolean queued) {
+        final AtomicInteger nextSplit = new AtomicInteger();
+        Thread[] ret = new Thread[Math.min(threads,splits.length - 1)];
+        for(int i = 0; i < ret.length; i++) {
+            ret[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try (RandomAccessFile raf = new RandomAccessFile(file,"r")) {
+                        int split;
+                        while(!stopped && (split = nextSplit.getAndIncrement()) < splits.length - 1) {
+                            task.run(new LineScanner(raf.getChannel(),splits[split],splits[split + 1],split == 0));
+                            if(queued)
+                                put(SPLIT_DONE);
+                        }
+                    } catch (Throwable t) {
+                        log.error("Failed to read " + file,t);
+                        if(queued)
+                            put(new Failure(t));
+                        else {
+                            error.compareAndSet(null,t);
+                            stopped = true;
+                        }
+                    }
+                }
+            },"csv-reader-" + i);
+            ret[i].setDaemon(true);
+            ret[i].start();
+        }
+        return ret;
+    }
+
+    private boolean isRow(LineScanner scanner) {
+        return scanner.lineEnd > scanner.lineStart
+                && countColumns(scanner.buffer,scanner.lineStart,scanner.lineEnd) == numColumns;
+    }
+
+    private int countColumns(byte[] buffer,int start,int end) {
+        int ret = 0;
+        for(int fieldStart = start; fieldStart <= end; ret++)
+            fieldStart = nextSeparator(buffer,fieldStart,end) + 1;
+        return ret;
+    }
+
+    //sets the start and end of the given column
+    private void field(byte[] buffer,int start,int end,int column,int[] field) {
+        int current = 0;
+        for(int fieldStart = start; fieldStart <= end; current++) {
+            int i = nextSeparator(buffer,fieldStart,end);
+            if(current == column) {
+                field[0] = fieldStart;
+                field[1] = i;
+                return;
+            }
+            fieldStart = i + 1;
+        }
+        field[0] = end;
+        field[1] = end;
+    }
+
+    //the index of the first separator outside quotes from start, end if there is none
+    private int nextSeparator(byte[] buffer,int start,int end) {
+        boolean quoted = false;
+        for(int i = start; i < end; i++) {
+            //a doubled quote toggles twice and stays quoted
+            if(buffer[i] == quote && quote != 0)
+                quoted = !quoted;
+            else if(buffer[i] == separator && !quoted)
+                return i;
+        }
+        if(quoted)
+            throw new IllegalStateException("Unterminated quote in " + new String(buffer,start,end - start,UTF_8) + ", quoted fields can't contain line breaks");
+        return end;
+    }
+
+    private static boolean matches(String s,byte[] buffer,int start,int end) {
+        if(s.length() != end - start)
+            return false;
+        for(int i = 0; i < s.length(); i++)
+            if(s.charAt(i) != buffer[start + i])
+                return false;
+        return true;
+    }
+
+
+    /**
+     * Rows of a csv file: the features row major and the outcome index of each row
+     */
+    public static class Block {
+        private double[] features;
+        private int[] labels;
+        private int rows;
+
+        private Block(int capacity,int numInputs) {
+            features = new double[capacity * numInputs];
+            labels = new int[capacity];
+        }
+
+        /**
+         * The features of the block's rows, row major
+         * @return the features, only the first rows() rows are set
+         */
+        public double[] getFeatures() {
+            return features;
+        }
+
+        /**
+         * The outcome index of each of the block's rows
+         * @return the outcomes, only the first rows() are set
+         */
+        public int[] getLabels() {
+            return labels;
+        }
+
+        public int rows() {
+            return rows;
+        }
+    }
+
+    private interface SplitTask {
+        void run(LineScanner scanner) throws IOException;
+    }
+
+    private static class Failure {
+        private Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * Reads the lines starting in a byte range with positional reads,
+     * so several scanners can share a channel
+     */
+    private static class LineScanner {
+        private FileChannel channel;
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        //the file position of buffer[0]
+        private long bufferStart;
+        private int length,position;
+        private long end;
+        private boolean eof = false;
+        //the current line, excluding the line break
+        private int lineStart,lineEnd;
+
+        /**
+         * @param channel the file
+         * @param start the first byte of the range
+         * @param end the end of the range
+         * @param lineStart whether start is known to be the start of a line
+         */
+        private LineScanner(FileChannel channel,long start,long end,boolean lineStart) throws IOException {
+            this.channel = channel;
+            this.end = end;
+            if(!lineStart) {
+                //the line start falls in belongs to the previous split
+                bufferStart = start - 1;
+                nextLine();
+            }
+            else
+                bufferStart = start;
+        }
+
+        //the file position of the next line
+        private long position() {
+            return bufferStart + position;
+        }
+
+        private boolean nextLine() throws IOException {
+            if(position() >= end)
+                return false;
+            int searched = position;
+            while(true) {
+                for(int i = searched; i < length; i++) {
+                    if(buffer[i] == '\n') {
+                        setLine(position,i);
+                        position = i + 1;
+                        return true;
+                    }
+                }
+                if(eof) {
+                    if(position == length)
+                        return false;
+                    setLine(position,length);
+                    position = length;
+                    return true;
+                }
+                searched = length - position;
+                fill();
+            }
+        }
+
+        private void setLine(int start,int end) {
+            lineStart = start;
+            lineEnd = end > start && buffer[end - 1] == '\r' ? end - 1 : end;
+        }
+
+        //keeps the unread part of the buffer and reads more after it
+        private void fill() throws IOException {
+            System.arraycopy(buffer,position,buffer,0,length - position);
+            bufferStart += position;
+            length -= position;
+            position = 0;
+            if(length == buffer.length) {
+                byte[] bigger = new byte[buffer.length * 2];
+                System.arraycopy(buffer,0,bigger,0,length);
+                buffer = bigger;
+            }
+            int read = channel.read(ByteBuffer.wrap(buffer,length,buffer.length - length),bufferStart + length);
+            if(read < 0)
+                eof = true;
+            else
+                length += read;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+package org.deeplearning4j.datasets.csv;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps the values of a label column to outcome indices.
+ *
+ * Numeric labels are truncated to integers, so "1", "1.0" and "1.5" are all the label "1".
+ * Small non negative integer labels are looked up without creating a string.
+ *
+ * @author Adam Gibson
+ */
+public class LabelDictionary implements Serializable {
+
+    private static final long serialVersionUID = 6114208795391312405L;
+    //integer labels below this are looked up in an array
+    private final static int MAX_DIRECT = 1 << 16;
+
+    private List<String> labels;
+    private Map<String,Integer> indices = new HashMap<>();
+    private int[] direct;
+
+
+    /**
+     * Uses the given labels in the given order: the first label is outcome 0
+     * @param labels the labels
+     */
+    public LabelDictionary(List<String> labels) {
+        this.labels = new ArrayList<>(labels.size());
+        int maxDirect = -1;
+        for(String label : labels) {
+            String key = normalize(label);
+            if(indices.containsKey(key))
+                throw new IllegalArgumentException("Duplicate label " + label);
+            indices.put(key,this.labels.size());
+            this.labels.add(key);
+            int value = directValue(key);
+            maxDirect = Math.max(maxDirect,value);
+        }
+
+        direct = new int[maxDirect + 1];
+        for(int i = 0; i < direct.length; i++)
+            direct[i] = -1;
+        for(int i = 0; i < this.labels.size(); i++) {
+            int value = directValue(this.labels.get(i));
+            if(value >= 0)
+                direct[value] = i;
+        }
+    }
+
+    /**
+     * Orders the given labels: numerically if they are all numbers,
+     * lexicographically otherwise. Numeric labels 0 to n - 1 map to themselves.
+     * @param labels the distinct labels found in the data
+     * @return the dictionary
+     */
+    public static LabelDictionary fromLabels(Collection<String> labels) {
+        Set<String> normalized = new HashSet<>();
+        for(String label : labels)
+            normalized.add(normalize(label));
+        List<String> sorted = new ArrayList<>(normalized);
+        boolean numeric = true;
+        for(String label : sorted) {
+            byte[] bytes = label.getBytes(CSVRecordReader.UTF_8);
+            if(!NumberParser.isNumber(bytes,0,bytes.length)) {
+                numeric = false;
+                break;
+            }
+        }
+
+        if(numeric)
+            Collections.sort(sorted,new Comparator<String>() {
+                @Override
+                public int compare(String o1, String o2) {
+                    return Long.compare(Long.parseLong(o1),Long.parseLong(o2));
+                }
+            });
+        else
+            Collections.sort(sorted);
+        return new LabelDictionary(sorted);
+    }
+
+
+    /**
+     * The label in bytes from start to end as it is stored in the dictionary
+     * @param bytes the bytes of the label
+     * @param start the first byte
+     * @param end the end of the label
+     * @return the normalized label
+     */
+    public static String normalize(byte[] bytes,int start,int end) {
+        while(start < end && NumberParser.isPadding(bytes[start]))
+            start++;
+        while(end > start && NumberParser.isPadding(bytes[end - 1]))
+            end--;
+        if(NumberParser.isNumber(bytes,start,end))
+            return String.valueOf((long) NumberParser.parseDouble(bytes,start,end));
+        //a doubled quote within a quoted label is a literal quote
+        return new String(bytes,start,end - start,CSVRecordReader.UTF_8).replace("\"\"","\"");
+    }
+
+    /**
+     * The label as it is stored in the dictionary
+     * @param label the label
+     * @return the normalized label
+     */
+    public static String normalize(String label) {
+        byte[] bytes = label.getBytes(CSVRecordReader.UTF_8);
+        return normalize(bytes,0,bytes.length);
+    }
+
+    /**
+     * The outcome index of the label in bytes from start to end
+     * @param bytes the bytes of the label
+     * @param start the first byte
+     * @param end the end of the label
+     * @return the outcome index or -1 if the label is unknown
+     */
+    public int indexOf(byte[] bytes,int start,int end) {
+        //common case: a small integer label
+        int value = 0;
+        int i = start;
+        while(i < end && NumberParser.isPadding(bytes[i]))
+            i++;
+        int first = i;
+        for(; i < end && bytes[i] >= '0' && bytes[i] <= '9' && value < MAX_DIRECT; i++)
+            value = value * 10 + (bytes[i] - '0');
+        int last = i;
+        while(i < end && NumberParser.isPadding(bytes[i]))
+            i++;
+        if(i == end && last > first && value < MAX_DIRECT)
+            return value < direct.length ? direct[value] : -1;
+
+        Integer ret = indices.get(normalize(bytes,start,end));
+        return ret == null ? -1 : ret;
+    }
+
+    /**
+     * The outcome index of a label
+     * @param label the label
+     * @return the outcome index or -1 if the label is unknown
+     */
+    public int indexOf(String label) {
+        Integer ret = indices.get(normalize(label));
+        return ret == null ? -1 : ret;
+    }
+
+    public int size() {
+        return labels.size();
+    }
+
+    /**
+     * The labels in outcome order
+     * @return the labels
+     */
+    public List<String> getLabels() {
+        return Collections.unmodifiableList(labels);
+    }
+
+
+    //the value of a label that is looked up in the array, -1 for other labels
+    private static int directValue(String label) {
+        if(label.isEmpty() || label.length() > 5)
+            return -1;
+        for(int i = 0; i < label.length(); i++)
+            if(label.charAt(i) < '0' || label.charAt(i) > '9')
+                return -1;
+        int value = Integer.parseInt(label);
+        return value < MAX_DIRECT ? value : -1;
+    }
+
+}
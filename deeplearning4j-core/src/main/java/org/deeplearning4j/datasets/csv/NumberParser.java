@@ -0,0 +1,180 @@
+package org.deeplearning4j.datasets.csv;
+
+/**
+ * Parses decimal numbers straight out of a byte array without creating strings.
+ *
+ * Numbers with at most 15 significant digits and a small exponent are parsed exactly,
+ * anything else is within a couple of ulps of {@link Double#parseDouble(String)}.
+ * Values that are not plain decimals (NaN, Infinity, hex..) fall back to {@link Double#parseDouble(String)}.
+ *
+ * @author Adam Gibson
+ */
+public class NumberParser {
+
+    //the largest mantissa that is exactly representable as a double
+    private final static long MAX_EXACT = 1L << 53;
+    private final static double[] POWERS = new double[23];
+    static {
+        POWERS[0] = 1;
+        for(int i = 1; i < POWERS.length; i++)
+            POWERS[i] = POWERS[i - 1] * 10;
+    }
+
+    private NumberParser() {}
+
+
+    /**
+     * Parses the number in bytes from start (inclusive) to end (exclusive),
+     * ignoring surrounding whitespace and quotes
+     * @param bytes the bytes to parse
+     * @param start the first byte
+     * @param end the end of the number
+     * @return the parsed number
+     * @throws NumberFormatException if the bytes aren't a number
+     */
+    public static double parseDouble(byte[] bytes,int start,int end) {
+        while(start < end && isPadding(bytes[start]))
+            start++;
+        while(end > start && isPadding(bytes[end - 1]))
+            end--;
+        if(start == end)
+            throw new NumberFormatException("Empty number");
+
+        int i = start;
+        boolean negative = false;
+        if(bytes[i] == '-' || bytes[i] == '+') {
+            negative = bytes[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        //powers of ten to apply to the mantissa
+        int exponent = 0;
+        int digits = 0;
+        boolean sawDigit = false;
+        for(; i < end && isDigit(bytes[i]); i++) {
+            sawDigit = true;
+            if(mantissa == 0 && bytes[i] == '0')
+                continue;
+            if(digits < 18) {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                digits++;
+            }
+            else
+                exponent++;
+        }
+        if(i < end && bytes[i] == '.') {
+            i++;
+            for(; i < end && isDigit(bytes[i]); i++) {
+                sawDigit = true;
+                if(mantissa == 0 && bytes[i] == '0') {
+                    exponent--;
+                    continue;
+                }
+                if(digits < 18) {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    digits++;
+                    exponent--;
+                }
+            }
+        }
+        if(!sawDigit)
+            return fallback(bytes,start,end);
+
+        if(i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if(i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            if(i == end)
+                return fallback(bytes,start,end);
+            int e = 0;
+            for(; i < end && isDigit(bytes[i]); i++)
+                if(e < 10000)
+                    e = e * 10 + (bytes[i] - '0');
+            exponent += negativeExponent ? -e : e;
+        }
+        if(i != end)
+            return fallback(bytes,start,end);
+
+        double ret;
+        if(mantissa == 0)
+            ret = 0;
+        else if(mantissa < MAX_EXACT && exponent >= -22 && exponent <= 22)
+            ret = exponent < 0 ? mantissa / POWERS[-exponent] : mantissa * POWERS[exponent];
+        else
+            ret = scale(mantissa,exponent);
+        return negative ? -ret : ret;
+    }
+
+    /**
+     * Whether the bytes are a plain decimal number
+     * @param bytes the bytes to check
+     * @param start the first byte
+     * @param end the end of the number
+     * @return whether {@link #parseDouble(byte[], int, int)} will parse the bytes without falling back
+     */
+    public static boolean isNumber(byte[] bytes,int start,int end) {
+        while(start < end && isPadding(bytes[start]))
+            start++;
+        while(end > start && isPadding(bytes[end - 1]))
+            end--;
+        int i = start;
+        if(i < end && (bytes[i] == '-' || bytes[i] == '+'))
+            i++;
+        boolean sawDigit = false;
+        for(; i < end && isDigit(bytes[i]); i++)
+            sawDigit = true;
+        if(i < end && bytes[i] == '.')
+            for(i++; i < end && isDigit(bytes[i]); i++)
+                sawDigit = true;
+        if(!sawDigit)
+            return false;
+        if(i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            if(i < end && (bytes[i] == '-' || bytes[i] == '+'))
+                i++;
+            if(i == end || !isDigit(bytes[i]))
+                return false;
+            for(; i < end && isDigit(bytes[i]); i++);
+        }
+        return i == end;
+    }
+
+
+    //mantissa * 10^exponent for exponents outside the exact range, one or two roundings
+    private static double scale(long mantissa,int exponent) {
+        if(exponent > 308)
+            return Double.POSITIVE_INFINITY;
+        if(exponent < -343)
+            return 0;
+        double ret = mantissa;
+        while(exponent > 22) {
+            ret *= POWERS[22];
+            exponent -= 22;
+        }
+        while(exponent < -22) {
+            //stay clear of denormals until the last step
+            if(ret < 1e-280)
+                return ret / Math.pow(10,-exponent);
+            ret /= POWERS[22];
+            exponent += 22;
+        }
+        return exponent < 0 ? ret / POWERS[-exponent] : ret * POWERS[exponent];
+    }
+
+    private static double fallback(byte[] bytes,int start,int end) {
+        return Double.parseDouble(new String(bytes,start,end - start,CSVRecordReader.UTF_8));
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    static boolean isPadding(byte b) {
+        return b == ' ' || b == '\t' || b == '"';
+    }
+
+}
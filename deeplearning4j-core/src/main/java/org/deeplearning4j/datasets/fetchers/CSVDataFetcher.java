@@ -1,31 +1,34 @@
 package org.deeplearning4j.datasets.fetchers;
 
-import au.com.bytecode.opencsv.CSV;
-import au.com.bytecode.opencsv.CSVReadProc;
-import org.deeplearning4j.berkeley.Pair;
+import org.apache.commons.io.IOUtils;
 import org.deeplearning4j.datasets.DataSet;
-import org.deeplearning4j.util.MatrixUtil;
+import org.deeplearning4j.datasets.csv.CSVRecordReader;
+import org.deeplearning4j.datasets.csv.LabelDictionary;
 import org.jblas.DoubleMatrix;
 import java.io.*;
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * CSV record based data fetcher
+ * CSV record based data fetcher.
+ *
+ * Rows are parsed on several threads by a {@link CSVRecordReader} and copied in to
+ * each batch as they arrive, so the file is never held in memory.
+ * Labels are one hot encoded; numeric labels are truncated to integers and
+ * ordered numerically so labels 0 to n - 1 are outcomes 0 to n - 1.
  *
  * @author Adam Gibson
  */
 public class CSVDataFetcher extends BaseDataFetcher {
 
-    private  CSV csv;    // new instance is immutable
-
-
-    private InputStream is;
+    private File file;
     private int labelColumn;
-    private DataSet all;
+    private int skipLines;
+    private int threads;
+    private LabelDictionary labels;
+    private transient CSVRecordReader reader;
+    //the block being copied from and the next row of it
+    private transient CSVRecordReader.Block block;
+    private int blockRow;
 
 
     /**
@@ -35,14 +38,7 @@ public class CSVDataFetcher extends BaseDataFetcher {
      * @param labelColumn the index of the column (0 based)
      */
     public CSVDataFetcher(InputStream is,int labelColumn) {
-        this.is = is;
-        this.labelColumn = labelColumn;
-        csv = CSV.skipLines(0)
-                .separator(',')  // delimiter of fields
-                .quote('"')      // quote character
-                .create();       // new instance is immutable
-
-        init();
+        this(is,labelColumn,0);
     }
 
 
@@ -54,24 +50,27 @@ public class CSVDataFetcher extends BaseDataFetcher {
      * @throws IOException
      */
     public CSVDataFetcher(File f,int labelColumn) throws IOException {
-        this(new BufferedInputStream(new FileInputStream(f)),labelColumn,0);
+        this(f,labelColumn,0);
     }
 
     /**
-     * Constructs a csv data fetcher with the specified number of lines to skip
+     * Constructs a csv data fetcher with the specified number of lines to skip.
+     * The stream is copied to a temporary file so it can be split
      * @param is the input stream to read from
      * @param labelColumn the index of the column (0 based)
      * @param skipLines the number of lines to skip
      */
     public CSVDataFetcher(InputStream is,int labelColumn,int skipLines) {
-        this.is = is;
-        this.labelColumn = labelColumn;
-        csv = CSV.skipLines(skipLines)
-                .separator(',')  // delimiter of fields
-                .noQuote()     // quote character
-                .create();       // new instance is immutable
-
-        init();
+        try {
+            File f = File.createTempFile("csv-data-fetcher",".csv");
+            f.deleteOnExit();
+            try (OutputStream os = new BufferedOutputStream(new FileOutputStream(f))) {
+                IOUtils.copy(is,os);
+            }
+            init(f,labelColumn,skipLines,Runtime.getRuntime().availableProcessors(),null);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -82,63 +81,34 @@ public class CSVDataFetcher extends BaseDataFetcher {
      * @throws IOException
      */
     public CSVDataFetcher(File f,int labelColumn,int skipLines) throws IOException {
-        this(new BufferedInputStream(new FileInputStream(f)),labelColumn,skipLines);
+        this(f,labelColumn,skipLines,Runtime.getRuntime().availableProcessors(),null);
     }
 
-
-    private void init() {
-        final Set<Integer> labels = new HashSet<>();
-        final List<Integer> rowLabels = new ArrayList<>();
-        final List<DoubleMatrix> features = new ArrayList<>();
-        final AtomicInteger i1 = new AtomicInteger(-1);
-        csv.read(is,new CSVReadProc() {
-            @Override
-            public void procRow(int rowIndex, String... values) {
-                if(values.length < 1)
-                    return;
-                if(i1.get() < 1) {
-                    i1.set(values.length - 1);
-                    CSVDataFetcher.this.inputColumns = values.length - 1;
-
-                }
-                else if(values.length  - 1 != i1.get())
-                    return;
-                Pair<DoubleMatrix,Integer> row = processRow(values);
-                rowLabels.add(row.getSecond());
-                labels.add(row.getSecond());
-                features.add(row.getFirst());
-            }
-        });
-
-        List<DataSet> l = new ArrayList<>();
-        for(int i = 0; i < rowLabels.size(); i++) {
-            l.add(new DataSet(features.get(i),MatrixUtil.toOutcomeVector(rowLabels.get(i),labels.size())));
-        }
-
-        this.numOutcomes = labels.size();
-        this.totalExamples = l.size();
-        
-        all = DataSet.merge(l);
+    /**
+     * Constructs a csv data fetcher parsing on the given number of threads
+     * @param f the file to read from
+     * @param labelColumn the index of the column (0 based)
+     * @param skipLines the number of lines to skip
+     * @param threads the number of threads to parse with
+     * @param labels the labels in outcome order, null to collect them from the file
+     * @throws IOException
+     */
+    public CSVDataFetcher(File f,int labelColumn,int skipLines,int threads,List<String> labels) throws IOException {
+        init(f,labelColumn,skipLines,threads,labels == null ? null : new LabelDictionary(labels));
     }
 
 
-    private Pair<DoubleMatrix,Integer> processRow(String[] data) {
-
-        String label = data[labelColumn].replaceAll(".\".","");
-        double labelDouble = Double.parseDouble(label);
-        int labelVal = (int) labelDouble;
-        
-        double[] d = new double[data.length - 1];
-        int index = 0;
-        for(int i = 0; i < data.length; i++){
-            if(i != labelColumn){
-                d[index] = Double.parseDouble(data[i]);
-                index ++;
-            }
-        }
-        
-        DoubleMatrix d1 = new DoubleMatrix(d).reshape(1,d.length);
-        return new Pair<>(d1, labelVal);
+    private void init(File f,int labelColumn,int skipLines,int threads,LabelDictionary labels) throws IOException {
+        this.file = f;
+        this.labelColumn = labelColumn;
+        this.skipLines = skipLines;
+        this.threads = threads;
+        reader = new CSVRecordReader(f,labelColumn,skipLines,threads,labels);
+        reader.open();
+        this.labels = reader.getLabels();
+        this.inputColumns = reader.numInputs();
+        this.numOutcomes = this.labels.size();
+        this.totalExamples = reader.numRows();
     }
 
     /**
@@ -150,10 +120,59 @@ public class CSVDataFetcher extends BaseDataFetcher {
      */
     @Override
     public void fetch(int numExamples) {
-        int end = cursor + numExamples;
-        if(end >= all.numExamples())
-            end = all.numExamples();
-        initializeCurrFromList(all.asList().subList(cursor,end));
-        cursor += numExamples;
+        int rows = Math.min(numExamples,totalExamples - cursor);
+        if(rows <= 0)
+            throw new IllegalStateException("Unable to fetch more; there are no more rows");
+
+        DoubleMatrix in = createInputMatrix(rows);
+        DoubleMatrix out = createOutputMatrix(rows);
+        int row = 0;
+        while(row < rows) {
+            if(block == null || blockRow == block.rows()) {
+                if(block != null)
+                    reader().release(block);
+                block = reader().take();
+                blockRow = 0;
+                if(block == null)
+                    throw new IllegalStateException(file + " has fewer rows than the " + totalExamples + " counted, has it changed?");
+            }
+
+            int count = Math.min(rows - row,block.rows() - blockRow);
+            double[] features = block.getFeatures();
+            int[] outcomes = block.getLabels();
+            for(int i = 0; i < count; i++) {
+                int src = (blockRow + i) * inputColumns;
+                for(int j = 0; j < inputColumns; j++)
+                    in.data[row + i + j * rows] = features[src + j];
+                out.data[row + i + outcomes[blockRow + i] * rows] = 1;
+            }
+            row += count;
+            blockRow += count;
+        }
+
+        cursor += rows;
+        curr = new DataSet(in,out);
+        curr.setLabelNames(labels.getLabels());
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        block = null;
+        reader().stop();
+    }
+
+
+    //the reader is not serialized, it is reopened with the labels found the first time
+    private CSVRecordReader reader() {
+        if(reader == null) {
+            reader = new CSVRecordReader(file,labelColumn,skipLines,threads,labels);
+            try {
+                reader.open();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return reader;
     }
 }
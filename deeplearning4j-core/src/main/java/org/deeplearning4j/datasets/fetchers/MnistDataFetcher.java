@@ -2,21 +2,19 @@ package org.deeplearning4j.datasets.fetchers;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Random;
 
-import org.apache.commons.math3.stat.descriptive.moment.StandardDeviation;
 import org.deeplearning4j.base.MnistFetcher;
 import org.deeplearning4j.datasets.DataSet;
-import org.deeplearning4j.datasets.mnist.MnistManager;
-import org.deeplearning4j.util.ArrayUtil;
-import org.deeplearning4j.util.MatrixUtil;
+import org.deeplearning4j.datasets.mnist.IdxFile;
 import org.jblas.DoubleMatrix;
-import org.jblas.MatrixFunctions;
 
 
 /**
- * Data fetcher for the MNIST dataset
+ * Data fetcher for the MNIST dataset.
+ *
+ * The image and label files are memory mapped with {@link IdxFile};
+ * each batch is decoded straight in to its feature matrix.
  * @author Adam Gibson
  *
  */
@@ -26,11 +24,17 @@ public class MnistDataFetcher extends BaseDataFetcher {
      *
      */
     private static final long serialVersionUID = -3218754671561789818L;
-    private transient MnistManager man;
     public final static int NUM_EXAMPLES = 60000;
+    //pixels above this are on when binarizing
+    public final static int BINARIZE_THRESHOLD = 30;
     private String tempRoot = System.getProperty("user.home");
     private String rootMnist = tempRoot + File.separator + "MNIST" + File.separator;
     private boolean binarize = true;
+    private File imagesFile,labelsFile;
+    private transient IdxFile images,labels;
+    private boolean shuffle = false;
+    private Random random;
+    private int[] order;
 
 
     /**
@@ -39,99 +43,95 @@ public class MnistDataFetcher extends BaseDataFetcher {
      * @throws IOException
      */
     public MnistDataFetcher(boolean binarize) throws IOException {
+        this(binarize,false,0);
+    }
+
+    /**
+     * @param binarize whether to binarize the dataset or not
+     * @param shuffle whether to visit the examples in a random order, changed on every {@link #reset()}
+     * @param seed the seed for the order
+     * @throws IOException
+     */
+    public MnistDataFetcher(boolean binarize,boolean shuffle,long seed) throws IOException {
         if(!new File(rootMnist).exists())
             new MnistFetcher().downloadAndUntar();
-        man = new MnistManager(rootMnist+ MnistFetcher.trainingFilesFilename_unzipped,rootMnist + MnistFetcher.trainingFileLabelsFilename_unzipped);
-        numOutcomes = 10;
-        this.binarize = binarize;
-        totalExamples = NUM_EXAMPLES;
-        //1 based cursor
-        cursor = 1;
-        man.setCurrent(cursor);
-        int[][] image;
-        try {
-            image = man.readImage();
-        } catch (IOException e) {
-            throw new IllegalStateException("Unable to read image");
-        }
-        inputColumns = ArrayUtil.flatten(image).length;
-
+        init(new File(rootMnist + MnistFetcher.trainingFilesFilename_unzipped),new File(rootMnist + MnistFetcher.trainingFileLabelsFilename_unzipped),binarize,shuffle,seed);
+    }
 
+    /**
+     * Reads the given idx files rather than the downloaded training set
+     * @param imagesFile the images
+     * @param labelsFile the labels, one per image
+     * @param binarize whether to binarize the dataset or not
+     * @param shuffle whether to visit the examples in a random order, changed on every {@link #reset()}
+     * @param seed the seed for the order
+     * @throws IOException
+     */
+    public MnistDataFetcher(File imagesFile,File labelsFile,boolean binarize,boolean shuffle,long seed) throws IOException {
+        init(imagesFile,labelsFile,binarize,shuffle,seed);
     }
 
     public MnistDataFetcher() throws IOException {
         this(true);
     }
 
+    private void init(File imagesFile,File labelsFile,boolean binarize,boolean shuffle,long seed) throws IOException {
+        this.imagesFile = imagesFile;
+        this.labelsFile = labelsFile;
+        this.binarize = binarize;
+        this.shuffle = shuffle;
+        images = IdxFile.open(imagesFile);
+        labels = IdxFile.open(labelsFile);
+        if(images.numEntries() != labels.numEntries())
+            throw new IllegalStateException("Found " + images.numEntries() + " images but " + labels.numEntries() + " labels");
+        numOutcomes = 10;
+        totalExamples = images.numEntries();
+        inputColumns = images.entryLength();
+        if(shuffle) {
+            random = new Random(seed);
+            order = new int[totalExamples];
+            for(int i = 0; i < order.length; i++)
+                order[i] = i;
+            shuffleOrder();
+        }
+    }
+
     @Override
     public void fetch(int numExamples) {
         if(!hasMore())
             throw new IllegalStateException("Unable to getFromOrigin more; there are no more images");
 
-
-
         //we need to ensure that we don't overshoot the number of examples total
-        List<DataSet> toConvert = new ArrayList<>();
-
-        for(int i = 0; i < numExamples; i++,cursor++) {
-            if(!hasMore())
-                break;
-            if(man == null) {
-                try {
-                    man = new MnistManager(rootMnist + MnistFetcher.trainingFilesFilename_unzipped,rootMnist + MnistFetcher.trainingFileLabelsFilename_unzipped);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-            man.setCurrent(cursor);
-            //note data normalization
-            try {
-                DoubleMatrix in = MatrixUtil.toMatrix(ArrayUtil.flatten(man.readImage()));
-                if(binarize)
-                    for(int d = 0; d < in.length; d++) {
-                        if(binarize) {
-                            if(in.get(d) > 30) {
-                                in.put(d,1);
-                            }
-                            else
-                                in.put(d,0);
-
-                        }
-
-
-                    }
-                 else
-                      in.divi(255);
-
-
-                DoubleMatrix out = createOutputVector(man.readLabel());
-                boolean found = false;
-                for(int col = 0; col < out.length; col++) {
-                    if(out.get(col) > 0) {
-                        found = true;
-                        break;
-                    }
-                }
-                if(!found)
-                    throw new IllegalStateException("Found a matrix without an outcome");
-
-                toConvert.add(new DataSet(in,out));
-            } catch (IOException e) {
-                throw new IllegalStateException("Unable to read image");
-
-            }
+        int end = Math.min(cursor + numExamples,totalExamples);
+        int rows = end - cursor;
+        if(images == null)
+            open();
+
+        //note data normalization
+        DoubleMatrix in = createInputMatrix(rows);
+        double threshold = binarize ? BINARIZE_THRESHOLD : IdxFile.NO_THRESHOLD;
+        if(shuffle)
+            images.read(order,cursor,end,in,0,1 / 255.0,threshold);
+        else
+            images.read(cursor,end,in,0,1 / 255.0,threshold);
+
+        DoubleMatrix out = createOutputMatrix(rows);
+        for(int i = 0; i < rows; i++) {
+            int label = labels.getInt(shuffle ? order[cursor + i] : cursor + i);
+            if(label < 0 || label >= numOutcomes)
+                throw new IllegalStateException("Found a matrix without an outcome");
+            out.data[i + label * rows] = 1;
         }
 
-
-        initializeCurrFromList(toConvert);
-
-
-
+        cursor = end;
+        curr = new DataSet(in,out);
     }
 
     @Override
     public void reset() {
-        cursor = 1;
+        cursor = 0;
+        if(shuffle)
+            shuffleOrder();
     }
 
     @Override
@@ -141,6 +141,24 @@ public class MnistDataFetcher extends BaseDataFetcher {
     }
 
 
+    //the mappings are not serialized, they are reopened on first use
+    private void open() {
+        try {
+            images = IdxFile.open(imagesFile);
+            labels = IdxFile.open(labelsFile);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void shuffleOrder() {
+        for(int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+    }
 
 
 
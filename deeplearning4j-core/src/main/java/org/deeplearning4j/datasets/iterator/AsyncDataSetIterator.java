@@ -0,0 +1,244 @@
+package org.deeplearning4j.datasets.iterator;
+
+import org.deeplearning4j.datasets.DataSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Prefetches batches of another iterator on a background thread
+ * so loading and parsing data overlaps with training on the previous batch.
+ *
+ * Batches are handed over through a bounded queue: at most queueSize batches
+ * are loaded ahead of the consumer. An exception thrown by the underlying iterator
+ * is rethrown by the next call to {@link #hasNext()} or {@link #next()}.
+ * {@link #reset()} stops the background thread before resetting the underlying iterator.
+ *
+ * The underlying iterator is only ever used by one thread at a time, so it does not need
+ * to be thread safe. Prefetched batches are always of the underlying iterator's batch size.
+ *
+ * @author Adam Gibson
+ */
+public class AsyncDataSetIterator implements DataSetIterator {
+
+    private static final long serialVersionUID = -3325924476539373214L;
+    public final static int DEFAULT_QUEUE_SIZE = 2;
+    private static Logger log = LoggerFactory.getLogger(AsyncDataSetIterator.class);
+    //marks the end of the underlying iterator
+    private final static Object END = new Object();
+
+    private DataSetIterator iter;
+    private int queueSize;
+    private transient BlockingQueue<Object> queue;
+    private transient Producer producer;
+    private transient Thread thread;
+    //the next item taken from the queue but not yet returned
+    private transient Object next;
+    private int cursor = 0;
+
+
+    /**
+     * @param iter the iterator to prefetch from
+     */
+    public AsyncDataSetIterator(DataSetIterator iter) {
+        this(iter,DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * @param iter the iterator to prefetch from
+     * @param queueSize the maximum number of batches loaded ahead
+     */
+    public AsyncDataSetIterator(DataSetIterator iter,int queueSize) {
+        if(queueSize < 1)
+            throw new IllegalArgumentException("Queue size must be at least 1");
+        this.iter = iter;
+        this.queueSize = queueSize;
+    }
+
+
+    @Override
+    public synchronized boolean hasNext() {
+        if(next == null) {
+            start();
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the next batch",e);
+            }
+        }
+
+        if(next instanceof Failure) {
+            Throwable cause = ((Failure) next).cause;
+            next = null;
+            shutdown();
+            throw new RuntimeException("Failed to load the next batch",cause);
+        }
+
+        return next != END;
+    }
+
+    @Override
+    public synchronized DataSet next() {
+        if(!hasNext())
+            throw new NoSuchElementException();
+        DataSet ret = (DataSet) next;
+        next = null;
+        cursor += ret.numExamples();
+        return ret;
+    }
+
+    /**
+     * Only the batch size of the underlying iterator is prefetched
+     * @param num the number of examples, must be {@link #batch()}
+     * @return the next batch
+     */
+    @Override
+    public DataSet next(int num) {
+        if(num != iter.batch())
+            throw new UnsupportedOperationException("Only batches of " + iter.batch() + " examples are prefetched");
+        return next();
+    }
+
+    /**
+     * Stops prefetching and resets the underlying iterator
+     */
+    @Override
+    public synchronized void reset() {
+        shutdown();
+        iter.reset();
+        cursor = 0;
+    }
+
+    /**
+     * Stops the background thread, discarding any prefetched batches.
+     * Iterating again starts a new background thread
+     * where the underlying iterator left off.
+     * Always waits for the background thread to exit, an interrupt
+     * while waiting is restored once it has
+     */
+    public synchronized void shutdown() {
+        next = null;
+        if(thread == null)
+            return;
+
+        producer.stopped = true;
+        boolean interrupted = false;
+        //make room so a producer blocked on a full queue can finish
+        while(thread.isAlive()) {
+            queue.clear();
+            try {
+                thread.join(10);
+            } catch (InterruptedException e) {
+                //keep waiting: the underlying iterator may only be used by one thread at a time
+                interrupted = true;
+            }
+        }
+        queue.clear();
+        thread = null;
+        producer = null;
+        if(interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    @Override
+    public int totalExamples() {
+        return iter.totalExamples();
+    }
+
+    @Override
+    public int inputColumns() {
+        return iter.inputColumns();
+    }
+
+    @Override
+    public int totalOutcomes() {
+        return iter.totalOutcomes();
+    }
+
+    @Override
+    public int batch() {
+        return iter.batch();
+    }
+
+    /**
+     * The number of examples returned since the last reset.
+     * The underlying iterator is usually ahead of this
+     * @return the number of examples returned
+     */
+    @Override
+    public synchronized int cursor() {
+        return cursor;
+    }
+
+    @Override
+    public int numExamples() {
+        return iter.numExamples();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+
+    private void start() {
+        if(thread != null)
+            return;
+        if(queue == null)
+            queue = new ArrayBlockingQueue<>(queueSize);
+        producer = new Producer(queue);
+        thread = new Thread(producer,"async-dataset-iterator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+
+    private class Producer implements Runnable {
+        private volatile boolean stopped = false;
+        private BlockingQueue<Object> queue;
+
+        private Producer(BlockingQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while(!stopped && iter.hasNext()) {
+                    DataSet next = iter.next();
+                    if(!stopped)
+                        queue.put(next);
+                }
+                if(!stopped)
+                    queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                log.error("Failed to load the next batch",t);
+                try {
+                    if(!stopped)
+                        queue.put(new Failure(t));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private static class Failure {
+        private Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+}
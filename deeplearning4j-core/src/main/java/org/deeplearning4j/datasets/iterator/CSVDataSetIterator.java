@@ -5,6 +5,7 @@ import org.deeplearning4j.datasets.fetchers.CSVDataFetcher;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 
 /**
  * CSVDataSetIterator
@@ -60,4 +61,19 @@ public class CSVDataSetIterator extends BaseDatasetIterator {
     public CSVDataSetIterator(int batch, int numExamples,File f,int labelColumn,int skipLines) throws IOException {
         super(batch, numExamples, new CSVDataFetcher(f,labelColumn,skipLines));
     }
+
+    /**
+     *
+     * @param batch the mini batch size
+     * @param numExamples the number of examples
+     * @param f the file to read from
+     * @param labelColumn the index (0 based) of the label
+     * @param skipLines the number of lines to skip
+     * @param threads the number of threads to parse with
+     * @param labels the labels in outcome order, null to collect them from the file
+     * @throws IOException
+     */
+    public CSVDataSetIterator(int batch, int numExamples,File f,int labelColumn,int skipLines,int threads,List<String> labels) throws IOException {
+        super(batch, numExamples, new CSVDataFetcher(f,labelColumn,skipLines,threads,labels));
+    }
 }
@@ -0,0 +1,153 @@
+package org.deeplearning4j.datasets.iterator.impl;
+
+import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.iterator.DataSetIterator;
+import org.deeplearning4j.datasets.store.MappedDataSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Iterates over a data set file written by
+ * {@link org.deeplearning4j.datasets.store.MappedDataSetWriter}
+ * without loading it: each batch is copied out of the memory mapped file
+ * when it is asked for.
+ *
+ * In order, a batch is one bulk read per chunk of the file.
+ * Shuffled, the examples are visited in a random order that changes on every {@link #reset()}.
+ *
+ * @author Adam Gibson
+ */
+public class MappedDataSetIterator implements DataSetIterator {
+
+    private static final long serialVersionUID = 4263102479612378345L;
+    private File file;
+    private transient MappedDataSet data;
+    private int batch;
+    private int cursor = 0;
+    private boolean shuffle;
+    private Random random;
+    private int[] order;
+
+
+    /**
+     * Iterates in order
+     * @param file the data set file
+     * @param batch the batch size
+     * @throws IOException if the file can't be mapped
+     */
+    public MappedDataSetIterator(File file,int batch) throws IOException {
+        this(file,batch,false,0);
+    }
+
+    /**
+     * @param file the data set file
+     * @param batch the batch size
+     * @param shuffle whether to visit the examples in a random order
+     * @param seed the seed for the order
+     * @throws IOException if the file can't be mapped
+     */
+    public MappedDataSetIterator(File file,int batch,boolean shuffle,long seed) throws IOException {
+        if(batch < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        this.file = file;
+        this.batch = batch;
+        this.shuffle = shuffle;
+        this.data = MappedDataSet.open(file);
+        if(shuffle) {
+            random = new Random(seed);
+            order = new int[data.numExamples()];
+            for(int i = 0; i < order.length; i++)
+                order[i] = i;
+            shuffleOrder();
+        }
+    }
+
+
+    @Override
+    public synchronized boolean hasNext() {
+        return cursor < data().numExamples();
+    }
+
+    @Override
+    public DataSet next() {
+        return next(batch);
+    }
+
+    @Override
+    public synchronized DataSet next(int num) {
+        if(!hasNext())
+            throw new NoSuchElementException();
+        int end = Math.min(cursor + num,data().numExamples());
+        DataSet ret = shuffle ? data().get(order,cursor,end) : data().get(cursor,end);
+        cursor = end;
+        return ret;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int totalExamples() {
+        return data().numExamples();
+    }
+
+    @Override
+    public int inputColumns() {
+        return data().numInputs();
+    }
+
+    @Override
+    public int totalOutcomes() {
+        return data().numOutcomes();
+    }
+
+    @Override
+    public synchronized void reset() {
+        cursor = 0;
+        if(shuffle)
+            shuffleOrder();
+    }
+
+    @Override
+    public int batch() {
+        return batch;
+    }
+
+    @Override
+    public synchronized int cursor() {
+        return cursor;
+    }
+
+    @Override
+    public int numExamples() {
+        return data().numExamples();
+    }
+
+
+    //the mapping is not serialized, it is reopened on first use
+    private MappedDataSet data() {
+        if(data == null) {
+            try {
+                data = MappedDataSet.open(file);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return data;
+    }
+
+    private void shuffleOrder() {
+        for(int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+    }
+
+}
@@ -26,5 +26,17 @@ public class MnistDataSetIterator extends BaseDatasetIterator {
         super(batch, numExamples,new MnistDataFetcher(binarize));
     }
 
+    /**
+     * Visits the examples in a random order that changes on every reset
+     * @param batch the the batch size of the examples
+     * @param numExamples the overall number of examples
+     * @param binarize whether to binarize mnist or not
+     * @param seed the seed for the order
+     * @throws IOException
+     */
+    public MnistDataSetIterator(int batch,int numExamples,boolean binarize,long seed) throws IOException {
+        super(batch, numExamples,new MnistDataFetcher(binarize,true,seed));
+    }
+
 
 }
@@ -0,0 +1,287 @@
+package org.deeplearning4j.datasets.mnist;
+
+import org.jblas.DoubleMatrix;
+import org.jblas.FloatMatrix;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * A memory mapped file in the idx format used by MNIST.
+ *
+ * The file is mapped once; entries (an image, a label..) are decoded straight in to
+ * rows of a caller supplied matrix, optionally scaled or binarized on the way.
+ * Any entry can be read at any time, so ranges and shuffled selections cost the same.
+ *
+ * Layout (big endian):
+ * <pre>
+ * magic       2 zero bytes, the value type, the number of dimensions
+ * dimensions  one int per dimension, the first is the number of entries
+ * values      the entries one after the other
+ * </pre>
+ *
+ * Reads do not change any state, so instances are safe to share between threads.
+ *
+ * @author Adam Gibson
+ */
+public class IdxFile {
+
+    public final static int UNSIGNED_BYTE = 0x08;
+    public final static int BYTE = 0x09;
+    public final static int SHORT = 0x0B;
+    public final static int INT = 0x0C;
+    public final static int FLOAT = 0x0D;
+    public final static int DOUBLE = 0x0E;
+    //pass as the threshold to scale rather than binarize
+    public final static double NO_THRESHOLD = Double.NaN;
+
+    private File file;
+    private int type;
+    private int[] dimensions;
+    private int entryLength;
+    private int valueSize;
+    private ByteBuffer values;
+
+
+    private IdxFile(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Maps the given file
+     * @param file the file to map
+     * @return the mapped file
+     * @throws IOException if the file can't be read or is not an idx file
+     */
+    public static IdxFile open(File file) throws IOException {
+        IdxFile ret = new IdxFile(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file,"r")) {
+            FileChannel channel = raf.getChannel();
+            if(channel.size() < 4)
+                throw new IOException(file + " is not an idx file");
+            ByteBuffer magic = channel.map(FileChannel.MapMode.READ_ONLY,0,4);
+            if(magic.get(0) != 0 || magic.get(1) != 0)
+                throw new IOException(file + " is not an idx file");
+            ret.type = magic.get(2) & 0xff;
+            ret.valueSize = valueSize(ret.type);
+            int numDimensions = magic.get(3) & 0xff;
+            if(numDimensions < 1)
+                throw new IOException(file + " has no dimensions");
+
+            long headerSize = 4 + 4 * numDimensions;
+            if(channel.size() < headerSize)
+                throw new IOException(file + " is truncated");
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY,4,4 * numDimensions);
+            ret.dimensions = new int[numDimensions];
+            long entryLength = 1;
+            for(int i = 0; i < numDimensions; i++) {
+                ret.dimensions[i] = header.getInt(4 * i);
+                if(i > 0)
+                    entryLength *= ret.dimensions[i];
+            }
+            if(entryLength > Integer.MAX_VALUE)
+                throw new IOException("Entries of " + entryLength + " values are too large");
+            ret.entryLength = (int) entryLength;
+
+            long length = (long) ret.numEntries() * ret.entryLength * ret.valueSize;
+            if(channel.size() < headerSize + length)
+                throw new IOException(file + " is truncated: expected " + (headerSize + length) + " bytes but was " + channel.size());
+            if(length > Integer.MAX_VALUE)
+                throw new IOException("Values of " + length + " bytes are too large to map");
+            ret.values = channel.map(FileChannel.MapMode.READ_ONLY,headerSize,length).order(ByteOrder.BIG_ENDIAN);
+        }
+
+        return ret;
+    }
+
+
+    /**
+     * Decodes entries from (inclusive) to (exclusive) in to consecutive rows of the given matrix
+     * @param from the first entry
+     * @param to the end of the entries
+     * @param dst the matrix to write to, must have {@link #entryLength()} columns
+     * @param dstRow the row to write the first entry to
+     * @param scale multiplies every value
+     * @param threshold if not {@link #NO_THRESHOLD}, values above this become 1 and the rest 0 instead of being scaled
+     */
+    public void read(int from,int to,DoubleMatrix dst,int dstRow,double scale,double threshold) {
+        checkRange(from,to);
+        checkDestination(dst.rows,dst.columns,dstRow,to - from);
+        if(isByteType()) {
+            double[] table = table(scale,threshold);
+            byte[] block = new byte[(to - from) * entryLength];
+            ByteBuffer buffer = values.duplicate();
+            buffer.position(from * entryLength);
+            buffer.get(block);
+            for(int i = 0; i < to - from; i++)
+                for(int j = 0; j < entryLength; j++)
+                    dst.data[dstRow + i + j * dst.rows] = table[block[i * entryLength + j] & 0xff];
+        }
+        else {
+            for(int i = 0; i < to - from; i++)
+                for(int j = 0; j < entryLength; j++)
+                    dst.data[dstRow + i + j * dst.rows] = transform(value(from + i,j),scale,threshold);
+        }
+    }
+
+    /**
+     * Decodes the given entries in the given order in to consecutive rows of the given matrix
+     * @param entries the indices of the entries
+     * @param from the first index in entries to use
+     * @param to the end of the indices to use
+     * @param dst the matrix to write to, must have {@link #entryLength()} columns
+     * @param dstRow the row to write the first entry to
+     * @param scale multiplies every value
+     * @param threshold if not {@link #NO_THRESHOLD}, values above this become 1 and the rest 0 instead of being scaled
+     */
+    public void read(int[] entries,int from,int to,DoubleMatrix dst,int dstRow,double scale,double threshold) {
+        checkDestination(dst.rows,dst.columns,dstRow,to - from);
+        double[] table = isByteType() ? table(scale,threshold) : null;
+        byte[] entry = isByteType() ? new byte[entryLength] : null;
+        ByteBuffer buffer = values.duplicate();
+        for(int i = 0; i < to - from; i++) {
+            int index = entries[from + i];
+            checkRange(index,index + 1);
+            if(table != null) {
+                buffer.position(index * entryLength);
+                buffer.get(entry);
+                for(int j = 0; j < entryLength; j++)
+                    dst.data[dstRow + i + j * dst.rows] = table[entry[j] & 0xff];
+            }
+            else
+                for(int j = 0; j < entryLength; j++)
+                    dst.data[dstRow + i + j * dst.rows] = transform(value(index,j),scale,threshold);
+        }
+    }
+
+    /**
+     * Decodes entries from (inclusive) to (exclusive) in to consecutive rows of the given matrix
+     * @see #read(int, int, DoubleMatrix, int, double, double)
+     */
+    public void read(int from,int to,FloatMatrix dst,int dstRow,double scale,double threshold) {
+        checkRange(from,to);
+        checkDestination(dst.rows,dst.columns,dstRow,to - from);
+        if(isByteType()) {
+            double[] table = table(scale,threshold);
+            byte[] block = new byte[(to - from) * entryLength];
+            ByteBuffer buffer = values.duplicate();
+            buffer.position(from * entryLength);
+            buffer.get(block);
+            for(int i = 0; i < to - from; i++)
+                for(int j = 0; j < entryLength; j++)
+                    dst.data[dstRow + i + j * dst.rows] = (float) table[block[i * entryLength + j] & 0xff];
+        }
+        else {
+            for(int i = 0; i < to - from; i++)
+                for(int j = 0; j < entryLength; j++)
+                    dst.data[dstRow + i + j * dst.rows] = (float) transform(value(from + i,j),scale,threshold);
+        }
+    }
+
+    /**
+     * A single value
+     * @param entry the entry
+     * @param offset the offset of the value within the entry
+     * @return the value
+     */
+    public double value(int entry,int offset) {
+        long index = (long) entry * entryLength + offset;
+        int position = (int) (index * valueSize);
+        switch(type) {
+            case UNSIGNED_BYTE: return values.get(position) & 0xff;
+            case BYTE: return values.get(position);
+            case SHORT: return values.getShort(position);
+            case INT: return values.getInt(position);
+            case FLOAT: return values.getFloat(position);
+            default: return values.getDouble(position);
+        }
+    }
+
+    /**
+     * The first value of an entry, for label files
+     * @param entry the entry
+     * @return the first value as an int
+     */
+    public int getInt(int entry) {
+        checkRange(entry,entry + 1);
+        return (int) value(entry,0);
+    }
+
+    /**
+     * The number of entries, the first dimension
+     * @return the number of entries
+     */
+    public int numEntries() {
+        return dimensions[0];
+    }
+
+    /**
+     * The number of values per entry, the product of all but the first dimension
+     * @return the number of values per entry
+     */
+    public int entryLength() {
+        return entryLength;
+    }
+
+    public int[] getDimensions() {
+        return dimensions.clone();
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+
+    private boolean isByteType() {
+        return type == UNSIGNED_BYTE || type == BYTE;
+    }
+
+    //every possible byte value decoded once, indexed by the unsigned byte
+    private double[] table(double scale,double threshold) {
+        double[] ret = new double[256];
+        for(int i = 0; i < 256; i++) {
+            int value = type == BYTE ? (byte) i : i;
+            ret[i] = transform(value,scale,threshold);
+        }
+        return ret;
+    }
+
+    private static double transform(double value,double scale,double threshold) {
+        if(!Double.isNaN(threshold))
+            return value > threshold ? 1 : 0;
+        return value * scale;
+    }
+
+    private void checkRange(int from,int to) {
+        if(from < 0 || to > numEntries() || from > to)
+            throw new IndexOutOfBoundsException("Illegal range " + from + " to " + to + " for " + numEntries() + " entries");
+    }
+
+    private void checkDestination(int rows,int columns,int dstRow,int count) {
+        if(columns != entryLength)
+            throw new IllegalArgumentException("Destination must have " + entryLength + " columns");
+        if(dstRow < 0 || dstRow + count > rows)
+            throw new IllegalArgumentException("Destination has " + rows + " rows, can't write " + count + " from row " + dstRow);
+    }
+
+    private static int valueSize(int type) throws IOException {
+        switch(type) {
+            case UNSIGNED_BYTE:
+            case BYTE: return 1;
+            case SHORT: return 2;
+            case INT:
+            case FLOAT: return 4;
+            case DOUBLE: return 8;
+            default: throw new IOException("Unknown idx value type " + type);
+        }
+    }
+
+}
@@ -41,9 +41,12 @@ public class MnistImageFile extends MnistDbFile {
      */
     public int[][] readImage() throws IOException {
         int[][] dat = new int[getRows()][getCols()];
+        //one read for the whole image rather than one per pixel
+        byte[] bytes = new byte[getEntryLength()];
+        readFully(bytes);
         for (int i = 0; i < getCols(); i++) {
             for (int j = 0; j < getRows(); j++) {
-                dat[i][j] = readUnsignedByte();
+                dat[i][j] = bytes[i * getRows() + j] & 0xff;
             }
         }
         return dat;
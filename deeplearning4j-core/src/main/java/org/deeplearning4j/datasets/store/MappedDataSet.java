@@ -0,0 +1,262 @@
+package org.deeplearning4j.datasets.store;
+
+import org.deeplearning4j.datasets.DataSet;
+import org.jblas.DoubleMatrix;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A data set written by {@link MappedDataSetWriter}, memory mapped
+ * so that any range or selection of examples can be read without
+ * loading the rest of the file.
+ *
+ * Reads do not change any state, so instances are safe to share between threads.
+ *
+ * @author Adam Gibson
+ */
+public class MappedDataSet {
+
+    private File file;
+    private int numExamples,numInputs,numOutcomes;
+    private int rowsPerChunk;
+    //one of these is set depending on how the values are stored
+    private DoubleBuffer[] doubleChunks;
+    private FloatBuffer[] floatChunks;
+    private List<String> labelNames;
+
+
+    private MappedDataSet(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Maps the given file
+     * @param file the file to map
+     * @return the mapped data set
+     * @throws IOException if the file can't be read or is not a data set file
+     */
+    public static MappedDataSet open(File file) throws IOException {
+        MappedDataSet ret = new MappedDataSet(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file,"r")) {
+            FileChannel channel = raf.getChannel();
+            if(channel.size() < MappedDataSetWriter.HEADER_SIZE)
+                throw new IOException(file + " is not a data set file");
+            ByteBuffer header = map(channel,0,MappedDataSetWriter.HEADER_SIZE);
+            if(header.getInt(0) != MappedDataSetWriter.MAGIC)
+                throw new IOException(file + " is not a data set file");
+            int version = header.getInt(4);
+            if(version != MappedDataSetWriter.VERSION)
+                throw new IOException("Unsupported data set version " + version);
+
+            int valueSize = header.getInt(8);
+            ret.numInputs = header.getInt(12);
+            ret.numOutcomes = header.getInt(16);
+            ret.rowsPerChunk = header.getInt(20);
+            ret.numExamples = header.getInt(24);
+            long labelNamesOffset = header.getLong(32);
+            long end = header.getLong(40);
+            if(end != channel.size())
+                throw new IOException(file + " is truncated: expected " + end + " bytes but was " + channel.size());
+
+            int chunks = (ret.numExamples + ret.rowsPerChunk - 1) / ret.rowsPerChunk;
+            long rowBytes = (long) (ret.numInputs + ret.numOutcomes) * valueSize;
+            if(valueSize == 8)
+                ret.doubleChunks = new DoubleBuffer[chunks];
+            else
+                ret.floatChunks = new FloatBuffer[chunks];
+            for(int i = 0; i < chunks; i++) {
+                long offset = MappedDataSetWriter.HEADER_SIZE + i * ret.rowsPerChunk * rowBytes;
+                ByteBuffer chunk = map(channel,offset,ret.rowsInChunk(i) * rowBytes);
+                if(valueSize == 8)
+                    ret.doubleChunks[i] = chunk.asDoubleBuffer();
+                else
+                    ret.floatChunks[i] = chunk.asFloatBuffer();
+            }
+
+            if(labelNamesOffset > 0) {
+                ByteBuffer names = map(channel,labelNamesOffset,end - labelNamesOffset);
+                int count = names.getInt();
+                ret.labelNames = new ArrayList<>(count);
+                for(int i = 0; i < count; i++) {
+                    byte[] bytes = new byte[names.getInt()];
+                    names.get(bytes);
+                    ret.labelNames.add(new String(bytes,MappedDataSetWriter.UTF_8));
+                }
+            }
+        }
+
+        return ret;
+    }
+
+
+    /**
+     * The number of examples of a data set file from its header alone,
+     * for files that aren't local and can't be mapped (such as files on hdfs or s3)
+     * @param header the first {@link MappedDataSetWriter#HEADER_SIZE} bytes of the file
+     * @return the number of examples in the file
+     * @throws IOException if the header is not the header of a data set file
+     */
+    public static int numExamples(byte[] header) throws IOException {
+        if(header.length < MappedDataSetWriter.HEADER_SIZE)
+            throw new IOException("Header must be " + MappedDataSetWriter.HEADER_SIZE + " bytes");
+        ByteBuffer buffer = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+        if(buffer.getInt(0) != MappedDataSetWriter.MAGIC)
+            throw new IOException("Not a data set file");
+        if(buffer.getInt(4) != MappedDataSetWriter.VERSION)
+            throw new IOException("Unsupported data set version " + buffer.getInt(4));
+        return buffer.getInt(24);
+    }
+
+
+    /**
+     * The examples from (inclusive) to (exclusive), copied with one bulk read per chunk
+     * @param from the first example
+     * @param to the end of the examples
+     * @return the examples
+     */
+    public DataSet get(int from,int to) {
+        checkRange(from,to);
+        int rows = to - from;
+        DoubleMatrix x = new DoubleMatrix(rows,numInputs);
+        DoubleMatrix y = new DoubleMatrix(rows,numOutcomes);
+        int row = 0;
+        while(from < to) {
+            int chunk = from / rowsPerChunk;
+            int first = from % rowsPerChunk;
+            int count = Math.min(to - from,rowsPerChunk - first);
+            int chunkRows = rowsInChunk(chunk);
+            copy(chunk,first * numInputs,count,numInputs,x.data,rows,row);
+            copy(chunk,chunkRows * numInputs + first * numOutcomes,count,numOutcomes,y.data,rows,row);
+            row += count;
+            from += count;
+        }
+        return dataSet(x,y);
+    }
+
+    /**
+     * The given examples in the given order
+     * @param examples the indices of the examples
+     * @param from the first index in examples to use
+     * @param to the end of the indices to use
+     * @return the examples
+     */
+    public DataSet get(int[] examples,int from,int to) {
+        int rows = to - from;
+        DoubleMatrix x = new DoubleMatrix(rows,numInputs);
+        DoubleMatrix y = new DoubleMatrix(rows,numOutcomes);
+        for(int i = 0; i < rows; i++) {
+            int example = examples[from + i];
+            checkRange(example,example + 1);
+            int chunk = example / rowsPerChunk;
+            int row = example % rowsPerChunk;
+            copy(chunk,row * numInputs,1,numInputs,x.data,rows,i);
+            copy(chunk,rowsInChunk(chunk) * numInputs + row * numOutcomes,1,numOutcomes,y.data,rows,i);
+        }
+        return dataSet(x,y);
+    }
+
+    /**
+     * Every example
+     * @return the whole data set
+     */
+    public DataSet asDataSet() {
+        return get(0,numExamples);
+    }
+
+    public int numExamples() {
+        return numExamples;
+    }
+
+    public int numInputs() {
+        return numInputs;
+    }
+
+    public int numOutcomes() {
+        return numOutcomes;
+    }
+
+    public List<String> getLabelNames() {
+        return labelNames;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+
+    /*
+     * Copies rows x columns row major values starting at offset (in values) of the chunk
+     * in to the column major matrix data with the given number of rows, starting at row dstRow
+     */
+    private void copy(int chunk,int offset,int rows,int columns,double[] dst,int dstRows,int dstRow) {
+        int length = rows * columns;
+        if(length == 0)
+            return;
+
+        if(rows == 1) {
+            if(doubleChunks != null) {
+                DoubleBuffer buffer = doubleChunks[chunk];
+                for(int j = 0; j < columns; j++)
+                    dst[dstRow + j * dstRows] = buffer.get(offset + j);
+            }
+            else {
+                FloatBuffer buffer = floatChunks[chunk];
+                for(int j = 0; j < columns; j++)
+                    dst[dstRow + j * dstRows] = buffer.get(offset + j);
+            }
+            return;
+        }
+
+        //one bulk read then a transpose in to column major
+        if(doubleChunks != null) {
+            double[] block = new double[length];
+            DoubleBuffer buffer = doubleChunks[chunk].duplicate();
+            buffer.position(offset);
+            buffer.get(block);
+            for(int i = 0; i < rows; i++)
+                for(int j = 0; j < columns; j++)
+                    dst[dstRow + i + j * dstRows] = block[i * columns + j];
+        }
+        else {
+            float[] block = new float[length];
+            FloatBuffer buffer = floatChunks[chunk].duplicate();
+            buffer.position(offset);
+            buffer.get(block);
+            for(int i = 0; i < rows; i++)
+                for(int j = 0; j < columns; j++)
+                    dst[dstRow + i + j * dstRows] = block[i * columns + j];
+        }
+    }
+
+    private int rowsInChunk(int chunk) {
+        return Math.min(rowsPerChunk,numExamples - chunk * rowsPerChunk);
+    }
+
+    private DataSet dataSet(DoubleMatrix x,DoubleMatrix y) {
+        DataSet ret = new DataSet(x,y);
+        if(labelNames != null)
+            ret.setLabelNames(labelNames);
+        return ret;
+    }
+
+    private void checkRange(int from,int to) {
+        if(from < 0 || to > numExamples || from > to)
+            throw new IndexOutOfBoundsException("Illegal range " + from + " to " + to + " for " + numExamples + " examples");
+    }
+
+    private static ByteBuffer map(FileChannel channel,long offset,long length) throws IOException {
+        if(length > Integer.MAX_VALUE)
+            throw new IOException("Block of " + length + " bytes is too large to map");
+        return channel.map(FileChannel.MapMode.READ_ONLY,offset,length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+}
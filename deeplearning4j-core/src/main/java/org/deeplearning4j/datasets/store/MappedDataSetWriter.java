@@ -0,0 +1,244 @@
+package org.deeplearning4j.datasets.store;
+
+import org.deeplearning4j.datasets.DataSet;
+import org.jblas.DoubleMatrix;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Streams examples in to the chunked binary format read by {@link MappedDataSet}.
+ *
+ * Only the chunk being filled is kept in memory, so data sets bigger than the heap
+ * can be written a batch at a time.
+ *
+ * Layout (little endian):
+ * <pre>
+ * header       64 bytes: magic, version, bytes per value (8 for doubles, 4 for floats),
+ *              inputs, outcomes, rows per chunk, number of examples, reserved,
+ *              offset of the label names (0 if none), file length
+ * chunks       rows per chunk examples each (the last chunk may be shorter):
+ *              the features of the chunk's rows row major followed by the labels row major
+ * label names  optional: the number of names followed by each name as a length prefixed utf-8 string
+ * </pre>
+ *
+ * @author Adam Gibson
+ */
+public class MappedDataSetWriter implements Closeable {
+
+    public final static int MAGIC = 0x444c3444;
+    public final static int VERSION = 1;
+    public final static int HEADER_SIZE = 64;
+    //the size of a chunk unless a single example is bigger than this
+    public final static int CHUNK_BYTES = 64 * 1024 * 1024;
+    public final static Charset UTF_8 = Charset.forName("UTF-8");
+
+    private RandomAccessFile file;
+    private FileChannel channel;
+    private int numInputs,numOutcomes;
+    private boolean useFloats;
+    private int rowsPerChunk;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+    //the chunk being filled, row major
+    private double[] features,labels;
+    private int rowsInChunk = 0;
+    private int numExamples = 0;
+    private List<String> labelNames;
+    private boolean closed = false;
+
+
+    /**
+     * @param file the file to write, overwritten if it exists
+     * @param numInputs the number of features per example
+     * @param numOutcomes the number of labels per example
+     * @param useFloats whether to store values as floats rather than doubles
+     * @throws IOException
+     */
+    public MappedDataSetWriter(File file,int numInputs,int numOutcomes,boolean useFloats) throws IOException {
+        this(file,numInputs,numOutcomes,useFloats,(int) Math.max(1,CHUNK_BYTES / ((long) (numInputs + numOutcomes) * (useFloats ? 4 : 8))));
+    }
+
+    /**
+     * @param file the file to write, overwritten if it exists
+     * @param numInputs the number of features per example
+     * @param numOutcomes the number of labels per example
+     * @param useFloats whether to store values as floats rather than doubles
+     * @param rowsPerChunk the number of examples per chunk
+     * @throws IOException
+     */
+    public MappedDataSetWriter(File file,int numInputs,int numOutcomes,boolean useFloats,int rowsPerChunk) throws IOException {
+        if(numInputs < 1 || numOutcomes < 0)
+            throw new IllegalArgumentException("Must have at least 1 input and no negative outcomes");
+        if(rowsPerChunk < 1 || (long) rowsPerChunk * (numInputs + numOutcomes) * (useFloats ? 4 : 8) > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("A chunk must have at least 1 example and fit in 2gb");
+        this.numInputs = numInputs;
+        this.numOutcomes = numOutcomes;
+        this.useFloats = useFloats;
+        this.rowsPerChunk = rowsPerChunk;
+        this.features = new double[rowsPerChunk * numInputs];
+        this.labels = new double[rowsPerChunk * numOutcomes];
+        this.file = new RandomAccessFile(file,"rw");
+        this.file.setLength(0);
+        this.channel = this.file.getChannel();
+        channel.position(HEADER_SIZE);
+    }
+
+
+    /**
+     * Writes a data set
+     * @param data the data set to write
+     * @param file the file to write to
+     * @param useFloats whether to store values as floats rather than doubles
+     * @throws IOException
+     */
+    public static void save(DataSet data,File file,boolean useFloats) throws IOException {
+        try (MappedDataSetWriter writer = new MappedDataSetWriter(file,data.numInputs(),data.numOutcomes(),useFloats)) {
+            //label names are optional, an empty list means there are none
+            if(data.getLabelNames() != null && !data.getLabelNames().isEmpty())
+                writer.setLabelNames(data.getLabelNames());
+            writer.add(data);
+        }
+    }
+
+
+    /**
+     * Appends every example of the given data set
+     * @param data the examples to append
+     * @throws IOException
+     */
+    public void add(DataSet data) throws IOException {
+        DoubleMatrix x = data.getFeatureMatrix();
+        DoubleMatrix y = data.getLabels();
+        if(x.columns != numInputs || y.columns != numOutcomes)
+            throw new IllegalArgumentException("Data set must have " + numInputs + " inputs and " + numOutcomes + " outcomes");
+
+        for(int i = 0; i < x.rows; i++) {
+            for(int j = 0; j < numInputs; j++)
+                features[rowsInChunk * numInputs + j] = x.data[i + j * x.rows];
+            for(int j = 0; j < numOutcomes; j++)
+                labels[rowsInChunk * numOutcomes + j] = y.data[i + j * y.rows];
+            addRow();
+        }
+    }
+
+    /**
+     * Appends a single example
+     * @param featureVector the features of the example
+     * @param labelVector the labels of the example
+     * @throws IOException
+     */
+    public void add(double[] featureVector,double[] labelVector) throws IOException {
+        if(featureVector.length != numInputs || labelVector.length != numOutcomes)
+            throw new IllegalArgumentException("Example must have " + numInputs + " inputs and " + numOutcomes + " outcomes");
+        System.arraycopy(featureVector,0,features,rowsInChunk * numInputs,numInputs);
+        System.arraycopy(labelVector,0,labels,rowsInChunk * numOutcomes,numOutcomes);
+        addRow();
+    }
+
+    /**
+     * Optional names for the outcomes
+     * @param labelNames the label names, one per outcome
+     */
+    public void setLabelNames(List<String> labelNames) {
+        if(labelNames != null && labelNames.size() != numOutcomes)
+            throw new IllegalArgumentException("Label names don't match the number of outcomes");
+        this.labelNames = labelNames;
+    }
+
+
+    /**
+     * Writes the last chunk, the label names and the header
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed)
+            return;
+        closed = true;
+        try {
+            writeChunk();
+            long labelNamesOffset = 0;
+            if(labelNames != null) {
+                labelNamesOffset = channel.position();
+                putInt(labelNames.size());
+                for(String name : labelNames) {
+                    byte[] bytes = name.getBytes(UTF_8);
+                    putInt(bytes.length);
+                    for(byte b : bytes) {
+                        if(!buffer.hasRemaining())
+                            flush();
+                        buffer.put(b);
+                    }
+                }
+                flush();
+            }
+            long end = channel.position();
+
+            buffer.clear();
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(useFloats ? 4 : 8)
+                    .putInt(numInputs).putInt(numOutcomes).putInt(rowsPerChunk)
+                    .putInt(numExamples).putInt(0)
+                    .putLong(labelNamesOffset).putLong(end);
+            buffer.flip();
+            channel.position(0);
+            while(buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        } finally {
+            file.close();
+        }
+    }
+
+    public int getNumExamples() {
+        return numExamples;
+    }
+
+
+    private void addRow() throws IOException {
+        if(closed)
+            throw new IllegalStateException("Writer is closed");
+        rowsInChunk++;
+        numExamples++;
+        if(rowsInChunk == rowsPerChunk)
+            writeChunk();
+    }
+
+    private void writeChunk() throws IOException {
+        write(features,rowsInChunk * numInputs);
+        write(labels,rowsInChunk * numOutcomes);
+        flush();
+        rowsInChunk = 0;
+    }
+
+    private void write(double[] values,int length) throws IOException {
+        for(int i = 0; i < length; i++) {
+            if(buffer.remaining() < 8)
+                flush();
+            if(useFloats)
+                buffer.putFloat((float) values[i]);
+            else
+                buffer.putDouble(values[i]);
+        }
+    }
+
+    private void putInt(int i) throws IOException {
+        if(buffer.remaining() < 4)
+            flush();
+        buffer.putInt(i);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+}
@@ -66,7 +66,8 @@ public class DBN extends BaseMultiLayerNetwork {
         DoubleMatrix currInput = this.input;
         if(this.input.columns != nIns)
             throw new IllegalStateException("Illegal input length");
-        List<DoubleMatrix> activations = new ArrayList<>();
+        //with a workspace the list is reused, it is only valid until the next call
+        List<DoubleMatrix> activations = useWorkspace ? workspace().activations() : new ArrayList<DoubleMatrix>();
         activations.add(currInput);
         for(int i = 0; i < getnLayers(); i++) {
             NeuralNetwork layer = getLayers()[i];
@@ -174,17 +175,7 @@ public class DBN extends BaseMultiLayerNetwork {
                     }
                     else
                         setInput(input);
-                    //override learning rate where present
-                    double realLearningRate = layerLearningRates.get(i) != null ? layerLearningRates.get(i) : learningRate;
-                    if(isForceNumEpochs()) {
-                        for(int epoch = 0; epoch < epochs; epoch++) {
-                            log.info("Error on epoch " + epoch + " for layer " + (i + 1) + " is " + getLayers()[i].getReConstructionCrossEntropy());
-                            getLayers()[i].train(next.getFirst(), realLearningRate,new Object[]{k,learningRate});
-                            getLayers()[i].iterationDone(epoch);
-                        }
-                    }
-                    else
-                        getLayers()[i].trainTillConvergence(next.getFirst(), realLearningRate, new Object[]{k,realLearningRate,epochs});
+                    pretrainLayer(i,next.getFirst(),k,learningRate,epochs);
 
                 }
 
@@ -192,37 +183,14 @@ public class DBN extends BaseMultiLayerNetwork {
             }
 
             else {
-                boolean activateOnly = getSampleOrActivate() != null && getSampleOrActivate().get(i) != null ? getSampleOrActivate().get(i) : !sampleFromHiddenActivations;
                 while (iter.hasNext()) {
                     DataSet next = iter.next();
                     layerInput = next.getFirst();
-                    for(int j = 1; j <= i; j++) {
-                        if(useRBMPropUpAsActivations) {
-                            RBM r = (RBM) layers[i];
-                            layerInput = r.propUp(layerInput);
-                        }
-                        else if(activateOnly)
-                            layerInput = getSigmoidLayers()[j - 1].activate(layerInput);
-                        else if(isSampleFromHiddenActivations())
-                            layerInput = getLayers()[j - 1].sampleHiddenGivenVisible(getSigmoidLayers()[j - 1].getActivationFunction().apply(layerInput)).getSecond();
-                        else
-                            layerInput = getLayers()[j - 1].sampleHiddenGivenVisible(layerInput).getSecond();
-
-                    }
-
+                    for(int j = 1; j <= i; j++)
+                        layerInput = nextLayerInput(j,getLayers()[j - 1],getSigmoidLayers()[j - 1],layerInput,getRng());
 
                     log.info("Training on layer " + (i + 1));
-                    //override learning rate where present
-                    double realLearningRate = layerLearningRates.get(i) != null ? layerLearningRates.get(i) : learningRate;
-                    if(isForceNumEpochs()) {
-                        for(int epoch = 0; epoch < epochs; epoch++) {
-                            log.info("Error on epoch " + epoch + " for layer " + (i + 1) + " is " + getLayers()[i].getReConstructionCrossEntropy());
-                            getLayers()[i].train(layerInput, realLearningRate,new Object[]{k,learningRate});
-                            getLayers()[i].iterationDone(epoch);
-                        }
-                    }
-                    else
-                        getLayers()[i].trainTillConvergence(layerInput, realLearningRate, new Object[]{k,realLearningRate,epochs});
+                    pretrainLayer(i,layerInput,k,learningRate,epochs);
 
                 }
 
@@ -264,37 +232,62 @@ public class DBN extends BaseMultiLayerNetwork {
         for(int i = 0; i < getnLayers(); i++) {
             if(i == 0)
                 layerInput = getInput();
-            else {
-                boolean activateOnly = getSampleOrActivate() != null && getSampleOrActivate().get(i) != null ? getSampleOrActivate().get(i) : !sampleFromHiddenActivations;
-                if(useRBMPropUpAsActivations) {
-                    RBM r = (RBM) layers[i - 1];
-                    layerInput = r.propUp(layerInput);
-                    if(sampleFromHiddenActivations)
-                        layerInput = MatrixUtil.binomial(layerInput,1,getRng());
-                }
-                else if(activateOnly)
-                    layerInput = getSigmoidLayers()[i - 1].activate(layerInput);
-                else if(isSampleFromHiddenActivations())
-                    layerInput = getLayers()[i - 1].sampleHiddenGivenVisible(getSigmoidLayers()[i - 1].getActivationFunction().apply(layerInput)).getSecond();
-                else
-                    layerInput = getLayers()[i - 1].sampleHiddenGivenVisible(layerInput).getSecond();
-
-            }
-            log.info("Training on layer " + (i + 1));
-            //override learning rate where present
-            double realLearningRate = layerLearningRates.get(i) != null ? layerLearningRates.get(i) : learningRate;
-            if(isForceNumEpochs()) {
-                for(int epoch = 0; epoch < epochs; epoch++) {
-                    log.info("Error on epoch " + epoch + " for layer " + (i + 1) + " is " + getLayers()[i].getReConstructionCrossEntropy());
-                    getLayers()[i].train(layerInput, realLearningRate,new Object[]{k,learningRate});
-                    getLayers()[i].iterationDone(epoch);
-                }
-            }
             else
-                getLayers()[i].trainTillConvergence(layerInput, realLearningRate, new Object[]{k,realLearningRate,epochs});
+                layerInput = nextLayerInput(i,getLayers()[i - 1],getSigmoidLayers()[i - 1],layerInput,getRng());
+            log.info("Training on layer " + (i + 1));
+            pretrainLayer(i,layerInput,k,learningRate,epochs);
+
 
+        }
+    }
+
+    /**
+     * The input of layer i during pretraining, computed from the input of layer i - 1.
+     * The layer below is passed in so a copy can be used from another thread
+     * @param i the layer to compute the input for, at least 1
+     * @param layer layer i - 1 or a copy of it
+     * @param hiddenLayer hidden layer i - 1 or a copy of it
+     * @param layerInput the input of layer i - 1
+     * @param rng the rng to sample the rbm prop up activations with
+     * @return the input of layer i
+     */
+    protected DoubleMatrix nextLayerInput(int i,NeuralNetwork layer,HiddenLayer hiddenLayer,DoubleMatrix layerInput,RandomGenerator rng) {
+        boolean activateOnly = getSampleOrActivate() != null && getSampleOrActivate().get(i) != null ? getSampleOrActivate().get(i) : !sampleFromHiddenActivations;
+        if(useRBMPropUpAsActivations) {
+            RBM r = (RBM) layer;
+            layerInput = r.propUp(layerInput);
+            if(sampleFromHiddenActivations)
+                layerInput = MatrixUtil.binomial(layerInput,1,rng);
+            return layerInput;
+        }
+        else if(activateOnly)
+            return hiddenLayer.activate(layerInput);
+        else if(isSampleFromHiddenActivations())
+            return layer.sampleHiddenGivenVisible(hiddenLayer.getActivationFunction().apply(layerInput)).getSecond();
+        else
+            return layer.sampleHiddenGivenVisible(layerInput).getSecond();
+    }
 
+    /**
+     * Trains layer i on one batch of its input
+     * @param i the layer to train
+     * @param layerInput the input of the layer
+     * @param k the k to use for contrastive divergence
+     * @param learningRate the learning rate, unless the layer has its own
+     * @param epochs the number of epochs to train
+     */
+    protected void pretrainLayer(int i,DoubleMatrix layerInput,int k,double learningRate,int epochs) {
+        //override learning rate where present
+        double realLearningRate = layerLearningRates.get(i) != null ? layerLearningRates.get(i) : learningRate;
+        if(isForceNumEpochs()) {
+            for(int epoch = 0; epoch < epochs; epoch++) {
+                log.info("Error on epoch " + epoch + " for layer " + (i + 1) + " is " + getLayers()[i].getReConstructionCrossEntropy());
+                getLayers()[i].train(layerInput, realLearningRate,new Object[]{k,learningRate});
+                getLayers()[i].iterationDone(epoch);
+            }
         }
+        else
+            getLayers()[i].trainTillConvergence(layerInput, realLearningRate, new Object[]{k,realLearningRate,epochs});
     }
 
     public Map<Integer, RBM.VisibleUnit> getVisibleUnitByLayer() {
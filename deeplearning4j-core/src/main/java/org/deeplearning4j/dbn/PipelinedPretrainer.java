@@ -0,0 +1,325 @@
+package org.deeplearning4j.dbn;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.iterator.DataSetIterator;
+import org.deeplearning4j.datasets.store.MappedDataSet;
+import org.deeplearning4j.datasets.store.MappedDataSetWriter;
+import org.deeplearning4j.nn.HiddenLayer;
+import org.deeplearning4j.nn.NeuralNetwork;
+import org.jblas.DoubleMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Greedy layer wise pretraining of a {@link DBN} that computes the input of
+ * every layer once.
+ *
+ * Once a layer is trained, each batch of its input is transformed by it exactly once and
+ * cached as the input of the next layer, instead of running every batch through all of the layers below
+ * for each layer. The transforms run on a thread pool ahead of the training: layer i + 1 trains on batch b
+ * while the pool transforms the batches after it.
+ * Cached batches are kept in memory and dropped as soon as they have been transformed, or with a spill directory
+ * appended to one {@link MappedDataSetWriter} file per layer, read back by range from the mapped file and
+ * deleted once the layer above has trained.
+ *
+ * Training happens on the calling thread in batch order. Each pool thread transforms with its own copy
+ * of the layer below, sampling with a generator seeded by the seed, the layer and the batch,
+ * so the result for a seed does not depend on the number of threads.
+ *
+ * @author Adam Gibson
+ */
+public class PipelinedPretrainer {
+
+    private static Logger log = LoggerFactory.getLogger(PipelinedPretrainer.class);
+
+    private final DBN network;
+    private final int numThreads;
+    private final long seed;
+    private File spillDirectory;
+
+
+    /**
+     * @param network the network to pretrain
+     * @param numThreads the number of threads transforming batches
+     * @param seed the seed for sampling the transformed batches
+     */
+    public PipelinedPretrainer(DBN network,int numThreads,long seed) {
+        if(numThreads < 1)
+            throw new IllegalArgumentException("Number of threads must be at least 1");
+        this.network = network;
+        this.numThreads = numThreads;
+        this.seed = seed;
+    }
+
+
+    /**
+     * Runs contrastive divergence on each layer of the network,
+     * the same as {@link DBN#pretrain(DataSetIterator, int, double, int)}
+     * @param iter the input to train on
+     * @param k the k to use for contrastive divergence
+     * @param learningRate the learning rate to use
+     * @param epochs the number of epochs to train
+     */
+    public void pretrain(DataSetIterator iter,int k,double learningRate,int epochs) {
+        ExecutorService exec = Executors.newFixedThreadPool(numThreads,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("pretrain-%d").build());
+        List<CachedBatch> cache = new ArrayList<>();
+        Deque<Future<CachedBatch>> window = new ArrayDeque<>();
+        //the spilled input of the layer being trained and of the layer above it
+        Spill spilledInput = null,spilledOutput = null;
+        try {
+            //the first layer trains on the data as it is read
+            while(iter.hasNext()) {
+                DoubleMatrix input = iter.next().getFirst();
+                if(network.getLayers() == null || network.getLayers()[0] == null || network.getSigmoidLayers() == null || network.getSigmoidLayers()[0] == null) {
+                    network.setInput(input);
+                    network.initializeLayers(input);
+                }
+                else
+                    network.setInput(input);
+                network.pretrainLayer(0,input,k,learningRate,epochs);
+            }
+            iter.reset();
+
+            for(int i = 1; i < network.getnLayers(); i++) {
+                //the input of the top layer isn't needed after it trains
+                boolean keep = i < network.getnLayers() - 1;
+                Iterator<CachedBatch> source = i == 1 ? new DataInput(iter) : new ArrayList<>(cache).iterator();
+                cache.clear();
+                spilledInput = spilledOutput;
+                spilledOutput = keep && spillDirectory != null ? new Spill(spillDirectory,i) : null;
+                ThreadLocal<Copies> copies = copiesOf(i - 1);
+
+                log.info("Training on layer " + (i + 1));
+                int batch = 0;
+                while(source.hasNext() || !window.isEmpty()) {
+                    while(source.hasNext() && window.size() < numThreads * 2)
+                        window.add(exec.submit(new Transform(i,batch++,source.next(),copies)));
+                    CachedBatch layerInput = get(window.poll());
+                    network.pretrainLayer(i,layerInput.get(),k,learningRate,epochs);
+                    if(!keep)
+                        layerInput.release();
+                    else if(spilledOutput != null)
+                        cache.add(spilledOutput.add(layerInput.get()));
+                    else
+                        cache.add(layerInput);
+                }
+
+                if(spilledOutput != null)
+                    spilledOutput.finish();
+                if(spilledInput != null)
+                    spilledInput.delete();
+                if(i == 1)
+                    iter.reset();
+            }
+        }
+        finally {
+            exec.shutdownNow();
+            for(Future<CachedBatch> f : window)
+                f.cancel(true);
+            for(CachedBatch batch : cache)
+                batch.release();
+            if(spilledInput != null)
+                spilledInput.delete();
+            if(spilledOutput != null)
+                spilledOutput.delete();
+        }
+    }
+
+    /**
+     * The directory the transformed batches are written to
+     * instead of being kept in memory, null to keep them in memory
+     * @param spillDirectory the directory for the cached batches
+     */
+    public void setSpillDirectory(File spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public File getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+
+    private ThreadLocal<Copies> copiesOf(final int layer) {
+        return new ThreadLocal<Copies>() {
+            @Override
+            protected Copies initialValue() {
+                return new Copies(network.getLayers()[layer].clone(),network.getSigmoidLayers()[layer].clone());
+            }
+        };
+    }
+
+    private CachedBatch get(Future<CachedBatch> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a batch",e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to transform a batch",e.getCause());
+        }
+    }
+
+
+    private class Transform implements Callable<CachedBatch> {
+        private final int layer;
+        private final int batch;
+        private final CachedBatch input;
+        private final ThreadLocal<Copies> copies;
+
+        private Transform(int layer,int batch,CachedBatch input,ThreadLocal<Copies> copies) {
+            this.layer = layer;
+            this.batch = batch;
+            this.input = input;
+            this.copies = copies;
+        }
+
+        @Override
+        public CachedBatch call() throws Exception {
+            DoubleMatrix layerInput = input.get();
+            input.release();
+            Copies below = copies.get();
+            RandomGenerator rng = new MersenneTwister(new int[]{(int) seed,(int) (seed >>> 32),layer,batch});
+            below.layer.setRng(rng);
+            below.layer.setInput(layerInput);
+            DoubleMatrix output = network.nextLayerInput(layer,below.layer,below.hiddenLayer,layerInput,rng);
+            return new CachedBatch(output);
+        }
+    }
+
+    private static class Copies {
+        private final NeuralNetwork layer;
+        private final HiddenLayer hiddenLayer;
+
+        private Copies(NeuralNetwork layer,HiddenLayer hiddenLayer) {
+            this.layer = layer;
+            this.hiddenLayer = hiddenLayer;
+        }
+    }
+
+    //a batch of a layer's input, in memory or a range of the rows of a spill file
+    private static class CachedBatch {
+        private DoubleMatrix matrix;
+        private Spill spill;
+        private int from,to;
+
+        private CachedBatch(DoubleMatrix matrix) {
+            this.matrix = matrix;
+        }
+
+        private CachedBatch(Spill spill,int from,int to) {
+            this.spill = spill;
+            this.from = from;
+            this.to = to;
+        }
+
+        private DoubleMatrix get() {
+            if(matrix != null)
+                return matrix;
+            return spill.mapped.get(from,to).getFeatureMatrix();
+        }
+
+        //spilled rows go away with their file
+        private void release() {
+            matrix = null;
+            spill = null;
+        }
+    }
+
+    //the input of a layer written as the features of a data set file, in batch order
+    private static class Spill {
+        private File file;
+        private MappedDataSetWriter writer;
+        private MappedDataSet mapped;
+
+        private Spill(File directory,int layer) {
+            try {
+                file = File.createTempFile("layer-" + layer + "-",".bin",directory);
+                file.deleteOnExit();
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to spill to " + directory,e);
+            }
+        }
+
+        //appends a batch, the rows can be read once the spill is finished
+        private CachedBatch add(DoubleMatrix batch) {
+            try {
+                if(writer == null)
+                    writer = new MappedDataSetWriter(file,batch.columns,0,false);
+                int from = writer.getNumExamples();
+                writer.add(new DataSet(batch,new DoubleMatrix(batch.rows,0)));
+                return new CachedBatch(this,from,from + batch.rows);
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to spill batch to " + file.getAbsolutePath(),e);
+            }
+        }
+
+        private void finish() {
+            if(writer == null)
+                return;
+            try {
+                writer.close();
+                mapped = MappedDataSet.open(file);
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to map " + file.getAbsolutePath(),e);
+            }
+        }
+
+        private void delete() {
+            try {
+                if(writer != null)
+                    writer.close();
+            } catch (IOException e) {
+                log.warn("Unable to close " + file.getAbsolutePath(),e);
+            }
+            mapped = null;
+            if(file.exists() && !file.delete())
+                log.warn("Unable to delete " + file.getAbsolutePath());
+        }
+    }
+
+    //the features of the data as batches of the first layer's input
+    private static class DataInput implements Iterator<CachedBatch> {
+        private final DataSetIterator iter;
+
+        private DataInput(DataSetIterator iter) {
+            this.iter = iter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iter.hasNext();
+        }
+
+        @Override
+        public CachedBatch next() {
+            return new CachedBatch(iter.next().getFirst());
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
@@ -1,31 +1,36 @@
 package org.deeplearning4j.eval;
 
 
-import java.util.Set;
+import java.io.Serializable;
 
-import org.deeplearning4j.berkeley.Counter;
 import org.deeplearning4j.util.MatrixUtil;
 import org.jblas.DoubleMatrix;
-import org.jblas.SimpleBlas;
 
 
 /**
  * Evaluation metrics: precision, recall, f1
+ *
+ * Counts are kept in a primitive confusion matrix indexed by (actual,predicted),
+ * along with a histogram of the rank the real outcome had among the guesses
+ * so top k accuracy is available for any k.
+ * Evaluations of separate shards of the data can be combined with {@link #merge(Evaluation)}.
+ * An evaluation is not thread safe: use one per thread and merge them.
  * @author Adam Gibson
  *
  */
-public class Evaluation {
+public class Evaluation implements Serializable {
 
-	private double truePositives;
-	private Counter<Integer> falsePositives = new Counter<>();
-	private Counter<Integer> trueNegative = new Counter<>();
-	private double falseNegatives;
-	private ConfusionMatrix<Integer> confusion = new ConfusionMatrix<>();
+	private static final long serialVersionUID = -4523426155314786271L;
+	//confusion[actual][predicted]
+	private int[][] confusion = new int[0][0];
+	//rankCounts[k]: the number of examples where k guesses scored higher than the real outcome
+	private long[] rankCounts = new long[0];
+	private long total;
 
 	/**
-	 * Collects statistics on the real outcomes vs the 
-	 * guesses. This is for logistic outcome matrices such that the 
-	 * 
+	 * Collects statistics on the real outcomes vs the
+	 * guesses. This is for logistic outcome matrices such that the
+	 *
 	 * Note that an IllegalArgumentException is thrown if the two passed in
 	 * matrices aren't the same length.
 	 * @param realOutcomes the real outcomes (usually binary)
@@ -34,30 +39,62 @@ public class Evaluation {
 	public void eval(DoubleMatrix realOutcomes,DoubleMatrix guesses) {
 		if(realOutcomes.length != guesses.length)
 			throw new IllegalArgumentException("Unable to evaluate. Outcome matrices not same length");
-		for(int i = 0; i < realOutcomes.rows; i++) {
-			DoubleMatrix currRow = realOutcomes.getRow(i);
-			DoubleMatrix guessRow = guesses.getRow(i);
-
-			int currMax = SimpleBlas.iamax(currRow);
-			int guessMax = SimpleBlas.iamax(guessRow);
+		if(realOutcomes.rows != guesses.rows)
+			guesses = new DoubleMatrix(realOutcomes.rows,realOutcomes.columns,guesses.data);
 
-			addToConfusion(currMax,guessMax);
+		int[] actual = MatrixUtil.argMaxRows(realOutcomes);
+		int[] predicted = MatrixUtil.argMaxRows(guesses);
+		eval(actual,predicted);
 
-			if(currMax == guessMax) {
-				incrementTruePositives();
-				for(Integer clazz : confusion.getClasses()) {
-					if(clazz != guessMax)
-						trueNegative.incrementCount(clazz, 1.0);
-				}
-			}
-			else {
-				incrementFalseNegatives();
-				incrementFalsePositives(guessMax);
-			}
-			
-			
-			
+		//the rank of the real outcome: how many guesses scored strictly higher
+		int rows = guesses.rows;
+		double[] realScore = new double[rows];
+		for(int i = 0; i < rows; i++)
+			realScore[i] = guesses.data[i + actual[i] * rows];
+		int[] rank = new int[rows];
+		for(int j = 0; j < guesses.columns; j++) {
+			int offset = j * rows;
+			for(int i = 0; i < rows; i++)
+				if(guesses.data[offset + i] > realScore[i])
+					rank[i]++;
 		}
+
+		ensureRanks(guesses.columns);
+		for(int i = 0; i < rows; i++)
+			rankCounts[rank[i]]++;
+	}
+
+	/**
+	 * Collects statistics on already decided outcomes.
+	 * Top k accuracy only counts examples evaluated with their guesses
+	 * @param actual the real outcome of each example
+	 * @param predicted the predicted outcome of each example
+	 */
+	public void eval(int[] actual,int[] predicted) {
+		if(actual.length != predicted.length)
+			throw new IllegalArgumentException("Unable to evaluate. Outcome arrays not same length");
+		int max = -1;
+		for(int i = 0; i < actual.length; i++)
+			max = Math.max(max,Math.max(actual[i],predicted[i]));
+		ensureClasses(max + 1);
+		for(int i = 0; i < actual.length; i++)
+			confusion[actual[i]][predicted[i]]++;
+		total += actual.length;
+	}
+
+	/**
+	 * Adds the counts of another evaluation to this one
+	 * @param other the evaluation to add
+	 */
+	public void merge(Evaluation other) {
+		ensureClasses(other.confusion.length);
+		for(int i = 0; i < other.confusion.length; i++)
+			for(int j = 0; j < other.confusion.length; j++)
+				confusion[i][j] += other.confusion[i][j];
+		ensureRanks(other.rankCounts.length);
+		for(int i = 0; i < other.rankCounts.length; i++)
+			rankCounts[i] += other.rankCounts[i];
+		total += other.total;
 	}
 
 
@@ -65,10 +102,9 @@ public class Evaluation {
 	public String stats() {
 		StringBuilder builder = new StringBuilder()
 		.append("\n");
-		Set<Integer> classes = confusion.getClasses();
-		for(Integer clazz : classes) {
-			for(Integer clazz2 : classes) {
-				int count = confusion.getCount(clazz, clazz2);
+		for(int clazz = 0; clazz < confusion.length; clazz++) {
+			for(int clazz2 = 0; clazz2 < confusion.length; clazz2++) {
+				int count = confusion[clazz][clazz2];
 				if(count != 0)
 					builder.append("\nActual Class " + clazz + " was predicted with Predicted " + clazz2 + " with count " + count  + " times\n");
 			}
@@ -85,7 +121,22 @@ public class Evaluation {
 	 * @param guess the system guess
 	 */
 	public void addToConfusion(int real,int guess) {
-		confusion.add(real, guess);
+		ensureClasses(Math.max(real,guess) + 1);
+		confusion[real][guess]++;
+		total++;
+	}
+
+	/**
+	 * The confusion matrix so far, for display
+	 * @return a copy of the counts as a confusion matrix
+	 */
+	public ConfusionMatrix<Integer> getConfusionMatrix() {
+		ConfusionMatrix<Integer> ret = new ConfusionMatrix<>();
+		for(int i = 0; i < confusion.length; i++)
+			for(int j = 0; j < confusion.length; j++)
+				if(confusion[i][j] != 0)
+					ret.add(i,j,confusion[i][j]);
+		return ret;
 	}
 
 	/**
@@ -96,87 +147,124 @@ public class Evaluation {
 	 * actually occurred
 	 */
 	public int classCount(int i) {
-		return confusion.getActualTotal(i);
+		if(i >= confusion.length)
+			return 0;
+		int count = 0;
+		for(int j = 0; j < confusion.length; j++)
+			count += confusion[i][j];
+		return count;
 	}
 
 	/**
-	 * Returns the number of times a given label was predicted 
+	 * Returns the number of times a given label was predicted
 	 * @param label the label to getFromOrigin
 	 * @return the number of times the given label was predicted
 	 */
 	public int numtimesPredicted(int label) {
-		return confusion.getPredictedTotal(label);
+		if(label >= confusion.length)
+			return 0;
+		int count = 0;
+		for(int i = 0; i < confusion.length; i++)
+			count += confusion[i][label];
+		return count;
 	}
 
 	/**
-	 * Gets the number of times the 
-	 * given class was predicted for the 
+	 * Gets the number of times the
+	 * given class was predicted for the
 	 * given predicted label
-	 * @param actual 
+	 * @param actual
 	 * @param predicted
 	 * @return
 	 */
 	public int numTimesPredicted(int actual,int predicted) {
-		return confusion.getCount(actual, predicted);
+		if(actual >= confusion.length || predicted >= confusion.length)
+			return 0;
+		return confusion[actual][predicted];
 	}
 
 	/**
-	 * Total precision based on guesses so far
+	 * Total precision based on guesses so far:
+	 * the mean precision of the classes that occurred or were predicted
 	 * @return the total precision based on guesses so far
-	 * 
+	 *
 	 */
 	public double precision() {
 		double prec = 0.0;
-		for(Integer i : confusion.getClasses()) {
+		int classes = 0;
+		for(int i = 0; i < confusion.length; i++) {
+			if(classCount(i) == 0 && numtimesPredicted(i) == 0)
+				continue;
 			prec += precision(i);
+			classes++;
 		}
-		return prec / (double) confusion.getClasses().size();
+		return classes == 0 ? 0 : prec / (double) classes;
 	}
 
 
 	/**
-	 * True negatives: correctly rejected
+	 * True negatives: correctly rejected, summed over each class
 	 * @return the total true negatives so far
 	 */
 	public double trueNegatives() {
-		return trueNegative.totalCount();
+		double ret = 0;
+		for(int i = 0; i < confusion.length; i++)
+			ret += total - classCount(i) - numtimesPredicted(i) + confusion[i][i];
+		return ret;
 	}
-	
+
 	/**
 	 * False positive: wrong guess
 	 * @return the count of the false positives
 	 */
 	public double falsePositive() {
-		return falsePositives.totalCount();
+		return total - truePositives();
 	}
-	
+
 	/**
 	 * Total negatives true negatives + falseNegatives
 	 * @return the overall negative count
 	 */
 	public double negative() {
-		return trueNegatives() + falseNegatives;
-		
+		return trueNegatives() + falseNegatives();
+
 	}
-	
+
 	/**
 	 * Returns all of the positive guesses:
 	 * true positive + false negative
 	 * @return
 	 */
 	public double positive() {
-		return truePositives + falseNegatives;
+		return total;
 	}
-	
+
 	/**
-	 * Accuracy: 
-	 * TP + TN / (P + N)
+	 * Accuracy:
+	 * the fraction of examples whose real outcome was guessed
 	 * @return the accuracy of the guesses so far
 	 */
 	public double accuracy() {
-		return this.truePositives + trueNegatives() / (positive() + negative());
+		return total == 0 ? 0 : truePositives() / (double) total;
+	}
+
+	/**
+	 * Top k accuracy: the fraction of examples whose real outcome
+	 * was among the k highest guesses. Ties are counted in the real outcome's favour.
+	 * Only examples evaluated with their guesses are counted
+	 * @param k the number of guesses
+	 * @return the top k accuracy so far
+	 */
+	public double topKAccuracy(int k) {
+		long examples = 0,hits = 0;
+		for(int i = 0; i < rankCounts.length; i++) {
+			examples += rankCounts[i];
+			if(i < k)
+				hits += rankCounts[i];
+		}
+		return examples == 0 ? 0 : hits / (double) examples;
 	}
-	
+
 	/**
 	 * TP: true positive
 	 * FP: False Positive
@@ -199,7 +287,7 @@ public class Evaluation {
 	 */
 	public double f1(int i) {
 		double precision = precision(i);
-		double recall = recall();
+		double recall = recall(i);
 		if(precision == 0 || recall == 0)
 			return 0;
 		return 2.0 * ((precision * recall / (precision + recall)));
@@ -210,34 +298,82 @@ public class Evaluation {
 	 * @return the recall for the outcomes
 	 */
 	public double recall() {
+		double truePositives = truePositives();
 		if(truePositives == 0)
 			return 0;
-		return truePositives / (truePositives + falseNegatives);
+		return truePositives / (truePositives + falseNegatives());
+	}
+
+	/**
+	 * Returns the recall for a given label:
+	 * the fraction of its occurrences that were predicted
+	 * @param i the label
+	 * @return the recall for the label
+	 */
+	public double recall(int i) {
+		int occurred = classCount(i);
+		if(occurred == 0)
+			return 0;
+		return confusion[i][i] / (double) occurred;
 	}
 
 	/**
-	 * Returns the precision for a given label
+	 * Returns the precision for a given label:
+	 * the fraction of its predictions that were right
 	 * @param i the label
 	 * @return the precision for the label
 	 */
 	public double precision(int i) {
-		if(truePositives == 0)
+		int predicted = numtimesPredicted(i);
+		if(predicted == 0)
 			return 0;
-		return truePositives / (truePositives + falsePositives.getCount(i));
+		return confusion[i][i] / (double) predicted;
 	}
 
+	/**
+	 * The number of examples whose real outcome was guessed
+	 * @return the true positives so far
+	 */
+	public double truePositives() {
+		long ret = 0;
+		for(int i = 0; i < confusion.length; i++)
+			ret += confusion[i][i];
+		return ret;
+	}
 
-	public void incrementTruePositives() {
-		truePositives++;
+	/**
+	 * The number of examples whose real outcome was missed
+	 * @return the false negatives so far
+	 */
+	public double falseNegatives() {
+		return total - truePositives();
 	}
 
-	public void incrementFalseNegatives() {
-		falseNegatives++;
+	/**
+	 * The number of examples evaluated
+	 * @return the number of examples
+	 */
+	public long getTotal() {
+		return total;
 	}
 
-	public void incrementFalsePositives(int i) {
-		falsePositives.incrementCount(i, 1.0);
+
+	//grows the confusion matrix to at least the given number of classes
+	private void ensureClasses(int classes) {
+		if(classes <= confusion.length)
+			return;
+		int[][] grown = new int[classes][classes];
+		for(int i = 0; i < confusion.length; i++)
+			System.arraycopy(confusion[i],0,grown[i],0,confusion.length);
+		confusion = grown;
 	}
 
+	private void ensureRanks(int classes) {
+		if(classes <= rankCounts.length)
+			return;
+		long[] grown = new long[classes];
+		System.arraycopy(rankCounts,0,grown,0,rankCounts.length);
+		rankCounts = grown;
+	}
 
 }
@@ -0,0 +1,258 @@
+package org.deeplearning4j.fft;
+
+import org.apache.commons.math3.util.FastMath;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In place fast fourier transform over interleaved complex data
+ * (real,imag,real,imag,...) such as the backing data of a
+ * {@link org.deeplearning4j.nn.linalg.ComplexNDArray}.
+ *
+ * Power of 2 lengths use an iterative radix-2 Cooley-Tukey transform.
+ * Any other length is computed with Bluestein's algorithm on top of
+ * the radix-2 transform.
+ *
+ * Twiddle factors and chirps are computed once per length and cached.
+ *
+ * @author Adam Gibson
+ */
+public class FFTEngine {
+
+    //per length cos/-sin tables for the radix-2 butterflies
+    private static Map<Integer,double[]> twiddles = new ConcurrentHashMap<>();
+    //per length chirp and transformed chirp filter for bluestein
+    private static Map<Integer,double[][]> chirps = new ConcurrentHashMap<>();
+
+
+    private FFTEngine() {}
+
+
+    /**
+     * Forward fft on the first n interleaved complex numbers of data
+     * @param data the interleaved data to transform in place
+     * @param n the number of complex numbers to transform
+     */
+    public static void fft(double[] data,int n) {
+        transform(data,n,false);
+    }
+
+    /**
+     * Inverse fft (scaled by 1 / n) on the first n
+     * interleaved complex numbers of data
+     * @param data the interleaved data to transform in place
+     * @param n the number of complex numbers to transform
+     */
+    public static void ifft(double[] data,int n) {
+        transform(data,n,true);
+    }
+
+    /**
+     * Forward fft on a strided vector of complex numbers.
+     * @param data the interleaved data to transform in place
+     * @param offset the offset of the first real component
+     * @param stride the distance between successive real components
+     * @param n the number of complex numbers to transform
+     */
+    public static void fft(double[] data,int offset,int stride,int n) {
+        transform(data,offset,stride,n,false);
+    }
+
+    /**
+     * Inverse fft (scaled by 1 / n) on a strided vector of complex numbers.
+     * @param data the interleaved data to transform in place
+     * @param offset the offset of the first real component
+     * @param stride the distance between successive real components
+     * @param n the number of complex numbers to transform
+     */
+    public static void ifft(double[] data,int offset,int stride,int n) {
+        transform(data,offset,stride,n,true);
+    }
+
+
+    private static void transform(double[] data,int offset,int stride,int n,boolean inverse) {
+        if(offset == 0 && stride == 2) {
+            transform(data,n,inverse);
+            return;
+        }
+
+        double[] buffer = new double[n * 2];
+        for(int i = 0; i < n; i++) {
+            int idx = offset + i * stride;
+            buffer[2 * i] = data[idx];
+            buffer[2 * i + 1] = data[idx + 1];
+        }
+
+        transform(buffer,n,inverse);
+
+        for(int i = 0; i < n; i++) {
+            int idx = offset + i * stride;
+            data[idx] = buffer[2 * i];
+            data[idx + 1] = buffer[2 * i + 1];
+        }
+    }
+
+
+    private static void transform(double[] data,int n,boolean inverse) {
+        if(n < 1)
+            throw new IllegalArgumentException("Number of elements must be at least 1");
+        if(data.length < n * 2)
+            throw new IllegalArgumentException("Data must hold at least " + n + " complex numbers");
+        if(n == 1)
+            return;
+
+        if(isPowerOf2(n))
+            radix2(data,n,inverse);
+        else
+            bluestein(data,n,inverse);
+
+        if(inverse) {
+            double scale = 1.0 / n;
+            for(int i = 0; i < n * 2; i++)
+                data[i] *= scale;
+        }
+    }
+
+
+    /**
+     * Unscaled iterative radix-2 transform
+     */
+    private static void radix2(double[] data,int n,boolean inverse) {
+        //bit reversal permutation
+        for(int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for(; (j & bit) != 0; bit >>= 1)
+                j ^= bit;
+            j ^= bit;
+            if(i < j) {
+                double tmp = data[2 * i];
+                data[2 * i] = data[2 * j];
+                data[2 * j] = tmp;
+                tmp = data[2 * i + 1];
+                data[2 * i + 1] = data[2 * j + 1];
+                data[2 * j + 1] = tmp;
+            }
+        }
+
+        double[] twiddle = twiddles(n);
+        double sign = inverse ? -1 : 1;
+
+        for(int len = 2; len <= n; len <<= 1) {
+            int half = len >> 1;
+            int step = n / len;
+            for(int i = 0; i < n; i += len) {
+                for(int k = 0; k < half; k++) {
+                    double wr = twiddle[2 * k * step];
+                    double wi = sign * twiddle[2 * k * step + 1];
+                    int a = 2 * (i + k);
+                    int b = a + 2 * half;
+                    double xr = data[b] * wr - data[b + 1] * wi;
+                    double xi = data[b] * wi + data[b + 1] * wr;
+                    data[b] = data[a] - xr;
+                    data[b + 1] = data[a + 1] - xi;
+                    data[a] += xr;
+                    data[a + 1] += xi;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Unscaled arbitrary length transform via a circular convolution
+     * with a chirp of the next power of 2 at least 2n - 1 long
+     */
+    private static void bluestein(double[] data,int n,boolean inverse) {
+        double[][] chirp = chirps(n);
+        double[] w = chirp[0];
+        double[] filter = chirp[1];
+        int m = filter.length / 2;
+        //the inverse transform is conj(fft(conj(x)))
+        double sign = inverse ? -1 : 1;
+
+        double[] a = new double[m * 2];
+        for(int k = 0; k < n; k++) {
+            double xr = data[2 * k];
+            double xi = sign * data[2 * k + 1];
+            a[2 * k] = xr * w[2 * k] - xi * w[2 * k + 1];
+            a[2 * k + 1] = xr * w[2 * k + 1] + xi * w[2 * k];
+        }
+
+        radix2(a,m,false);
+        for(int k = 0; k < m; k++) {
+            double ar = a[2 * k];
+            double ai = a[2 * k + 1];
+            a[2 * k] = ar * filter[2 * k] - ai * filter[2 * k + 1];
+            a[2 * k + 1] = ar * filter[2 * k + 1] + ai * filter[2 * k];
+        }
+        radix2(a,m,true);
+
+        double scale = 1.0 / m;
+        for(int k = 0; k < n; k++) {
+            double cr = a[2 * k] * scale;
+            double ci = a[2 * k + 1] * scale;
+            data[2 * k] = cr * w[2 * k] - ci * w[2 * k + 1];
+            data[2 * k + 1] = sign * (cr * w[2 * k + 1] + ci * w[2 * k]);
+        }
+    }
+
+
+    private static double[] twiddles(int n) {
+        double[] ret = twiddles.get(n);
+        if(ret != null)
+            return ret;
+
+        ret = new double[n];
+        for(int k = 0; k < n / 2; k++) {
+            double angle = 2 * FastMath.PI * k / n;
+            ret[2 * k] = FastMath.cos(angle);
+            ret[2 * k + 1] = -FastMath.sin(angle);
+        }
+
+        twiddles.put(n,ret);
+        return ret;
+    }
+
+
+    private static double[][] chirps(int n) {
+        double[][] ret = chirps.get(n);
+        if(ret != null)
+            return ret;
+
+        int m = Integer.highestOneBit(2 * n - 1);
+        if(m < 2 * n - 1)
+            m <<= 1;
+
+        //w[k] = exp(-i * pi * k^2 / n), k^2 is reduced mod 2n to keep the angle accurate
+        double[] w = new double[n * 2];
+        for(int k = 0; k < n; k++) {
+            long kSquared = ((long) k * k) % (2L * n);
+            double angle = FastMath.PI * kSquared / n;
+            w[2 * k] = FastMath.cos(angle);
+            w[2 * k + 1] = -FastMath.sin(angle);
+        }
+
+        //the filter is the conjugate chirp wrapped around the convolution length
+        double[] filter = new double[m * 2];
+        filter[0] = w[0];
+        filter[1] = -w[1];
+        for(int k = 1; k < n; k++) {
+            filter[2 * k] = filter[2 * (m - k)] = w[2 * k];
+            filter[2 * k + 1] = filter[2 * (m - k) + 1] = -w[2 * k + 1];
+        }
+
+        radix2(filter,m,false);
+
+        ret = new double[][]{w,filter};
+        chirps.put(n,ret);
+        return ret;
+    }
+
+
+    private static boolean isPowerOf2(int n) {
+        return (n & (n - 1)) == 0;
+    }
+
+
+}
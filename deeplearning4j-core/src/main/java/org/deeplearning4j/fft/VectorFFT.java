@@ -1,18 +1,12 @@
 package org.deeplearning4j.fft;
 
-import static  org.deeplearning4j.util.ComplexNDArrayUtil.exp;
-
 import com.google.common.base.Function;
-import org.apache.commons.math3.util.FastMath;
 import org.deeplearning4j.nn.linalg.ComplexNDArray;
-import org.deeplearning4j.nn.linalg.NDArray;
 import org.deeplearning4j.util.ComplexNDArrayUtil;
-import org.deeplearning4j.util.MathUtils;
-import org.deeplearning4j.util.MatrixUtil;
-import org.jblas.ComplexDouble;
 
 /**
- * Encapsulated vector operation
+ * Encapsulated vector operation.
+ * The transform itself is done by the {@link FFTEngine}
  *
  * @author Adam Gibson
  */
@@ -32,35 +26,32 @@ public class VectorFFT implements Function<ComplexNDArray,ComplexNDArray> {
 
     @Override
     public ComplexNDArray apply(ComplexNDArray ndArray) {
-        double len = n;
-
-        int desiredElementsAlongDimension = ndArray.length;
-
-        if(len > desiredElementsAlongDimension) {
-            ndArray = ComplexNDArrayUtil.padWithZeros(ndArray,new int[]{n});
-        }
-
-        else if(len < desiredElementsAlongDimension) {
-            ndArray = ComplexNDArrayUtil.truncate(ndArray, n, 0);
-        }
-
+        ComplexNDArray ret = copyInto(ndArray, n);
+        FFTEngine.fft(ret.data, n);
+        if(originalN > 0)
+            ret = ComplexNDArrayUtil.truncate(ret, originalN, 0);
 
-        ComplexDouble c2 = new ComplexDouble(0,-2).muli(FastMath.PI);
-        //row vector
-        //ComplexNDArray n = ComplexNDArray.wrap(MatrixUtil.arange(0d, this.n));
-        NDArray n = NDArray.arange(0,this.n);
+        return ret;
+    }
 
-        //column vector
-        NDArray k = n.reshape(new int[]{n.length,1});
-        ComplexNDArray M = exp(k.mmul(n).mul(c2).divi(len));
-        ComplexNDArray reshaped = ndArray.reshape(new int[]{ndArray.length});
-        ComplexNDArray matrix = reshaped.mmul(M);
-        if(originalN > 0) {
-            matrix = ComplexNDArrayUtil.truncate(matrix, originalN, 0);
 
+    /**
+     * Copies the given vector in to a new contiguous row vector of n elements,
+     * truncating or padding with zeros as needed
+     * @param ndArray the vector to copy
+     * @param n the number of elements in the result
+     * @return a contiguous copy of the vector
+     */
+    static ComplexNDArray copyInto(ComplexNDArray ndArray,int n) {
+        ComplexNDArray ret = new ComplexNDArray(new int[]{1,n});
+        int len = Math.min(n, ndArray.length);
+        for(int i = 0; i < len; i++) {
+            int idx = ndArray.linearIndex(i);
+            ret.data[2 * i] = ndArray.data[idx];
+            ret.data[2 * i + 1] = ndArray.data[idx + 1];
         }
 
-        return matrix;
+        return ret;
     }
 
 
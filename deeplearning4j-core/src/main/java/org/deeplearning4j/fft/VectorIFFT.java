@@ -1,16 +1,8 @@
 package org.deeplearning4j.fft;
 
 import com.google.common.base.Function;
-import org.apache.commons.math3.util.FastMath;
 import org.deeplearning4j.nn.linalg.ComplexNDArray;
-import org.deeplearning4j.nn.linalg.NDArray;
 import org.deeplearning4j.util.ComplexNDArrayUtil;
-import org.deeplearning4j.util.MathUtils;
-import org.deeplearning4j.util.MatrixUtil;
-import org.jblas.ComplexDouble;
-import org.jblas.ComplexDoubleMatrix;
-
-import static org.deeplearning4j.util.MatrixUtil.exp;
 
 /**
  * Single ifft operation
@@ -50,8 +42,8 @@ public class VectorIFFT implements Function<ComplexNDArray,ComplexNDArray> {
      */
     @Override
     public ComplexNDArray apply(ComplexNDArray ndArray) {
-        //ifft(x) = conj(fft(conj(x)) / length(x)
-        ComplexNDArray ret = new VectorFFT(n).apply(ndArray.conj()).conj().divi(n);
+        ComplexNDArray ret = VectorFFT.copyInto(ndArray, n);
+        FFTEngine.ifft(ret.data, n);
         return originalN > 0 ? ComplexNDArrayUtil.truncate(ret,originalN,0) : ret;
 
     }
@@ -17,6 +17,7 @@ import org.apache.commons.math3.random.RandomGenerator;
 import org.deeplearning4j.autoencoder.AutoEncoder;
 import org.deeplearning4j.berkeley.Pair;
 import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.iterator.AsyncDataSetIterator;
 import org.deeplearning4j.datasets.iterator.DataSetIterator;
 import org.deeplearning4j.nn.NeuralNetwork.LossFunction;
 import org.deeplearning4j.nn.NeuralNetwork.OptimizationAlgorithm;
@@ -28,10 +29,10 @@ import org.deeplearning4j.rng.SynchronizedRandomGenerator;
 import org.deeplearning4j.transformation.MatrixTransform;
 import org.deeplearning4j.util.ArrayUtil;
 import org.deeplearning4j.util.Dl4jReflection;
+import org.deeplearning4j.util.MatrixUtil;
 import org.deeplearning4j.util.SerializationUtils;
 import org.jblas.DoubleMatrix;
 
-import org.jblas.SimpleBlas;
 import org.jblas.ranges.RangeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +57,11 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
 
     private static Logger log = LoggerFactory.getLogger(BaseMultiLayerNetwork.class);
     private static final long serialVersionUID = -5029161847383716484L;
+    //workspace slots, offset by the layer index
+    private static final int ERROR_SLOT = 0;
+    private static final int WEIGHT_GRADIENT_SLOT = 1 << 10;
+    private static final int WEIGHTS_PLUS_BIAS_SLOT = 2 << 10;
+    private static final int BIAS_GRADIENT_SLOT = 3 << 10;
     //number of columns in the input matrix
     protected int nIns;
     //the hidden layer sizes at each layer
@@ -244,6 +250,12 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
         Constrains the gradient to unit norm
      */
     protected boolean constrainGradientToUnitNorm = false;
+    /*
+     * Reuse preallocated buffers for the activation list and the back prop
+     * errors and gradients rather than allocating them every iteration
+     */
+    protected boolean useWorkspace = false;
+    protected transient Workspace workspace;
 
 
     /* Reflection/factory constructor */
@@ -536,7 +548,8 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
         if(this.input.columns != nIns)
             throw new IllegalStateException("Illegal input length");
 
-        List<DoubleMatrix> activations = new ArrayList<>();
+        //with a workspace the list is reused, it is only valid until the next call
+        List<DoubleMatrix> activations = useWorkspace ? workspace().activations() : new ArrayList<DoubleMatrix>();
         activations.add(currInput);
 
         for(int i = 0; i < getnLayers(); i++) {
@@ -900,6 +913,11 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
 
     /* delta computation for back prop */
     protected  void computeDeltas(List<DoubleMatrix> deltaRet) {
+        if(useWorkspace) {
+            computeDeltasInWorkspace(deltaRet);
+            return;
+        }
+
         DoubleMatrix[] deltas = new DoubleMatrix[getnLayers() + 2];
 
         List<DoubleMatrix> activations = feedForward();
@@ -959,6 +977,59 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
 
     }
 
+    /*
+     * delta computation for back prop writing every intermediate matrix
+     * in to the workspace; the same math as computeDeltas
+     */
+    protected void computeDeltasInWorkspace(List<DoubleMatrix> deltaRet) {
+        Workspace workspace = workspace();
+        int nLayers = getnLayers();
+        DoubleMatrix[] deltas = new DoubleMatrix[nLayers + 2];
+        List<DoubleMatrix> activations = feedForward();
+        int batchSize = input.rows;
+
+        //- y - h
+        DoubleMatrix output = activations.get(activations.size() - 1);
+        DoubleMatrix ix = output.subi(labels,workspace.batchBuffer(batchSize,ERROR_SLOT + nLayers + 1,output.columns)).divi(input.rows);
+        deltas[nLayers + 1] = ix;
+
+        for(int i = nLayers; i >= 0; i--) {
+            DoubleMatrix w = i < nLayers ? getLayers()[i].getW() : getOutputLayer().getW();
+            DoubleMatrix b = i < nLayers ? getLayers()[i].gethBias() : getOutputLayer().getB();
+            DoubleMatrix activation = activations.get(i);
+
+            DoubleMatrix delta = Workspace.mmulTransposeA(activation,ix,workspace.buffer(WEIGHT_GRADIENT_SLOT + i,activation.columns,ix.columns));
+            deltas[i] = delta;
+            applyDropConnectIfNecessary(delta);
+            if(i > 0) {
+                DoubleMatrix weightsPlusBias = workspace.buffer(WEIGHTS_PLUS_BIAS_SLOT + i,w.rows,w.columns);
+                //copy returns its argument, not the copy
+                weightsPlusBias.copy(w);
+                weightsPlusBias.addiRowVector(b);
+                DoubleMatrix next = workspace.batchBuffer(batchSize,ERROR_SLOT + i,weightsPlusBias.rows);
+                ix = Workspace.mmulTransposeB(ix,weightsPlusBias,next);
+                Workspace.muliDerivative(getSigmoidLayers()[i - 1].getActivationFunction(),activation,ix);
+            }
+        }
+
+        for(int i = 0; i < deltas.length; i++) {
+            if(constrainGradientToUnitNorm)
+                deltaRet.add(deltas[i].divi(deltas[i].norm2()));
+            else
+                deltaRet.add(deltas[i]);
+        }
+    }
+
+    /**
+     * The buffers reused when {@link #isUseWorkspace()} is set
+     * @return the workspace of this network
+     */
+    public Workspace workspace() {
+        if(workspace == null)
+            workspace = new Workspace();
+        return workspace;
+    }
+
     /**
      * One step of back prop
      */
@@ -1303,6 +1374,23 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
         this.useDropConnect = useDropConnect;
     }
 
+    public boolean isUseWorkspace() {
+        return useWorkspace;
+    }
+
+    /**
+     * Reuse preallocated buffers for the errors and gradients of first order back prop
+     * (see {@link Workspace} for what is covered).
+     * The list returned by {@link #feedForward()} and the matrices returned by
+     * {@link #backPropGradient()} are then only valid until the next call
+     * @param useWorkspace whether to use a workspace
+     */
+    public void setUseWorkspace(boolean useWorkspace) {
+        this.useWorkspace = useWorkspace;
+        if(!useWorkspace && workspace != null)
+            workspace.clear();
+    }
+
     /**
      * Returns a 1 x m vector where the vector is composed of
      * a flattened vector of all of the weights for the
@@ -1310,27 +1398,16 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
      * @return the params for this neural net
      */
     public DoubleMatrix params() {
-        double[][] list = new double[layers.length * 2 + 2][];
-
-        int deltaCount = 0;
-
-        for(int i = 0; i < list.length - 1; i+= 2) {
-            if(deltaCount >= layers.length) {
-                list[i] = outputLayer.getW().dup().reshape(1,outputLayer.getW().length).data;
-                list[i + 1] = outputLayer.getB().dup().reshape(1,outputLayer.getB().length).data;
-                deltaCount++;
-            }
-            else {
-                list[i] = layers[deltaCount].getW().dup().reshape(1,layers[deltaCount].getW().length).data;
-                list[i + 1] = layers[deltaCount].gethBias().dup().reshape(1,layers[deltaCount].gethBias().length).data;
-                deltaCount++;
-            }
-
+        DoubleMatrix ret = new DoubleMatrix(1,numParams());
+        int offset = 0;
+        for(int i = 0; i < layers.length; i++) {
+            offset = MatrixUtil.flattenInto(layers[i].getW(),ret.data,offset);
+            offset = MatrixUtil.flattenInto(layers[i].gethBias(),ret.data,offset);
         }
 
-
-        DoubleMatrix ret = new DoubleMatrix(ArrayUtil.combine(list));
-        return ret.reshape(1,ret.length);
+        offset = MatrixUtil.flattenInto(outputLayer.getW(),ret.data,offset);
+        MatrixUtil.flattenInto(outputLayer.getB(),ret.data,offset);
+        return ret;
 
     }
 
@@ -1363,14 +1440,7 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
      * @return a singular matrix of all of the layers packed in to one matrix
      */
     public  DoubleMatrix pack() {
-        List<Pair<DoubleMatrix,DoubleMatrix>> vWvB = new ArrayList<>();
-        for(int i = 0; i < layers.length; i++) {
-            vWvB.add(new Pair<>(layers[i].getW(),layers[i].gethBias()));
-        }
-
-        vWvB.add(new Pair<>(outputLayer.getW(), outputLayer.getB()));
-
-        return pack(vWvB);
+        return params();
 
     }
 
@@ -1383,33 +1453,22 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
         if(layers.size() != this.layers.length + 1)
             throw new IllegalArgumentException("Illegal number of layers passed in. Was " + layers.size() + " when should have been " + (this.layers.length + 1));
 
-
-        double[][] allMatrices = new double[(this.layers.length + 1) * 2][];
-
-        int count = 0;
-        for(int i = 0; i < this.layers.length; i++) {
-            allMatrices[count++] = layers.get(i).getFirst().data;
-            if(allMatrices[count - 1].length != getLayers()[i].getW().length)
-                throw new IllegalArgumentException("Unable to convert the given matrix to the given length. not of same length as W. Length is " +allMatrices[count].length + " when should be " + getLayers()[i].getW().length);
-            allMatrices[count++] = layers.get(i).getSecond().data;
-            if(allMatrices[count - 1].length != getLayers()[i].gethBias().length)
-                throw new IllegalArgumentException("Unable to convert the given matrix to the given length. not of same length as W. Length is " +allMatrices[count].length + " when should be " + getLayers()[i].gethBias().length);
-
+        DoubleMatrix ret = new DoubleMatrix(1,numParams());
+        int offset = 0;
+        for(int i = 0; i < layers.size(); i++) {
+            DoubleMatrix w = layers.get(i).getFirst();
+            DoubleMatrix b = layers.get(i).getSecond();
+            DoubleMatrix layerW = i < this.layers.length ? this.layers[i].getW() : outputLayer.getW();
+            DoubleMatrix layerB = i < this.layers.length ? this.layers[i].gethBias() : outputLayer.getB();
+            if(w.length != layerW.length)
+                throw new IllegalArgumentException("Unable to convert the given matrix to the given length. not of same length as W. Length is " + w.length + " when should be " + layerW.length);
+            if(b.length != layerB.length)
+                throw new IllegalArgumentException("Unable to convert the given matrix to the given length. not of same length as the bias. Length is " + b.length + " when should be " + layerB.length);
+            offset = MatrixUtil.flattenInto(w,ret.data,offset);
+            offset = MatrixUtil.flattenInto(b,ret.data,offset);
         }
 
-        allMatrices[count++] = layers.get(layers.size() - 1).getFirst().data;
-        allMatrices[count++] = layers.get(layers.size() - 1).getSecond().data;
-
-
-
-        DoubleMatrix ret =  new DoubleMatrix(ArrayUtil.combine(allMatrices));
-        int params = numParams();
-
-        if(ret.length != params)
-            throw new IllegalStateException("Returning an invalid matrix of length " + ret.length + " when should have been " + params);
-
-
-        return ret.reshape(1,ret.length);
+        return ret;
     }
 
 
@@ -1425,40 +1484,18 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
         int numParams = numParams();
         if(param.length != numParams)
             throw new IllegalArgumentException("Parameter vector not equal of length to " + numParams);
-        if(param.rows != 1)
-            param = param.reshape(1,param.length);
         List<Pair<DoubleMatrix,DoubleMatrix>> ret = new ArrayList<>();
-        int curr = 0;
-        for(int i = 0; i < layers.length; i++) {
-            int layerLength = layers[i].getW().length + layers[i].gethBias().length;
-            DoubleMatrix subMatrix = param.get(RangeUtils.all(),RangeUtils.interval(curr,curr + layerLength));
-            DoubleMatrix weightPortion = subMatrix.get(RangeUtils.all(),RangeUtils.interval(0,layers[i].getW().length));
-
-            int beginHBias = layers[i].getW().length;
-            int endHbias = subMatrix.length;
-            DoubleMatrix hBiasPortion = subMatrix.get(RangeUtils.all(),RangeUtils.interval(beginHBias,endHbias));
-            int layerLengthSum = weightPortion.length + hBiasPortion.length;
-            if(layerLengthSum != layerLength) {
-                if(hBiasPortion.length != layers[i].gethBias().length)
-                    throw new IllegalStateException("Hidden bias on layer " + i + " was off");
-                if(weightPortion.length != layers[i].getW().length)
-                    throw new IllegalStateException("Weight portion on layer " + i + " was off");
-
-            }
-            ret.add(new Pair<>(weightPortion.reshape(layers[i].getW().rows,layers[i].getW().columns),hBiasPortion.reshape(layers[i].gethBias().rows,layers[i].gethBias().columns)));
-            curr += layerLength;
+        int offset = 0;
+        for(int i = 0; i <= layers.length; i++) {
+            DoubleMatrix layerW = i < layers.length ? layers[i].getW() : outputLayer.getW();
+            DoubleMatrix layerB = i < layers.length ? layers[i].gethBias() : outputLayer.getB();
+            DoubleMatrix w = new DoubleMatrix(layerW.rows,layerW.columns);
+            DoubleMatrix b = new DoubleMatrix(layerB.rows,layerB.columns);
+            offset = MatrixUtil.unflattenFrom(param.data,offset,w);
+            offset = MatrixUtil.unflattenFrom(param.data,offset,b);
+            ret.add(new Pair<>(w,b));
         }
 
-        int outputLayerWeightLength = outputLayer.getW().length;
-        int biasLength = outputLayer.getB().length;
-        int layerLength = outputLayerWeightLength + biasLength;
-
-        DoubleMatrix subMatrix = param.get(RangeUtils.all(),RangeUtils.interval(curr,curr + layerLength));
-        DoubleMatrix weightPortion = subMatrix.get(RangeUtils.all(),RangeUtils.interval(0,outputLayer.getW().length));
-        DoubleMatrix hBiasPortion = subMatrix.get(RangeUtils.all(),RangeUtils.interval(weightPortion.length,subMatrix.length));
-        ret.add(new Pair<>(weightPortion.reshape(outputLayer.getW().rows,outputLayer.getW().columns),hBiasPortion.reshape(outputLayer.getB().rows,outputLayer.getB().columns)));
-
-
         return ret;
     }
 
@@ -1478,6 +1515,9 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
         List<DoubleMatrix> deltas = new ArrayList<>();
         //compute derivatives and gradients given activations
         computeDeltas(deltas);
+        if(useWorkspace)
+            return backPropGradientInWorkspace(deltas);
+
         List<Pair<DoubleMatrix,DoubleMatrix>> vWvB = new ArrayList<>();
         for(int i = 0; i < layers.length; i++) {
             vWvB.add(new Pair<>(layers[i].getW(),layers[i].gethBias()));
@@ -1525,6 +1565,31 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
     }
 
 
+    /*
+     * The gradient from the deltas without packing and unpacking:
+     * the l2 penalty (the mask is one for weights and zero for biases)
+     * is added to the weight gradients in place
+     */
+    private List<Pair<DoubleMatrix,DoubleMatrix>> backPropGradientInWorkspace(List<DoubleMatrix> deltas) {
+        List<Pair<DoubleMatrix,DoubleMatrix>> list = new ArrayList<>();
+        for(int l = 0; l <= getnLayers(); l++) {
+            DoubleMatrix w = l < getnLayers() ? getLayers()[l].getW() : getOutputLayer().getW();
+            DoubleMatrix b = l < getnLayers() ? getLayers()[l].gethBias() : getOutputLayer().getB();
+            DoubleMatrix gradient = deltas.get(l);
+            if(gradient.length != w.length)
+                throw new IllegalStateException("Gradient change not equal to weight change");
+
+            DoubleMatrix biasGradient = Workspace.columnMeans(gradient,workspace().buffer(BIAS_GRADIENT_SLOT + l,1,gradient.columns));
+            gradient.reshape(w.rows,w.columns);
+            for(int i = 0; i < gradient.length; i++)
+                gradient.data[i] += w.data[i] * l2;
+            list.add(new Pair<>(gradient,biasGradient.reshape(b.rows,b.columns)));
+        }
+
+        return list;
+    }
+
+
     /**
      * Do a back prop iteration.
      * This involves computing the activations, tracking the last layers weights
@@ -1669,19 +1734,22 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
      * @param iterations the number of times to iterate
      */
     public void finetune(DataSetIterator iter,double lr, int iterations) {
-        iter.reset();
-
-        while(iter.hasNext()) {
-            DataSet data = iter.next();
-            if(data.getFirst() == null || data.getSecond() == null)
-                break;
-
-            setInput(data.getFirst());
-            setLabels(data.getSecond());
-            feedForward();
-            this.fineTuneLearningRate = lr;
-            optimizer = new MultiLayerNetworkOptimizer(this,lr);
-            optimizer.optimize(data.getSecond(), lr,iterations);
+        AsyncDataSetIterator async = prefetch(iter);
+        try {
+            while(async.hasNext()) {
+                DataSet data = async.next();
+                if(data.getFirst() == null || data.getSecond() == null)
+                    break;
+
+                setInput(data.getFirst());
+                setLabels(data.getSecond());
+                feedForward();
+                this.fineTuneLearningRate = lr;
+                optimizer = new MultiLayerNetworkOptimizer(this,lr);
+                optimizer.optimize(data.getSecond(), lr,iterations);
+            }
+        } finally {
+            async.shutdown();
         }
 
 
@@ -1695,26 +1763,41 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
      * @param iterations the number of times to iterate
      */
     public void finetune(DataSetIterator iter,double lr, int iterations,TrainingEvaluator eval) {
-        iter.reset();
-
-        while(iter.hasNext()) {
-            DataSet data = iter.next();
-            if(data.getFirst() == null || data.getSecond() == null)
-                break;
+        AsyncDataSetIterator async = prefetch(iter);
+        try {
+            while(async.hasNext()) {
+                DataSet data = async.next();
+                if(data.getFirst() == null || data.getSecond() == null)
+                    break;
 
 
-            setInput(data.getFirst());
-            setLabels(data.getSecond());
+                setInput(data.getFirst());
+                setLabels(data.getSecond());
 
 
-            this.fineTuneLearningRate = lr;
-            optimizer = new MultiLayerNetworkOptimizer(this,lr);
-            optimizer.optimize(this.labels, lr,iterations,eval);
+                this.fineTuneLearningRate = lr;
+                optimizer = new MultiLayerNetworkOptimizer(this,lr);
+                optimizer.optimize(this.labels, lr,iterations,eval);
+            }
+        } finally {
+            async.shutdown();
         }
 
 
     }
 
+    /**
+     * Resets the iterator and wraps it so the next batch
+     * is loaded while training on the current one
+     * @param iter the iterator to wrap
+     * @return the prefetching iterator
+     */
+    protected AsyncDataSetIterator prefetch(DataSetIterator iter) {
+        AsyncDataSetIterator ret = iter instanceof AsyncDataSetIterator ? (AsyncDataSetIterator) iter : new AsyncDataSetIterator(iter);
+        ret.reset();
+        return ret;
+    }
+
 
 
 
@@ -1766,11 +1849,7 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
      * @return the prediction for the dataset
      */
     public int[] predict(DoubleMatrix d) {
-        DoubleMatrix output = output(d);
-        int[] ret = new int[d.rows];
-        for(int i = 0; i < ret.length; i++)
-            ret[i] = SimpleBlas.iamax(output.getRow(i));
-        return ret;
+        return MatrixUtil.argMaxRows(output(d));
     }
 
     /**
@@ -1781,6 +1860,9 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
      *
      * This is typically of the form:
      * [0.5, 0.5] or some other probability distribution summing to one
+     *
+     * The column statistics are applied to x in place after the forward pass,
+     * they don't change the output. {@link #inference()} normalizes before the forward pass
      */
     public DoubleMatrix output(DoubleMatrix x) {
         List<DoubleMatrix> activations = feedForward(x);
@@ -1813,6 +1895,16 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
         return predicted;
     }
 
+    /**
+     * A thread safe copy of this network for inference.
+     * Unlike {@link #output(DoubleMatrix)} it doesn't change the state of the network
+     * and uses the mean activation of each layer rather than a sample.
+     * @return an inference view of the current parameters
+     */
+    public InferenceNetwork inference() {
+        return new InferenceNetwork(this);
+    }
+
     /**
      * Reconstructs the input.
      * This is equivalent functionality to a
@@ -1935,11 +2027,11 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
         this.dropOut = network.dropOut;
         this.optimizationAlgorithm = network.optimizationAlgorithm;
         this.lossFunction = network.lossFunction;
-        this.outputLayer = network.outputLayer;
         this.outputActivationFunction = network.outputActivationFunction;
         this.lossFunctionByLayer = network.lossFunctionByLayer;
         this.outputLossFunction = network.outputLossFunction;
         this.useDropConnect = network.useDropConnect;
+        this.useWorkspace = network.useWorkspace;
         this.useGaussNewtonVectorProductBackProp = network.useGaussNewtonVectorProductBackProp;
         this.constrainGradientToUnitNorm = network.constrainGradientToUnitNorm;
 
@@ -2595,24 +2687,21 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
      * @param params a parameter vector equal 1,numParameters
      */
     public void setParameters(DoubleMatrix params) {
+        int numParams = numParams();
+        if(params.length != numParams)
+            throw new IllegalArgumentException("Parameter vector not equal of length to " + numParams);
+        //copied in place: one array copy per matrix and no new matrices
+        int offset = 0;
         for(int i = 0; i < getLayers().length; i++) {
-            ParamRange range = startIndexForLayer(i);
-            DoubleMatrix w = params.get(RangeUtils.all(),RangeUtils.interval(range.getwStart(),range.getwEnd()));
-            DoubleMatrix bias = params.get(RangeUtils.all(),RangeUtils.interval(range.getBiasStart(),range.getBiasEnd()));
-            int rows = getLayers()[i].getW().rows,columns = getLayers()[i].getW().columns;
-            getLayers()[i].setW(w.reshape(rows,columns));
-            getLayers()[i].sethBias(bias.reshape(getLayers()[i].gethBias().rows,getLayers()[i].gethBias().columns));
+            offset = MatrixUtil.unflattenFrom(params.data,offset,getLayers()[i].getW());
+            offset = MatrixUtil.unflattenFrom(params.data,offset,getLayers()[i].gethBias());
+            //tied weights: must be updated at the same time
+            getSigmoidLayers()[i].setW(getLayers()[i].getW());
+            getSigmoidLayers()[i].setB(getLayers()[i].gethBias());
         }
 
-
-        ParamRange range = startIndexForLayer(getLayers().length);
-        DoubleMatrix w = params.get(RangeUtils.all(),RangeUtils.interval(range.getwStart(),range.getwEnd()));
-        DoubleMatrix bias = params.get(RangeUtils.all(),RangeUtils.interval(range.getBiasStart(),range.getBiasEnd()));
-        int rows = getOutputLayer().getW().rows,columns =  getOutputLayer().getW().columns;
-        getOutputLayer().setW(w.reshape(rows, columns));
-        getOutputLayer().setB(bias.reshape(getOutputLayer().getB().rows, getOutputLayer().getB().columns));
-
-
+        offset = MatrixUtil.unflattenFrom(params.data,offset,getOutputLayer().getW());
+        MatrixUtil.unflattenFrom(params.data,offset,getOutputLayer().getB());
 
     }
 
@@ -2738,6 +2827,7 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
         private int resetAdaGradIterations = -1;
         private double outputLayerDropout = 0.0;
         private boolean useDropConnect = false;
+        private boolean useWorkspace = false;
         private boolean useGaussNewtonVectorProductBackProp = false;
         private boolean constrainGradientToUnitNorm = false;
         /* weight initialization scheme, this is either a probability distribution or a weighting scheme for initialization */
@@ -2821,6 +2911,16 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
             return this;
         }
 
+        /**
+         * Reuse preallocated buffers for first order back prop rather than allocating every iteration
+         * @param useWorkspace whether to use a workspace
+         * @return builder pattern
+         */
+        public Builder<E> useWorkspace(boolean useWorkspace) {
+            this.useWorkspace = useWorkspace;
+            return this;
+        }
+
 
         /**
          * Output layer drop out
@@ -3230,6 +3330,7 @@ public abstract class BaseMultiLayerNetwork implements Serializable,Persistable,
                 ret.concatBiases = concatBiases;
                 ret.useGaussNewtonVectorProductBackProp = useGaussNewtonVectorProductBackProp;
                 ret.setUseDropConnect(useDropConnect);
+                ret.setUseWorkspace(useWorkspace);
                 ret.setOutputLayerDropout(outputLayerDropout);
                 ret.setResetAdaGradIterations(resetAdaGradIterations);
                 ret.setResetAdaGradIterationsByLayer(resetAdaGradIterationsByLayer);
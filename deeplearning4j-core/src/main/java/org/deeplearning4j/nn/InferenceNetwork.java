@@ -0,0 +1,209 @@
+package org.deeplearning4j.nn;
+
+import org.deeplearning4j.nn.activation.ActivationFunction;
+import org.deeplearning4j.nn.activation.Activations;
+import org.deeplearning4j.nn.activation.Exp;
+import org.deeplearning4j.nn.activation.HardTanh;
+import org.deeplearning4j.nn.activation.Linear;
+import org.deeplearning4j.nn.activation.RectifiedLinear;
+import org.deeplearning4j.nn.activation.RoundedLinear;
+import org.deeplearning4j.nn.activation.Sigmoid;
+import org.deeplearning4j.nn.activation.Tanh;
+import org.deeplearning4j.util.MatrixUtil;
+import org.jblas.DoubleMatrix;
+
+/**
+ * An immutable, thread safe view of a trained network for inference.
+ *
+ * The weights, biases and normalization of the network are copied when the view is created,
+ * so further training of the network does not change the view.
+ * The forward pass is deterministic: each hidden layer outputs its mean activation
+ * act(x * W + b) instead of a sample, and no dropout is applied.
+ *
+ * The input is normalized by the network's column sums, means and standard deviations
+ * in one pass before the forward pass. This differs from {@link BaseMultiLayerNetwork#output(DoubleMatrix)},
+ * which runs the forward pass on the raw input and only then normalizes the caller's matrix in place,
+ * so its output doesn't depend on the column statistics. Without statistics both compute the same
+ * (mean field) function. Every thread has its own scratch buffers, so any
+ * number of threads can call {@link #output(DoubleMatrix)} concurrently.
+ * Use a {@link MicroBatcher} to combine requests from many threads in to one matrix multiply per layer.
+ *
+ * @author Adam Gibson
+ */
+public class InferenceNetwork implements Output {
+
+    private final DoubleMatrix[] weights;
+    private final DoubleMatrix[] biases;
+    private final ActivationFunction[] activations;
+    //normalized input = input * scale + shift, null when the network isn't normalized
+    private final DoubleMatrix scale;
+    private final DoubleMatrix shift;
+    private final int nIn;
+    private final int nOut;
+
+    private final ThreadLocal<Workspace> workspaces = new ThreadLocal<Workspace>() {
+        @Override
+        protected Workspace initialValue() {
+            return new Workspace();
+        }
+    };
+
+
+    /**
+     * Copies the parameters of a trained network
+     * @param network the network to copy
+     */
+    public InferenceNetwork(BaseMultiLayerNetwork network) {
+        HiddenLayer[] hidden = network.getSigmoidLayers();
+        if(hidden == null)
+            throw new IllegalArgumentException("Network has not been initialized");
+        OutputLayer outputLayer = network.getOutputLayer();
+        int layers = hidden.length + (outputLayer != null ? 1 : 0);
+        weights = new DoubleMatrix[layers];
+        biases = new DoubleMatrix[layers];
+        activations = new ActivationFunction[layers];
+        for(int i = 0; i < hidden.length; i++) {
+            weights[i] = hidden[i].getW().dup();
+            biases[i] = hidden[i].getB().dup();
+            activations[i] = hidden[i].getActivationFunction();
+        }
+
+        if(outputLayer != null) {
+            weights[layers - 1] = outputLayer.getW().dup();
+            biases[layers - 1] = outputLayer.getB().dup();
+            //same fallback as the network's feed forward
+            ActivationFunction outputActivation = outputLayer.getActivationFunction();
+            if(outputActivation == null)
+                outputActivation = network.getOutputActivationFunction() != null ? network.getOutputActivationFunction() : Activations.sigmoid();
+            activations[layers - 1] = outputActivation;
+        }
+
+        nIn = weights[0].rows;
+        nOut = weights[layers - 1].columns;
+        for(int i = 1; i < layers; i++)
+            if(weights[i].rows != weights[i - 1].columns)
+                throw new IllegalArgumentException("Layer " + i + " has " + weights[i].rows + " inputs but layer " + (i - 1) + " has " + weights[i - 1].columns + " outputs");
+
+        DoubleMatrix sums = network.getColumnSums();
+        DoubleMatrix means = network.getColumnMeans();
+        DoubleMatrix stds = network.getColumnStds();
+        if(sums == null && means == null && stds == null) {
+            scale = null;
+            shift = null;
+        }
+        else {
+            //((x / sum) - mean) / std = x * (1 / (sum * std)) - mean / std
+            scale = new DoubleMatrix(1,nIn);
+            shift = new DoubleMatrix(1,nIn);
+            for(int j = 0; j < nIn; j++) {
+                double sum = sums != null ? sums.get(j) : 1;
+                double mean = means != null ? means.get(j) : 0;
+                double std = stds != null ? stds.get(j) : 1;
+                scale.put(j,1 / (sum * std));
+                shift.put(j,-mean / std);
+            }
+        }
+    }
+
+
+    /**
+     * The output of the network for each row of the input.
+     * The input is not modified.
+     * @param input the examples, one per row
+     * @return a new input.rows x {@link #getnOut()} matrix
+     */
+    @Override
+    public DoubleMatrix output(DoubleMatrix input) {
+        return forward(input,null).dup();
+    }
+
+    /**
+     * The most likely outcome of each row of the input
+     * @param input the examples, one per row
+     * @return the index of the largest output of each row
+     */
+    public int[] predict(DoubleMatrix input) {
+        return MatrixUtil.argMaxRows(forward(input,null));
+    }
+
+    public int getnIn() {
+        return nIn;
+    }
+
+    public int getnOut() {
+        return nOut;
+    }
+
+
+    /**
+     * The forward pass in to the calling thread's scratch buffers.
+     * @param input the examples, one per row
+     * @param segments the first row of each independent request, the next segment starts at the following offset,
+     *                 null if the input is one request. Activations that depend on more than one row
+     *                 (softmax over the batch) are applied per segment so a request's output does not depend on its batch
+     * @return the output, only valid until the calling thread's next forward pass
+     */
+    DoubleMatrix forward(DoubleMatrix input,int[] segments) {
+        if(input.columns != nIn)
+            throw new IllegalArgumentException("Input has " + input.columns + " columns, the network has " + nIn + " inputs");
+
+        Workspace workspace = workspaces.get();
+        int rows = input.rows;
+        DoubleMatrix curr = input;
+        if(scale != null) {
+            curr = workspace.batchBuffer(rows,0,nIn);
+            for(int j = 0; j < nIn; j++) {
+                double s = scale.data[j];
+                double t = shift.data[j];
+                int offset = j * rows;
+                for(int i = offset; i < offset + rows; i++)
+                    curr.data[i] = input.data[i] * s + t;
+            }
+        }
+
+        for(int i = 0; i < weights.length; i++) {
+            DoubleMatrix next = workspace.batchBuffer(rows,i + 1,weights[i].columns);
+            curr.mmuli(weights[i],next);
+            next.addiRowVector(biases[i]);
+            activate(activations[i],next,segments);
+            curr = next;
+        }
+
+        return curr;
+    }
+
+
+    //applies the activation function in place, the common element wise functions without allocating
+    private static void activate(ActivationFunction function,DoubleMatrix m,int[] segments) {
+        double[] data = m.data;
+        if(function instanceof Sigmoid) {
+            for(int i = 0; i < m.length; i++)
+                data[i] = 1 / (1 + Math.exp(-data[i]));
+        }
+        else if(function instanceof Tanh) {
+            for(int i = 0; i < m.length; i++)
+                data[i] = Math.tanh(data[i]);
+        }
+        else if(function instanceof RectifiedLinear) {
+            for(int i = 0; i < m.length; i++)
+                if(data[i] < 0)
+                    data[i] = 0;
+        }
+        else if(function instanceof Linear)
+            return;
+        //other element wise functions don't need to be applied per request
+        else if(function instanceof HardTanh || function instanceof RoundedLinear || function instanceof Exp || segments == null || segments.length < 2)
+            m.copy(function.apply(m));
+        else {
+            for(int s = 0; s < segments.length; s++) {
+                int from = segments[s];
+                int to = s < segments.length - 1 ? segments[s + 1] : m.rows;
+                DoubleMatrix rows = m.getRange(from,to,0,m.columns);
+                DoubleMatrix applied = function.apply(rows);
+                for(int j = 0; j < m.columns; j++)
+                    System.arraycopy(applied.data,j * applied.rows,data,j * m.rows + from,to - from);
+            }
+        }
+    }
+
+}
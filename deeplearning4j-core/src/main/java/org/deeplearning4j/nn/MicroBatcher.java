@@ -0,0 +1,266 @@
+package org.deeplearning4j.nn;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.deeplearning4j.util.MatrixUtil;
+import org.jblas.DoubleMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Combines inference requests from many threads in to batches,
+ * so one matrix multiply per layer serves all of them.
+ *
+ * A dispatcher thread takes the first waiting request and waits at most the latency budget
+ * for more requests, until the batch has max batch rows. The rows of every request in the batch
+ * are stacked, run through the {@link InferenceNetwork} once and split back out to each request.
+ * A request with more rows than the max batch runs as a batch of its own.
+ *
+ * Each request's output is the same as {@link InferenceNetwork#output(DoubleMatrix)} of that request alone.
+ * The number of requests, batches and rows plus the latency from submit to completion are recorded.
+ *
+ * @author Adam Gibson
+ */
+public class MicroBatcher {
+
+    private static Logger log = LoggerFactory.getLogger(MicroBatcher.class);
+
+    private final InferenceNetwork network;
+    private final int maxBatch;
+    private final long latencyBudgetNanos;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    //the dispatcher's buffer for stacking requests
+    private final Workspace workspace = new Workspace();
+    private final Thread dispatcher;
+    private volatile boolean shutdown = false;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+
+    /**
+     * @param network the network to run
+     * @param maxBatch the most rows in one batch
+     * @param latencyBudget the longest the first request of a batch waits for others
+     * @param unit the unit of the latency budget
+     */
+    public MicroBatcher(InferenceNetwork network,int maxBatch,long latencyBudget,TimeUnit unit) {
+        if(maxBatch < 1)
+            throw new IllegalArgumentException("Max batch must be at least 1");
+        if(latencyBudget < 0)
+            throw new IllegalArgumentException("Latency budget must not be negative");
+        this.network = network;
+        this.maxBatch = maxBatch;
+        this.latencyBudgetNanos = unit.toNanos(latencyBudget);
+        dispatcher = new Thread(new Dispatcher(),"micro-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+
+    /**
+     * Queues the input for the next batch
+     * @param input the examples, one per row. The input must not be modified until the output is done
+     * @return the output of the network for the input
+     */
+    public ListenableFuture<DoubleMatrix> submit(DoubleMatrix input) {
+        if(input.columns != network.getnIn())
+            throw new IllegalArgumentException("Input has " + input.columns + " columns, the network has " + network.getnIn() + " inputs");
+        Request request = new Request(input);
+        if(shutdown)
+            throw new IllegalStateException("Batcher has been shut down");
+        queue.add(request);
+        //shut down while adding: the dispatcher may already be gone
+        if(shutdown && queue.remove(request))
+            throw new IllegalStateException("Batcher has been shut down");
+        return request.result;
+    }
+
+    /**
+     * The output of the network for the input, waiting for its batch
+     * @param input the examples, one per row
+     * @return the output of the network
+     */
+    public DoubleMatrix output(DoubleMatrix input) {
+        try {
+            return submit(input).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for output",e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to compute output",e.getCause());
+        }
+    }
+
+    /**
+     * The most likely outcome of each row of the input, waiting for its batch
+     * @param input the examples, one per row
+     * @return the index of the largest output of each row
+     */
+    public int[] predict(DoubleMatrix input) {
+        return MatrixUtil.argMaxRows(output(input));
+    }
+
+    /**
+     * Stops the dispatcher, requests that haven't been run fail
+     */
+    public void shutdown() {
+        shutdown = true;
+        dispatcher.interrupt();
+    }
+
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    /**
+     * The mean number of rows in a batch
+     * @return rows per batch, 0 if nothing has run
+     */
+    public double getMeanBatchSize() {
+        long batches = this.batches.get();
+        return batches == 0 ? 0 : rows.get() / (double) batches;
+    }
+
+    /**
+     * The mean time from submitting a request to its output
+     * @param unit the unit to return
+     * @return the mean latency, 0 if nothing has run
+     */
+    public double getMeanLatency(TimeUnit unit) {
+        long requests = this.requests.get();
+        return requests == 0 ? 0 : totalLatencyNanos.get() / (double) requests / unit.toNanos(1);
+    }
+
+    /**
+     * The longest time from submitting a request to its output
+     * @param unit the unit to return
+     * @return the max latency
+     */
+    public long getMaxLatency(TimeUnit unit) {
+        return unit.convert(maxLatencyNanos.get(),TimeUnit.NANOSECONDS);
+    }
+
+
+    private void run(List<Request> batch,int batchRows) {
+        DoubleMatrix input;
+        int[] segments = new int[batch.size()];
+        if(batch.size() == 1)
+            input = batch.get(0).input;
+        else {
+            input = workspace.batchBuffer(batchRows,0,network.getnIn());
+            int offset = 0;
+            for(int r = 0; r < batch.size(); r++) {
+                DoubleMatrix x = batch.get(r).input;
+                segments[r] = offset;
+                for(int j = 0; j < x.columns; j++)
+                    System.arraycopy(x.data,j * x.rows,input.data,j * batchRows + offset,x.rows);
+                offset += x.rows;
+            }
+        }
+
+        DoubleMatrix output = network.forward(input,segments);
+        batches.incrementAndGet();
+        rows.addAndGet(batchRows);
+        for(int r = 0; r < batch.size(); r++) {
+            Request request = batch.get(r);
+            DoubleMatrix ret = new DoubleMatrix(request.input.rows,output.columns);
+            for(int j = 0; j < output.columns; j++)
+                System.arraycopy(output.data,j * batchRows + segments[r],ret.data,j * ret.rows,ret.rows);
+            //recorded first so the metrics include every request whose output is done
+            record(request);
+            request.result.set(ret);
+        }
+    }
+
+    private void record(Request request) {
+        long latency = System.nanoTime() - request.submitted;
+        requests.incrementAndGet();
+        totalLatencyNanos.addAndGet(latency);
+        long max = maxLatencyNanos.get();
+        while(latency > max && !maxLatencyNanos.compareAndSet(max,latency))
+            max = maxLatencyNanos.get();
+    }
+
+
+    private class Dispatcher implements Runnable {
+
+        @Override
+        public void run() {
+            List<Request> batch = new ArrayList<>();
+            //a request that didn't fit in the last batch
+            Request next = null;
+            try {
+                while(!shutdown) {
+                    Request first = next != null ? next : queue.take();
+                    next = null;
+                    batch.clear();
+                    batch.add(first);
+                    int batchRows = first.input.rows;
+                    long deadline = first.submitted + latencyBudgetNanos;
+                    while(batchRows < maxBatch) {
+                        Request request = queue.poll(deadline - System.nanoTime(),TimeUnit.NANOSECONDS);
+                        if(request == null)
+                            break;
+                        if(batchRows + request.input.rows > maxBatch) {
+                            next = request;
+                            break;
+                        }
+                        batch.add(request);
+                        batchRows += request.input.rows;
+                    }
+
+                    try {
+                        MicroBatcher.this.run(batch,batchRows);
+                    } catch (Exception e) {
+                        log.warn("Batch of " + batchRows + " rows failed",e);
+                        for(Request request : batch)
+                            request.result.setException(e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                //shut down
+            }
+
+            IllegalStateException stopped = new IllegalStateException("Batcher has been shut down");
+            for(Request request : batch)
+                request.result.setException(stopped);
+            if(next != null)
+                next.result.setException(stopped);
+            Request request;
+            while((request = queue.poll()) != null)
+                request.result.setException(stopped);
+        }
+    }
+
+    private static class Request {
+        private final DoubleMatrix input;
+        private final long submitted = System.nanoTime();
+        private final SettableFuture<DoubleMatrix> result = SettableFuture.create();
+
+        private Request(DoubleMatrix input) {
+            this.input = input;
+        }
+    }
+
+}
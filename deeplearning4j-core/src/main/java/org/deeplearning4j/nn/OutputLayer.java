@@ -15,7 +15,6 @@ import org.deeplearning4j.nn.learning.AdaGrad;
 import org.deeplearning4j.optimize.*;
 import org.deeplearning4j.util.MatrixUtil;
 import org.jblas.DoubleMatrix;
-import org.jblas.SimpleBlas;
 
 /**
  * Output layer with different objective functions for different objectives.
@@ -355,6 +354,8 @@ public class OutputLayer implements Serializable,Output {
         reg.useAdaGrad = this.useAdaGrad;
         reg.setOptimizationAlgorithm(this.getOptimizationAlgorithm());
         reg.lossFunction = this.lossFunction;
+        reg.activationFunction = this.activationFunction;
+        reg.dropOut = this.dropOut;
         reg.concatBiases = this.concatBiases;
         reg.weightinit = weightinit;
         if(this.input != null)
@@ -476,11 +477,7 @@ public class OutputLayer implements Serializable,Output {
      * @return the prediction for the dataset
      */
     public int[] predict(DoubleMatrix d) {
-        DoubleMatrix output = output(d);
-        int[] ret = new int[d.rows];
-        for(int i = 0; i < ret.length; i++)
-            ret[i] = SimpleBlas.iamax(output);
-        return ret;
+        return MatrixUtil.argMaxRows(output(d));
     }
 
 
@@ -0,0 +1,199 @@
+package org.deeplearning4j.nn;
+
+import org.deeplearning4j.nn.activation.ActivationFunction;
+import org.deeplearning4j.nn.activation.Linear;
+import org.deeplearning4j.nn.activation.RectifiedLinear;
+import org.deeplearning4j.nn.activation.RoundedLinear;
+import org.deeplearning4j.nn.activation.Sigmoid;
+import org.deeplearning4j.nn.activation.Tanh;
+import org.jblas.DoubleMatrix;
+import org.jblas.NativeBlas;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Preallocated buffers a network reuses across iterations instead of
+ * allocating new matrices on every back prop step.
+ *
+ * This covers the activations list of feed forward and the errors and gradients
+ * of first order back prop (computeDeltas and backPropGradient). The activations
+ * themselves come from the layers and are still allocated, as are the second order
+ * passes (computeDeltas2, backPropGradient2 and the R operator) used by hessian free.
+ * Networks with their own passes (DeepAutoEncoder, ConvolutionalDBN) don't use it.
+ *
+ * Buffers are identified by a slot. Batch buffers have one row per example
+ * and are kept per batch size, so a fixed batch size plus a smaller last batch
+ * never reallocate. Other buffers are reallocated only when their shape changes.
+ *
+ * Buffers are overwritten on every use: anything handed out from a workspace is
+ * only valid until the next pass. A workspace is not thread safe.
+ *
+ * @author Adam Gibson
+ */
+public class Workspace {
+
+    //the number of batch sizes kept before the least recently used is dropped
+    public final static int MAX_BATCH_SIZES = 4;
+
+    private Map<Integer,Map<Integer,DoubleMatrix>> batchBuffers = new LinkedHashMap<>(MAX_BATCH_SIZES,0.75f,true);
+    private Map<Integer,DoubleMatrix> buffers = new HashMap<>();
+    private List<DoubleMatrix> activations = new ArrayList<>();
+
+
+    /**
+     * A buffer with one row per example
+     * @param batchSize the number of examples
+     * @param slot the buffer
+     * @param columns the number of columns
+     * @return a batchSize x columns matrix with undefined contents
+     */
+    public DoubleMatrix batchBuffer(int batchSize,int slot,int columns) {
+        Map<Integer,DoubleMatrix> forBatch = batchBuffers.get(batchSize);
+        if(forBatch == null) {
+            if(batchBuffers.size() >= MAX_BATCH_SIZES) {
+                Iterator<Integer> eldest = batchBuffers.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+            forBatch = new HashMap<>();
+            batchBuffers.put(batchSize,forBatch);
+        }
+        return get(forBatch,slot,batchSize,columns);
+    }
+
+    /**
+     * A buffer whose shape does not depend on the batch size
+     * @param slot the buffer
+     * @param rows the number of rows
+     * @param columns the number of columns
+     * @return a rows x columns matrix with undefined contents
+     */
+    public DoubleMatrix buffer(int slot,int rows,int columns) {
+        return get(buffers,slot,rows,columns);
+    }
+
+    /**
+     * The list feed forward fills with the activations of each layer, cleared
+     * @return the empty activations list
+     */
+    public List<DoubleMatrix> activations() {
+        activations.clear();
+        return activations;
+    }
+
+    /**
+     * Drops every buffer
+     */
+    public void clear() {
+        batchBuffers.clear();
+        buffers.clear();
+        activations.clear();
+    }
+
+
+    /**
+     * result = a^T * b
+     * @param a the matrix to transpose
+     * @param b the right hand side
+     * @param result where to write the product, a.columns x b.columns
+     * @return result
+     */
+    public static DoubleMatrix mmulTransposeA(DoubleMatrix a,DoubleMatrix b,DoubleMatrix result) {
+        return gemm('T','N',1.0,a,b,0.0,result);
+    }
+
+    /**
+     * result = a * b^T
+     * @param a the left hand side
+     * @param b the matrix to transpose
+     * @param result where to write the product, a.rows x b.rows
+     * @return result
+     */
+    public static DoubleMatrix mmulTransposeB(DoubleMatrix a,DoubleMatrix b,DoubleMatrix result) {
+        return gemm('N','T',1.0,a,b,0.0,result);
+    }
+
+    /**
+     * result = alpha * op(a) * op(b) + beta * result, where op transposes
+     * the matrix for 'T' without materializing the transpose
+     * @param transA 'T' to transpose a, 'N' otherwise
+     * @param transB 'T' to transpose b, 'N' otherwise
+     * @param alpha the scale of the product
+     * @param a the left hand side
+     * @param b the right hand side
+     * @param beta the scale of the existing result
+     * @param result where to add the product
+     * @return result
+     */
+    public static DoubleMatrix gemm(char transA,char transB,double alpha,DoubleMatrix a,DoubleMatrix b,double beta,DoubleMatrix result) {
+        int m = transA == 'T' ? a.columns : a.rows;
+        int k = transA == 'T' ? a.rows : a.columns;
+        int kB = transB == 'T' ? b.columns : b.rows;
+        int n = transB == 'T' ? b.rows : b.columns;
+        if(k != kB || result.rows != m || result.columns != n)
+            throw new IllegalArgumentException("Matrices don't line up for " + (transA == 'T' ? "a^T" : "a") + " * " + (transB == 'T' ? "b^T" : "b"));
+        NativeBlas.dgemm(transA,transB,m,n,k,alpha,a.data,0,a.rows,b.data,0,b.rows,beta,result.data,0,result.rows);
+        return result;
+    }
+
+    /**
+     * Multiplies target in place by the derivative of the activation function,
+     * where activation is the output of the function.
+     * The common functions don't allocate, others fall back to {@link ActivationFunction#applyDerivative(DoubleMatrix)}
+     * @param function the activation function
+     * @param activation the output of the function
+     * @param target the matrix to multiply
+     * @return target
+     */
+    public static DoubleMatrix muliDerivative(ActivationFunction function,DoubleMatrix activation,DoubleMatrix target) {
+        if(function instanceof Sigmoid) {
+            for(int i = 0; i < target.length; i++) {
+                double a = activation.data[i];
+                target.data[i] *= a * (1 - a);
+            }
+        }
+        else if(function instanceof Tanh) {
+            for(int i = 0; i < target.length; i++) {
+                double a = activation.data[i];
+                target.data[i] *= 1 - a * a;
+            }
+        }
+        //derivatives of one
+        else if(!(function instanceof Linear || function instanceof RectifiedLinear || function instanceof RoundedLinear))
+            target.muli(function.applyDerivative(activation));
+        return target;
+    }
+
+    /**
+     * The mean of each column in to result
+     * @param m the matrix
+     * @param result a 1 x m.columns matrix
+     * @return result
+     */
+    public static DoubleMatrix columnMeans(DoubleMatrix m,DoubleMatrix result) {
+        for(int j = 0; j < m.columns; j++) {
+            double sum = 0;
+            int offset = j * m.rows;
+            for(int i = 0; i < m.rows; i++)
+                sum += m.data[offset + i];
+            result.data[j] = sum / m.rows;
+        }
+        return result;
+    }
+
+
+    private static DoubleMatrix get(Map<Integer,DoubleMatrix> buffers,int slot,int rows,int columns) {
+        DoubleMatrix ret = buffers.get(slot);
+        if(ret == null || ret.rows != rows || ret.columns != columns) {
+            ret = new DoubleMatrix(rows,columns);
+            buffers.put(slot,ret);
+        }
+        return ret;
+    }
+
+}
@@ -117,14 +117,8 @@ public class MultiLayerNetworkOptimizer implements Optimizable.ByGradientValue,S
 
     @Override
     public void getParameters(double[] buffer) {
-        int idx = 0;
-        for(int i = 0; i < network.getOutputLayer().getW().length; i++) {
-            buffer[idx++] = network.getOutputLayer().getW().get(i);
-
-        }
-        for(int i = 0; i < network.getOutputLayer().getB().length; i++) {
-            buffer[idx++] = network.getOutputLayer().getB().get(i);
-        }
+        int idx = MatrixUtil.flattenInto(network.getOutputLayer().getW(),buffer,0);
+        MatrixUtil.flattenInto(network.getOutputLayer().getB(),buffer,idx);
     }
 
 
@@ -132,7 +126,7 @@ public class MultiLayerNetworkOptimizer implements Optimizable.ByGradientValue,S
     @Override
     public double getParameter(int index) {
         if(index >= network.getOutputLayer().getW().length) {
-            int i = index - network.getOutputLayer().getB().length;
+            int i = index - network.getOutputLayer().getW().length;
             return network.getOutputLayer().getB().get(i);
         }
         else
@@ -143,15 +137,8 @@ public class MultiLayerNetworkOptimizer implements Optimizable.ByGradientValue,S
 
     @Override
     public void setParameters(double[] params) {
-        int idx = 0;
-        for(int i = 0; i < network.getOutputLayer().getW().length; i++) {
-            network.getOutputLayer().getW().put(i,params[idx++]);
-        }
-
-
-        for(int i = 0; i < network.getOutputLayer().getB().length; i++) {
-            network.getOutputLayer().getB().put(i,params[idx++]);
-        }
+        int idx = MatrixUtil.unflattenFrom(params,0,network.getOutputLayer().getW());
+        MatrixUtil.unflattenFrom(params,idx,network.getOutputLayer().getB());
     }
 
 
@@ -159,7 +146,7 @@ public class MultiLayerNetworkOptimizer implements Optimizable.ByGradientValue,S
     @Override
     public void setParameter(int index, double value) {
         if(index >= network.getOutputLayer().getW().length) {
-            int i = index - network.getOutputLayer().getB().length;
+            int i = index - network.getOutputLayer().getW().length;
             network.getOutputLayer().getB().put(i,value);
         }
         else
@@ -175,12 +162,8 @@ public class MultiLayerNetworkOptimizer implements Optimizable.ByGradientValue,S
         DoubleMatrix weightGradient = gradient.getwGradient();
         DoubleMatrix biasGradient = gradient.getbGradient();
 
-        int idx = 0;
-
-        for(int i = 0; i < weightGradient.length; i++)
-            buffer[idx++] = weightGradient.get(i);
-        for(int i = 0; i < biasGradient.length; i++)
-            buffer[idx++] = biasGradient.get(i);
+        int idx = MatrixUtil.flattenInto(weightGradient,buffer,0);
+        MatrixUtil.flattenInto(biasGradient,buffer,idx);
 
     }
 
@@ -9,7 +9,7 @@ import org.deeplearning4j.nn.NeuralNetwork.LossFunction;
 import org.deeplearning4j.nn.NeuralNetwork.OptimizationAlgorithm;
 import org.deeplearning4j.nn.gradient.NeuralNetworkGradient;
 import org.deeplearning4j.plot.NeuralNetPlotter;
-import org.deeplearning4j.util.ArrayUtil;
+import org.deeplearning4j.util.MatrixUtil;
 import org.deeplearning4j.util.OptimizerMatrix;
 import org.jblas.DoubleMatrix;
 import org.slf4j.Logger;
@@ -78,7 +78,8 @@ public abstract class NeuralNetworkOptimizer implements OptimizableByGradientVal
 
     @Override
     public DoubleMatrix getParameters() {
-        return new DoubleMatrix(ArrayUtil.combine(network.getW().data,network.getvBias().data,network.gethBias().data));
+        DoubleMatrix ret = MatrixUtil.toFlattened(network.getW(),network.getvBias(),network.gethBias());
+        return ret.reshape(ret.length,1);
     }
 
     public void train(DoubleMatrix x) {
@@ -147,8 +148,10 @@ public abstract class NeuralNetworkOptimizer implements OptimizableByGradientVal
     public void setParameters(DoubleMatrix params) {
         if(network.isConstrainGradientToUnitNorm())
             params.divi(params.normmax());
-        for(int i = 0; i < params.length; i++)
-            setParameter(i, params.get(i));
+        //same order as getParameters: W, visible bias, hidden bias
+        int idx = MatrixUtil.unflattenFrom(params.data,0,network.getW());
+        idx = MatrixUtil.unflattenFrom(params.data,idx,network.getvBias());
+        MatrixUtil.unflattenFrom(params.data,idx,network.gethBias());
     }
 
     @Override
@@ -201,16 +204,9 @@ public abstract class NeuralNetworkOptimizer implements OptimizableByGradientVal
 		 * Visible Bias
 		 * Hidden Bias
 		 */
-        int idx = 0;
-        for (int i = 0; i < g.getwGradient().length; i++) {
-            buffer[idx++] = g.getwGradient().get(i);
-        }
-        for (int i = 0; i < g.getvBiasGradient().length; i++) {
-            buffer[idx++] = g.getvBiasGradient().get(i);
-        }
-        for (int i = 0; i < g.gethBiasGradient().length; i++) {
-            buffer[idx++] = g.gethBiasGradient().get(i);
-        }
+        int idx = MatrixUtil.flattenInto(g.getwGradient(),buffer,0);
+        idx = MatrixUtil.flattenInto(g.getvBiasGradient(),buffer,idx);
+        MatrixUtil.flattenInto(g.gethBiasGradient(),buffer,idx);
 
         return new DoubleMatrix(buffer);
     }
@@ -2,6 +2,7 @@ package org.deeplearning4j.optimize;
 
 import org.deeplearning4j.nn.OutputLayer;
 import org.deeplearning4j.nn.gradient.OutputLayerGradient;
+import org.deeplearning4j.util.MatrixUtil;
 import org.jblas.DoubleMatrix;
 
 import cc.mallet.optimize.Optimizable;
@@ -37,13 +38,8 @@ public class OutputLayerOptimizer implements Optimizable.ByGradientValue,Optimiz
 
 	@Override
 	public void getParameters(double[] buffer) {
-		for(int i = 0; i < buffer.length; i++) {
-			buffer[i] = getParameter(i);
-		}
-
-		
-
-
+		int idx = MatrixUtil.flattenInto(logReg.getW(),buffer,0);
+		MatrixUtil.flattenInto(logReg.getB(),buffer,idx);
 	}
 
 	@Override
@@ -55,9 +51,8 @@ public class OutputLayerOptimizer implements Optimizable.ByGradientValue,Optimiz
 
 	@Override
 	public void setParameters(double[] params) {
-		for(int i = 0; i < params.length; i++) {
-			setParameter(i,params[i]);
-		}
+		int idx = MatrixUtil.unflattenFrom(params,0,logReg.getW());
+		MatrixUtil.unflattenFrom(params,idx,logReg.getB());
 	}
 
 	@Override
@@ -71,13 +66,8 @@ public class OutputLayerOptimizer implements Optimizable.ByGradientValue,Optimiz
 	@Override
 	public void getValueGradient(double[] buffer) {
 		OutputLayerGradient grad = logReg.getGradient(lr);
-		for(int i = 0; i < buffer.length; i++) {
-			if(i < logReg.getW().length)
-				buffer[i] = grad.getwGradient().get(i);
-			else
-				buffer[i] = grad.getbGradient().get(i - logReg.getW().length);
-			
-		}
+		int idx = MatrixUtil.flattenInto(grad.getwGradient(),buffer,0);
+		MatrixUtil.flattenInto(grad.getbGradient(),buffer,idx);
 	}
 
 	@Override
@@ -88,9 +78,7 @@ public class OutputLayerOptimizer implements Optimizable.ByGradientValue,Optimiz
 	@Override
 	public DoubleMatrix getParameters() {
 		DoubleMatrix params = new DoubleMatrix(getNumParameters());
-		for(int i = 0; i < params.length; i++) {
-			params.put(i,getParameter(i));
-		}
+		getParameters(params.data);
 		return params;
 	}
 
@@ -113,13 +101,8 @@ public class OutputLayerOptimizer implements Optimizable.ByGradientValue,Optimiz
 
 
 
-        for(int i = 0; i < ret.length; i++) {
-			if(i < logReg.getW().length)
-				ret.put(i,grad.getwGradient().get(i));
-			else
-				ret.put(i,grad.getbGradient().get(i - logReg.getW().length));
-			
-		}
+        int idx = MatrixUtil.flattenInto(grad.getwGradient(),ret.data,0);
+        MatrixUtil.flattenInto(grad.getbGradient(),ret.data,idx);
 		return ret;
 	}
 
@@ -0,0 +1,169 @@
+package org.deeplearning4j.rbm;
+
+import org.deeplearning4j.nn.Workspace;
+import org.deeplearning4j.nn.gradient.NeuralNetworkGradient;
+import org.jblas.DoubleMatrix;
+
+/**
+ * Contrastive divergence (CD-k) and persistent contrastive divergence (PCD-k)
+ * for an RBM with binary visible and hidden units.
+ *
+ * The means and samples of the chain are kept in buffers that are reused across
+ * iterations, so a gradient only allocates the three gradient matrices it returns.
+ * The sigmoid and the Bernoulli sample are computed in one pass with the sampler's own
+ * xorshift generator, and the products with W^T and the weight gradient use transposed
+ * gemm instead of materializing transposes.
+ *
+ * With persistent chains the negative phase continues the chain of the previous
+ * gradient instead of starting at the data. The chain restarts at the data when the
+ * batch size changes.
+ *
+ * A sampler belongs to one RBM and is not thread safe.
+ *
+ * @author Adam Gibson
+ */
+public class GibbsSampler {
+
+    private final static int HIDDEN_PROBS = 0;
+    private final static int HIDDEN_SAMPLES = 1;
+    private final static int VISIBLE_PROBS = 2;
+    private final static int VISIBLE_SAMPLES = 3;
+    private final static int CHAIN_HIDDEN_PROBS = 4;
+    private final static int CHAIN_HIDDEN_SAMPLES = 5;
+
+    private Workspace workspace = new Workspace();
+    private boolean persistent;
+    //the hidden samples the persistent chain continues from
+    private DoubleMatrix chain;
+    private long seed;
+
+
+    /**
+     * @param seed the seed of the sampling generator
+     * @param persistent whether to continue the chain across gradients
+     */
+    public GibbsSampler(long seed,boolean persistent) {
+        //xorshift can't start at 0
+        this.seed = seed == 0 ? 0x9E3779B97F4A7C15L : seed;
+        this.persistent = persistent;
+    }
+
+    /**
+     * Whether the sampler can handle the rbm
+     * @param rbm the rbm to check
+     * @return whether the rbm has binary units, no drop out and no concatenated biases
+     */
+    public static boolean supports(RBM rbm) {
+        return rbm.getVisibleType() == RBM.VisibleUnit.BINARY && rbm.getHiddenType() == RBM.HiddenUnit.BINARY
+                && rbm.dropOut() <= 0 && !rbm.isConcatBiases();
+    }
+
+    /**
+     * The raw CD-k gradient, before learning rates and momentum:
+     * the weight gradient v0^T * h0 - vk^T * p(hk), the hidden bias gradient mean(h0 - p(hk))
+     * (or mean(sparsity - h0) with a sparsity target) and the visible bias gradient mean(v0 - vk)
+     * @param input the data, one example per row
+     * @param W the weights, visible x hidden
+     * @param hBias the hidden bias
+     * @param vBias the visible bias
+     * @param k the number of gibbs steps
+     * @param sparsity the sparsity target, 0 for none
+     * @return the gradient, new matrices the caller may keep
+     */
+    public NeuralNetworkGradient gradient(DoubleMatrix input,DoubleMatrix W,DoubleMatrix hBias,DoubleMatrix vBias,int k,double sparsity) {
+        if(k < 1)
+            throw new IllegalArgumentException("At least one gibbs step is needed");
+        int rows = input.rows;
+        int nVisible = W.rows;
+        int nHidden = W.columns;
+
+        //positive phase
+        DoubleMatrix h0Probs = workspace.batchBuffer(rows,HIDDEN_PROBS,nHidden);
+        DoubleMatrix h0Samples = workspace.batchBuffer(rows,HIDDEN_SAMPLES,nHidden);
+        Workspace.gemm('N','N',1.0,input,W,0.0,h0Probs);
+        sample(h0Probs,hBias,h0Samples);
+
+        DoubleMatrix start = h0Samples;
+        if(persistent && chain != null && chain.rows == rows && chain.columns == nHidden)
+            start = chain;
+
+        //negative phase: k steps of hidden -> visible -> hidden
+        DoubleMatrix vProbs = workspace.batchBuffer(rows,VISIBLE_PROBS,nVisible);
+        DoubleMatrix vSamples = workspace.batchBuffer(rows,VISIBLE_SAMPLES,nVisible);
+        DoubleMatrix hProbs = workspace.batchBuffer(rows,CHAIN_HIDDEN_PROBS,nHidden);
+        DoubleMatrix hSamples = workspace.batchBuffer(rows,CHAIN_HIDDEN_SAMPLES,nHidden);
+        DoubleMatrix h = start;
+        for(int i = 0; i < k; i++) {
+            Workspace.gemm('N','T',1.0,h,W,0.0,vProbs);
+            sample(vProbs,vBias,vSamples);
+            Workspace.gemm('N','N',1.0,vSamples,W,0.0,hProbs);
+            sample(hProbs,hBias,hSamples);
+            h = hSamples;
+        }
+
+        if(persistent) {
+            if(chain == null || chain.rows != rows || chain.columns != nHidden)
+                chain = new DoubleMatrix(rows,nHidden);
+            System.arraycopy(h.data,0,chain.data,0,h.length);
+        }
+
+        DoubleMatrix wGradient = new DoubleMatrix(nVisible,nHidden);
+        DoubleMatrix hBiasGradient = new DoubleMatrix(1,nHidden);
+        DoubleMatrix vBiasGradient = new DoubleMatrix(1,nVisible);
+        Workspace.gemm('T','N',1.0,input,h0Samples,0.0,wGradient);
+        Workspace.gemm('T','N',-1.0,vSamples,hProbs,1.0,wGradient);
+
+        for(int j = 0; j < nHidden; j++) {
+            double sum = 0;
+            int offset = j * rows;
+            for(int i = offset; i < offset + rows; i++)
+                sum += sparsity != 0 ? sparsity - h0Samples.data[i] : h0Samples.data[i] - hProbs.data[i];
+            hBiasGradient.data[j] = sum / rows;
+        }
+
+        for(int j = 0; j < nVisible; j++) {
+            double sum = 0;
+            int offset = j * rows;
+            for(int i = offset; i < offset + rows; i++)
+                sum += input.data[i] - vSamples.data[i];
+            vBiasGradient.data[j] = sum / rows;
+        }
+
+        return new NeuralNetworkGradient(wGradient,vBiasGradient,hBiasGradient);
+    }
+
+    /**
+     * Drops the persistent chain so the next gradient starts at the data
+     */
+    public void resetChain() {
+        chain = null;
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+
+    //probs = sigmoid(probs + bias), samples = bernoulli(probs) in one pass
+    private void sample(DoubleMatrix probs,DoubleMatrix bias,DoubleMatrix samples) {
+        int rows = probs.rows;
+        double[] p = probs.data;
+        double[] s = samples.data;
+        long x = seed;
+        for(int j = 0; j < probs.columns; j++) {
+            double b = bias.data[j];
+            int offset = j * rows;
+            for(int i = offset; i < offset + rows; i++) {
+                double prob = 1 / (1 + Math.exp(-(p[i] + b)));
+                p[i] = prob;
+                x ^= x << 13;
+                x ^= x >>> 7;
+                x ^= x << 17;
+                //top 53 bits as a uniform double in [0,1)
+                s[i] = (x >>> 11) * 0x1.0p-53 < prob ? 1 : 0;
+            }
+        }
+        seed = x;
+    }
+
+}
@@ -68,6 +68,11 @@ public class RBM extends BaseNeuralNetwork {
     protected VisibleUnit visibleType = VisibleUnit.BINARY;
     protected HiddenUnit  hiddenType = HiddenUnit.BINARY;
     protected DoubleMatrix sigma,hiddenSigma;
+    //sample binary units with the gibbs sampler's buffers and generator instead of the network rng
+    protected boolean useGibbsSampler = false;
+    //continue the gibbs chain across gradients (persistent contrastive divergence), gibbs sampler only
+    protected boolean persistentChains = false;
+    protected transient GibbsSampler sampler;
 
 
 
@@ -169,6 +174,13 @@ public class RBM extends BaseNeuralNetwork {
         if(vBiasAdaGrad != null)
             vBiasAdaGrad.setMasterStepSize(learningRate);
 
+        //binary units: sample with reused buffers when asked for
+        if(useGibbsSampler && GibbsSampler.supports(this)) {
+            NeuralNetworkGradient ret = getSampler().gradient(input,W,hBias,vBias,k,sparsity);
+            updateGradientAccordingToParams(ret, iteration,learningRate);
+            return ret;
+        }
+
 		/*
 		 * Cost and updates dictionary.
 		 * This is the update rules for weights and biases
@@ -276,6 +288,8 @@ public class RBM extends BaseNeuralNetwork {
         r.setVisibleType(visibleType);
         r.sigma = sigma;
         r.hiddenSigma = hiddenSigma;
+        r.useGibbsSampler = useGibbsSampler;
+        r.persistentChains = persistentChains;
         return r;
     }
 
@@ -552,6 +566,33 @@ public class RBM extends BaseNeuralNetwork {
         this.hiddenType = hiddenType;
     }
 
+    public boolean isUseGibbsSampler() {
+        return useGibbsSampler;
+    }
+
+    public void setUseGibbsSampler(boolean useGibbsSampler) {
+        this.useGibbsSampler = useGibbsSampler;
+    }
+
+    public boolean isPersistentChains() {
+        return persistentChains;
+    }
+
+    public void setPersistentChains(boolean persistentChains) {
+        this.persistentChains = persistentChains;
+        this.sampler = null;
+    }
+
+    /**
+     * The sampler for binary units, created on first use
+     * @return the sampler of this rbm
+     */
+    public GibbsSampler getSampler() {
+        if(sampler == null)
+            sampler = new GibbsSampler(getRng().nextLong(),persistentChains);
+        return sampler;
+    }
+
     @Override
     public double lossFunction(Object[] params) {
         return getReConstructionCrossEntropy();
@@ -570,6 +611,8 @@ public class RBM extends BaseNeuralNetwork {
     public static class Builder extends BaseNeuralNetwork.Builder<RBM> {
         private VisibleUnit visible = VisibleUnit.BINARY;
         private HiddenUnit hidden = HiddenUnit.BINARY;
+        private boolean useGibbsSampler = false;
+        private boolean persistentChains = false;
 
         public Builder() {
             clazz =  RBM.class;
@@ -769,10 +812,37 @@ public class RBM extends BaseNeuralNetwork {
         }
 
 
+        /**
+         * Sample binary units with a {@link GibbsSampler}: reused buffers and
+         * the sampler's own generator (seeded from the network rng) instead of the network rng.
+         * This changes the sampling sequence, so it's off by default
+         * @param useGibbsSampler whether to use the gibbs sampler
+         * @return
+         */
+        public Builder useGibbsSampler(boolean useGibbsSampler) {
+            this.useGibbsSampler = useGibbsSampler;
+            return this;
+        }
+
+        /**
+         * Continue the gibbs chain across gradients instead of
+         * restarting it at the data (persistent contrastive divergence).
+         * Only applies with the gibbs sampler
+         * @param persistentChains whether to use persistent chains
+         * @return
+         */
+        public Builder usePersistentChains(boolean persistentChains) {
+            this.persistentChains = persistentChains;
+            return this;
+        }
+
+
         public RBM build() {
             RBM ret = super.build();
             ret.hiddenType = hidden;
             ret.visibleType = visible;
+            ret.useGibbsSampler = useGibbsSampler;
+            ret.persistentChains = persistentChains;
             return ret;
         }
 
@@ -626,6 +626,31 @@ public class MatrixUtil {
     }
 
 
+    /**
+     * The column of the largest value in each row, the first one on ties.
+     * Reads the data in column major order without copying rows
+     * @param d the matrix
+     * @return the index of the largest value of each row
+     */
+    public static int[] argMaxRows(DoubleMatrix d) {
+        int[] ret = new int[d.rows];
+        if(d.columns == 0)
+            return ret;
+        double[] max = new double[d.rows];
+        System.arraycopy(d.data,0,max,0,d.rows);
+        for(int j = 1; j < d.columns; j++) {
+            int offset = j * d.rows;
+            for(int i = 0; i < d.rows; i++) {
+                double val = d.data[offset + i];
+                if(val > max[i]) {
+                    max[i] = val;
+                    ret[i] = j;
+                }
+            }
+        }
+        return ret;
+    }
+
     public static <E extends DoubleMatrix> E outcomes(E d) {
         DoubleMatrix ret = new DoubleMatrix(d.rows, 1);
         for (int i = 0; i < d.rows; i++)
@@ -1370,16 +1395,37 @@ public class MatrixUtil {
         for(DoubleMatrix m : matrices)  length += m.length;
         DoubleMatrix ret = new DoubleMatrix(1,length);
         int linearIndex = 0;
-        for(DoubleMatrix d : matrices) {
-            for(int i = 0; i < d.length; i++) {
-                ret.put(linearIndex++,d.get(i));
-            }
-        }
+        for(DoubleMatrix d : matrices)
+            linearIndex = flattenInto(d,ret.data,linearIndex);
 
         return ret;
 
     }
 
+    /**
+     * Copies the matrix in to an array in linear (column major) order
+     * @param m the matrix to copy
+     * @param dest the array to copy to
+     * @param offset where in the array to start
+     * @return the offset after the matrix
+     */
+    public static int flattenInto(DoubleMatrix m,double[] dest,int offset) {
+        System.arraycopy(m.data,0,dest,offset,m.length);
+        return offset + m.length;
+    }
+
+    /**
+     * Fills a matrix in linear (column major) order from part of an array
+     * @param src the array to copy from
+     * @param offset where in the array to start
+     * @param m the matrix to fill
+     * @return the offset after the matrix
+     */
+    public static int unflattenFrom(double[] src,int offset,DoubleMatrix m) {
+        System.arraycopy(src,offset,m.data,0,m.length);
+        return offset + m.length;
+    }
+
 
     public static DoubleMatrix toFlattened(int length,Iterator<? extends DoubleMatrix>...matrices) {
 
@@ -1407,11 +1453,8 @@ public class MatrixUtil {
         for(DoubleMatrix m : matrices)  length += m.length;
         DoubleMatrix ret = new DoubleMatrix(1,length);
         int linearIndex = 0;
-        for(DoubleMatrix d : matrices) {
-            for(int i = 0; i < d.length; i++) {
-                ret.put(linearIndex++,d.get(i));
-            }
-        }
+        for(DoubleMatrix d : matrices)
+            linearIndex = flattenInto(d,ret.data,linearIndex);
 
         return ret;
     }
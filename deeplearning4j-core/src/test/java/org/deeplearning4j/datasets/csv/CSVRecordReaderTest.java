@@ -0,0 +1,184 @@
+package org.deeplearning4j.datasets.csv;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Adam Gibson
+ */
+public class CSVRecordReaderTest {
+
+    private static Logger log = LoggerFactory.getLogger(CSVRecordReaderTest.class);
+    private static final String[] LABELS = {"setosa","versicolor","virginica"};
+
+    @Test
+    public void testParallelSplits() throws IOException {
+        int rows = 1000;
+        File f = write(rows);
+        CSVRecordReader reader = new CSVRecordReader(f,2,1,4,null);
+        //tiny splits so lines straddle split boundaries
+        reader.setSplitSize(97);
+        reader.open();
+        assertEquals(rows,reader.numRows());
+        assertEquals(3,reader.numInputs());
+        assertEquals(Arrays.asList(LABELS),reader.getLabels().getLabels());
+        log.info("Read " + reader.numSplits() + " splits");
+
+        for(int pass = 0; pass < 2; pass++) {
+            boolean[] seen = new boolean[rows];
+            CSVRecordReader.Block block;
+            int count = 0;
+            while((block = reader.take()) != null) {
+                for(int i = 0; i < block.rows(); i++) {
+                    //the first feature is the row id
+                    int id = (int) block.getFeatures()[i * 3];
+                    assertTrue(!seen[id]);
+                    seen[id] = true;
+                    assertEquals(id * 0.5,block.getFeatures()[i * 3 + 1],1e-12);
+                    assertEquals(-id * 1e-3,block.getFeatures()[i * 3 + 2],1e-15);
+                    assertEquals(id % 3,block.getLabels()[i]);
+                    count++;
+                }
+                reader.release(block);
+            }
+            assertEquals(rows,count);
+            reader.stop();
+        }
+    }
+
+    @Test
+    public void testSuppliedLabels() throws IOException {
+        File f = write(10);
+        CSVRecordReader reader = new CSVRecordReader(f,2,1,1,new LabelDictionary(Arrays.asList("virginica","setosa","versicolor")));
+        reader.open();
+        CSVRecordReader.Block block = reader.take();
+        assertEquals(10,block.rows());
+        //in file order with a single thread
+        for(int i = 0; i < block.rows(); i++)
+            assertEquals((i % 3 + 1) % 3,block.getLabels()[i]);
+        reader.close();
+    }
+
+    @Test
+    public void testQuotedFields() throws IOException {
+        File f = File.createTempFile("quoted",".csv");
+        f.deleteOnExit();
+        try (PrintWriter writer = new PrintWriter(f)) {
+            writer.println("\"1\",\"Iris, setosa\",2.5");
+            writer.println("2,\"Iris \"\"virginica\"\", tall\",\"3.5\"");
+            writer.println("3,\"Iris, setosa\",4.5");
+        }
+        CSVRecordReader reader = new CSVRecordReader(f,1,0,1,null);
+        reader.open();
+        assertEquals(3,reader.numRows());
+        assertEquals(2,reader.numInputs());
+        assertEquals(Arrays.asList("Iris \"virginica\", tall","Iris, setosa"),reader.getLabels().getLabels());
+
+        CSVRecordReader.Block block = reader.take();
+        assertEquals(3,block.rows());
+        assertArrayEquals(new double[]{1,2.5,2,3.5,3,4.5},Arrays.copyOf(block.getFeatures(),6),0);
+        assertArrayEquals(new int[]{1,0,1},Arrays.copyOf(block.getLabels(),3));
+        reader.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnterminatedQuote() throws IOException {
+        File f = File.createTempFile("unterminated",".csv");
+        f.deleteOnExit();
+        try (PrintWriter writer = new PrintWriter(f)) {
+            writer.println("1,setosa,2.5");
+            writer.println("2,\"setosa,");
+            writer.println("multi line\",3.5");
+        }
+        new CSVRecordReader(f,1,0,1,null).open();
+    }
+
+    @Test
+    public void testStaysFailed() throws IOException {
+        File f = File.createTempFile("failing",".csv");
+        f.deleteOnExit();
+        try (PrintWriter writer = new PrintWriter(f)) {
+            for(int i = 0; i < 100; i++)
+                writer.println(i + ",setosa," + i);
+            writer.println("100,virginica,100");
+        }
+        //the labels are only checked when reading, the last row has an unknown one
+        CSVRecordReader reader = new CSVRecordReader(f,1,0,1,new LabelDictionary(Arrays.asList("setosa")));
+        reader.setSplitSize(97);
+        reader.open();
+
+        int[] rows = new int[2];
+        for(int attempt = 0; attempt < 2; attempt++) {
+            try {
+                CSVRecordReader.Block block;
+                while((block = reader.take()) != null) {
+                    rows[attempt] += block.rows();
+                    reader.release(block);
+                }
+                fail("Expected the unknown label to fail the read");
+            } catch(RuntimeException e) {
+                log.info("Failed with " + e.getCause());
+            }
+        }
+        log.info("Read " + rows[0] + " rows before failing");
+        //the second attempt fails straight away rather than handing out the rows again
+        assertEquals(0,rows[1]);
+
+        //stop clears the failure and starts over
+        reader.stop();
+        assertTrue(reader.take().rows() > 0);
+        reader.close();
+    }
+
+    @Test
+    public void testNumberParser() {
+        Random r = new Random(123);
+        for(int i = 0; i < 10000; i++) {
+            double d = r.nextGaussian() * Math.pow(10,r.nextInt(40) - 20);
+            for(String s : new String[]{String.valueOf(d),String.format("%.6f",d),String.valueOf((float) d)}) {
+                byte[] bytes = (" " + s + " ").getBytes();
+                double expected = Double.parseDouble(s);
+                assertEquals(s,expected,NumberParser.parseDouble(bytes,0,bytes.length),Math.abs(expected) * 1e-15);
+            }
+        }
+        byte[] exact = "\"123.25\"".getBytes();
+        assertEquals(123.25,NumberParser.parseDouble(exact,0,exact.length),0);
+        byte[] nan = "NaN".getBytes();
+        assertTrue(Double.isNaN(NumberParser.parseDouble(nan,0,nan.length)));
+        assertTrue(!NumberParser.isNumber(nan,0,nan.length));
+    }
+
+    @Test
+    public void testNumericLabels() {
+        LabelDictionary labels = LabelDictionary.fromLabels(Arrays.asList("10","2","2.0","0"));
+        assertEquals(Arrays.asList("0","2","10"),labels.getLabels());
+        byte[] label = " 10 ".getBytes();
+        assertEquals(2,labels.indexOf(label,0,label.length));
+        assertEquals(1,labels.indexOf("2.7"));
+        assertEquals(-1,labels.indexOf("3"));
+    }
+
+    private File write(int rows) throws IOException {
+        File f = File.createTempFile("records",".csv");
+        f.deleteOnExit();
+        try (PrintWriter writer = new PrintWriter(f)) {
+            writer.println("id,half,label,small");
+            for(int i = 0; i < rows; i++)
+                writer.print(i + "," + (i * 0.5) + "," + LABELS[i % 3] + "," + (-i * 1e-3) + (i % 2 == 0 ? "\r\n" : "\n"));
+        }
+        return f;
+    }
+
+}
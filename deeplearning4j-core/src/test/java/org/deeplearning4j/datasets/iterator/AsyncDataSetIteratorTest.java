@@ -0,0 +1,126 @@
+package org.deeplearning4j.datasets.iterator;
+
+import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.DataSets;
+import org.deeplearning4j.datasets.iterator.impl.ListDataSetIterator;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Adam Gibson
+ */
+public class AsyncDataSetIteratorTest {
+
+    private static Logger log = LoggerFactory.getLogger(AsyncDataSetIteratorTest.class);
+
+    @Test
+    public void testSameBatches() {
+        List<DataSet> examples = DataSets.iris().asList();
+        DataSetIterator sync = new ListDataSetIterator(examples,10);
+        AsyncDataSetIterator async = new AsyncDataSetIterator(new ListDataSetIterator(examples,10),3);
+
+        for(int epoch = 0; epoch < 2; epoch++) {
+            int batches = 0;
+            while(sync.hasNext()) {
+                assertTrue(async.hasNext());
+                DataSet expected = sync.next();
+                DataSet actual = async.next();
+                assertEquals(expected.getFeatureMatrix(),actual.getFeatureMatrix());
+                assertEquals(expected.getLabels(),actual.getLabels());
+                batches++;
+            }
+            assertFalse(async.hasNext());
+            assertEquals(examples.size(),async.cursor());
+            assertEquals(15,batches);
+            sync.reset();
+            async.reset();
+        }
+    }
+
+    @Test
+    public void testResetPartWay() {
+        List<DataSet> examples = DataSets.iris().asList();
+        AsyncDataSetIterator async = new AsyncDataSetIterator(new ListDataSetIterator(examples,10),2);
+        DataSet first = async.next();
+        async.next();
+        async.reset();
+        assertEquals(0,async.cursor());
+        assertEquals(first.getFeatureMatrix(),async.next().getFeatureMatrix());
+
+        int batches = 1;
+        while(async.hasNext()) {
+            async.next();
+            batches++;
+        }
+        assertEquals(15,batches);
+    }
+
+    @Test
+    public void testException() {
+        List<DataSet> examples = DataSets.iris().asList();
+        DataSetIterator failing = new ListDataSetIterator(examples,10) {
+            private int batches = 0;
+            @Override
+            public synchronized DataSet next() {
+                if(++batches > 2)
+                    throw new IllegalStateException("Corrupt batch");
+                return super.next();
+            }
+        };
+
+        AsyncDataSetIterator async = new AsyncDataSetIterator(failing);
+        async.next();
+        async.next();
+        try {
+            async.next();
+            fail("Expected the failure to propagate");
+        } catch(RuntimeException e) {
+            log.info("Propagated " + e.getCause());
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testInterruptedShutdownWaitsForProducer() throws Exception {
+        List<DataSet> examples = DataSets.iris().asList();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final AtomicBoolean inNext = new AtomicBoolean(false);
+        DataSetIterator slow = new ListDataSetIterator(examples,10) {
+            @Override
+            public synchronized DataSet next() {
+                inNext.set(true);
+                loading.countDown();
+                try {
+                    //a slow load that ignores interrupts
+                    long end = System.currentTimeMillis() + 200;
+                    while(System.currentTimeMillis() < end)
+                        Thread.yield();
+                    return super.next();
+                } finally {
+                    inNext.set(false);
+                }
+            }
+        };
+
+        AsyncDataSetIterator async = new AsyncDataSetIterator(slow);
+        async.hasNext();
+        assertTrue(loading.await(10,TimeUnit.SECONDS));
+        Thread.currentThread().interrupt();
+        async.shutdown();
+        //the interrupt is restored only after the producer is done with the iterator
+        assertTrue(Thread.interrupted());
+        assertFalse(inNext.get());
+    }
+
+}
@@ -4,6 +4,8 @@ import org.deeplearning4j.datasets.DataSet;
 import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * CSV Test
  * @author Adam Gibson
@@ -15,5 +17,23 @@ public class CSVDataSetIteratorTest {
         DataSet next = iter.next();
     }
 
+    @Test
+    public void testAllRows() throws Exception {
+        DataSetIterator iter = new CSVDataSetIterator(10,-1,new ClassPathResource("csv-example.csv").getFile(),1,1,4,null);
+        assertEquals(33,iter.totalExamples());
+        assertEquals(479,iter.inputColumns());
+        for(int epoch = 0; epoch < 2; epoch++) {
+            int seen = 0;
+            while(iter.hasNext()) {
+                DataSet next = iter.next();
+                assertEquals(479,next.numInputs());
+                assertEquals(iter.totalOutcomes(),next.numOutcomes());
+                seen += next.numExamples();
+            }
+            assertEquals(33,seen);
+            iter.reset();
+        }
+    }
+
 
 }
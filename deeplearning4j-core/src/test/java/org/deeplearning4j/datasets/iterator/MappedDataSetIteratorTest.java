@@ -0,0 +1,111 @@
+package org.deeplearning4j.datasets.iterator;
+
+import org.apache.commons.io.FileUtils;
+import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.DataSets;
+import org.deeplearning4j.datasets.iterator.impl.MappedDataSetIterator;
+import org.deeplearning4j.datasets.store.MappedDataSet;
+import org.deeplearning4j.datasets.store.MappedDataSetWriter;
+import org.jblas.DoubleMatrix;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Adam Gibson
+ */
+public class MappedDataSetIteratorTest {
+
+    private static Logger log = LoggerFactory.getLogger(MappedDataSetIteratorTest.class);
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        DataSet iris = DataSets.iris();
+        iris.setLabelNames(Arrays.asList("setosa","versicolor","virginica"));
+        File file = File.createTempFile("iris",".bin");
+        file.deleteOnExit();
+        MappedDataSetWriter.save(iris,file,false);
+
+        MappedDataSet mapped = MappedDataSet.open(file);
+        assertEquals(iris.numExamples(),mapped.numExamples());
+        assertEquals(iris.numInputs(),mapped.numInputs());
+        assertEquals(iris.numOutcomes(),mapped.numOutcomes());
+        assertEquals(iris.getLabelNames(),mapped.getLabelNames());
+        byte[] header = Arrays.copyOf(FileUtils.readFileToByteArray(file),MappedDataSetWriter.HEADER_SIZE);
+        assertEquals(iris.numExamples(),MappedDataSet.numExamples(header));
+        DataSet loaded = mapped.asDataSet();
+        assertEquals(iris.getFeatureMatrix(),loaded.getFeatureMatrix());
+        assertEquals(iris.getLabels(),loaded.getLabels());
+    }
+
+    @Test
+    public void testChunks() throws Exception {
+        DataSet iris = DataSets.iris();
+        File file = File.createTempFile("iris",".bin");
+        file.deleteOnExit();
+        //chunks of 7 so batches cross chunk boundaries
+        try (MappedDataSetWriter writer = new MappedDataSetWriter(file,iris.numInputs(),iris.numOutcomes(),true,7)) {
+            for(DataSet batch : iris.dataSetBatches(20))
+                writer.add(batch);
+        }
+
+        DataSetIterator iter = new MappedDataSetIterator(file,10);
+        assertEquals(iris.numExamples(),iter.totalExamples());
+        int row = 0;
+        while(iter.hasNext()) {
+            DataSet next = iter.next();
+            assertTrue(next.numExamples() <= 10);
+            for(int i = 0; i < next.numExamples(); i++,row++) {
+                assertTrue(iris.getFeatureMatrix().getRow(row).distance2(next.getFeatureMatrix().getRow(i)) < 1e-5);
+                assertEquals(iris.getLabels().getRow(row),next.getLabels().getRow(i));
+            }
+        }
+        assertEquals(iris.numExamples(),row);
+
+        iter.reset();
+        assertTrue(iter.hasNext());
+    }
+
+    @Test
+    public void testShuffle() throws Exception {
+        DoubleMatrix x = new DoubleMatrix(25,2);
+        DoubleMatrix y = new DoubleMatrix(25,1);
+        for(int i = 0; i < x.rows; i++) {
+            x.put(i,0,i);
+            x.put(i,1,-i);
+            y.put(i,0,i);
+        }
+
+        File file = File.createTempFile("shuffled",".bin");
+        file.deleteOnExit();
+        MappedDataSetWriter.save(new DataSet(x,y),file,false);
+        DataSetIterator iter = new MappedDataSetIterator(file,4,true,123);
+
+        boolean[] seen = new boolean[x.rows];
+        boolean inOrder = true;
+        int count = 0;
+        while(iter.hasNext()) {
+            DataSet next = iter.next();
+            for(int i = 0; i < next.numExamples(); i++,count++) {
+                int example = (int) next.getFeatureMatrix().get(i,0);
+                assertFalse(seen[example]);
+                seen[example] = true;
+                assertEquals(-example,next.getFeatureMatrix().get(i,1),1e-12);
+                assertEquals(example,next.getLabels().get(i,0),1e-12);
+                inOrder &= example == count;
+            }
+        }
+
+        assertEquals(x.rows,count);
+        assertFalse(inOrder);
+        log.info("Visited all " + count + " examples in a random order");
+    }
+
+}
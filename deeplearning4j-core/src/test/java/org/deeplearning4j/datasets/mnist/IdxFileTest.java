@@ -0,0 +1,149 @@
+package org.deeplearning4j.datasets.mnist;
+
+import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.fetchers.MnistDataFetcher;
+import org.jblas.DoubleMatrix;
+import org.jblas.FloatMatrix;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Adam Gibson
+ */
+public class IdxFileTest {
+
+    private static Logger log = LoggerFactory.getLogger(IdxFileTest.class);
+    private static final int NUM_IMAGES = 25;
+    private static final int ROWS = 3,COLS = 2;
+    private File images,labels;
+
+    @Before
+    public void before() throws IOException {
+        images = File.createTempFile("images","idx3-ubyte");
+        labels = File.createTempFile("labels","idx1-ubyte");
+        images.deleteOnExit();
+        labels.deleteOnExit();
+
+        try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(images))) {
+            dos.writeInt(2051);
+            dos.writeInt(NUM_IMAGES);
+            dos.writeInt(ROWS);
+            dos.writeInt(COLS);
+            for(int i = 0; i < NUM_IMAGES; i++)
+                for(int j = 0; j < ROWS * COLS; j++)
+                    dos.writeByte(pixel(i,j));
+        }
+
+        try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(labels))) {
+            dos.writeInt(2049);
+            dos.writeInt(NUM_IMAGES);
+            for(int i = 0; i < NUM_IMAGES; i++)
+                dos.writeByte(i % 10);
+        }
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        IdxFile file = IdxFile.open(images);
+        assertEquals(IdxFile.UNSIGNED_BYTE,file.getType());
+        assertEquals(NUM_IMAGES,file.numEntries());
+        assertEquals(ROWS * COLS,file.entryLength());
+
+        DoubleMatrix raw = new DoubleMatrix(5,ROWS * COLS);
+        file.read(10,15,raw,0,1,IdxFile.NO_THRESHOLD);
+        DoubleMatrix binarized = new DoubleMatrix(5,ROWS * COLS);
+        file.read(10,15,binarized,0,1,30);
+        FloatMatrix scaled = new FloatMatrix(6,ROWS * COLS);
+        file.read(10,15,scaled,1,1 / 255.0,IdxFile.NO_THRESHOLD);
+        for(int i = 0; i < 5; i++)
+            for(int j = 0; j < ROWS * COLS; j++) {
+                assertEquals(pixel(10 + i,j),raw.get(i,j),1e-12);
+                assertEquals(pixel(10 + i,j) > 30 ? 1 : 0,binarized.get(i,j),1e-12);
+                assertEquals(pixel(10 + i,j) / 255.0,scaled.get(i + 1,j),1e-6);
+            }
+
+        DoubleMatrix selected = new DoubleMatrix(3,ROWS * COLS);
+        file.read(new int[]{24,0,7},0,3,selected,0,1,IdxFile.NO_THRESHOLD);
+        assertEquals(raw(file,24),selected.getRow(0));
+        assertEquals(raw(file,0),selected.getRow(1));
+        assertEquals(raw(file,7),selected.getRow(2));
+
+        assertEquals(7,IdxFile.open(labels).getInt(17));
+    }
+
+    @Test
+    public void testFetcher() throws IOException {
+        MnistDataFetcher fetcher = new MnistDataFetcher(images,labels,false,false,0);
+        assertEquals(ROWS * COLS,fetcher.inputColumns());
+        int seen = 0;
+        while(fetcher.hasMore()) {
+            fetcher.fetch(10);
+            DataSet d = fetcher.next();
+            for(int i = 0; i < d.numExamples(); i++) {
+                assertEquals((seen + i) % 10,label(d,i));
+                assertEquals(pixel(seen + i,3) / 255.0,d.getFeatureMatrix().get(i,3),1e-12);
+            }
+            seen += d.numExamples();
+        }
+        assertEquals(NUM_IMAGES,seen);
+    }
+
+    @Test
+    public void testShuffledFetcher() throws IOException {
+        MnistDataFetcher fetcher = new MnistDataFetcher(images,labels,false,true,123);
+        Set<Integer> seen = new HashSet<>();
+        boolean inOrder = true;
+        while(fetcher.hasMore()) {
+            fetcher.fetch(10);
+            DataSet d = fetcher.next();
+            for(int i = 0; i < d.numExamples(); i++) {
+                //the first pixel identifies the image, the label must follow it
+                int image = imageOf((int) Math.round(d.getFeatureMatrix().get(i,0) * 255));
+                assertEquals(image % 10,label(d,i));
+                inOrder &= image == seen.size();
+                seen.add(image);
+            }
+        }
+        log.info("Saw " + seen.size() + " shuffled images");
+        assertEquals(NUM_IMAGES,seen.size());
+        assertTrue(!inOrder);
+    }
+
+    private DoubleMatrix raw(IdxFile file,int entry) {
+        DoubleMatrix ret = new DoubleMatrix(1,file.entryLength());
+        for(int j = 0; j < file.entryLength(); j++)
+            ret.put(j,file.value(entry,j));
+        return ret;
+    }
+
+    private static int label(DataSet d,int row) {
+        for(int j = 0; j < d.numOutcomes(); j++)
+            if(d.getLabels().get(row,j) > 0)
+                return j;
+        return -1;
+    }
+
+    private static int imageOf(int firstPixel) {
+        for(int i = 0; i < NUM_IMAGES; i++)
+            if(pixel(i,0) == firstPixel)
+                return i;
+        throw new IllegalArgumentException("No image starts with " + firstPixel);
+    }
+
+    private static int pixel(int image,int j) {
+        return (image * 37 + j * 11) % 256;
+    }
+
+}
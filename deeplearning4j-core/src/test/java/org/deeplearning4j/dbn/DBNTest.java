@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 public class DBNTest {
@@ -83,6 +84,31 @@ public class DBNTest {
 
     }
 
+    @Test
+    public void testSetParameters() {
+        DBN dbn = new DBN.Builder()
+                .numberOfInputs(4).numberOfOutPuts(3).withActivation(Activations.tanh())
+                .hiddenLayerSizes(new int[]{4,3,2})
+                .build();
+
+        DoubleMatrix params = dbn.params();
+        assertEquals(dbn.numParams(),params.length);
+        assertEquals(params,dbn.pack());
+        List<Pair<DoubleMatrix,DoubleMatrix>> unpacked = dbn.unPack(params);
+        assertEquals(dbn.getLayers()[1].getW(),unpacked.get(1).getFirst());
+        assertEquals(dbn.getOutputLayer().getB(),unpacked.get(unpacked.size() - 1).getSecond());
+        assertEquals(params,dbn.pack(unpacked));
+
+        DoubleMatrix w = dbn.getLayers()[0].getW();
+        DoubleMatrix updated = DoubleMatrix.rand(1,params.length);
+        dbn.setParameters(updated);
+        assertEquals(updated,dbn.params());
+        //written in place, hidden layers still share the weights
+        assertTrue(w == dbn.getLayers()[0].getW());
+        for(int i = 0; i < dbn.getnLayers(); i++)
+            assertEquals(dbn.getLayers()[i].getW(),dbn.getSigmoidLayers()[i].getW());
+    }
+
 
     @Test
     public void testDbnStructure() {
@@ -0,0 +1,75 @@
+package org.deeplearning4j.dbn;
+
+import org.apache.commons.math3.random.MersenneTwister;
+import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.iterator.DataSetIterator;
+import org.deeplearning4j.datasets.iterator.impl.ListDataSetIterator;
+import org.deeplearning4j.util.MatrixUtil;
+import org.jblas.DoubleMatrix;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author Adam Gibson
+ */
+public class PipelinedPretrainerTest {
+
+    private static Logger log = LoggerFactory.getLogger(PipelinedPretrainerTest.class);
+
+    @Test
+    public void testSameAsPretrain() {
+        DBN sequential = network(false);
+        sequential.pretrain(data(),1,0.1,3);
+
+        DBN pipelined = network(false);
+        new PipelinedPretrainer(pipelined,4,123).pretrain(data(),1,0.1,3);
+
+        assertEquals(sequential.params(),pipelined.params());
+        assertFalse(network(false).params().equals(pipelined.params()));
+    }
+
+    @Test
+    public void testDeterministic() throws Exception {
+        DBN one = network(true);
+        new PipelinedPretrainer(one,1,123).pretrain(data(),1,0.1,3);
+
+        DBN four = network(true);
+        new PipelinedPretrainer(four,4,123).pretrain(data(),1,0.1,3);
+        assertEquals(one.params(),four.params());
+
+        File dir = Files.createTempDirectory("pretrain").toFile();
+        DBN spilled = network(true);
+        PipelinedPretrainer pretrainer = new PipelinedPretrainer(spilled,3,123);
+        pretrainer.setSpillDirectory(dir);
+        pretrainer.pretrain(data(),1,0.1,3);
+        assertEquals(one.params(),spilled.params());
+        //every cached batch was cleaned up
+        assertEquals(0,dir.list().length);
+        dir.delete();
+    }
+
+
+    private DBN network(boolean sample) {
+        return new DBN.Builder().sampleFromHiddenActivations(sample).forceEpochs()
+                .numberOfInputs(6).numberOfOutPuts(2)
+                .hiddenLayerSizes(new int[]{5,4,3})
+                .withRng(new MersenneTwister(123))
+                .build();
+    }
+
+    private DataSetIterator data() {
+        MersenneTwister rng = new MersenneTwister(42);
+        DoubleMatrix features = MatrixUtil.binomial(DoubleMatrix.ones(40,6).muli(0.5),1,rng);
+        DoubleMatrix labels = DoubleMatrix.zeros(40,2);
+        labels.putColumn(0,DoubleMatrix.ones(40));
+        return new ListDataSetIterator(new DataSet(features,labels).asList(),10);
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.deeplearning4j.eval;
+
+import org.jblas.DoubleMatrix;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Adam Gibson
+ */
+public class EvaluationTest {
+
+    private static Logger log = LoggerFactory.getLogger(EvaluationTest.class);
+
+    private DoubleMatrix labels = new DoubleMatrix(new double[][]{
+            {1,0,0},
+            {1,0,0},
+            {0,1,0},
+            {0,1,0},
+            {0,0,1}
+    });
+
+    private DoubleMatrix guesses = new DoubleMatrix(new double[][]{
+            {0.7,0.2,0.1},
+            {0.2,0.5,0.3},
+            {0.1,0.8,0.1},
+            {0.6,0.3,0.1},
+            {0.3,0.3,0.4}
+    });
+
+    @Test
+    public void testCounts() {
+        Evaluation eval = new Evaluation();
+        eval.eval(labels,guesses);
+        log.info(eval.stats());
+
+        assertEquals(5,eval.getTotal());
+        assertEquals(1,eval.numTimesPredicted(0,0));
+        assertEquals(1,eval.numTimesPredicted(0,1));
+        assertEquals(1,eval.numTimesPredicted(1,0));
+        assertEquals(2,eval.classCount(0));
+        assertEquals(2,eval.numtimesPredicted(1));
+        assertEquals(0.6,eval.accuracy(),1e-12);
+        assertEquals(1,eval.getConfusionMatrix().getCount(2,2));
+
+        assertEquals(0.5,eval.precision(0),1e-12);
+        assertEquals(0.5,eval.recall(1),1e-12);
+        assertEquals(1,eval.precision(2),1e-12);
+        assertEquals(0.5,eval.f1(0),1e-12);
+        assertEquals((0.5 + 0.5 + 1) / 3,eval.precision(),1e-12);
+    }
+
+    @Test
+    public void testTopK() {
+        Evaluation eval = new Evaluation();
+        eval.eval(labels,guesses);
+        assertEquals(0.6,eval.topKAccuracy(1),1e-12);
+        //the fourth example was second, the second was last
+        assertEquals(0.8,eval.topKAccuracy(2),1e-12);
+        assertEquals(1,eval.topKAccuracy(3),1e-12);
+    }
+
+    @Test
+    public void testMerge() {
+        Evaluation all = new Evaluation();
+        all.eval(labels,guesses);
+
+        Evaluation first = new Evaluation();
+        first.eval(labels.getRange(0,2,0,3),guesses.getRange(0,2,0,3));
+        Evaluation second = new Evaluation();
+        second.eval(labels.getRange(2,5,0,3),guesses.getRange(2,5,0,3));
+        first.merge(second);
+
+        assertEquals(all.getTotal(),first.getTotal());
+        assertEquals(all.f1(),first.f1(),1e-12);
+        assertEquals(all.topKAccuracy(2),first.topKAccuracy(2),1e-12);
+        for(int i = 0; i < 3; i++)
+            for(int j = 0; j < 3; j++)
+                assertEquals(all.numTimesPredicted(i,j),first.numTimesPredicted(i,j));
+    }
+
+}
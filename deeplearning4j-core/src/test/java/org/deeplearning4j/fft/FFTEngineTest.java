@@ -0,0 +1,52 @@
+package org.deeplearning4j.fft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Radix-2 and bluestein fft tests
+ *
+ * @author Adam Gibson
+ */
+public class FFTEngineTest {
+
+    private static Logger log = LoggerFactory.getLogger(FFTEngineTest.class);
+
+    @Test
+    public void testPowerOf2() {
+        double[] data = {1,0,2,0,3,0,4,0,5,0,6,0,7,0,8,0};
+        double[] assertion = { 36.,0.,-4.,9.65685425 ,-4.,4,-4.,1.65685425,-4.,0.,-4.,-1.65685425,-4.,-4.,-4.,-9.65685425};
+        FFTEngine.fft(data,8);
+        assertArrayEquals(assertion,data,1e-6);
+    }
+
+    @Test
+    public void testBluestein() {
+        double[] data = {3,0,7,0,11,0,15,0,19,0};
+        double[] assertion = {55,0,-10,13.7638192,-10,3.24919696,-10,-3.24919696,-10,-13.7638192};
+        FFTEngine.fft(data,5);
+        assertArrayEquals(assertion,data,1e-6);
+
+        double[] orig = {3.6,2, 6.6 ,3,7.6 ,4};
+        double[] ffted = orig.clone();
+        FFTEngine.fft(ffted,3);
+        assertArrayEquals(new double[]{17.8,9,-4.3660254,-0.6339746,-2.6339746,-2.3660254},ffted,1e-6);
+        FFTEngine.ifft(ffted,3);
+        assertArrayEquals(orig,ffted,1e-6);
+    }
+
+    @Test
+    public void testStrided() {
+        double[] data = {0,1,0,0,0,2,0,0,0,3,0,0,0};
+        FFTEngine.fft(data,1,4,3);
+        assertArrayEquals(new double[]{0,6,0,0,0,-1.5,0.8660254,0,0,-1.5,-0.8660254,0,0},data,1e-6);
+        FFTEngine.ifft(data,1,4,3);
+        assertArrayEquals(new double[]{0,1,0,0,0,2,0,0,0,3,0,0,0},data,1e-6);
+    }
+
+
+}
@@ -0,0 +1,125 @@
+package org.deeplearning4j.nn;
+
+import org.deeplearning4j.dbn.DBN;
+import org.deeplearning4j.nn.activation.Activations;
+import org.jblas.DoubleMatrix;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Adam Gibson
+ */
+public class InferenceNetworkTest {
+
+    private static Logger log = LoggerFactory.getLogger(InferenceNetworkTest.class);
+
+    @Test
+    public void testMeanFieldOutput() {
+        DBN dbn = network();
+        InferenceNetwork inference = dbn.inference();
+        DoubleMatrix x = DoubleMatrix.rand(6,4);
+        DoubleMatrix copy = x.dup();
+        DoubleMatrix input = dbn.getInput();
+
+        assertEquals(expected(dbn,x),inference.output(x));
+        //the input and the network are untouched
+        assertEquals(copy,x);
+        assertSame(input,dbn.getInput());
+
+        //parameters were copied
+        DoubleMatrix before = inference.output(x);
+        dbn.getOutputLayer().getW().addi(1);
+        assertEquals(before,inference.output(x));
+    }
+
+    @Test
+    public void testNormalization() {
+        DBN dbn = network();
+        DoubleMatrix x = DoubleMatrix.rand(5,4);
+        DoubleMatrix copy = x.dup();
+        //the output layer starts at zero, which would ignore the input
+        dbn.setParameters(DoubleMatrix.rand(1,dbn.numParams()).subi(0.5));
+        InferenceNetwork raw = dbn.inference();
+        dbn.setColumnSums(new DoubleMatrix(new double[]{2,4,1,0.5}).transpose());
+        dbn.setColumnMeans(new DoubleMatrix(new double[]{0.1,0.2,0.3,0.4}).transpose());
+        dbn.setColumnStds(new DoubleMatrix(new double[]{1,2,0.5,4}).transpose());
+
+        DoubleMatrix normalized = x.divRowVector(dbn.getColumnSums()).subRowVector(dbn.getColumnMeans()).divRowVector(dbn.getColumnStds());
+        DoubleMatrix expected = expected(dbn,normalized);
+        DoubleMatrix output = dbn.inference().output(x);
+        for(int i = 0; i < expected.length; i++)
+            assertEquals(expected.get(i),output.get(i),1e-12);
+
+        //unlike the network's output, the statistics are applied before the forward pass
+        //and the input is left alone
+        assertFalse(raw.output(x).equals(output));
+        assertEquals(copy,x);
+    }
+
+    @Test
+    public void testMicroBatching() throws Exception {
+        final InferenceNetwork inference = network().inference();
+        final MicroBatcher batcher = new MicroBatcher(inference,16,5,TimeUnit.MILLISECONDS);
+        ExecutorService exec = Executors.newFixedThreadPool(8);
+        List<DoubleMatrix> inputs = new ArrayList<>();
+        List<Future<DoubleMatrix>> outputs = new ArrayList<>();
+        int totalRows = 0;
+        for(int i = 0; i < 200; i++) {
+            final DoubleMatrix x = DoubleMatrix.rand(1 + i % 3,4);
+            inputs.add(x);
+            totalRows += x.rows;
+            outputs.add(exec.submit(new Callable<DoubleMatrix>() {
+                @Override
+                public DoubleMatrix call() throws Exception {
+                    return batcher.output(x);
+                }
+            }));
+        }
+
+        //softmax is taken per request, the output doesn't depend on the batch
+        for(int i = 0; i < inputs.size(); i++)
+            assertEquals(inference.output(inputs.get(i)),outputs.get(i).get());
+        assertArrayEquals(inference.predict(inputs.get(0)),batcher.predict(inputs.get(0)));
+
+        exec.shutdown();
+        batcher.shutdown();
+        log.info("Ran " + batcher.getRequests() + " requests in " + batcher.getBatches() + " batches, mean batch size " + batcher.getMeanBatchSize()
+                + " mean latency " + batcher.getMeanLatency(TimeUnit.MICROSECONDS) + " us");
+        assertEquals(201,batcher.getRequests());
+        assertEquals(totalRows + inputs.get(0).rows,batcher.getRows());
+        assertTrue(batcher.getBatches() <= batcher.getRequests());
+        assertTrue(batcher.getMaxLatency(TimeUnit.NANOSECONDS) > 0);
+    }
+
+
+    private DBN network() {
+        return new DBN.Builder().numberOfInputs(4).numberOfOutPuts(3)
+                .withActivation(Activations.tanh()).hiddenLayerSizes(new int[]{5,3})
+                .build();
+    }
+
+    //act(x * W + b) for each layer
+    private DoubleMatrix expected(BaseMultiLayerNetwork network,DoubleMatrix x) {
+        DoubleMatrix curr = x;
+        for(HiddenLayer layer : network.getSigmoidLayers())
+            curr = layer.getActivationFunction().apply(curr.mmul(layer.getW()).addRowVector(layer.getB()));
+        OutputLayer output = network.getOutputLayer();
+        return output.getActivationFunction().apply(curr.mmul(output.getW()).addRowVector(output.getB()));
+    }
+
+}
@@ -1,11 +1,14 @@
 package org.deeplearning4j.nn;
 
 
+import static org.junit.Assert.assertEquals;
+
 import java.io.IOException;
 
 import org.deeplearning4j.datasets.DataSet;
 import org.deeplearning4j.datasets.fetchers.IrisDataFetcher;
 import org.deeplearning4j.eval.Evaluation;
+import org.deeplearning4j.nn.activation.Activations;
 import org.jblas.DoubleMatrix;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -64,5 +67,15 @@ public class LogisticTest {
 		log.info(eval.stats());
 
 	}
-	
+
+	@Test
+	public void testClone() {
+		OutputLayer classifier = new OutputLayer.Builder().numberOfInputs(6).numberOfOutputs(2)
+				.withActivationFunction(Activations.sigmoid()).build();
+		OutputLayer clone = classifier.clone();
+		//the clone computes the same output: same parameters and activation
+		assertEquals(classifier.getActivationFunction(),clone.getActivationFunction());
+		assertEquals(classifier.output(xMatrix),clone.output(xMatrix));
+	}
+
 }
@@ -0,0 +1,148 @@
+package org.deeplearning4j.nn;
+
+import org.apache.commons.math3.random.MersenneTwister;
+import org.deeplearning4j.berkeley.Pair;
+import org.deeplearning4j.dbn.DBN;
+import org.deeplearning4j.nn.activation.ActivationFunction;
+import org.deeplearning4j.nn.activation.Activations;
+import org.jblas.DoubleMatrix;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Adam Gibson
+ */
+public class WorkspaceTest {
+
+    private static Logger log = LoggerFactory.getLogger(WorkspaceTest.class);
+
+    @Test
+    public void testBuffersReused() {
+        Workspace workspace = new Workspace();
+        DoubleMatrix full = workspace.batchBuffer(10,0,5);
+        DoubleMatrix last = workspace.batchBuffer(3,0,5);
+        assertEquals(10,full.rows);
+        assertEquals(3,last.rows);
+        //alternating batch sizes don't reallocate
+        assertSame(full,workspace.batchBuffer(10,0,5));
+        assertSame(last,workspace.batchBuffer(3,0,5));
+        assertNotSame(full,workspace.batchBuffer(10,1,5));
+
+        DoubleMatrix weights = workspace.buffer(0,4,5);
+        assertSame(weights,workspace.buffer(0,4,5));
+        assertNotSame(weights,workspace.buffer(0,5,4));
+
+        for(int i = 0; i < Workspace.MAX_BATCH_SIZES; i++)
+            workspace.batchBuffer(100 + i,0,5);
+        //the least recently used batch size was dropped
+        assertNotSame(last,workspace.batchBuffer(3,0,5));
+        log.info("Reused buffers for alternating batch sizes");
+    }
+
+    @Test
+    public void testDerivatives() {
+        DoubleMatrix activation = new DoubleMatrix(new double[][]{{0.1,0.5},{0.9,-0.3}});
+        DoubleMatrix target = new DoubleMatrix(new double[][]{{2,3},{4,5}});
+
+        DoubleMatrix expected = target.mul(Activations.sigmoid().applyDerivative(activation));
+        assertEquals(expected,Workspace.muliDerivative(Activations.sigmoid(),activation,target.dup()));
+
+        expected = target.mul(Activations.tanh().applyDerivative(activation));
+        assertEquals(expected,Workspace.muliDerivative(Activations.tanh(),activation,target.dup()));
+
+        expected = target.mul(Activations.hardTanh().applyDerivative(activation.dup()));
+        assertEquals(expected,Workspace.muliDerivative(Activations.hardTanh(),activation,target.dup()));
+        assertEquals(target,Workspace.muliDerivative(Activations.linear(),activation,target.dup()));
+    }
+
+    @Test
+    public void testSigmoidGradient() {
+        assertSameGradient(Activations.sigmoid());
+    }
+
+    @Test
+    public void testTanhGradient() {
+        assertSameGradient(Activations.tanh());
+    }
+
+    @Test
+    public void testFeedForwardReused() {
+        DBN dbn = new DBN.Builder().numberOfInputs(5).numberOfOutPuts(3).withActivation(Activations.sigmoid())
+                .hiddenLayerSizes(new int[]{4,3}).withRng(new MersenneTwister(123)).build();
+        dbn.setInput(DoubleMatrix.rand(10,5));
+        List<DoubleMatrix> fresh = dbn.feedForward();
+        assertNotSame(fresh,dbn.feedForward());
+
+        dbn.setUseWorkspace(true);
+        List<DoubleMatrix> activations = dbn.feedForward();
+        assertEquals(fresh.size(),activations.size());
+        //the dbn's own feed forward fills the workspace list as well
+        assertSame(activations,dbn.feedForward());
+    }
+
+    @Test
+    public void testColumnMeans() {
+        DoubleMatrix m = new DoubleMatrix(new double[][]{{1,2,3},{3,6,9}});
+        DoubleMatrix means = Workspace.columnMeans(m,new DoubleMatrix(1,3));
+        assertTrue(m.columnMeans().equals(means));
+    }
+
+
+    //back prop with and without the workspace must give the same gradient
+    private void assertSameGradient(ActivationFunction activation) {
+        org.jblas.util.Random.seed(123);
+        DBN dbn = new DBN.Builder().numberOfInputs(5).numberOfOutPuts(3).withActivation(activation)
+                .hiddenLayerSizes(new int[]{4,3}).withRng(new MersenneTwister(123)).withL2(0.01)
+                .build();
+        dbn.setParameters(DoubleMatrix.rand(1,dbn.numParams()).subi(0.5));
+
+        //alternate batch sizes so reused buffers are checked as well
+        for(int batchSize : new int[]{10,7,10}) {
+            DoubleMatrix input = DoubleMatrix.rand(batchSize,5);
+            DoubleMatrix labels = new DoubleMatrix(batchSize,3);
+            for(int i = 0; i < batchSize; i++)
+                labels.put(i,i % 3,1);
+            dbn.setInput(input);
+            dbn.setLabels(labels);
+
+            //the hidden activations are sampled, both passes need the same draws
+            dbn.setUseWorkspace(false);
+            dbn.getRng().setSeed(batchSize);
+            List<Pair<DoubleMatrix,DoubleMatrix>> expected = copy(dbn.backPropGradient());
+            dbn.setUseWorkspace(true);
+            dbn.getRng().setSeed(batchSize);
+            List<Pair<DoubleMatrix,DoubleMatrix>> actual = dbn.backPropGradient();
+
+            assertEquals(expected.size(),actual.size());
+            for(int i = 0; i < expected.size(); i++) {
+                assertClose(expected.get(i).getFirst(),actual.get(i).getFirst());
+                assertClose(expected.get(i).getSecond(),actual.get(i).getSecond());
+            }
+        }
+        log.info("Same gradient with and without a workspace for " + activation.type());
+    }
+
+    private List<Pair<DoubleMatrix,DoubleMatrix>> copy(List<Pair<DoubleMatrix,DoubleMatrix>> gradient) {
+        List<Pair<DoubleMatrix,DoubleMatrix>> ret = new ArrayList<>();
+        for(Pair<DoubleMatrix,DoubleMatrix> pair : gradient)
+            ret.add(new Pair<>(pair.getFirst().dup(),pair.getSecond().dup()));
+        return ret;
+    }
+
+    private void assertClose(DoubleMatrix expected,DoubleMatrix actual) {
+        assertEquals(expected.rows,actual.rows);
+        assertEquals(expected.columns,actual.columns);
+        for(int i = 0; i < expected.length; i++)
+            assertEquals(expected.get(i),actual.get(i),1e-9);
+    }
+
+}
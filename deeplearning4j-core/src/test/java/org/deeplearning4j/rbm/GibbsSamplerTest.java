@@ -0,0 +1,88 @@
+package org.deeplearning4j.rbm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.deeplearning4j.nn.gradient.NeuralNetworkGradient;
+import org.deeplearning4j.util.MatrixUtil;
+import org.jblas.DoubleMatrix;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @author Adam Gibson
+ */
+public class GibbsSamplerTest {
+
+	private static Logger log = LoggerFactory.getLogger(GibbsSamplerTest.class);
+
+	//large enough that every unit is on or off with certainty
+	private DoubleMatrix W = new DoubleMatrix(new double[][]{
+			{50,-50},
+			{50,-50},
+			{-50,50}
+	});
+	private DoubleMatrix hBias = DoubleMatrix.zeros(1,2);
+	private DoubleMatrix vBias = DoubleMatrix.zeros(1,3);
+
+
+	@Test
+	public void testGradient() {
+		DoubleMatrix input = new DoubleMatrix(new double[][]{
+				{1,1,0},
+				{0,0,1},
+				{1,0,0}
+		});
+
+		//the deterministic chain: h0 = h(input), v1 = v(h0), the negative hidden means at v1
+		DoubleMatrix h0 = MatrixUtil.round(MatrixUtil.sigmoid(input.mmul(W).addRowVector(hBias)));
+		DoubleMatrix v1 = MatrixUtil.round(MatrixUtil.sigmoid(h0.mmul(W.transpose()).addRowVector(vBias)));
+		DoubleMatrix h1 = MatrixUtil.sigmoid(v1.mmul(W).addRowVector(hBias));
+
+		GibbsSampler sampler = new GibbsSampler(123,false);
+		NeuralNetworkGradient gradient = sampler.gradient(input,W,hBias,vBias,1,0);
+		log.info("Weight gradient " + gradient.getwGradient());
+
+		DoubleMatrix wGradient = input.transpose().mmul(h0).sub(v1.transpose().mmul(h1));
+		assertTrue(wGradient.distance2(gradient.getwGradient()) < 1e-6);
+		assertTrue(MatrixUtil.mean(h0.sub(h1),0).distance2(gradient.gethBiasGradient()) < 1e-6);
+		assertTrue(MatrixUtil.mean(input.sub(v1),0).distance2(gradient.getvBiasGradient()) < 1e-6);
+
+		//more steps stay on the same fixed point, the buffers are reused
+		NeuralNetworkGradient gradient2 = sampler.gradient(input,W,hBias,vBias,3,0);
+		assertTrue(gradient.getwGradient().distance2(gradient2.getwGradient()) < 1e-6);
+		assertTrue(gradient.getwGradient() != gradient2.getwGradient());
+	}
+
+	@Test
+	public void testPersistentChain() {
+		DoubleMatrix first = new DoubleMatrix(new double[][]{
+				{1,1,0},
+				{1,1,0}
+		});
+		DoubleMatrix second = new DoubleMatrix(new double[][]{
+				{0,0,1},
+				{0,0,1}
+		});
+
+		GibbsSampler restarted = new GibbsSampler(123,false);
+		restarted.gradient(first,W,hBias,vBias,1,0);
+		assertEquals(0,restarted.gradient(second,W,hBias,vBias,1,0).getvBiasGradient().norm1(),1e-6);
+
+		//the chain continues at the hidden state of the first input
+		GibbsSampler persistent = new GibbsSampler(123,true);
+		persistent.gradient(first,W,hBias,vBias,1,0);
+		DoubleMatrix vBiasGradient = persistent.gradient(second,W,hBias,vBias,1,0).getvBiasGradient();
+		assertTrue(new DoubleMatrix(new double[]{-1,-1,1}).transpose().distance2(vBiasGradient) < 1e-6);
+
+		//a new batch size starts at the data
+		DoubleMatrix third = DoubleMatrix.concatVertically(second,second.getRow(0));
+		assertEquals(0,persistent.gradient(third,W,hBias,vBias,1,0).getvBiasGradient().norm1(),1e-6);
+
+		persistent.gradient(first,W,hBias,vBias,1,0);
+		persistent.resetChain();
+		assertEquals(0,persistent.gradient(second,W,hBias,vBias,1,0).getvBiasGradient().norm1(),1e-6);
+	}
+
+}
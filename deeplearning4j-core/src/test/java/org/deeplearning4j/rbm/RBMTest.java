@@ -1,6 +1,8 @@
 package org.deeplearning4j.rbm;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import org.apache.commons.math3.random.MersenneTwister;
 import org.apache.commons.math3.random.RandomGenerator;
@@ -58,6 +60,29 @@ public class RBMTest  {
 	}
 
 
+	@Test
+	public void testGibbsSamplerOptIn() {
+		DoubleMatrix d = new DoubleMatrix(new double[][]{
+				{1,1,1,0,0,0},
+				{0,0,1,1,1,0}
+		});
+
+		//binary units sample on the network rng unless the sampler is asked for
+		RBM r = new RBM.Builder().numberOfVisible(d.columns).numHidden(4)
+				.withRandom(new MersenneTwister(123)).build();
+		r.setInput(d);
+		r.getGradient(new Object[]{1,0.01,0});
+		assertNull(r.sampler);
+
+		RBM sampled = new RBM.Builder().numberOfVisible(d.columns).numHidden(4).useGibbsSampler(true)
+				.withRandom(new MersenneTwister(123)).build();
+		sampled.setInput(d);
+		sampled.getGradient(new Object[]{1,0.01,0});
+		assertNotNull(sampled.sampler);
+		assertEquals(true,((RBM) sampled.clone()).isUseGibbsSampler());
+	}
+
+
 	@Test
 	public void mnistTest() throws Exception {
 
@@ -121,17 +121,29 @@ public abstract class BaseHdfsDataSetIterator implements DataSetIterator {
 	 * @throws Exception if one occurs
 	 */
 	public List<Path> filesInDir() throws Exception {
-		FileSystem fs = FileSystem.get(conf);
+		return filesInDir(hdfsUriRootDir,conf);
+
+	}
+
+	/**
+	 * List all of the files under a directory,
+	 * each file being one split of the data
+	 * @param hdfsUriRootDir the directory to list
+	 * @param conf the hdfs configuration, null for the one on the classpath
+	 * @return the list of paths in the directory
+	 * @throws Exception if one occurs
+	 */
+	public static List<Path> filesInDir(String hdfsUriRootDir,Configuration conf) throws Exception {
+		Path root = new Path(hdfsUriRootDir);
+		FileSystem fs = root.getFileSystem(conf != null ? conf : new Configuration());
 		List<Path> paths = new ArrayList<Path>();
-		RemoteIterator<LocatedFileStatus> iter = fs.listFiles(new Path(hdfsUriRootDir), true);
+		RemoteIterator<LocatedFileStatus> iter = fs.listFiles(root, true);
 		while(iter.hasNext()) {
 			LocatedFileStatus l = iter.next();
 			paths.add(l.getPath());
 		}
 
-		fs.close();
 		return paths;
-
 	}
 
 
@@ -0,0 +1,140 @@
+package org.deeplearning4j.hadoop.datasetiterator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.store.MappedDataSet;
+import org.deeplearning4j.datasets.store.MappedDataSetWriter;
+import org.deeplearning4j.iterativereduce.actor.core.DataSetShard;
+
+/**
+ * A {@link MappedDataSet} file on hdfs, one per split of
+ * {@link BaseHdfsDataSetIterator#filesInDir(String, Configuration)}.
+ * The shard is local to the data nodes holding the file's blocks.
+ * Only the header is read to count the examples; a worker copies the file
+ * to its local temp directory the first time it reads from it and maps the copy.
+ *
+ * Like {@link BaseHdfsDataSetIterator}, the hdfs configuration
+ * is picked up from the classpath of whoever reads the shard.
+ * @author Adam Gibson
+ *
+ */
+public class HdfsDataSetShard implements DataSetShard {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 4862219733613427375L;
+	private String hdfsUri;
+	private int numExamples;
+	private Collection<String> hosts;
+	private transient MappedDataSet mapped;
+
+	/**
+	 * @param hdfsUri the data set file
+	 * @param numExamples the number of examples in the file
+	 * @param hosts the hosts the file is local to
+	 */
+	public HdfsDataSetShard(String hdfsUri,int numExamples,Collection<String> hosts) {
+		this.hdfsUri = hdfsUri;
+		this.numExamples = numExamples;
+		this.hosts = hosts;
+	}
+
+	/**
+	 * Reads the number of examples from the file's header and
+	 * looks up the hosts of the file from its block locations
+	 * @param hdfsUri the data set file
+	 * @throws Exception
+	 */
+	public HdfsDataSetShard(String hdfsUri) throws Exception {
+		this(hdfsUri,0,Collections.<String>emptyList());
+		Path path = new Path(hdfsUri);
+		FileSystem fs = path.getFileSystem(new Configuration());
+		byte[] header = new byte[MappedDataSetWriter.HEADER_SIZE];
+		FSDataInputStream is = fs.open(path);
+		try {
+			is.readFully(0,header);
+		}finally {
+			is.close();
+		}
+		this.numExamples = MappedDataSet.numExamples(header);
+		this.hosts = blockHosts(fs,fs.getFileStatus(path));
+	}
+
+	/**
+	 * One shard per split (file) under the given directory
+	 * @param hdfsUriRootDir the directory of data set files
+	 * @return the shards
+	 * @throws Exception
+	 */
+	public static List<DataSetShard> split(String hdfsUriRootDir) throws Exception {
+		List<DataSetShard> ret = new ArrayList<>();
+		for(Path path : BaseHdfsDataSetIterator.filesInDir(hdfsUriRootDir,null))
+			ret.add(new HdfsDataSetShard(path.toString()));
+		return ret;
+	}
+
+	private static Set<String> blockHosts(FileSystem fs,FileStatus status) throws IOException {
+		Set<String> ret = new HashSet<>();
+		for(BlockLocation location : fs.getFileBlockLocations(status,0,status.getLen()))
+			Collections.addAll(ret,location.getHosts());
+		return ret;
+	}
+
+	//copies the file next to the worker once, then maps the copy
+	private synchronized MappedDataSet mapped() throws IOException {
+		if(mapped == null) {
+			Path path = new Path(hdfsUri);
+			FileSystem fs = path.getFileSystem(new Configuration());
+			FileStatus status = fs.getFileStatus(path);
+			File local = new File(System.getProperty("java.io.tmpdir"),"hdfs-shard-" + Math.abs(hdfsUri.hashCode()) + "-" + status.getModificationTime() + ".bin");
+			if(!local.exists()) {
+				File tmp = File.createTempFile("hdfs-shard",".part");
+				fs.copyToLocalFile(false,path,new Path(tmp.getAbsolutePath()),true);
+				if(!tmp.renameTo(local) && !local.exists())
+					throw new IOException("Unable to move " + tmp + " to " + local);
+				tmp.delete();
+			}
+			mapped = MappedDataSet.open(local);
+		}
+		return mapped;
+	}
+
+	@Override
+	public int numExamples() {
+		return numExamples;
+	}
+
+	@Override
+	public DataSet load(int from,int to) throws IOException {
+		return mapped().get(from,to);
+	}
+
+	@Override
+	public Collection<String> hosts() {
+		return hosts;
+	}
+
+	@Override
+	public String toString() {
+		return "HdfsDataSetShard{" +
+				"hdfsUri='" + hdfsUri + '\'' +
+				", numExamples=" + numExamples +
+				'}';
+	}
+
+}
@@ -0,0 +1,135 @@
+package org.deeplearning4j.aws.s3.reader;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.store.MappedDataSet;
+import org.deeplearning4j.datasets.store.MappedDataSetWriter;
+import org.deeplearning4j.iterativereduce.actor.core.DataSetShard;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+/**
+ * A {@link MappedDataSet} file stored under a key of an s3 bucket.
+ * Only the header is fetched to count the examples; a worker downloads the file
+ * to its local temp directory the first time it reads from it and maps the copy.
+ * The shard isn't local to any host.
+ * @author Adam Gibson
+ *
+ */
+public class S3DataSetShard implements DataSetShard {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -8128412870311806633L;
+	private String bucket;
+	private String key;
+	private int numExamples;
+	private transient MappedDataSet mapped;
+
+	/**
+	 * @param bucket the bucket of the file
+	 * @param key the key of the data set file
+	 * @param numExamples the number of examples in the file
+	 */
+	public S3DataSetShard(String bucket,String key,int numExamples) {
+		this.bucket = bucket;
+		this.key = key;
+		this.numExamples = numExamples;
+	}
+
+	/**
+	 * Fetches the header of the file for the number of examples
+	 * @param bucket the bucket of the file
+	 * @param key the key of the data set file
+	 * @throws IOException
+	 */
+	public S3DataSetShard(String bucket,String key) throws IOException {
+		this(bucket,key,0);
+		byte[] header = new byte[MappedDataSetWriter.HEADER_SIZE];
+		S3Object obj = new S3Downloader().getClient().getObject(new GetObjectRequest(bucket,key).withRange(0,header.length - 1));
+		try {
+			new DataInputStream(obj.getObjectContent()).readFully(header);
+		}finally {
+			obj.close();
+		}
+		this.numExamples = MappedDataSet.numExamples(header);
+	}
+
+	/**
+	 * One shard per key under the given prefix
+	 * @param bucket the bucket to list
+	 * @param prefix the prefix of the data set files
+	 * @return the shards
+	 * @throws IOException
+	 */
+	public static List<DataSetShard> split(String bucket,String prefix) throws IOException {
+		AmazonS3 s3 = new S3Downloader().getClient();
+		List<String> keys = new ArrayList<>();
+		ObjectListing list = s3.listObjects(bucket,prefix);
+		while(true) {
+			for(S3ObjectSummary summary : list.getObjectSummaries())
+				keys.add(summary.getKey());
+			if(!list.isTruncated())
+				break;
+			list = s3.listNextBatchOfObjects(list);
+		}
+		Collections.sort(keys);
+		List<DataSetShard> ret = new ArrayList<>();
+		for(String key : keys)
+			ret.add(new S3DataSetShard(bucket,key));
+		return ret;
+	}
+
+	//downloads the file next to the worker once, then maps the copy
+	private synchronized MappedDataSet mapped() throws IOException {
+		if(mapped == null) {
+			File local = new File(System.getProperty("java.io.tmpdir"),"s3-shard-" + Math.abs((bucket + "/" + key).hashCode()) + ".bin");
+			if(!local.exists()) {
+				File tmp = File.createTempFile("s3-shard",".part");
+				new S3Downloader().download(bucket,key,tmp);
+				if(!tmp.renameTo(local) && !local.exists())
+					throw new IOException("Unable to move " + tmp + " to " + local);
+				tmp.delete();
+			}
+			mapped = MappedDataSet.open(local);
+		}
+		return mapped;
+	}
+
+	@Override
+	public int numExamples() {
+		return numExamples;
+	}
+
+	@Override
+	public DataSet load(int from,int to) throws IOException {
+		return mapped().get(from,to);
+	}
+
+	@Override
+	public Collection<String> hosts() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public String toString() {
+		return "S3DataSetShard{" +
+				"bucket='" + bucket + '\'' +
+				", key='" + key + '\'' +
+				", numExamples=" + numExamples +
+				'}';
+	}
+
+}
@@ -6,13 +6,10 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.util.*;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
-import akka.actor.Cancellable;
 import com.google.common.util.concurrent.AtomicDouble;
 import org.deeplearning4j.berkeley.Counter;
 import org.deeplearning4j.berkeley.Triple;
@@ -21,13 +18,15 @@ import org.deeplearning4j.stopwords.StopWords;
 import org.deeplearning4j.text.tokenizerfactory.UimaTokenizerFactory;
 import org.deeplearning4j.util.MathUtils;
 import org.deeplearning4j.util.MatrixUtil;
-import org.deeplearning4j.word2vec.actor.SentenceActor;
 import org.deeplearning4j.word2vec.actor.VocabActor;
 import org.deeplearning4j.word2vec.sentenceiterator.CollectionSentenceIterator;
 import org.deeplearning4j.word2vec.sentenceiterator.SentenceIterator;
+import org.deeplearning4j.word2vec.similarity.TopK;
+import org.deeplearning4j.word2vec.similarity.WordVectorIndex;
 import org.deeplearning4j.word2vec.tokenizer.DefaultTokenizerFactory;
 import org.deeplearning4j.word2vec.tokenizer.Tokenizer;
 import org.deeplearning4j.word2vec.tokenizer.TokenizerFactory;
+import org.deeplearning4j.word2vec.training.Word2VecTrainer;
 import org.deeplearning4j.word2vec.util.Util;
 import org.deeplearning4j.util.Index;
 import org.jblas.DoubleMatrix;
@@ -36,14 +35,10 @@ import org.jblas.SimpleBlas;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import scala.concurrent.Future;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.actor.Props;
-import akka.dispatch.Futures;
-import akka.dispatch.OnComplete;
 import akka.routing.RoundRobinPool;
-import scala.concurrent.duration.Duration;
 import weka.core.matrix.DoubleVector;
 
 
@@ -86,14 +81,24 @@ public class Word2Vec implements Persistable {
     private FloatMatrix syn0;
     //hidden layer
     private FloatMatrix syn1;
+    //output layer for negative sampling
+    private FloatMatrix syn1neg;
+    //number of negative samples per word, 0 disables negative sampling
+    private int negative = 0;
+    private boolean useHierarchicSoftmax = true;
+    //continuous bag of words rather than skip gram
+    private boolean cbow = false;
+    //similarity queries over syn0, saved with the model
+    private volatile WordVectorIndex index;
     private int allWordsCount = 0;
     private AtomicInteger numSentencesProcessed = new AtomicInteger(0);
     private static ActorSystem trainingSystem;
-    private Cancellable sentenceReport;
     private List<String> stopWords;
     /* out of vocab */
     private float[] oob;
     private boolean shouldReset = true;
+    //number of threads used for training
+    private int workers = Runtime.getRuntime().availableProcessors();
 
     public Word2Vec() {}
 
@@ -249,19 +254,23 @@ public class Word2Vec implements Persistable {
 
 
 
+    /**
+     * The n words most similar to the given word (including the word itself)
+     * ordered by descending cosine similarity.
+     * See {@link #buildIndex(int, int, int)} for approximate queries
+     * @param word the word to find similar words for
+     * @param n the number of words to return
+     * @return the most similar words
+     */
     public Collection<String> wordsNearest(String word,int n) {
-        FloatMatrix vec = this.getWordVectorMatrix(word);
-        if(vec == null)
+        int row = wordIndex.indexOf(word);
+        if(row < 0)
             return new ArrayList<>();
-        Counter<String> distances = new Counter<String>();
-        for(int i = 0; i < syn0.rows; i++) {
-            double sim = similarity(word,wordIndex.get(i).toString());
-            distances.incrementCount(wordIndex.get(i).toString(), sim);
-        }
-
-
-        distances.keepTopNKeys(n);
-        return distances.keySet();
+        int[] rows = getIndex().nearest(row,n).indices();
+        List<String> ret = new ArrayList<>(rows.length);
+        for(int i : rows)
+            ret.add(wordIndex.get(i).toString());
+        return ret;
 
     }
 
@@ -284,129 +293,29 @@ public class Word2Vec implements Persistable {
 
 
 
-    private void insertTopN(String name, double score, List<VocabWord> wordsEntrys) {
-        if (wordsEntrys.size() < topNSize) {
-            VocabWord v = new VocabWord(score,layerSize);
-            v.setIndex(wordIndex.indexOf(name));
-            wordsEntrys.add(v);
-            return;
-        }
-        double min = Float.MAX_VALUE;
-        int minOffe = 0;
-        int minIndex = -1;
-        for (int i = 0; i < topNSize; i++) {
-            VocabWord wordEntry = wordsEntrys.get(i);
-            if (min > wordEntry.getWordFrequency()) {
-                min =  wordEntry.getWordFrequency();
-                minOffe = i;
-                minIndex = wordEntry.getIndex();
-            }
-        }
-
-        if (score > min) {
-            VocabWord w = new VocabWord(score,layerSize);
-            w.setIndex(minIndex);
-            wordsEntrys.set(minOffe,w);
-        }
-
-    }
-
     public boolean hasWord(String word) {
         return wordIndex.indexOf(word) >= 0;
     }
 
+    /**
+     * Trains on the sentence iterator with {@link #getWorkers()}
+     * lock free worker threads.
+     * See {@link Word2VecTrainer}
+     */
     public void train(){
-        if(trainingSystem == null) {
-            trainingSystem = ActorSystem.create();
-            sentenceReport = trainingSystem.scheduler().schedule(Duration.create(0,TimeUnit.SECONDS),Duration.create(30,TimeUnit.SECONDS),new Runnable() {
-
-
-                @Override
-                public void run() {
-                    log.info("Num sentences so far  " + totalWords.totalCount());
-                }
-            },trainingSystem.dispatcher());
-        }
-
-
         if(stopWords == null)
             readStopWords();
 
-
-        log.info("Training word2vec multithreaded");
-
-
-
-
-
-        final AtomicLong changed = new AtomicLong(System.currentTimeMillis());
-
-
-        trainingSystem.actorOf(new RoundRobinPool(Runtime.getRuntime().availableProcessors() *3 ).props(Props.create(new SentenceActor.SentenceActorCreator(this)).withDispatcher("akka.actor.worker-dispatcher")));
-
-
         if(syn0.rows != this.vocab.size())
             throw new IllegalStateException("We appear to be missing vectors here. Unable to train. Please ensure vectors were loaded properly.");
+        if(negative > 0 && (syn1neg == null || syn1neg.rows != syn0.rows))
+            syn1neg = FloatMatrix.zeros(syn0.rows,syn0.columns);
 
-
-        while(getSentenceIter().hasNext()) {
-            final String sentence = sentenceIter.nextSentence();
-            if(sentence != null && !sentence.isEmpty()) {
-                Future<Void> f = Futures.future(new Callable<Void>() {
-
-                    @Override
-                    public Void call() throws Exception {
-                        processSentence(sentence, totalWords);
-                        return null;
-                    }
-
-                },trainingSystem.dispatcher());
-                f.onComplete(new OnComplete<Void>() {
-
-                    @Override
-                    public void onComplete(Throwable arg0, Void arg1)
-                            throws Throwable {
-                        if(arg0 != null)
-                            throw arg0;
-                        numSentencesProcessed.incrementAndGet();
-                        changed.set(System.currentTimeMillis());
-
-                    }
-
-                }, trainingSystem.dispatcher());
-
-            }
-
-        }
-
-
-        boolean done = false;
-        long fiveMinutes = TimeUnit.MINUTES.toMillis(1);
-        while(!done) {
-            long curr = System.currentTimeMillis();
-            long lastChanged = changed.get();
-            long diff = Math.abs(curr - lastChanged);
-            //hasn't changed for 5 minutes
-            if(diff >= fiveMinutes) {
-                done = true;
-            }
-
-            else
-                try {
-                    Thread.sleep(15000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-        }
-
-
-        log.info("Shutting down system; done training");
-        if(sentenceReport != null)
-            sentenceReport.cancel();
-
-        if(trainingSystem != null)
-            trainingSystem.shutdown();
-
+        log.info("Training word2vec multithreaded with " + workers + " workers");
+        new Word2VecTrainer(this,workers).train(getSentenceIter());
+        //the vectors changed
+        index = null;
+        log.info("Done training");
     }
 
     public void processSentence(final String sentence,final Counter<String> totalWords) {
@@ -452,25 +361,10 @@ public class Word2Vec implements Persistable {
      * @return
      */
     public Set<VocabWord> distance(String word) {
-        FloatMatrix wordVector = getWordVectorMatrix(word);
-        if (wordVector == null) {
-            return null;
-        }
-        FloatMatrix tempVector = null;
-        List<VocabWord> wordEntrys = new ArrayList<>(topNSize);
-        String name;
-        for (int i = 0; i < syn0.rows; i++) {
-            name = wordIndex.get(i).toString();
-            if (name.equals(word)) {
-                continue;
-            }
-
-            double dist = 0;
-            tempVector = syn0.getRow(i);
-            dist = wordVector.dot(tempVector);
-            insertTopN(name, dist, wordEntrys);
-        }
-        return new TreeSet<>(wordEntrys);
+        int row = wordIndex.indexOf(word);
+        if(row < 0)
+            return new TreeSet<>();
+        return toVocabWords(getIndex().nearest(row,topNSize,row));
     }
 
     /**
@@ -478,30 +372,60 @@ public class Word2Vec implements Persistable {
      * @return
      */
     public TreeSet<VocabWord> analogy(String word0, String word1, String word2) {
-        FloatMatrix wv0 = getWordVectorMatrix(word0);
-        FloatMatrix wv1 = getWordVectorMatrix(word1);
-        FloatMatrix wv2 = getWordVectorMatrix(word2);
-
-
-        FloatMatrix wordVector = wv1.sub(wv0).add(wv2);
-
-        if (wv1 == null || wv2 == null || wv0 == null)
+        int row0 = wordIndex.indexOf(word0);
+        int row1 = wordIndex.indexOf(word1);
+        int row2 = wordIndex.indexOf(word2);
+        if (row0 < 0 || row1 < 0 || row2 < 0)
             return null;
+        return toVocabWords(getIndex().analogy(row0,row1,row2,topNSize));
+    }
+
+    //the results of a query as words whose frequency is the similarity
+    private TreeSet<VocabWord> toVocabWords(TopK topK) {
+        int[] rows = new int[topK.size()];
+        float[] scores = new float[topK.size()];
+        int n = topK.drain(rows,scores);
+        TreeSet<VocabWord> ret = new TreeSet<>();
+        for(int i = 0; i < n; i++) {
+            VocabWord w = new VocabWord(scores[i],layerSize);
+            w.setIndex(rows[i]);
+            ret.add(w);
+        }
+        return ret;
+    }
 
-        FloatMatrix tempVector;
-        String name;
-        List<VocabWord> wordEntrys = new ArrayList<>(topNSize);
-        for (int i = 0; i < syn0.rows; i++) {
-            name = wordIndex.get(i).toString();
+    /**
+     * Builds an exact similarity index over syn0.
+     * The index is saved with the model
+     */
+    public void buildIndex() {
+        index = new WordVectorIndex(syn0);
+    }
 
-            if (name.equals(word0) || name.equals(word1) || name.equals(word2)) {
-                continue;
-            }
-            tempVector = syn0.getRow(i);
-            double dist = wordVector.dot(tempVector);
-            insertTopN(name, dist, wordEntrys);
+    /**
+     * Builds an approximate similarity index (a random projection forest) over syn0
+     * for {@link #wordsNearest(String, int)}, {@link #distance(String)} and {@link #analogy(String, String, String)}.
+     * The index is saved with the model
+     * @param numTrees the number of trees: more trees are slower to build with better recall
+     * @param leafSize the maximum number of words per leaf
+     * @param searchK the number of candidates scored per query: higher is slower with better recall
+     */
+    public void buildIndex(int numTrees,int leafSize,int searchK) {
+        index = new WordVectorIndex(syn0,numTrees,leafSize,searchK);
+    }
+
+    /**
+     * The similarity index, an exact index is built
+     * if there is none or syn0 has changed size
+     * @return the similarity index
+     */
+    public WordVectorIndex getIndex() {
+        WordVectorIndex ret = index;
+        if(ret == null || ret.rows() != syn0.rows || ret.columns() != syn0.columns) {
+            ret = new WordVectorIndex(syn0);
+            index = ret;
         }
-        return new TreeSet<>(wordEntrys);
+        return ret;
     }
 
 
@@ -524,10 +448,11 @@ public class Word2Vec implements Persistable {
 
 
         final Counter<String> rawVocab = Util.parallelCounter();
-        final AtomicLong semaphore = new AtomicLong(System.currentTimeMillis());
+        //released once per sentence counted
+        final Semaphore processed = new Semaphore(0);
         int queued = 0;
 
-        final ActorRef vocabActor = trainingSystem.actorOf(new RoundRobinPool(Runtime.getRuntime().availableProcessors()).props(Props.create(VocabActor.class,tokenizerFactory,wordIndex,minWordFrequency,vocab,layerSize,stopWords,rawVocab,semaphore)));
+        final ActorRef vocabActor = trainingSystem.actorOf(new RoundRobinPool(Runtime.getRuntime().availableProcessors()).props(Props.create(VocabActor.class,tokenizerFactory,wordIndex,minWordFrequency,vocab,layerSize,stopWords,rawVocab,processed)));
 
 		/* all words; including those not in the actual ending index */
         while(getSentenceIter().hasNext()) {
@@ -543,24 +468,11 @@ public class Word2Vec implements Persistable {
 
         }
 
-        boolean done = false;
-        long fiveMinutes = TimeUnit.MINUTES.toMillis(1);
-        while(!done) {
-            long curr = System.currentTimeMillis();
-            long lastChanged = semaphore.get();
-            long diff = Math.abs(curr - lastChanged);
-            log.info("Waiting on setup...");
-            //hasn't changed for 5 minutes
-            if(diff >= fiveMinutes) {
-                done = true;
-            }
-
-            else
-                try {
-                    Thread.sleep(15000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+        log.info("Waiting on setup...");
+        try {
+            processed.acquire(queued);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
 
 
@@ -716,6 +628,8 @@ public class Word2Vec implements Persistable {
     private void resetWeights() {
         syn1 = FloatMatrix.zeros(vocab.size(), layerSize);
         syn0 = FloatMatrix.zeros(vocab.size(),layerSize);
+        if(negative > 0)
+            syn1neg = FloatMatrix.zeros(vocab.size(),layerSize);
         org.jblas.util.Random.seed(1);
         for(int i = 0; i < syn0.rows; i++)
             for(int j = 0; j < syn0.columns; j++) {
@@ -790,6 +704,34 @@ public class Word2Vec implements Persistable {
         return syn1;
     }
 
+    public FloatMatrix getSyn1Neg() {
+        return syn1neg;
+    }
+
+    public int getNegative() {
+        return negative;
+    }
+
+    public void setNegative(int negative) {
+        this.negative = negative;
+    }
+
+    public boolean isUseHierarchicSoftmax() {
+        return useHierarchicSoftmax;
+    }
+
+    public void setUseHierarchicSoftmax(boolean useHierarchicSoftmax) {
+        this.useHierarchicSoftmax = useHierarchicSoftmax;
+    }
+
+    public boolean isCbow() {
+        return cbow;
+    }
+
+    public void setCbow(boolean cbow) {
+        this.cbow = cbow;
+    }
+
 
     public Map<String, VocabWord> getVocab() {
         return vocab;
@@ -821,6 +763,14 @@ public class Word2Vec implements Persistable {
     }
 
 
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
     public int getTopNSize() {
         return topNSize;
     }
@@ -855,12 +805,17 @@ public class Word2Vec implements Persistable {
 
     public void setSyn0(FloatMatrix syn0) {
         this.syn0 = syn0;
+        this.index = null;
     }
 
     public void setSyn1(FloatMatrix syn1) {
         this.syn1 = syn1;
     }
 
+    public void setSyn1Neg(FloatMatrix syn1neg) {
+        this.syn1neg = syn1neg;
+    }
+
     public void setWindow(int window) {
         this.window = window;
     }
@@ -929,6 +884,11 @@ public class Word2Vec implements Persistable {
             this.stopWords = vec.stopWords;
             this.syn0 = vec.syn0;
             this.syn1 = vec.syn1;
+            this.syn1neg = vec.syn1neg;
+            this.index = vec.index;
+            this.negative = vec.negative;
+            this.useHierarchicSoftmax = vec.useHierarchicSoftmax;
+            this.cbow = vec.cbow;
             this.topNSize = vec.topNSize;
             this.trainWordsCount = vec.trainWordsCount;
             this.window = vec.window;
@@ -950,6 +910,10 @@ public class Word2Vec implements Persistable {
         private List<String> stopWords = StopWords.getStopWords();
         private int window = 5;
         private TokenizerFactory tokenizerFactory;
+        private int workers = Runtime.getRuntime().availableProcessors();
+        private int negative = 0;
+        private boolean useHierarchicSoftmax = true;
+        private boolean cbow = false;
 
         public Builder minWordFrequency(int minWordFrequency) {
             this.minWordFrequency = minWordFrequency;
@@ -978,6 +942,36 @@ public class Word2Vec implements Persistable {
             return this;
         }
 
+        /**
+         * Train with negative sampling
+         * @param negative the number of negative samples per word, 0 disables negative sampling
+         * @return this builder
+         */
+        public Builder negativeSample(int negative) {
+            this.negative = negative;
+            return this;
+        }
+
+        public Builder useHierarchicSoftmax(boolean useHierarchicSoftmax) {
+            this.useHierarchicSoftmax = useHierarchicSoftmax;
+            return this;
+        }
+
+        /**
+         * Train continuous bag of words rather than skip gram
+         * @param cbow whether to use cbow
+         * @return this builder
+         */
+        public Builder cbow(boolean cbow) {
+            this.cbow = cbow;
+            return this;
+        }
+
+        public Builder workers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
         public Builder iterate(SentenceIterator iter) {
             this.iter = iter;
             return this;
@@ -1007,6 +1001,10 @@ public class Word2Vec implements Persistable {
                 }
                 ret.tokenizerFactory = tokenizerFactory;
                 ret.wordIndex = vocab;
+                ret.workers = workers;
+                ret.negative = negative;
+                ret.useHierarchicSoftmax = useHierarchicSoftmax;
+                ret.cbow = cbow;
                 return ret;
             }
 
@@ -1030,6 +1028,10 @@ public class Word2Vec implements Persistable {
 
                 ret.tokenizerFactory = tokenizerFactory;
                 ret.wordIndex = vocab;
+                ret.workers = workers;
+                ret.negative = negative;
+                ret.useHierarchicSoftmax = useHierarchicSoftmax;
+                ret.cbow = cbow;
                 return ret;
             }
 
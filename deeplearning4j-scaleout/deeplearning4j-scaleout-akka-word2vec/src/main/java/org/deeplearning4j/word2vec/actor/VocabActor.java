@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.Semaphore;
 
 import org.deeplearning4j.berkeley.Counter;
 import org.deeplearning4j.word2vec.VocabWord;
@@ -28,14 +28,15 @@ public class VocabActor extends UntypedActor {
 	private int layerSize;
 	private List<String> stopWords;
 	private Counter<String> rawVocab;
-	private AtomicLong lastUpdate;
+	//a permit per sentence counted
+	private Semaphore processed;
 
 
 
 
 	public VocabActor(TokenizerFactory tokenizer, Index wordIndex,
 			int minWordFrequency, Map<String, VocabWord> vocab, int layerSize,
-			List<String> stopWords, Counter<String> rawVocab,AtomicLong lastUpdate) {
+			List<String> stopWords, Counter<String> rawVocab,Semaphore processed) {
 		super();
 		this.tokenizer = tokenizer;
 		this.wordIndex = wordIndex;
@@ -44,7 +45,7 @@ public class VocabActor extends UntypedActor {
 		this.layerSize = layerSize;
 		this.stopWords = stopWords;
 		this.rawVocab = rawVocab;
-		this.lastUpdate = lastUpdate;
+		this.processed = processed;
 	}
 
 
@@ -54,40 +55,48 @@ public class VocabActor extends UntypedActor {
 	public void onReceive(Object message) throws Exception {
 		if(message  instanceof String) {
 			String sentence = message.toString();
-			Tokenizer t = tokenizer.create(sentence);
 			List<String> tokens = new ArrayList<String>();
-			while(t.hasMoreTokens())
-				tokens.add(t.nextToken());
+			try {
+				Tokenizer t = tokenizer.create(sentence);
+				while(t.hasMoreTokens())
+					tokens.add(t.nextToken());
+			}catch(Exception e) {
+				//still counts as processed, otherwise the vocab never finishes
+				processed.release();
+				throw e;
+			}
 			getSelf().tell(tokens,getSelf());
 
 		}
 
 		else if(message instanceof Collection) {
 			Collection<String> tokens = (Collection<String>) message;
-			for(String token : tokens) {
-				if(stopWords.contains(token))
-					token = "STOP";
-				rawVocab.incrementCount(token,1.0);
-				//note that for purposes of word frequency, the 
-				//internal vocab and the final vocab
-				//at the class level contain the same references
-				if(!Util.matchesAnyStopWord(stopWords,token)) {
-					if(!vocab.containsKey(token)) {
-						VocabWord word = new VocabWord(rawVocab.getCount(token),layerSize);
-						word.setIndex(vocab.size());
-						vocab.put(token, word);
-						wordIndex.add(token);
+			try {
+				for(String token : tokens) {
+					if(stopWords.contains(token))
+						token = "STOP";
+					rawVocab.incrementCount(token,1.0);
+					//note that for purposes of word frequency, the 
+					//internal vocab and the final vocab
+					//at the class level contain the same references
+					if(!Util.matchesAnyStopWord(stopWords,token)) {
+						if(!vocab.containsKey(token)) {
+							VocabWord word = new VocabWord(rawVocab.getCount(token),layerSize);
+							word.setIndex(vocab.size());
+							vocab.put(token, word);
+							wordIndex.add(token);
+
+						}
+
 
 					}
 
 
 				}
-
-
+			}finally {
+				processed.release();
 			}
 
-			lastUpdate.getAndSet(System.currentTimeMillis());
-
 		}
 
 		else 
@@ -0,0 +1,142 @@
+package org.deeplearning4j.word2vec.loader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.StringTokenizer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Converts models in the binary or text formats of the original
+ * word2vec in to the format read by {@link MappedWordVectors}.
+ * Vectors are streamed from one file to the other, so the model never
+ * has to fit on the heap.
+ *
+ * Usage: GoogleModelConverter input output [text]
+ *
+ * @author Adam Gibson
+ */
+public class GoogleModelConverter {
+
+    private static Logger log = LoggerFactory.getLogger(GoogleModelConverter.class);
+
+    private GoogleModelConverter() {}
+
+
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2) {
+            System.err.println("Usage: GoogleModelConverter input output [text]");
+            System.exit(1);
+        }
+
+        File in = new File(args[0]);
+        File out = new File(args[1]);
+        if(args.length > 2 && args[2].equals("text"))
+            convertText(in,out);
+        else
+            convertBinary(in,out);
+    }
+
+
+    /**
+     * Converts a model in the google binary format (optionally gzipped)
+     * @param in the google model
+     * @param out the file to write
+     * @throws IOException
+     */
+    public static void convertBinary(File in,File out) throws IOException {
+        try (InputStream is = open(in)) {
+            int words = Integer.parseInt(readToken(is));
+            int size = Integer.parseInt(readToken(is));
+            byte[] bytes = new byte[size * 4];
+            FloatBuffer floats = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            float[] vector = new float[size];
+            try (MappedWordVectorsWriter writer = new MappedWordVectorsWriter(out,size)) {
+                for(int i = 0; i < words; i++) {
+                    String word = readToken(is);
+                    readFully(is,bytes);
+                    floats.get(vector,0,size);
+                    floats.rewind();
+                    writer.addWord(word,0,vector);
+                    if(i > 0 && i % 100000 == 0)
+                        log.info("Converted " + i + " out of " + words + " words");
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts a model in the google text format (optionally gzipped)
+     * @param in the google model
+     * @param out the file to write
+     * @throws IOException
+     */
+    public static void convertText(File in,File out) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(in),MappedWordVectorsWriter.UTF_8))) {
+            String line = reader.readLine();
+            if(line == null)
+                throw new IOException("Empty model " + in);
+            StringTokenizer header = new StringTokenizer(line);
+            header.nextToken();
+            int size = Integer.parseInt(header.nextToken());
+            float[] vector = new float[size];
+            try (MappedWordVectorsWriter writer = new MappedWordVectorsWriter(out,size)) {
+                while((line = reader.readLine()) != null) {
+                    StringTokenizer tokenizer = new StringTokenizer(line," ");
+                    if(!tokenizer.hasMoreTokens())
+                        continue;
+                    String word = tokenizer.nextToken();
+                    for(int j = 0; j < size; j++)
+                        vector[j] = Float.parseFloat(tokenizer.nextToken());
+                    writer.addWord(word,0,vector);
+                }
+            }
+        }
+    }
+
+
+    private static InputStream open(File in) throws IOException {
+        InputStream is = new FileInputStream(in);
+        if(in.getName().endsWith(".gz"))
+            is = new GZIPInputStream(is);
+        return new BufferedInputStream(is,1 << 16);
+    }
+
+    //reads up to the next space or newline, skipping leading whitespace
+    private static String readToken(InputStream is) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int b = is.read();
+        while(b == ' ' || b == '\n')
+            b = is.read();
+        while(b != ' ' && b != '\n') {
+            if(b < 0)
+                throw new EOFException();
+            bytes.write(b);
+            b = is.read();
+        }
+        return new String(bytes.toByteArray(),MappedWordVectorsWriter.UTF_8);
+    }
+
+    private static void readFully(InputStream is,byte[] bytes) throws IOException {
+        int read = 0;
+        while(read < bytes.length) {
+            int n = is.read(bytes,read,bytes.length - read);
+            if(n < 0)
+                throw new EOFException();
+            read += n;
+        }
+    }
+
+}
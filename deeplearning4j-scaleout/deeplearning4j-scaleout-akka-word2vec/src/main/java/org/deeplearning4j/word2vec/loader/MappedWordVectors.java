@@ -0,0 +1,286 @@
+package org.deeplearning4j.word2vec.loader;
+
+import org.deeplearning4j.word2vec.similarity.TopK;
+import org.jblas.FloatMatrix;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read only word vectors served straight from a memory mapped file
+ * written by {@link MappedWordVectorsWriter}.
+ *
+ * Opening a model only maps the file, nothing is copied on to the heap:
+ * vectors are read from the mapping when asked for and words are looked up
+ * in the mapped hash table. Every process mapping the same file shares the
+ * operating system's page cache.
+ * All of the reads are absolute, so instances are safe to share between threads.
+ *
+ * @author Adam Gibson
+ */
+public class MappedWordVectors implements Closeable {
+
+    //vectors are mapped in chunks of whole rows since a single mapping is limited to 2gb
+    private final static long MAX_CHUNK_BYTES = 1 << 30;
+
+    private File file;
+    private int numWords;
+    private int layerSize;
+    private int rowsPerChunk;
+    private FloatBuffer[] vectors;
+    private FloatBuffer norms;
+    private IntBuffer wordOffsets;
+    private LongBuffer counts;
+    private ByteBuffer wordBytes;
+    private IntBuffer hash;
+    private int hashMask;
+
+
+    private MappedWordVectors(File file) {
+        this.file = file;
+    }
+
+
+    /**
+     * Maps the given file
+     * @param file the file to map
+     * @return the mapped word vectors
+     * @throws IOException if the file can't be read or is not a word vectors file
+     */
+    public static MappedWordVectors open(File file) throws IOException {
+        MappedWordVectors ret = new MappedWordVectors(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file,"r")) {
+            FileChannel channel = raf.getChannel();
+            if(channel.size() < MappedWordVectorsWriter.HEADER_SIZE)
+                throw new IOException(file + " is not a word vectors file");
+            ByteBuffer header = map(channel,0,MappedWordVectorsWriter.HEADER_SIZE);
+            if(header.getInt(0) != MappedWordVectorsWriter.MAGIC)
+                throw new IOException(file + " is not a word vectors file");
+            int version = header.getInt(4);
+            if(version != MappedWordVectorsWriter.VERSION)
+                throw new IOException("Unsupported word vectors version " + version);
+
+            ret.numWords = header.getInt(8);
+            ret.layerSize = header.getInt(12);
+            int capacity = header.getInt(16);
+            long vectorsOffset = header.getLong(24);
+            long normsOffset = header.getLong(32);
+            long vocabOffset = header.getLong(40);
+            long hashOffset = header.getLong(48);
+            long end = header.getLong(56);
+            if(end != channel.size())
+                throw new IOException(file + " is truncated: expected " + end + " bytes but was " + channel.size());
+
+            ret.rowsPerChunk = (int) Math.max(1,MAX_CHUNK_BYTES / (ret.layerSize * 4L));
+            int chunks = (ret.numWords + ret.rowsPerChunk - 1) / ret.rowsPerChunk;
+            ret.vectors = new FloatBuffer[chunks];
+            for(int i = 0; i < chunks; i++) {
+                int rows = Math.min(ret.rowsPerChunk,ret.numWords - i * ret.rowsPerChunk);
+                long offset = vectorsOffset + (long) i * ret.rowsPerChunk * ret.layerSize * 4;
+                ret.vectors[i] = map(channel,offset,(long) rows * ret.layerSize * 4).asFloatBuffer();
+            }
+
+            ret.norms = map(channel,normsOffset,ret.numWords * 4L).asFloatBuffer();
+            long countsOffset = vocabOffset + (ret.numWords + 1) * 4L;
+            long bytesOffset = countsOffset + ret.numWords * 8L;
+            ret.wordOffsets = map(channel,vocabOffset,(ret.numWords + 1) * 4L).asIntBuffer();
+            ret.counts = map(channel,countsOffset,ret.numWords * 8L).asLongBuffer();
+            ret.wordBytes = map(channel,bytesOffset,hashOffset - bytesOffset);
+            ret.hash = map(channel,hashOffset,capacity * 4L).asIntBuffer();
+            ret.hashMask = capacity - 1;
+        }
+
+        return ret;
+    }
+
+
+    /**
+     * The index of the given word
+     * @param word the word to look up
+     * @return the index of the word or -1 if it is not in the vocab
+     */
+    public int indexOf(String word) {
+        byte[] bytes = word.getBytes(MappedWordVectorsWriter.UTF_8);
+        int slot = MappedWordVectorsWriter.hash(bytes,0,bytes.length) & hashMask;
+        while(true) {
+            int entry = hash.get(slot);
+            if(entry == 0)
+                return -1;
+            int index = entry - 1;
+            if(matches(index,bytes))
+                return index;
+            slot = (slot + 1) & hashMask;
+        }
+    }
+
+    public boolean hasWord(String word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+     * The word at the given index
+     * @param index the index of the word
+     * @return the word
+     */
+    public String wordAt(int index) {
+        int from = wordOffsets.get(index);
+        byte[] bytes = new byte[wordOffsets.get(index + 1) - from];
+        for(int i = 0; i < bytes.length; i++)
+            bytes[i] = wordBytes.get(from + i);
+        return new String(bytes,MappedWordVectorsWriter.UTF_8);
+    }
+
+    /**
+     * The number of times the word at the given index occurred
+     * @param index the index of the word
+     * @return the count of the word (0 if unknown)
+     */
+    public long getCount(int index) {
+        return counts.get(index);
+    }
+
+
+    /**
+     * Copies the vector at the given index
+     * @param index the index of the word
+     * @param out the array to copy in to, of length {@link #layerSize()}
+     * @return out
+     */
+    public float[] getVector(int index,float[] out) {
+        FloatBuffer chunk = vectors[index / rowsPerChunk];
+        int offset = (index % rowsPerChunk) * layerSize;
+        for(int j = 0; j < layerSize; j++)
+            out[j] = chunk.get(offset + j);
+        return out;
+    }
+
+    /**
+     * The vector of the given word
+     * @param word the word
+     * @return the vector of the word, zeros if the word is not in the vocab
+     */
+    public float[] getWordVector(String word) {
+        float[] ret = new float[layerSize];
+        int index = indexOf(word);
+        if(index < 0)
+            return ret;
+        return getVector(index,ret);
+    }
+
+    /**
+     * The vector of the given word as a row vector
+     * @param word the word
+     * @return the vector of the word, zeros if the word is not in the vocab
+     */
+    public FloatMatrix getWordVectorMatrix(String word) {
+        return new FloatMatrix(1,layerSize,getWordVector(word));
+    }
+
+
+    /**
+     * The cosine similarity of 2 words
+     * @param word the first word
+     * @param word2 the second word
+     * @return the cosine similarity or -1 if either word is not in the vocab
+     */
+    public double similarity(String word,String word2) {
+        int i = indexOf(word);
+        int j = indexOf(word2);
+        if(i < 0 || j < 0)
+            return -1;
+        if(i == j)
+            return 1;
+        float[] vector = getVector(i,new float[layerSize]);
+        float norm = norms.get(i) * norms.get(j);
+        return norm == 0 ? 0 : dot(vector,j) / norm;
+    }
+
+    /**
+     * The n words most similar to the given word (excluding the word itself)
+     * by scanning the mapped vectors
+     * @param word the word
+     * @param n the number of words to return
+     * @return the most similar words ordered by descending similarity
+     */
+    public List<String> wordsNearest(String word,int n) {
+        int index = indexOf(word);
+        List<String> ret = new ArrayList<>();
+        if(index < 0)
+            return ret;
+        float[] query = getVector(index,new float[layerSize]);
+        TopK topK = new TopK(n);
+        for(int i = 0; i < numWords; i++) {
+            if(i == index || norms.get(i) == 0)
+                continue;
+            topK.offer(i,dot(query,i) / norms.get(i));
+        }
+
+        for(int i : topK.indices())
+            ret.add(wordAt(i));
+        return ret;
+    }
+
+
+    public int numWords() {
+        return numWords;
+    }
+
+    public int layerSize() {
+        return layerSize;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Drops the references to the mappings, the mappings themselves are
+     * released when they are garbage collected
+     */
+    @Override
+    public void close() {
+        vectors = null;
+        norms = null;
+        wordOffsets = null;
+        counts = null;
+        wordBytes = null;
+        hash = null;
+    }
+
+
+    private float dot(float[] query,int index) {
+        FloatBuffer chunk = vectors[index / rowsPerChunk];
+        int offset = (index % rowsPerChunk) * layerSize;
+        float ret = 0;
+        for(int j = 0; j < layerSize; j++)
+            ret += query[j] * chunk.get(offset + j);
+        return ret;
+    }
+
+    private boolean matches(int index,byte[] bytes) {
+        int from = wordOffsets.get(index);
+        if(wordOffsets.get(index + 1) - from != bytes.length)
+            return false;
+        for(int i = 0; i < bytes.length; i++)
+            if(wordBytes.get(from + i) != bytes[i])
+                return false;
+        return true;
+    }
+
+    private static ByteBuffer map(FileChannel channel,long offset,long length) throws IOException {
+        if(length > Integer.MAX_VALUE)
+            throw new IOException("Block of " + length + " bytes is too large to map");
+        return channel.map(FileChannel.MapMode.READ_ONLY,offset,length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+}
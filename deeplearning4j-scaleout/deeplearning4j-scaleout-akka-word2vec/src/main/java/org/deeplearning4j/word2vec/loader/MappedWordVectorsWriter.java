@@ -0,0 +1,273 @@
+package org.deeplearning4j.word2vec.loader;
+
+import org.deeplearning4j.word2vec.VocabWord;
+import org.deeplearning4j.word2vec.Word2Vec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Streams word vectors in to the binary format read by {@link MappedWordVectors}.
+ *
+ * Vectors are written to disk as they are added, only the vocab
+ * (the words, counts and norms) is kept in memory until {@link #close()},
+ * so models bigger than the heap can be converted.
+ *
+ * Layout (little endian):
+ * <pre>
+ * header   64 bytes: magic, version, number of words, layer size, hash capacity,
+ *          reserved, then the offsets of the vectors, norms, vocab and hash blocks
+ *          and the file length
+ * vectors  float[words][layer size] row major
+ * norms    float[words]: the l2 norm of each vector
+ * vocab    int[words + 1] offsets of each word in the word bytes, long[words] counts,
+ *          the utf-8 bytes of every word
+ * hash     int[hash capacity]: open addressed (linear probing) table of word index + 1,
+ *          0 is an empty slot
+ * </pre>
+ *
+ * @author Adam Gibson
+ */
+public class MappedWordVectorsWriter implements Closeable {
+
+    public final static int MAGIC = 0x57325646;
+    public final static int VERSION = 1;
+    public final static int HEADER_SIZE = 64;
+    public final static Charset UTF_8 = Charset.forName("UTF-8");
+
+    private RandomAccessFile file;
+    private FileChannel channel;
+    private int layerSize;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+    private int numWords = 0;
+    private ByteArrayOutputStream wordBytes = new ByteArrayOutputStream();
+    private int[] wordOffsets = new int[1024];
+    private int[] hashes = new int[1024];
+    private long[] counts = new long[1024];
+    private float[] norms = new float[1024];
+    private boolean closed = false;
+
+
+    /**
+     * @param file the file to write, overwritten if it exists
+     * @param layerSize the length of every vector
+     * @throws IOException
+     */
+    public MappedWordVectorsWriter(File file,int layerSize) throws IOException {
+        if(layerSize < 1)
+            throw new IllegalArgumentException("Layer size must be positive");
+        this.layerSize = layerSize;
+        this.file = new RandomAccessFile(file,"rw");
+        this.file.setLength(0);
+        this.channel = this.file.getChannel();
+        channel.position(HEADER_SIZE);
+    }
+
+
+    /**
+     * Writes the vocab and syn0 of a word2vec model
+     * @param vec the model to write
+     * @param file the file to write to
+     * @throws IOException
+     */
+    public static void write(Word2Vec vec,File file) throws IOException {
+        int columns = vec.getSyn0().columns;
+        try (MappedWordVectorsWriter writer = new MappedWordVectorsWriter(file,columns)) {
+            float[] vector = new float[columns];
+            for(int i = 0; i < vec.getWordIndex().size(); i++) {
+                String word = vec.getWordIndex().get(i).toString();
+                VocabWord vocabWord = vec.getWord(word);
+                for(int j = 0; j < columns; j++)
+                    vector[j] = vec.getSyn0().get(i,j);
+                writer.addWord(word,vocabWord == null ? 0 : (long) vocabWord.getWordFrequency(),vector);
+            }
+        }
+    }
+
+
+    /**
+     * Appends a word, its index is the number of words added before it
+     * @param word the word
+     * @param count the number of times the word occurred
+     * @param vector the vector of the word
+     * @throws IOException
+     */
+    public void addWord(String word,long count,float[] vector) throws IOException {
+        if(closed)
+            throw new IllegalStateException("Writer is closed");
+        if(vector.length != layerSize)
+            throw new IllegalArgumentException("Vector must be of length " + layerSize);
+
+        if(numWords + 1 >= wordOffsets.length) {
+            int newLength = wordOffsets.length * 2;
+            wordOffsets = Arrays.copyOf(wordOffsets,newLength);
+            hashes = Arrays.copyOf(hashes,newLength);
+            counts = Arrays.copyOf(counts,newLength);
+            norms = Arrays.copyOf(norms,newLength);
+        }
+
+        byte[] bytes = word.getBytes(UTF_8);
+        if((long) wordBytes.size() + bytes.length > Integer.MAX_VALUE)
+            throw new IllegalStateException("Vocab is too large");
+        wordOffsets[numWords] = wordBytes.size();
+        wordBytes.write(bytes);
+        hashes[numWords] = hash(bytes,0,bytes.length);
+        counts[numWords] = count;
+
+        double norm = 0;
+        for(float f : vector) {
+            norm += f * f;
+            if(buffer.remaining() < 4)
+                flush();
+            buffer.putFloat(f);
+        }
+        norms[numWords] = (float) Math.sqrt(norm);
+        numWords++;
+    }
+
+
+    /**
+     * Writes the vocab, hash and header
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed)
+            return;
+        closed = true;
+        try {
+            flush();
+            long vectorsOffset = HEADER_SIZE;
+            long normsOffset = channel.position();
+            for(int i = 0; i < numWords; i++)
+                putFloat(norms[i]);
+
+            flush();
+            long vocabOffset = channel.position();
+            wordOffsets[numWords] = wordBytes.size();
+            for(int i = 0; i <= numWords; i++)
+                putInt(wordOffsets[i]);
+            for(int i = 0; i < numWords; i++)
+                putLong(counts[i]);
+            flush();
+            channel.write(ByteBuffer.wrap(wordBytes.toByteArray()));
+
+            long hashOffset = channel.position();
+            int capacity = hashCapacity(numWords);
+            int[] table = buildHash(capacity);
+            for(int i = 0; i < capacity; i++)
+                putInt(table[i]);
+            flush();
+            long end = channel.position();
+
+            buffer.clear();
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(numWords).putInt(layerSize)
+                    .putInt(capacity).putInt(0)
+                    .putLong(vectorsOffset).putLong(normsOffset).putLong(vocabOffset)
+                    .putLong(hashOffset).putLong(end);
+            buffer.flip();
+            channel.position(0);
+            while(buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        } finally {
+            file.close();
+        }
+    }
+
+    public int getNumWords() {
+        return numWords;
+    }
+
+
+    //the first word added wins when a word is added twice
+    private int[] buildHash(int capacity) {
+        int[] table = new int[capacity];
+        byte[] bytes = wordBytes.toByteArray();
+        int mask = capacity - 1;
+        for(int i = 0; i < numWords; i++) {
+            int slot = hashes[i] & mask;
+            boolean duplicate = false;
+            while(table[slot] != 0) {
+                int other = table[slot] - 1;
+                if(hashes[other] == hashes[i] && equal(bytes,other,i)) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if(!duplicate)
+                table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    private boolean equal(byte[] bytes,int word1,int word2) {
+        int length = wordOffsets[word1 + 1] - wordOffsets[word1];
+        if(length != wordOffsets[word2 + 1] - wordOffsets[word2])
+            return false;
+        for(int i = 0; i < length; i++)
+            if(bytes[wordOffsets[word1] + i] != bytes[wordOffsets[word2] + i])
+                return false;
+        return true;
+    }
+
+    private void putInt(int i) throws IOException {
+        if(buffer.remaining() < 4)
+            flush();
+        buffer.putInt(i);
+    }
+
+    private void putLong(long l) throws IOException {
+        if(buffer.remaining() < 8)
+            flush();
+        buffer.putLong(l);
+    }
+
+    private void putFloat(float f) throws IOException {
+        if(buffer.remaining() < 4)
+            flush();
+        buffer.putFloat(f);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+
+    /**
+     * A power of 2 at least twice the number of words
+     * @param numWords the number of words
+     * @return the capacity of the hash table
+     */
+    static int hashCapacity(int numWords) {
+        int ret = 2;
+        while(ret < numWords * 2L)
+            ret <<= 1;
+        return ret;
+    }
+
+    /**
+     * 32 bit FNV-1a hash of utf-8 bytes
+     */
+    static int hash(byte[] bytes,int from,int to) {
+        int h = 0x811c9dc5;
+        for(int i = from; i < to; i++) {
+            h ^= bytes[i] & 0xff;
+            h *= 0x01000193;
+        }
+        return h;
+    }
+
+}
@@ -27,7 +27,17 @@ public class Word2VecLoader {
 		return ret;
 	}
 
-
+    /**
+     * Memory maps a model written by {@link MappedWordVectorsWriter}
+     * or converted with {@link GoogleModelConverter}
+     * @param file the model
+     * @return the mapped word vectors
+     * @throws IOException
+     */
+    public static MappedWordVectors loadMapped(File file) throws IOException {
+        log.info("Mapping model from " + file.getAbsolutePath());
+        return MappedWordVectors.open(file);
+    }
 
 
 	private static Word2Vec loadGoogleVocab(Word2Vec vec,String path) throws IOException {
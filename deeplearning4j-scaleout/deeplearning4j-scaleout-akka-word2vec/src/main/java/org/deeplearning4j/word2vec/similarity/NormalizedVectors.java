@@ -0,0 +1,125 @@
+package org.deeplearning4j.word2vec.similarity;
+
+import org.jblas.FloatMatrix;
+
+import java.io.Serializable;
+
+/**
+ * Unit length copies of the word vectors in one contiguous row major array,
+ * so the cosine similarity of a query to every word is a single
+ * matrix vector product.
+ *
+ * @author Adam Gibson
+ */
+public class NormalizedVectors implements Serializable {
+
+    private static final long serialVersionUID = 3214598826402346981L;
+    //rows scored together so each load of the query is shared
+    public final static int BLOCK = 4;
+    private float[] data;
+    private int rows,columns;
+
+
+    /**
+     * @param vectors the word vectors, one per row
+     */
+    public NormalizedVectors(FloatMatrix vectors) {
+        this.rows = vectors.rows;
+        this.columns = vectors.columns;
+        this.data = new float[rows * columns];
+        for(int i = 0; i < rows; i++) {
+            double norm = 0;
+            for(int j = 0; j < columns; j++) {
+                float v = vectors.data[i + j * rows];
+                norm += v * v;
+            }
+            float scale = norm > 0 ? (float) (1 / Math.sqrt(norm)) : 0;
+            for(int j = 0; j < columns; j++)
+                data[i * columns + j] = vectors.data[i + j * rows] * scale;
+        }
+    }
+
+
+    /**
+     * Scores every row against the query, offering each row that is not
+     * excluded to the given heap
+     * @param query the query, of length {@link #columns()}
+     * @param topK the heap to offer rows to
+     * @param exclude the rows to skip
+     */
+    public void score(float[] query,TopK topK,int...exclude) {
+        checkQuery(query);
+        int end = rows - rows % BLOCK;
+        for(int i = 0; i < end; i += BLOCK) {
+            int r0 = i * columns,r1 = r0 + columns,r2 = r1 + columns,r3 = r2 + columns;
+            float s0 = 0,s1 = 0,s2 = 0,s3 = 0;
+            for(int j = 0; j < columns; j++) {
+                float q = query[j];
+                s0 += q * data[r0 + j];
+                s1 += q * data[r1 + j];
+                s2 += q * data[r2 + j];
+                s3 += q * data[r3 + j];
+            }
+            offer(topK,i,s0,exclude);
+            offer(topK,i + 1,s1,exclude);
+            offer(topK,i + 2,s2,exclude);
+            offer(topK,i + 3,s3,exclude);
+        }
+
+        for(int i = end; i < rows; i++)
+            offer(topK,i,dot(query,i),exclude);
+    }
+
+    /**
+     * The dot product of the query and a row
+     * @param query the query
+     * @param row the row
+     * @return the dot product (the cosine similarity for a unit query)
+     */
+    public float dot(float[] query,int row) {
+        int offset = row * columns;
+        float ret = 0;
+        for(int j = 0; j < columns; j++)
+            ret += query[j] * data[offset + j];
+        return ret;
+    }
+
+    /**
+     * Copies a unit length row in to the given array
+     * @param row the row to copy
+     * @param out the array to copy in to
+     * @return out
+     */
+    public float[] getRow(int row,float[] out) {
+        System.arraycopy(data,row * columns,out,0,columns);
+        return out;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    float[] data() {
+        return data;
+    }
+
+
+    private void checkQuery(float[] query) {
+        if(query.length != columns)
+            throw new IllegalArgumentException("Query must be of length " + columns);
+    }
+
+    private static void offer(TopK topK,int row,float score,int[] exclude) {
+        if(score <= topK.threshold())
+            return;
+        for(int e : exclude)
+            if(e == row)
+                return;
+        topK.offer(row,score);
+    }
+
+}
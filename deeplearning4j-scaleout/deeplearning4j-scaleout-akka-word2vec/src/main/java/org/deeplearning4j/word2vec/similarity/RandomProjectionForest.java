@@ -0,0 +1,257 @@
+package org.deeplearning4j.word2vec.similarity;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Approximate nearest neighbour index over {@link NormalizedVectors}:
+ * a forest of random projection trees (as in annoy).
+ *
+ * Each inner node splits its words by the side of the hyperplane
+ * between two randomly chosen words. A query walks all of the trees at once
+ * with a priority queue ordered by the distance to the splitting hyperplanes,
+ * collecting leaves until it has searchK candidates which are then scored exactly.
+ * More trees and a higher searchK give better recall at the cost of latency.
+ *
+ * @author Adam Gibson
+ */
+public class RandomProjectionForest implements Serializable {
+
+    private static final long serialVersionUID = -1593853342085741042L;
+    //how many times a split is retried before falling back to an arbitrary split
+    private final static int SPLIT_ATTEMPTS = 5;
+    private NormalizedVectors vectors;
+    private int leafSize;
+    private int[] roots;
+    //per node: the hyperplane normal, children (a negative child -i - 1 is leaf i)
+    private float[] normals;
+    private int[] left,right;
+    //words of leaf i are leafItems[leafOffsets[i] .. leafOffsets[i + 1])
+    private int[] leafOffsets;
+    private int[] leafItems;
+
+    private transient int numNodes,numLeaves,numLeafItems;
+    private transient Random random;
+
+
+    /**
+     * @param vectors the vectors to index
+     * @param numTrees the number of trees
+     * @param leafSize the maximum number of words in a leaf
+     * @param seed the seed for choosing the splits
+     */
+    public RandomProjectionForest(NormalizedVectors vectors,int numTrees,int leafSize,long seed) {
+        if(numTrees < 1 || leafSize < 1)
+            throw new IllegalArgumentException("Must have at least 1 tree with leaves of at least 1 word");
+        this.vectors = vectors;
+        this.leafSize = leafSize;
+        this.random = new Random(seed);
+        int columns = vectors.columns();
+        normals = new float[columns * 16];
+        left = new int[16];
+        right = new int[16];
+        leafOffsets = new int[17];
+        leafItems = new int[vectors.rows() * numTrees];
+
+        roots = new int[numTrees];
+        int[] items = new int[vectors.rows()];
+        for(int t = 0; t < numTrees; t++) {
+            for(int i = 0; i < items.length; i++)
+                items[i] = i;
+            roots[t] = build(items,0,items.length);
+        }
+
+        normals = Arrays.copyOf(normals,numNodes * columns);
+        left = Arrays.copyOf(left,numNodes);
+        right = Arrays.copyOf(right,numNodes);
+        leafOffsets = Arrays.copyOf(leafOffsets,numLeaves + 1);
+    }
+
+
+    /**
+     * Finds the approximate nearest neighbours of a unit length query
+     * @param query the query
+     * @param topK the heap to offer the candidates to
+     * @param searchK the number of candidates to score exactly
+     * @param exclude the words to skip
+     */
+    public void search(float[] query,TopK topK,int searchK,int...exclude) {
+        SearchQueue queue = new SearchQueue(roots.length * 4);
+        for(int root : roots)
+            queue.push(root,Float.POSITIVE_INFINITY);
+
+        int[] candidates = new int[Math.max(searchK,leafSize) + leafSize];
+        int numCandidates = 0;
+        int columns = vectors.columns();
+        while(queue.size > 0 && numCandidates < searchK) {
+            float priority = queue.topPriority();
+            int node = queue.pop();
+            if(node < 0) {
+                int leaf = -node - 1;
+                for(int i = leafOffsets[leaf]; i < leafOffsets[leaf + 1]; i++) {
+                    if(numCandidates == candidates.length)
+                        candidates = Arrays.copyOf(candidates,candidates.length * 2);
+                    candidates[numCandidates++] = leafItems[i];
+                }
+                continue;
+            }
+
+            int offset = node * columns;
+            float margin = 0;
+            for(int j = 0; j < columns; j++)
+                margin += query[j] * normals[offset + j];
+            queue.push(right[node],Math.min(priority,margin));
+            queue.push(left[node],Math.min(priority,-margin));
+        }
+
+        //the same word is usually found in several trees
+        Arrays.sort(candidates,0,numCandidates);
+        for(int i = 0; i < numCandidates; i++) {
+            int word = candidates[i];
+            if(i > 0 && word == candidates[i - 1])
+                continue;
+            boolean excluded = false;
+            for(int e : exclude)
+                if(e == word) {
+                    excluded = true;
+                    break;
+                }
+            if(!excluded)
+                topK.offer(word,vectors.dot(query,word));
+        }
+    }
+
+    public int numTrees() {
+        return roots.length;
+    }
+
+    public int getLeafSize() {
+        return leafSize;
+    }
+
+
+    //builds the subtree over items[from,to), returning its node
+    private int build(int[] items,int from,int to) {
+        int count = to - from;
+        if(count <= leafSize)
+            return leaf(items,from,to);
+
+        int columns = vectors.columns();
+        float[] data = vectors.data();
+        float[] normal = new float[columns];
+        int split = -1;
+        for(int attempt = 0; attempt < SPLIT_ATTEMPTS && (split <= from || split >= to); attempt++) {
+            int a = items[from + random.nextInt(count)];
+            int b = items[from + random.nextInt(count)];
+            if(a == b)
+                continue;
+            for(int j = 0; j < columns; j++)
+                normal[j] = data[a * columns + j] - data[b * columns + j];
+            split = partition(items,from,to,normal);
+        }
+
+        //every word fell on one side (duplicate vectors), split arbitrarily
+        if(split <= from || split >= to) {
+            Arrays.fill(normal,0);
+            split = from + count / 2;
+        }
+
+        int node = numNodes++;
+        if(node == left.length) {
+            left = Arrays.copyOf(left,node * 2);
+            right = Arrays.copyOf(right,node * 2);
+            normals = Arrays.copyOf(normals,node * 2 * columns);
+        }
+        System.arraycopy(normal,0,normals,node * columns,columns);
+        //children are built after the arrays may have grown, so assign through the fields
+        int l = build(items,from,split);
+        left[node] = l;
+        int r = build(items,split,to);
+        right[node] = r;
+        return node;
+    }
+
+    //moves the items on the negative side of the hyperplane first, returning the first positive item
+    private int partition(int[] items,int from,int to,float[] normal) {
+        int split = from;
+        for(int i = from; i < to; i++) {
+            if(vectors.dot(normal,items[i]) < 0) {
+                int tmp = items[split];
+                items[split++] = items[i];
+                items[i] = tmp;
+            }
+        }
+        return split;
+    }
+
+    private int leaf(int[] items,int from,int to) {
+        int leaf = numLeaves++;
+        if(leaf + 1 == leafOffsets.length)
+            leafOffsets = Arrays.copyOf(leafOffsets,leafOffsets.length * 2);
+        leafOffsets[leaf] = numLeafItems;
+        System.arraycopy(items,from,leafItems,numLeafItems,to - from);
+        numLeafItems += to - from;
+        leafOffsets[leaf + 1] = numLeafItems;
+        return -leaf - 1;
+    }
+
+
+    //max heap of nodes by priority
+    private static class SearchQueue {
+        private int[] nodes;
+        private float[] priorities;
+        private int size = 0;
+
+        private SearchQueue(int capacity) {
+            nodes = new int[capacity];
+            priorities = new float[capacity];
+        }
+
+        private void push(int node,float priority) {
+            if(size == nodes.length) {
+                nodes = Arrays.copyOf(nodes,size * 2);
+                priorities = Arrays.copyOf(priorities,size * 2);
+            }
+            int i = size++;
+            while(i > 0) {
+                int parent = (i - 1) / 2;
+                if(priorities[parent] >= priority)
+                    break;
+                nodes[i] = nodes[parent];
+                priorities[i] = priorities[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            priorities[i] = priority;
+        }
+
+        private float topPriority() {
+            return priorities[0];
+        }
+
+        private int pop() {
+            int ret = nodes[0];
+            size--;
+            int node = nodes[size];
+            float priority = priorities[size];
+            int i = 0;
+            while(true) {
+                int child = 2 * i + 1;
+                if(child >= size)
+                    break;
+                if(child + 1 < size && priorities[child + 1] > priorities[child])
+                    child++;
+                if(priority >= priorities[child])
+                    break;
+                nodes[i] = nodes[child];
+                priorities[i] = priorities[child];
+                i = child;
+            }
+            nodes[i] = node;
+            priorities[i] = priority;
+            return ret;
+        }
+    }
+
+}
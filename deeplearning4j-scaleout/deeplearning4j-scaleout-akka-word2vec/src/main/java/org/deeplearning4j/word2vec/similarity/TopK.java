@@ -0,0 +1,119 @@
+package org.deeplearning4j.word2vec.similarity;
+
+/**
+ * Bounded min heap of (index,score) pairs that keeps
+ * the k highest scores it is offered.
+ *
+ * @author Adam Gibson
+ */
+public class TopK {
+
+    private int k;
+    private int size = 0;
+    private int[] indices;
+    private float[] scores;
+
+    public TopK(int k) {
+        if(k < 1)
+            throw new IllegalArgumentException("k must be at least 1");
+        this.k = k;
+        this.indices = new int[k];
+        this.scores = new float[k];
+    }
+
+
+    /**
+     * Offers a candidate
+     * @param index the index of the candidate
+     * @param score the score of the candidate
+     */
+    public void offer(int index,float score) {
+        if(size < k) {
+            indices[size] = index;
+            scores[size] = score;
+            siftUp(size++);
+        }
+        else if(score > scores[0]) {
+            indices[0] = index;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * The lowest score that would currently be kept
+     * @return the lowest score kept or negative infinity if not full
+     */
+    public float threshold() {
+        return size < k ? Float.NEGATIVE_INFINITY : scores[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Empties the heap, returning the indices in descending score order
+     * @return the indices sorted by descending score
+     */
+    public int[] indices() {
+        int[] ret = new int[size];
+        float[] retScores = new float[size];
+        drain(ret,retScores);
+        return ret;
+    }
+
+    /**
+     * Empties the heap in to the given arrays in descending score order
+     * @param outIndices the indices, must be at least {@link #size()} long
+     * @param outScores the scores, must be at least {@link #size()} long
+     * @return the number of results
+     */
+    public int drain(int[] outIndices,float[] outScores) {
+        int ret = size;
+        for(int i = ret - 1; i >= 0; i--) {
+            outIndices[i] = indices[0];
+            outScores[i] = scores[0];
+            size--;
+            indices[0] = indices[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return ret;
+    }
+
+
+    private void siftUp(int i) {
+        while(i > 0) {
+            int parent = (i - 1) / 2;
+            if(scores[parent] <= scores[i])
+                break;
+            swap(i,parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while(true) {
+            int left = 2 * i + 1;
+            if(left >= size)
+                break;
+            int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+            if(scores[i] <= scores[smallest])
+                break;
+            swap(i,smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int i,int j) {
+        int index = indices[i];
+        float score = scores[i];
+        indices[i] = indices[j];
+        scores[i] = scores[j];
+        indices[j] = index;
+        scores[j] = score;
+    }
+
+}
@@ -0,0 +1,134 @@
+package org.deeplearning4j.word2vec.similarity;
+
+import org.jblas.FloatMatrix;
+
+import java.io.Serializable;
+
+/**
+ * Cosine similarity queries over a set of word vectors.
+ *
+ * Queries are answered exactly by scoring every word with
+ * {@link NormalizedVectors#score(float[], TopK, int...)} unless an approximate
+ * {@link RandomProjectionForest} was built, in which case only the
+ * searchK candidates found by the forest are scored.
+ * Queries do not modify the index and are safe to run concurrently.
+ *
+ * @author Adam Gibson
+ */
+public class WordVectorIndex implements Serializable {
+
+    private static final long serialVersionUID = -6870151364716385112L;
+    private NormalizedVectors vectors;
+    private RandomProjectionForest forest;
+    private int searchK;
+
+
+    /**
+     * An exact index
+     * @param vectors the word vectors, one per row
+     */
+    public WordVectorIndex(FloatMatrix vectors) {
+        this.vectors = new NormalizedVectors(vectors);
+    }
+
+    /**
+     * An approximate index
+     * @param vectors the word vectors, one per row
+     * @param numTrees the number of random projection trees
+     * @param leafSize the maximum number of words in a leaf
+     * @param searchK the number of candidates scored per query:
+     *                higher is slower with better recall
+     */
+    public WordVectorIndex(FloatMatrix vectors,int numTrees,int leafSize,int searchK) {
+        this(vectors);
+        this.forest = new RandomProjectionForest(this.vectors,numTrees,leafSize,123);
+        this.searchK = searchK;
+    }
+
+
+    /**
+     * The words most similar to the given word
+     * @param row the row of the word
+     * @param k the number of words to return
+     * @param exclude rows to leave out of the results
+     * @return the top k rows ordered by descending similarity
+     */
+    public TopK nearest(int row,int k,int...exclude) {
+        return nearest(vectors.getRow(row,new float[vectors.columns()]),k,exclude);
+    }
+
+    /**
+     * The words most similar to the given query
+     * @param query the query vector, normalized internally
+     * @param k the number of words to return
+     * @param exclude rows to leave out of the results
+     * @return the top k rows ordered by descending similarity
+     */
+    public TopK nearest(float[] query,int k,int...exclude) {
+        float[] unit = normalize(query);
+        TopK ret = new TopK(k);
+        if(forest != null)
+            forest.search(unit,ret,Math.max(searchK,k),exclude);
+        else
+            vectors.score(unit,ret,exclude);
+        return ret;
+    }
+
+    /**
+     * The words closest to row1 - row0 + row2 (row0 is to row1 as row2 is to ?)
+     * @param row0 the first word
+     * @param row1 the second word
+     * @param row2 the third word
+     * @param k the number of words to return
+     * @return the top k rows ordered by descending similarity,
+     * leaving out the 3 words
+     */
+    public TopK analogy(int row0,int row1,int row2,int k) {
+        int columns = vectors.columns();
+        float[] v0 = vectors.getRow(row0,new float[columns]);
+        float[] v1 = vectors.getRow(row1,new float[columns]);
+        float[] query = vectors.getRow(row2,new float[columns]);
+        for(int j = 0; j < columns; j++)
+            query[j] += v1[j] - v0[j];
+        return nearest(query,k,row0,row1,row2);
+    }
+
+    public boolean isApproximate() {
+        return forest != null;
+    }
+
+    public int getSearchK() {
+        return searchK;
+    }
+
+    /**
+     * Trades recall for latency on an approximate index
+     * @param searchK the number of candidates scored per query
+     */
+    public void setSearchK(int searchK) {
+        this.searchK = searchK;
+    }
+
+    public int rows() {
+        return vectors.rows();
+    }
+
+    public int columns() {
+        return vectors.columns();
+    }
+
+
+    private static float[] normalize(float[] query) {
+        double norm = 0;
+        for(float f : query)
+            norm += f * f;
+        float[] ret = new float[query.length];
+        if(norm == 0)
+            return ret;
+        float scale = (float) (1 / Math.sqrt(norm));
+        for(int j = 0; j < query.length; j++)
+            ret[j] = query[j] * scale;
+        return ret;
+    }
+
+}
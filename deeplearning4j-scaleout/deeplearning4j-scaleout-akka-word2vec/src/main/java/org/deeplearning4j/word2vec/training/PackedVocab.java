@@ -0,0 +1,106 @@
+package org.deeplearning4j.word2vec.training;
+
+import org.deeplearning4j.word2vec.VocabWord;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * The huffman codes and points plus the counts of a vocab
+ * packed in to flat primitive arrays indexed by word index.
+ *
+ * The codes and points of word i are at
+ * codeOffsets[i] (inclusive) to codeOffsets[i + 1] (exclusive).
+ *
+ * @author Adam Gibson
+ */
+public class PackedVocab implements Serializable {
+
+    private static final long serialVersionUID = -4571823481529314312L;
+    private int[] codeOffsets;
+    private byte[] codes;
+    private int[] points;
+    private long[] counts;
+    private long totalCount;
+
+
+    private PackedVocab() {}
+
+
+    /**
+     * Packs the codes, points and counts of the given vocab.
+     * The huffman tree must already be built
+     * @param vocab the vocab to pack
+     * @return the packed vocab
+     */
+    public static PackedVocab pack(Map<String,VocabWord> vocab) {
+        int numWords = vocab.size();
+        PackedVocab ret = new PackedVocab();
+        ret.codeOffsets = new int[numWords + 1];
+        ret.counts = new long[numWords];
+
+        VocabWord[] words = new VocabWord[numWords];
+        for(VocabWord word : vocab.values()) {
+            if(word.getIndex() < 0 || word.getIndex() >= numWords)
+                throw new IllegalArgumentException("Illegal word index " + word.getIndex() + " for a vocab of size " + numWords);
+            if(word.getCodes() == null || word.getPoints() == null)
+                throw new IllegalStateException("Huffman tree has not been built for word " + word.getIndex());
+            words[word.getIndex()] = word;
+        }
+
+        int total = 0;
+        for(int i = 0; i < numWords; i++) {
+            if(words[i] == null)
+                throw new IllegalArgumentException("Missing word at index " + i);
+            ret.codeOffsets[i] = total;
+            total += words[i].getCodes().length;
+            ret.counts[i] = (long) words[i].getWordFrequency();
+            ret.totalCount += ret.counts[i];
+        }
+        ret.codeOffsets[numWords] = total;
+
+        ret.codes = new byte[total];
+        ret.points = new int[total];
+        for(int i = 0; i < numWords; i++) {
+            int[] wordCodes = words[i].getCodes();
+            int[] wordPoints = words[i].getPoints();
+            int offset = ret.codeOffsets[i];
+            for(int j = 0; j < wordCodes.length; j++) {
+                ret.codes[offset + j] = (byte) wordCodes[j];
+                ret.points[offset + j] = wordPoints[j];
+            }
+        }
+
+        return ret;
+    }
+
+
+    public int numWords() {
+        return counts.length;
+    }
+
+    public int[] getCodeOffsets() {
+        return codeOffsets;
+    }
+
+    public byte[] getCodes() {
+        return codes;
+    }
+
+    public int[] getPoints() {
+        return points;
+    }
+
+    public long[] getCounts() {
+        return counts;
+    }
+
+    /**
+     * The sum of the counts of every word
+     * @return the number of words in the corpus
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+}
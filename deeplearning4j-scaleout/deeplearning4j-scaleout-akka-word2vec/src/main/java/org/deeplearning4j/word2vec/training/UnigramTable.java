@@ -0,0 +1,98 @@
+package org.deeplearning4j.word2vec.training;
+
+import java.io.Serializable;
+
+/**
+ * Samples word indices from the unigram distribution raised to
+ * {@link #POWER} for negative sampling.
+ *
+ * Uses the alias method: the table is built once in O(vocab size)
+ * and every sample costs one random number and at most two array reads,
+ * rather than the 1e8 entry lookup table of the original word2vec.
+ *
+ * @author Adam Gibson
+ */
+public class UnigramTable implements Serializable {
+
+    private static final long serialVersionUID = 6406322396738325432L;
+    public final static double POWER = 0.75;
+    //probability of keeping the column, scaled to [0,65536)
+    private int[] threshold;
+    private int[] alias;
+
+
+    /**
+     * @param counts the count of each word, indexed by word index
+     */
+    public UnigramTable(long[] counts) {
+        int n = counts.length;
+        if(n < 1)
+            throw new IllegalArgumentException("Unable to build a unigram table for an empty vocab");
+
+        double[] probs = new double[n];
+        double total = 0;
+        for(int i = 0; i < n; i++) {
+            probs[i] = Math.pow(counts[i],POWER);
+            total += probs[i];
+        }
+
+        //scale so the average column is 1
+        for(int i = 0; i < n; i++)
+            probs[i] = total > 0 ? probs[i] * n / total : 1;
+
+        threshold = new int[n];
+        alias = new int[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int numSmall = 0,numLarge = 0;
+        for(int i = 0; i < n; i++) {
+            if(probs[i] < 1)
+                small[numSmall++] = i;
+            else
+                large[numLarge++] = i;
+        }
+
+        while(numSmall > 0 && numLarge > 0) {
+            int less = small[--numSmall];
+            int more = large[--numLarge];
+            threshold[less] = (int) (probs[less] * 65536);
+            alias[less] = more;
+            probs[more] = probs[more] + probs[less] - 1;
+            if(probs[more] < 1)
+                small[numSmall++] = more;
+            else
+                large[numLarge++] = more;
+        }
+
+        //whatever is left over is (up to rounding) a full column
+        while(numLarge > 0) {
+            int i = large[--numLarge];
+            threshold[i] = 65536;
+            alias[i] = i;
+        }
+        while(numSmall > 0) {
+            int i = small[--numSmall];
+            threshold[i] = 65536;
+            alias[i] = i;
+        }
+    }
+
+
+    /**
+     * Draws a word index using the given random number
+     * (the state of a linear congruential generator).
+     * The low bits of such a state have short periods, so the threshold
+     * is compared against the top 16 bits and the column comes from the 32 below them
+     * @param random the random number to sample with
+     * @return the sampled word index
+     */
+    public int sample(long random) {
+        int column = (int) (((random >>> 16) & 0xFFFFFFFFL) % threshold.length);
+        return (random >>> 48) < threshold[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return threshold.length;
+    }
+
+}
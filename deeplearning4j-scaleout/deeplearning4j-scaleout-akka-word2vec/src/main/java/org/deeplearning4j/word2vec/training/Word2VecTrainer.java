@@ -0,0 +1,402 @@
+package org.deeplearning4j.word2vec.training;
+
+import org.deeplearning4j.word2vec.VocabWord;
+import org.deeplearning4j.word2vec.Word2Vec;
+import org.deeplearning4j.word2vec.sentenceiterator.SentenceIterator;
+import org.deeplearning4j.word2vec.tokenizer.Tokenizer;
+import org.deeplearning4j.word2vec.tokenizer.TokenizerFactory;
+import org.jblas.FloatMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hogwild (lock free) multi threaded trainer for {@link Word2Vec}.
+ * Trains skip gram or continuous bag of words (cbow) with hierarchical softmax,
+ * negative sampling or both.
+ *
+ * The weights are copied in to flat row major float arrays which every worker
+ * thread updates in place without locking; the results are copied back
+ * in to syn0, syn1 and syn1neg when training is done.
+ * The huffman codes and points are read from a {@link PackedVocab},
+ * negative samples are drawn from a {@link UnigramTable}.
+ * Each worker has its own linear congruential random number generator
+ * and error buffer, and sigmoids are looked up in a precomputed table,
+ * so the training loop does not allocate.
+ *
+ * Sentences are handed to the workers through a bounded queue,
+ * tokenization happens on the worker threads.
+ *
+ * @author Adam Gibson
+ */
+public class Word2VecTrainer {
+
+    public final static int EXP_TABLE_SIZE = 1000;
+    public final static int MAX_EXP = 6;
+    //how often (in words) a worker publishes its progress and updates its learning rate
+    public final static int PROGRESS_INTERVAL = 10000;
+
+    private static Logger log = LoggerFactory.getLogger(Word2VecTrainer.class);
+    //sigmoid(x) for x in [-MAX_EXP,MAX_EXP)
+    private final static float[] EXP_TABLE = new float[EXP_TABLE_SIZE];
+    //marks the end of the sentences for a worker
+    private final static String END = new String("");
+
+    static {
+        for(int i = 0; i < EXP_TABLE_SIZE; i++) {
+            double exp = Math.exp((i / (double) EXP_TABLE_SIZE * 2 - 1) * MAX_EXP);
+            EXP_TABLE[i] = (float) (exp / (exp + 1));
+        }
+    }
+
+    private Word2Vec vec;
+    private int workers;
+    private int layerSize;
+    private int window;
+    private double sample;
+    private float startingAlpha;
+    private boolean useHierarchicSoftmax;
+    private int negative;
+    private boolean cbow;
+    private PackedVocab packedVocab;
+    private UnigramTable unigramTable;
+    private float[] syn0,syn1,syn1neg;
+    private Map<String,VocabWord> vocab;
+    private Set<String> stopWords;
+    private TokenizerFactory tokenizerFactory;
+    private BlockingQueue<String> sentences;
+    private AtomicLong wordsProcessed = new AtomicLong(0);
+    private AtomicReference<Throwable> error = new AtomicReference<>();
+
+
+    /**
+     * @param vec the word2vec to train, the vocab and huffman tree must be built
+     * @param workers the number of worker threads
+     */
+    public Word2VecTrainer(Word2Vec vec,int workers) {
+        if(workers < 1)
+            throw new IllegalArgumentException("Must have at least 1 worker");
+        this.vec = vec;
+        this.workers = workers;
+        this.layerSize = vec.getLayerSize();
+        this.window = vec.getWindow();
+        this.sample = vec.getSample();
+        this.startingAlpha = (float) vec.getAlpha();
+        this.useHierarchicSoftmax = vec.isUseHierarchicSoftmax();
+        this.negative = vec.getNegative();
+        this.cbow = vec.isCbow();
+        if(!useHierarchicSoftmax && negative < 1)
+            throw new IllegalArgumentException("Must use hierarchical softmax, negative sampling or both");
+        this.vocab = vec.getVocab();
+        this.tokenizerFactory = vec.getTokenizerFactory();
+        this.stopWords = vec.getStopWords() == null ? new HashSet<String>() : new HashSet<>(vec.getStopWords());
+        this.sentences = new ArrayBlockingQueue<>(workers * 1000);
+    }
+
+
+    /**
+     * Trains on every sentence of the iterator (after resetting it),
+     * blocking until all of the sentences are processed
+     * @param iter the sentences to train on
+     */
+    public void train(SentenceIterator iter) {
+        packedVocab = PackedVocab.pack(vocab);
+        syn0 = toRowMajor(vec.getSyn0());
+        if(useHierarchicSoftmax)
+            syn1 = toRowMajor(vec.getSyn1());
+        if(negative > 0) {
+            unigramTable = new UnigramTable(packedVocab.getCounts());
+            syn1neg = toRowMajor(vec.getSyn1Neg());
+        }
+
+        Thread[] threads = new Thread[workers];
+        for(int i = 0; i < workers; i++) {
+            threads[i] = new Thread(new Worker(i),"word2vec-worker-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+
+        try {
+            iter.reset();
+            while(iter.hasNext()) {
+                String sentence = iter.nextSentence();
+                if(sentence != null && !sentence.isEmpty())
+                    sentences.put(sentence);
+            }
+
+            for(int i = 0; i < workers; i++)
+                sentences.put(END);
+            for(Thread t : threads)
+                t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for(Thread t : threads)
+                t.interrupt();
+            throw new RuntimeException("Interrupted while training",e);
+        }
+
+        if(error.get() != null)
+            throw new RuntimeException("Word2vec worker failed",error.get());
+
+        fromRowMajor(syn0,vec.getSyn0());
+        if(useHierarchicSoftmax)
+            fromRowMajor(syn1,vec.getSyn1());
+        if(negative > 0)
+            fromRowMajor(syn1neg,vec.getSyn1Neg());
+        log.info("Trained on " + wordsProcessed.get() + " words");
+    }
+
+    /**
+     * The number of words trained on so far
+     * @return the number of words trained on
+     */
+    public long getWordsProcessed() {
+        return wordsProcessed.get();
+    }
+
+
+    private class Worker implements Runnable {
+        private long nextRandom;
+        private float alpha = startingAlpha;
+        private int[] sentence = new int[64];
+        //the averaged context for cbow
+        private float[] neu1 = new float[layerSize];
+        private float[] neu1e = new float[layerSize];
+        private long wordsSinceUpdate = 0;
+
+        private Worker(int id) {
+            this.nextRandom = id;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while(true) {
+                    String next = sentences.take();
+                    if(next == END)
+                        break;
+                    //keep draining after a failure so the producer never blocks
+                    if(error.get() != null)
+                        continue;
+                    trainSentence(toIndices(next));
+                }
+                wordsProcessed.addAndGet(wordsSinceUpdate);
+            }catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }catch(Throwable t) {
+                error.compareAndSet(null,t);
+                log.error("Word2vec worker failed",t);
+                drain();
+            }
+        }
+
+        private void drain() {
+            try {
+                while(sentences.take() != END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+
+        //tokenizes, looks up and subsamples the sentence in to the sentence buffer
+        private int toIndices(String text) {
+            long[] counts = packedVocab.getCounts();
+            double threshold = sample * packedVocab.getTotalCount();
+            Tokenizer tokenizer = tokenizerFactory.create(text);
+            int length = 0;
+            while(tokenizer.hasMoreTokens()) {
+                String token = tokenizer.nextToken();
+                if(stopWords.contains(token))
+                    token = "STOP";
+                VocabWord word = vocab.get(token);
+                if(word == null)
+                    continue;
+                int index = word.getIndex();
+                wordsSinceUpdate++;
+
+                //randomly discard frequent words while keeping the ranking the same
+                if(threshold > 0) {
+                    double keep = (Math.sqrt(counts[index] / threshold) + 1) * threshold / counts[index];
+                    nextRandom = nextRandom * 25214903917L + 11;
+                    if(keep < (nextRandom & 0xFFFF) / 65536.0)
+                        continue;
+                }
+
+                if(length == sentence.length)
+                    sentence = Arrays.copyOf(sentence,length * 2);
+                sentence[length++] = index;
+            }
+
+            if(wordsSinceUpdate >= PROGRESS_INTERVAL) {
+                long processed = wordsProcessed.addAndGet(wordsSinceUpdate);
+                wordsSinceUpdate = 0;
+                alpha = Math.max((float) Word2Vec.MIN_ALPHA,startingAlpha * (1 - processed / (float) (packedVocab.getTotalCount() + 1)));
+            }
+
+            return length;
+        }
+
+
+        private void trainSentence(int length) {
+            for(int i = 0; i < length; i++) {
+                nextRandom = nextRandom * 25214903917L + 11;
+                int b = (int) ((nextRandom >>> 16) % window);
+                if(cbow)
+                    cbow(i,length,b);
+                else
+                    skipGram(i,length,b);
+            }
+        }
+
+        //predicts every context word from the word
+        private void skipGram(int i,int length,int b) {
+            int word = sentence[i];
+            for(int a = b; a < window * 2 + 1 - b; a++) {
+                if(a == window)
+                    continue;
+                int c = i - window + a;
+                if(c < 0 || c >= length)
+                    continue;
+                int l1 = sentence[c] * layerSize;
+                Arrays.fill(neu1e,0);
+                if(useHierarchicSoftmax)
+                    hierarchicSoftmax(word,syn0,l1);
+                if(negative > 0)
+                    negativeSampling(word,syn0,l1);
+                for(int k = 0; k < layerSize; k++)
+                    syn0[l1 + k] += neu1e[k];
+            }
+        }
+
+        //predicts the word from the average of the context words
+        private void cbow(int i,int length,int b) {
+            int word = sentence[i];
+            int contextWords = 0;
+            Arrays.fill(neu1,0);
+            Arrays.fill(neu1e,0);
+            for(int a = b; a < window * 2 + 1 - b; a++) {
+                if(a == window)
+                    continue;
+                int c = i - window + a;
+                if(c < 0 || c >= length)
+                    continue;
+                int l1 = sentence[c] * layerSize;
+                for(int k = 0; k < layerSize; k++)
+                    neu1[k] += syn0[l1 + k];
+                contextWords++;
+            }
+
+            if(contextWords == 0)
+                return;
+            for(int k = 0; k < layerSize; k++)
+                neu1[k] /= contextWords;
+
+            if(useHierarchicSoftmax)
+                hierarchicSoftmax(word,neu1,0);
+            if(negative > 0)
+                negativeSampling(word,neu1,0);
+
+            for(int a = b; a < window * 2 + 1 - b; a++) {
+                if(a == window)
+                    continue;
+                int c = i - window + a;
+                if(c < 0 || c >= length)
+                    continue;
+                int l1 = sentence[c] * layerSize;
+                for(int k = 0; k < layerSize; k++)
+                    syn0[l1 + k] += neu1e[k];
+            }
+        }
+
+        /*
+         * One hierarchical softmax update of the word's huffman path against the hidden layer
+         * stored at in[l1 .. l1 + layerSize). The error for the hidden layer is accumulated in neu1e
+         */
+        private void hierarchicSoftmax(int word,float[] in,int l1) {
+            int[] codeOffsets = packedVocab.getCodeOffsets();
+            byte[] codes = packedVocab.getCodes();
+            int[] points = packedVocab.getPoints();
+
+            for(int d = codeOffsets[word]; d < codeOffsets[word + 1]; d++) {
+                int l2 = points[d] * layerSize;
+                float f = 0;
+                for(int k = 0; k < layerSize; k++)
+                    f += in[l1 + k] * syn1[l2 + k];
+                if(f <= -MAX_EXP || f >= MAX_EXP)
+                    continue;
+                f = EXP_TABLE[(int) ((f + MAX_EXP) * (EXP_TABLE_SIZE / MAX_EXP / 2f))];
+                //gradient multiplied by the learning rate
+                float g = (1 - codes[d] - f) * alpha;
+                for(int k = 0; k < layerSize; k++)
+                    neu1e[k] += g * syn1[l2 + k];
+                for(int k = 0; k < layerSize; k++)
+                    syn1[l2 + k] += g * in[l1 + k];
+            }
+        }
+
+        /*
+         * One negative sampling update: the word is the positive example and
+         * negative words drawn from the unigram table are the negative examples.
+         * The error for the hidden layer is accumulated in neu1e
+         */
+        private void negativeSampling(int word,float[] in,int l1) {
+            for(int d = 0; d < negative + 1; d++) {
+                int target;
+                int label;
+                if(d == 0) {
+                    target = word;
+                    label = 1;
+                }
+                else {
+                    nextRandom = nextRandom * 25214903917L + 11;
+                    target = unigramTable.sample(nextRandom);
+                    if(target == word)
+                        continue;
+                    label = 0;
+                }
+
+                int l2 = target * layerSize;
+                float f = 0;
+                for(int k = 0; k < layerSize; k++)
+                    f += in[l1 + k] * syn1neg[l2 + k];
+                float g;
+                if(f > MAX_EXP)
+                    g = (label - 1) * alpha;
+                else if(f < -MAX_EXP)
+                    g = label * alpha;
+                else
+                    g = (label - EXP_TABLE[(int) ((f + MAX_EXP) * (EXP_TABLE_SIZE / MAX_EXP / 2f))]) * alpha;
+                for(int k = 0; k < layerSize; k++)
+                    neu1e[k] += g * syn1neg[l2 + k];
+                for(int k = 0; k < layerSize; k++)
+                    syn1neg[l2 + k] += g * in[l1 + k];
+            }
+        }
+    }
+
+
+    //jblas matrices are column major, rows are copied out so each word vector is contiguous
+    static float[] toRowMajor(FloatMatrix matrix) {
+        float[] ret = new float[matrix.length];
+        for(int j = 0; j < matrix.columns; j++)
+            for(int i = 0; i < matrix.rows; i++)
+                ret[i * matrix.columns + j] = matrix.data[i + j * matrix.rows];
+        return ret;
+    }
+
+    static void fromRowMajor(float[] rowMajor,FloatMatrix matrix) {
+        for(int j = 0; j < matrix.columns; j++)
+            for(int i = 0; i < matrix.rows; i++)
+                matrix.data[i + j * matrix.rows] = rowMajor[i * matrix.columns + j];
+    }
+
+}
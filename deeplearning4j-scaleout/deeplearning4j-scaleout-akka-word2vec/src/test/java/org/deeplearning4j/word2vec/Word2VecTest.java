@@ -0,0 +1,58 @@
+package org.deeplearning4j.word2vec;
+
+import org.deeplearning4j.word2vec.sentenceiterator.CollectionSentenceIterator;
+import org.deeplearning4j.word2vec.tokenizer.DefaultTokenizerFactory;
+import org.deeplearning4j.word2vec.tokenizer.Tokenizer;
+import org.deeplearning4j.word2vec.tokenizer.TokenizerFactory;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Adam Gibson
+ */
+public class Word2VecTest {
+
+    private static Logger log = LoggerFactory.getLogger(Word2VecTest.class);
+
+    @Test(timeout = 60000)
+    public void testBuildVocabWaitsOnEverySentence() {
+        //a word only one sentence has: missing if build vocab returned early
+        List<String> sentences = new ArrayList<>();
+        for(int i = 0; i < 500; i++)
+            sentences.add("word" + i + " common");
+        sentences.add(250,"unparseable sentence");
+
+        Word2Vec vec = new Word2Vec(new CollectionSentenceIterator(sentences),1);
+        vec.setTokenizerFactory(new FailingTokenizerFactory());
+        vec.buildVocab();
+        log.info("Vocab size " + vec.getVocab().size());
+
+        for(int i = 0; i < 500; i++)
+            assertTrue(vec.hasWord("word" + i));
+        assertTrue(vec.hasWord("common"));
+        assertFalse(vec.hasWord("unparseable"));
+        assertEquals(501,vec.getVocab().size());
+    }
+
+
+    //fails on sentences containing unparseable
+    private static class FailingTokenizerFactory implements TokenizerFactory {
+        private TokenizerFactory factory = new DefaultTokenizerFactory();
+
+        @Override
+        public Tokenizer create(String toTokenize) {
+            if(toTokenize.contains("unparseable"))
+                throw new IllegalArgumentException("Unable to tokenize " + toTokenize);
+            return factory.create(toTokenize);
+        }
+    }
+
+}
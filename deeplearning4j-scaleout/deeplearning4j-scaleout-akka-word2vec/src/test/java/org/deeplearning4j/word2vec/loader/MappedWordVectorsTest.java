@@ -0,0 +1,93 @@
+package org.deeplearning4j.word2vec.loader;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Adam Gibson
+ */
+public class MappedWordVectorsTest {
+
+    private static Logger log = LoggerFactory.getLogger(MappedWordVectorsTest.class);
+    private static String[] WORDS = {"king","queen","man","woman","\u00e9t\u00e9"};
+    private static float[][] VECTORS = {
+            {1,0.9f,0},
+            {0.9f,1,0},
+            {1,0.1f,0.1f},
+            {0.1f,1,0.1f},
+            {0,0,1}
+    };
+
+    @Test
+    public void testWriteAndMap() throws Exception {
+        File file = File.createTempFile("vectors",".bin");
+        file.deleteOnExit();
+        try (MappedWordVectorsWriter writer = new MappedWordVectorsWriter(file,3)) {
+            for(int i = 0; i < WORDS.length; i++)
+                writer.addWord(WORDS[i],i + 1,VECTORS[i]);
+        }
+
+        MappedWordVectors vectors = Word2VecLoader.loadMapped(file);
+        assertEquals(WORDS.length,vectors.numWords());
+        assertEquals(3,vectors.layerSize());
+        for(int i = 0; i < WORDS.length; i++) {
+            assertEquals(i,vectors.indexOf(WORDS[i]));
+            assertEquals(WORDS[i],vectors.wordAt(i));
+            assertEquals(i + 1,vectors.getCount(i));
+            assertArrayEquals(VECTORS[i],vectors.getWordVector(WORDS[i]),1e-6f);
+        }
+
+        assertFalse(vectors.hasWord("prince"));
+        assertArrayEquals(new float[3],vectors.getWordVector("prince"),1e-6f);
+        assertEquals(1,vectors.getWordVectorMatrix("king").rows);
+        assertEquals(1,vectors.similarity("king","king"),1e-6);
+        assertEquals(0,vectors.similarity("king","\u00e9t\u00e9"),1e-6);
+
+        List<String> nearest = vectors.wordsNearest("king",2);
+        log.info("Nearest to king " + nearest);
+        assertEquals("queen",nearest.get(0));
+        assertEquals("man",nearest.get(1));
+        vectors.close();
+    }
+
+    @Test
+    public void testConvertGoogleBinary() throws Exception {
+        File google = File.createTempFile("google",".bin");
+        google.deleteOnExit();
+        try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(google))) {
+            dos.writeBytes(WORDS.length + " 3\n");
+            ByteBuffer floats = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            for(int i = 0; i < WORDS.length; i++) {
+                dos.write((WORDS[i] + " ").getBytes("UTF-8"));
+                floats.clear();
+                for(float f : VECTORS[i])
+                    floats.putFloat(f);
+                dos.write(floats.array());
+                dos.writeBytes("\n");
+            }
+        }
+
+        File converted = File.createTempFile("converted",".bin");
+        converted.deleteOnExit();
+        GoogleModelConverter.convertBinary(google,converted);
+        MappedWordVectors vectors = MappedWordVectors.open(converted);
+        assertEquals(WORDS.length,vectors.numWords());
+        for(int i = 0; i < WORDS.length; i++)
+            assertArrayEquals(VECTORS[i],vectors.getWordVector(WORDS[i]),1e-6f);
+        assertTrue(vectors.hasWord("queen"));
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.deeplearning4j.word2vec.similarity;
+
+import org.jblas.FloatMatrix;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Adam Gibson
+ */
+public class WordVectorIndexTest {
+
+    private static Logger log = LoggerFactory.getLogger(WordVectorIndexTest.class);
+
+    @Test
+    public void testExact() {
+        FloatMatrix vectors = vectors(103,20);
+        WordVectorIndex index = new WordVectorIndex(vectors);
+        int[] nearest = index.nearest(7,10,7).indices();
+        assertArrayEquals(bruteForce(vectors,7,10),nearest);
+        assertTrue(!contains(nearest,7));
+
+        int[] withSelf = index.nearest(7,3).indices();
+        assertEquals(7,withSelf[0]);
+
+        int[] analogy = index.analogy(1,2,3,5).indices();
+        assertEquals(5,analogy.length);
+        assertTrue(!contains(analogy,1) && !contains(analogy,2) && !contains(analogy,3));
+    }
+
+    @Test
+    public void testApproximate() {
+        FloatMatrix vectors = vectors(2000,16);
+        WordVectorIndex index = new WordVectorIndex(vectors,10,20,400);
+        assertTrue(index.isApproximate());
+        int found = 0,total = 0;
+        for(int i = 0; i < 50; i++) {
+            int[] exact = bruteForce(vectors,i,10);
+            int[] approximate = index.nearest(i,10,i).indices();
+            for(int j : approximate)
+                if(contains(exact,j))
+                    found++;
+            total += exact.length;
+        }
+
+        double recall = found / (double) total;
+        log.info("Recall " + recall);
+        assertTrue(recall > 0.8);
+
+        //scoring every word is exact
+        index.setSearchK(2000 * 10);
+        assertArrayEquals(bruteForce(vectors,3,10),index.nearest(3,10,3).indices());
+    }
+
+    @Test
+    public void testTopK() {
+        TopK topK = new TopK(3);
+        float[] scores = {0.5f,0.1f,0.9f,0.3f,0.7f};
+        for(int i = 0; i < scores.length; i++)
+            topK.offer(i,scores[i]);
+        int[] indices = new int[3];
+        float[] top = new float[3];
+        assertEquals(3,topK.drain(indices,top));
+        assertArrayEquals(new int[]{2,4,0},indices);
+        assertEquals(0.9f,top[0],1e-6);
+    }
+
+
+    private FloatMatrix vectors(int rows,int columns) {
+        Random random = new Random(123);
+        FloatMatrix ret = new FloatMatrix(rows,columns);
+        for(int i = 0; i < ret.length; i++)
+            ret.data[i] = (float) random.nextGaussian();
+        return ret;
+    }
+
+    private int[] bruteForce(FloatMatrix vectors,int row,int k) {
+        final double[] sims = new double[vectors.rows];
+        Integer[] order = new Integer[vectors.rows];
+        for(int i = 0; i < vectors.rows; i++) {
+            FloatMatrix r1 = vectors.getRow(row),r2 = vectors.getRow(i);
+            sims[i] = r1.dot(r2) / (r1.norm2() * r2.norm2());
+            order[i] = i;
+        }
+        sims[row] = Double.NEGATIVE_INFINITY;
+        Arrays.sort(order,new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return Double.compare(sims[o2],sims[o1]);
+            }
+        });
+        int[] ret = new int[k];
+        for(int i = 0; i < k; i++)
+            ret[i] = order[i];
+        return ret;
+    }
+
+    private boolean contains(int[] arr,int value) {
+        for(int i : arr)
+            if(i == value)
+                return true;
+        return false;
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.deeplearning4j.word2vec.training;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Adam Gibson
+ */
+public class UnigramTableTest {
+
+    private static Logger log = LoggerFactory.getLogger(UnigramTableTest.class);
+
+    @Test
+    public void testFrequencies() {
+        long[] counts = {1,3,5,20,100,400,1000,7};
+        UnigramTable table = new UnigramTable(counts);
+        assertEquals(counts.length,table.size());
+
+        double total = 0;
+        for(long count : counts)
+            total += Math.pow(count,UnigramTable.POWER);
+
+        //sampled the way the trainer does, with a linear congruential generator
+        int numSamples = 2000000;
+        int[] sampled = new int[counts.length];
+        long nextRandom = 1;
+        for(int i = 0; i < numSamples; i++) {
+            nextRandom = nextRandom * 25214903917L + 11;
+            sampled[table.sample(nextRandom)]++;
+        }
+
+        for(int i = 0; i < counts.length; i++) {
+            double expected = Math.pow(counts[i],UnigramTable.POWER) / total;
+            double actual = sampled[i] / (double) numSamples;
+            log.info("Word " + i + " expected " + expected + " sampled " + actual);
+            assertEquals(expected,actual,Math.max(0.002,expected * 0.02));
+        }
+    }
+
+    @Test
+    public void testSingleWord() {
+        UnigramTable table = new UnigramTable(new long[]{5});
+        long nextRandom = 1;
+        for(int i = 0; i < 100; i++) {
+            nextRandom = nextRandom * 25214903917L + 11;
+            assertEquals(0,table.sample(nextRandom));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmpty() {
+        new UnigramTable(new long[0]);
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.deeplearning4j.word2vec.training;
+
+import org.deeplearning4j.word2vec.Word2Vec;
+import org.deeplearning4j.word2vec.sentenceiterator.CollectionSentenceIterator;
+import org.jblas.FloatMatrix;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Adam Gibson
+ */
+public class Word2VecTrainerTest {
+
+    private static Logger log = LoggerFactory.getLogger(Word2VecTrainerTest.class);
+    //words of a pair always occur together, never with another pair
+    private final static String[][] PAIRS = {{"sun","moon"},{"river","stone"},{"apple","pear"}};
+
+    @Test
+    public void testSingleWorker() {
+        Word2Vec vec = train(1);
+        assertFinite(vec);
+        assertPairsCloser(vec);
+    }
+
+    @Test
+    public void testMultipleWorkers() {
+        Word2Vec vec = train(4);
+        assertFinite(vec);
+        assertPairsCloser(vec);
+    }
+
+    @Test
+    public void testNegativeSampling() {
+        Word2Vec vec = word2vec(2,interchangeable());
+        vec.setNegative(5);
+        vec.setUseHierarchicSoftmax(false);
+        vec.train();
+        assertFinite(vec);
+        assertPairsCloser(vec);
+    }
+
+    @Test
+    public void testHierarchicSoftmaxAndNegativeSampling() {
+        Word2Vec vec = word2vec(2,interchangeable());
+        vec.setNegative(5);
+        vec.train();
+        assertFinite(vec);
+        assertPairsCloser(vec);
+    }
+
+    @Test
+    public void testCbow() {
+        Word2Vec vec = word2vec(2,interchangeable());
+        vec.setCbow(true);
+        vec.train();
+        assertFinite(vec);
+        assertPairsCloser(vec);
+    }
+
+    @Test
+    public void testCbowNegativeSampling() {
+        Word2Vec vec = word2vec(2,interchangeable());
+        vec.setCbow(true);
+        vec.setNegative(5);
+        vec.setUseHierarchicSoftmax(false);
+        vec.train();
+        assertFinite(vec);
+        assertPairsCloser(vec);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoObjective() {
+        Word2Vec vec = word2vec(1);
+        vec.setUseHierarchicSoftmax(false);
+        new Word2VecTrainer(vec,1);
+    }
+
+    @Test
+    public void testWordsProcessed() {
+        Word2Vec vec = word2vec(2);
+        Word2VecTrainer trainer = new Word2VecTrainer(vec,2);
+        trainer.train(vec.getSentenceIter());
+        //every word of every sentence is trained on exactly once
+        assertEquals(corpus().size() * 4,trainer.getWordsProcessed());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoWorkers() {
+        new Word2VecTrainer(word2vec(1),0);
+    }
+
+
+    private Word2Vec train(int workers) {
+        Word2Vec vec = word2vec(workers);
+        vec.train();
+        return vec;
+    }
+
+    private Word2Vec word2vec(int workers) {
+        return word2vec(workers,corpus());
+    }
+
+    private Word2Vec word2vec(int workers,List<String> corpus) {
+        Word2Vec vec = new Word2Vec(new CollectionSentenceIterator(corpus),1);
+        vec.setLayerSize(20);
+        vec.setWindow(2);
+        vec.setWorkers(workers);
+        vec.buildVocab();
+        return vec;
+    }
+
+    private List<String> corpus() {
+        List<String> ret = new ArrayList<>();
+        for(int i = 0; i < 2000; i++) {
+            String[] pair = PAIRS[i % PAIRS.length];
+            ret.add(pair[0] + " " + pair[1] + " " + pair[1] + " " + pair[0]);
+        }
+        return ret;
+    }
+
+    //words of a pair are used in the same contexts, never together
+    private List<String> interchangeable() {
+        List<String> ret = new ArrayList<>();
+        for(int i = 0; i < 4000; i++) {
+            int group = i % PAIRS.length;
+            String word = PAIRS[group][(i / PAIRS.length) % 2];
+            String context = "context" + group;
+            ret.add(context + "a " + context + "b " + word + " " + context + "c " + context + "d");
+        }
+        return ret;
+    }
+
+    private void assertFinite(Word2Vec vec) {
+        FloatMatrix syn0 = vec.getSyn0();
+        for(int i = 0; i < syn0.length; i++)
+            assertTrue(!Float.isNaN(syn0.data[i]) && !Float.isInfinite(syn0.data[i]));
+    }
+
+    private void assertPairsCloser(Word2Vec vec) {
+        for(int i = 0; i < PAIRS.length; i++) {
+            String[] pair = PAIRS[i];
+            String[] other = PAIRS[(i + 1) % PAIRS.length];
+            double together = cosine(vec,pair[0],pair[1]);
+            double apart = cosine(vec,pair[0],other[0]);
+            log.info(pair[0] + "/" + pair[1] + " " + together + " " + pair[0] + "/" + other[0] + " " + apart);
+            assertTrue(together > apart);
+        }
+    }
+
+    private double cosine(Word2Vec vec,String word,String word2) {
+        FloatMatrix v = vec.getWordVectorMatrix(word);
+        FloatMatrix v2 = vec.getWordVectorMatrix(word2);
+        return v.dot(v2) / (v.norm2() * v2.norm2());
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.deeplearning4j.iterativereduce.actor.core;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+import org.deeplearning4j.datasets.DataSet;
+
+/**
+ * A part of the training data that workers read themselves:
+ * a {@link org.deeplearning4j.datasets.store.MappedDataSet} file on a local or shared
+ * file system, on hdfs or on s3, or a range of the examples of one.
+ *
+ * The master only hands out which examples of which shard to train on
+ * (see {@link ShardCursor}), the data never goes through it.
+ * Any range of examples can be read on its own and in any order.
+ *
+ * @author Adam Gibson
+ */
+public interface DataSetShard extends Serializable {
+
+    /**
+     * The number of examples in the shard.
+     * This only reads the header of the shard's file, not the data.
+     * @return the number of examples
+     * @throws Exception
+     */
+    int numExamples() throws Exception;
+
+    /**
+     * Reads a range of the shard's examples
+     * @param from the first example (inclusive, relative to the start of the shard)
+     * @param to the end of the examples (exclusive)
+     * @return the examples
+     * @throws Exception
+     */
+    DataSet load(int from,int to) throws Exception;
+
+    /**
+     * The hosts the shard is local to, workers on them are given the shard first
+     * @return the hosts of the shard, empty if it's read the same from anywhere
+     */
+    Collection<String> hosts();
+
+}
@@ -0,0 +1,116 @@
+package org.deeplearning4j.iterativereduce.actor.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.store.MappedDataSet;
+import org.deeplearning4j.datasets.store.MappedDataSetWriter;
+
+/**
+ * A range of the examples of a {@link MappedDataSet} file
+ * (written with {@link MappedDataSetWriter}), read by mapping the file.
+ * The file should be on a shared file system or copied to the same path
+ * on the workers given as hosts.
+ * @author Adam Gibson
+ *
+ */
+public class FileDataSetShard implements DataSetShard {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -3526806722547282716L;
+	private File file;
+	private int from,to;
+	private Collection<String> hosts;
+	private transient MappedDataSet mapped;
+
+	/**
+	 * @param file the data set file
+	 * @param from the first example of the shard
+	 * @param to one past the last example of the shard
+	 * @param hosts the hosts the file is local to
+	 */
+	public FileDataSetShard(File file,int from,int to,Collection<String> hosts) {
+		if(from < 0 || to < from)
+			throw new IllegalArgumentException("Illegal range " + from + " to " + to);
+		this.file = file;
+		this.from = from;
+		this.to = to;
+		this.hosts = hosts;
+	}
+
+	public FileDataSetShard(File file,int from,int to) {
+		this(file,from,to,Collections.<String>emptyList());
+	}
+
+	/**
+	 * Splits the examples of a data set file in to evenly sized shards.
+	 * Only the header of the file is read
+	 * @param file the data set file
+	 * @param numShards the number of shards
+	 * @return the shards
+	 * @throws IOException if the file is not a data set file
+	 */
+	public static List<DataSetShard> split(File file,int numShards) throws IOException {
+		int numExamples = MappedDataSet.open(file).numExamples();
+		List<DataSetShard> ret = new ArrayList<>();
+		for(int i = 0; i < numShards; i++) {
+			int from = (int) ((long) numExamples * i / numShards);
+			int to = (int) ((long) numExamples * (i + 1) / numShards);
+			if(to > from)
+				ret.add(new FileDataSetShard(file,from,to));
+		}
+		return ret;
+	}
+
+	private synchronized MappedDataSet mapped() throws IOException {
+		if(mapped == null) {
+			mapped = MappedDataSet.open(file);
+			if(to > mapped.numExamples())
+				throw new IllegalStateException(file + " has " + mapped.numExamples() + " examples, the shard ends at " + to);
+		}
+		return mapped;
+	}
+
+	@Override
+	public int numExamples() {
+		return to - from;
+	}
+
+	@Override
+	public DataSet load(int from,int to) throws IOException {
+		if(from < 0 || to > numExamples() || from > to)
+			throw new IndexOutOfBoundsException("Illegal range " + from + " to " + to + " for a shard of " + numExamples() + " examples");
+		return mapped().get(this.from + from,this.from + to);
+	}
+
+	@Override
+	public Collection<String> hosts() {
+		return hosts;
+	}
+
+	public void setHosts(String...hosts) {
+		this.hosts = new ArrayList<>(Arrays.asList(hosts));
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public String toString() {
+		return "FileDataSetShard{" +
+				"file=" + file +
+				", from=" + from +
+				", to=" + to +
+				'}';
+	}
+
+}
@@ -0,0 +1,37 @@
+package org.deeplearning4j.iterativereduce.actor.core;
+
+import java.io.Serializable;
+
+/**
+ * Sent to the master actor when a worker finishes a job
+ * or adds an update
+ * @author Adam Gibson
+ *
+ */
+public class JobDone implements Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -1528493165082374620L;
+	private String workerId;
+	private boolean update;
+
+	/**
+	 * @param workerId the worker who reported, may be null
+	 * @param update whether the worker added an update (otherwise its job was removed)
+	 */
+	public JobDone(String workerId,boolean update) {
+		this.workerId = workerId;
+		this.update = update;
+	}
+
+	public String getWorkerId() {
+		return workerId;
+	}
+
+	public boolean isUpdate() {
+		return update;
+	}
+
+}
@@ -0,0 +1,63 @@
+package org.deeplearning4j.iterativereduce.actor.core;
+
+import java.io.Serializable;
+
+import org.deeplearning4j.datasets.DataSet;
+
+/**
+ * The work of a job when workers read their own data:
+ * which examples of which shard to train on
+ * @author Adam Gibson
+ *
+ */
+public class ShardCursor implements Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 6193307415536045792L;
+	private DataSetShard shard;
+	private int from,to;
+
+	/**
+	 * @param shard the shard to read
+	 * @param from the first example of the shard to read
+	 * @param to the end of the examples to read
+	 */
+	public ShardCursor(DataSetShard shard,int from,int to) {
+		this.shard = shard;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Reads the examples from the shard
+	 * @return the examples
+	 * @throws Exception
+	 */
+	public DataSet load() throws Exception {
+		return shard.load(from,to);
+	}
+
+	public DataSetShard getShard() {
+		return shard;
+	}
+
+	public int getFrom() {
+		return from;
+	}
+
+	public int getTo() {
+		return to;
+	}
+
+	@Override
+	public String toString() {
+		return "ShardCursor{" +
+				"shard=" + shard +
+				", from=" + from +
+				", to=" + to +
+				'}';
+	}
+
+}
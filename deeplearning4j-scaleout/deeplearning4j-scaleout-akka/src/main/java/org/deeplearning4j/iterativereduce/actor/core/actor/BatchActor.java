@@ -105,6 +105,10 @@ public class BatchActor extends UntypedActor {
                 if(numWorkers == 0)
                     numWorkers = Runtime.getRuntime().availableProcessors();
 
+                //asynchronous: only the idle workers, busy ones ask again when they're done
+                if(stateTracker.isParameterServer())
+                    numWorkers = numIdleWorkers();
+
                 log.info("Number of workers " + numWorkers + " and batch size is " + miniBatchSize);
 
                 //enable workers for sending out data
@@ -158,6 +162,14 @@ public class BatchActor extends UntypedActor {
     }
 
 
+    private int numIdleWorkers() {
+        int ret = 0;
+        for(String s : stateTracker.workers())
+            if(!stateTracker.workerData().contains(s) && stateTracker.jobFor(s) == null)
+                ret++;
+        return ret;
+    }
+
     private String nextWorker() {
         boolean sent = false;
 
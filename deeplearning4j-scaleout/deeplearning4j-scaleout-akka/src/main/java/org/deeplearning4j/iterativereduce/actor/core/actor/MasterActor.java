@@ -8,13 +8,16 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.deeplearning4j.iterativereduce.actor.core.Job;
+import org.deeplearning4j.iterativereduce.actor.core.JobDone;
 import org.deeplearning4j.iterativereduce.actor.core.MoreWorkMessage;
 import org.deeplearning4j.iterativereduce.actor.core.ResetMessage;
 import org.deeplearning4j.iterativereduce.actor.util.ActorRefUtils;
+import org.deeplearning4j.iterativereduce.tracker.statetracker.JobListener;
 import org.deeplearning4j.iterativereduce.tracker.statetracker.StateTracker;
 import org.deeplearning4j.scaleout.conf.Conf;
 import org.deeplearning4j.scaleout.conf.DeepLearningConfigurable;
 import org.deeplearning4j.scaleout.iterativereduce.ComputableMaster;
+import org.deeplearning4j.scaleout.iterativereduce.StalenessPolicy;
 import org.deeplearning4j.scaleout.iterativereduce.Updateable;
 import org.deeplearning4j.util.SerializationUtils;
 
@@ -50,6 +53,8 @@ public abstract class MasterActor<E extends Updateable<?>> extends UntypedActor
     protected ActorRef batchActor;
     protected StateTracker<E> stateTracker;
     protected int epochsComplete;
+    //jobs finished towards the current pass with a parameter server
+    protected int asyncJobsDone;
     protected AtomicLong oneDown;
     protected final ActorRef mediator = DistributedPubSubExtension.get(getContext().system()).mediator();
     public static String BROADCAST = "broadcast";
@@ -60,6 +65,10 @@ public abstract class MasterActor<E extends Updateable<?>> extends UntypedActor
     ClusterReceptionistExtension receptionist = ClusterReceptionistExtension.get (getContext().system());
     protected boolean isDone = false;
     protected Cancellable forceNextPhase,clearStateWorkers;
+    //registration of the job listener on the state tracker, removed on stop
+    protected String jobListener;
+    //a phase change waiting on jobs to finish
+    protected volatile boolean donePending = false;
 
     /**
      * Creates the master and the workers with this given conf
@@ -83,14 +92,34 @@ public abstract class MasterActor<E extends Updateable<?>> extends UntypedActor
         }
 
         stateTracker.runPreTrainIterations(conf.getNumPasses());
+        if(conf.isAsynchronous()) {
+            log.info("Training asynchronously with max staleness " + conf.getMaxStaleness());
+            stateTracker.startParameterServer(conf.getNumParameterShards(),new StalenessPolicy(conf.getMaxStaleness()));
+        }
 
 
         mediator.tell(new DistributedPubSubMediator.Subscribe(MasterActor.MASTER, getSelf()), getSelf());
         mediator.tell(new DistributedPubSubMediator.Subscribe(MasterActor.FINISH, getSelf()), getSelf());
 
+        //workers reporting are handled as messages so they don't race each other
+        final ActorRef self = getSelf();
+        jobListener = stateTracker.addJobListener(new JobListener() {
+            @Override
+            public void jobDone(String workerId) {
+                self.tell(new JobDone(workerId,false),self);
+            }
+
+            @Override
+            public void updateAdded(String workerId) {
+                self.tell(new JobDone(workerId,true),self);
+            }
+        });
+
 /*
 		 * Ensures there's no one off errors by forcing the next phase as well as ensures
-		 * that if the system is done it shuts down
+		 * that if the system is done it shuts down.
+		 * Workers reporting move things along as they happen (see jobDone),
+		 * this catches workers that died or reports that were missed.
 		 */
         forceNextPhase =  context().system().scheduler()
                 .schedule(Duration.create(10, TimeUnit.SECONDS), Duration.create(10,TimeUnit.SECONDS), new Runnable() {
@@ -120,11 +149,19 @@ public abstract class MasterActor<E extends Updateable<?>> extends UntypedActor
                                 oneDown = new AtomicLong(System.currentTimeMillis());
                             }
 
-                            if(updates.size() >= stateTracker.workers().size() || currentJobs.isEmpty())
+                            if(donePending && currentJobs.isEmpty())
+                                self.tell(new JobDone(null,false),self);
+
+                            else if(stateTracker.isParameterServer())
+                                nextAsyncBatch(currentJobs);
+
+                            else if(updates.size() >= stateTracker.workers().size() || currentJobs.isEmpty())
                                 nextBatch();
 
-                            else
+                            else {
                                 log.info("Still waiting on next batch, so far we have updates of size: " + updates.size()  + " out of " + stateTracker.workers().size());
+                                accumulateArrived();
+                            }
 
                             log.info("Current jobs left " + currentJobs);
 
@@ -175,11 +212,74 @@ public abstract class MasterActor<E extends Updateable<?>> extends UntypedActor
 
 
 
+    /**
+     * Called while waiting on the rest of the workers
+     * with the updates that have arrived so far.
+     * Does nothing by default.
+     */
+    protected void accumulateArrived() {
+
+    }
+
+    /**
+     * Called as workers report; advances as soon as the last worker is in
+     * rather than on the next status check.
+     * Only the update of the last worker moves to the next batch:
+     * jobs are removed before their update is added.
+     * @param done the job that finished
+     * @throws Exception
+     */
+    protected void jobDone(JobDone done) throws Exception {
+        if(stateTracker.isDone())
+            return;
+
+        if(donePending) {
+            if(stateTracker.currentJobs().isEmpty())
+                doDoneOrNextPhase();
+        }
+
+        else if(stateTracker.isParameterServer()) {
+            if(!done.isUpdate()) {
+                //a pass is one finished job per worker, the work of one synchronous round
+                if(++asyncJobsDone >= stateTracker.workers().size()) {
+                    epochsComplete++;
+                    asyncJobsDone = 0;
+                }
+                nextAsyncBatch(stateTracker.currentJobs());
+            }
+        }
+
+        else if(done.isUpdate()) {
+            if(stateTracker.workerUpdates().size() >= stateTracker.workers().size())
+                nextBatch();
+            else
+                accumulateArrived();
+        }
+    }
+
+    /**
+     * Asks for more work for the idle workers without waiting on the busy ones.
+     * The current network is refreshed from the parameter server for model saving.
+     * @param currentJobs the jobs in progress
+     * @throws Exception
+     */
+    protected synchronized void nextAsyncBatch(List<Job> currentJobs) throws Exception {
+        stateTracker.syncParameterServer();
+        if(currentJobs.size() >= stateTracker.workers().size()) {
+            log.info("All workers busy");
+            return;
+        }
+
+        log.info("Requesting more work for idle workers...");
+        mediator.tell(new DistributedPubSubMediator.Publish(BatchActor.BATCH,
+                MoreWorkMessage.getInstance() ), getSelf());
+    }
+
     /**
      * Checks if done
      * @throws Exception
      */
-    protected void nextBatch() throws Exception {
+    protected synchronized void nextBatch() throws Exception {
         Collection<String> updates = stateTracker.workerUpdates();
         //ensure there aren't any jobs still in progress
         if(!updates.isEmpty() && stateTracker.currentJobs().isEmpty()) {
@@ -229,6 +329,14 @@ public abstract class MasterActor<E extends Updateable<?>> extends UntypedActor
     }
 
     protected void doDoneOrNextPhase() throws Exception {
+        //picked up again when the last job reports, see jobDone
+        if(!stateTracker.currentJobs().isEmpty()) {
+            log.info("Waiting for jobs to finish up before next phase...");
+            donePending = true;
+            return;
+        }
+
+        donePending = false;
         E masterResults = null;
         Collection<String> updates = stateTracker.workerUpdates();
 
@@ -247,9 +355,9 @@ public abstract class MasterActor<E extends Updateable<?>> extends UntypedActor
             masterResults = getMasterResults();
 
 
-        while(!stateTracker.currentJobs().isEmpty()) {
-            log.info("Waiting fo jobs to finish up before next phase...");
-            Thread.sleep(30000);
+        if(stateTracker.isParameterServer()) {
+            stateTracker.syncParameterServer();
+            masterResults = getMasterResults();
         }
 
         if(stateTracker.isPretrain() && stateTracker.currentJobs().isEmpty()) {
@@ -335,6 +443,9 @@ public abstract class MasterActor<E extends Updateable<?>> extends UntypedActor
             clearStateWorkers.cancel();
         if(forceNextPhase != null)
             forceNextPhase.cancel();
+        //a restarted master registers a new listener: the old one would keep telling the dead actor
+        if(jobListener != null)
+            stateTracker.removeJobListener(jobListener);
     }
 
 
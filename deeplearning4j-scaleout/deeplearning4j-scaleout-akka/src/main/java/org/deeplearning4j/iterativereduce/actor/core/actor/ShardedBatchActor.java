@@ -0,0 +1,190 @@
+package org.deeplearning4j.iterativereduce.actor.core.actor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.deeplearning4j.iterativereduce.actor.core.*;
+import org.deeplearning4j.iterativereduce.actor.multilayer.MasterActor;
+import org.deeplearning4j.iterativereduce.tracker.statetracker.StateTracker;
+import org.deeplearning4j.scaleout.conf.Conf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import akka.actor.ActorRef;
+import akka.actor.UntypedActor;
+import akka.contrib.pattern.DistributedPubSubExtension;
+import akka.contrib.pattern.DistributedPubSubMediator;
+
+/**
+ * Hands out the data like the {@link BatchActor} but without reading it:
+ * workers are given a shard and the range of its examples to read next ({@link ShardCursor})
+ * and load them themselves. Workers keep their shard while it has examples left
+ * and are given shards local to their host first.
+ * @author Adam Gibson
+ *
+ */
+public class ShardedBatchActor extends UntypedActor {
+
+    private final ActorRef mediator = DistributedPubSubExtension.get(getContext().system()).mediator();
+    private static Logger log = LoggerFactory.getLogger(ShardedBatchActor.class);
+    private List<DataSetShard> shards;
+    private transient StateTracker<?> stateTracker;
+    private transient Conf conf;
+    //examples per shard, read from the headers lazily
+    private int[] numExamples;
+    //next example of each shard for this pass
+    private int[] cursors;
+    //worker -> shard
+    private Map<String,Integer> assignments = new HashMap<>();
+
+
+    public ShardedBatchActor(List<DataSetShard> shards,StateTracker<?> stateTracker,Conf conf) {
+        this.shards = shards;
+        this.stateTracker = stateTracker;
+        this.conf = conf;
+        this.cursors = new int[shards.size()];
+        //subscribe to shutdown messages
+        mediator.tell(new DistributedPubSubMediator.Subscribe(MasterActor.SHUTDOWN, getSelf()), getSelf());
+        mediator.tell(new DistributedPubSubMediator.Subscribe(BatchActor.BATCH, getSelf()), getSelf());
+
+    }
+
+
+    @Override
+    public void onReceive(Object message) throws Exception {
+        if(message instanceof DistributedPubSubMediator.SubscribeAck || message instanceof DistributedPubSubMediator.UnsubscribeAck) {
+            log.info("Susbcribed sharded batch actor");
+            mediator.tell(new DistributedPubSubMediator.Publish(ClusterListener.TOPICS,
+                    message), getSelf());
+        }
+        else if(message instanceof ResetMessage) {
+            reset();
+            nextBatch();
+        }
+
+        else if(message instanceof MoreWorkMessage) {
+            log.info("Saving model");
+            mediator.tell(new DistributedPubSubMediator.Publish(ModelSavingActor.SAVE,
+                    MoreWorkMessage.getInstance()), mediator);
+            nextBatch();
+        }
+
+        else
+            unhandled(message);
+    }
+
+
+    private void nextBatch() throws Exception {
+        if(!hasNext()) {
+            int iterations = stateTracker.runPreTrainIterations();
+            if (iterations < conf.getNumPasses()) {
+                stateTracker.incrementNumTimesPreTrainRan();
+                reset();
+                log.info("Next pretrain iteration " + stateTracker.numTimesPreTrainRun() + " out of " + stateTracker.runPreTrainIterations());
+            }
+
+            else {
+                mediator.tell(new DistributedPubSubMediator.Publish(MasterActor.MASTER,
+                        DoneMessage.getInstance()), mediator);
+                return;
+            }
+        }
+
+        int miniBatchSize = stateTracker.inputSplit();
+        int assigned = 0;
+        for(String worker : stateTracker.workers()) {
+            //busy workers ask again when they're done
+            if(stateTracker.jobFor(worker) != null)
+                continue;
+            int shard = shardFor(worker);
+            if(shard < 0)
+                break;
+
+            int from = cursors[shard];
+            int to = from + Math.min(miniBatchSize,remaining(shard));
+            cursors[shard] = to;
+            stateTracker.enableWorker(worker);
+            log.info("Worker " + worker + " reading examples " + from + " to " + to + " of " + shards.get(shard));
+            stateTracker.addJobToCurrent(new Job(worker,new ShardCursor(shards.get(shard),from,to)));
+            assigned++;
+        }
+
+        stateTracker.incrementBatchesRan(assigned);
+    }
+
+    /**
+     * The shard for the worker's next mini batch:
+     * its current shard if it has examples left, otherwise a shard
+     * local to the worker, then one no one else is reading, then the one with the most left.
+     * @param worker the worker
+     * @return the index of the shard or -1 if all shards are read
+     */
+    private int shardFor(String worker) throws Exception {
+        Integer current = assignments.get(worker);
+        if(current != null && remaining(current) > 0)
+            return current;
+
+        String host = hostOf(worker);
+        int best = -1;
+        int bestScore = -1;
+        for(int i = 0; i < shards.size(); i++) {
+            int left = remaining(i);
+            if(left <= 0)
+                continue;
+            int score = 0;
+            if(host != null && shards.get(i).hosts().contains(host))
+                score += 2;
+            if(!assignments.containsValue(i))
+                score += 1;
+            if(score > bestScore || score == bestScore && left > remaining(best)) {
+                best = i;
+                bestScore = score;
+            }
+        }
+
+        if(best >= 0)
+            assignments.put(worker,best);
+        return best;
+    }
+
+    private int remaining(int shard) throws Exception {
+        if(numExamples == null) {
+            numExamples = new int[shards.size()];
+            for(int i = 0; i < shards.size(); i++)
+                numExamples[i] = shards.get(i).numExamples();
+        }
+        return numExamples[shard] - cursors[shard];
+    }
+
+    private boolean hasNext() throws Exception {
+        for(int i = 0; i < shards.size(); i++)
+            if(remaining(i) > 0)
+                return true;
+        return false;
+    }
+
+    private void reset() {
+        cursors = new int[shards.size()];
+        assignments.clear();
+    }
+
+    /**
+     * Worker ids are the worker's host followed by a uuid
+     * (see {@link WorkerActor#generateId()})
+     * @param worker the worker id
+     * @return the host of the worker
+     */
+    private String hostOf(String worker) {
+        int uuidLength = 36;
+        if(worker.length() <= uuidLength + 1)
+            return null;
+        return worker.substring(0,worker.length() - uuidLength - 1);
+    }
+
+
+    public List<DataSetShard> getShards() {
+        return shards;
+    }
+
+}
@@ -11,8 +11,10 @@ import akka.dispatch.Futures;
 import org.deeplearning4j.datasets.DataSet;
 import org.deeplearning4j.iterativereduce.actor.core.ClearWorker;
 import org.deeplearning4j.iterativereduce.actor.core.Job;
+import org.deeplearning4j.iterativereduce.actor.core.ShardCursor;
 import org.deeplearning4j.iterativereduce.actor.util.ActorRefUtils;
 import org.deeplearning4j.iterativereduce.tracker.statetracker.StateTracker;
+import org.deeplearning4j.nn.BaseMultiLayerNetwork;
 import org.deeplearning4j.scaleout.conf.Conf;
 import org.deeplearning4j.scaleout.conf.DeepLearningConfigurable;
 import org.deeplearning4j.scaleout.iterativereduce.ComputableWorker;
@@ -126,6 +128,13 @@ public abstract class WorkerActor<E extends Updateable<?>> extends UntypedActor
                         if(currentJob.getWork() == null)
                             throw new IllegalStateException("Work for worker " + id + " was null");
 
+                        //sharded data: read the mini batch here rather than through the master
+                        if(currentJob.getWork() instanceof ShardCursor) {
+                            ShardCursor cursor = (ShardCursor) currentJob.getWork();
+                            log.info("Worker " + id + " loading " + cursor);
+                            currentJob.setWork(cursor.load());
+                        }
+
                         DataSet data = (DataSet) currentJob.getWork();
                         processDataSet(data.asList());
 
@@ -175,6 +184,9 @@ public abstract class WorkerActor<E extends Updateable<?>> extends UntypedActor
                 //flag that work has begun if not flagged already
                 tracker.beginTraining();
 
+                if(tracker.isParameterServer())
+                    return computeAsync();
+
                 if (tracker.needsReplicate(id)) {
                     log.info("Updating network for worker " + id);
                     results = tracker.getCurrent();
@@ -203,6 +215,60 @@ public abstract class WorkerActor<E extends Updateable<?>> extends UntypedActor
 
 
 
+    /**
+     * Trains on the latest parameters from the parameter server and pushes the change back.
+     * The worker stays enabled; it picks up more work as soon as it has some
+     * unless it is too far ahead of the slowest worker.
+     * @return the update, null if the worker has to wait on the slower workers
+     * @throws Exception
+     */
+    protected E computeAsync() throws Exception {
+        if(!tracker.withinStaleness(id)) {
+            //the job is kept, the heart beat retries it
+            log.info("Worker " + id + " is ahead of the slowest worker, waiting");
+            return null;
+        }
+
+        if(results == null || results.get() == null)
+            results = tracker.getCurrent();
+        double[] pulled = tracker.pullParameters(id);
+        BaseMultiLayerNetwork network = (BaseMultiLayerNetwork) results.get();
+        network.setParameters(new DoubleMatrix(1,pulled.length,pulled));
+
+        E work = compute();
+
+        if(work != null) {
+            double[] delta = ((BaseMultiLayerNetwork) work.get()).params().data;
+            for(int i = 0; i < delta.length; i++)
+                delta[i] -= pulled[i];
+            log.info("Done working; pushing update to the parameter server from worker " + id);
+            tracker.pushParameters(id,delta);
+            //only once the update is in may the job go: clearing it lets the master assign the next one
+            currentJob = null;
+            clearJob();
+        }
+
+        return work;
+    }
+
+    /**
+     * Clears the worker's job once its update is handed off and marks the worker as idle.
+     * {@link #compute()} does this itself except with a parameter server,
+     * where {@link #computeAsync()} does it after pushing the update
+     */
+    protected void clearJob() {
+        //job is delegated, clear so as not to cause redundancy
+        try {
+            if(!tracker.isDone())
+                tracker.clearJob(id);
+
+        }catch(Exception e) {
+            throw new RuntimeException(e);
+        }
+        if(!tracker.isDone())
+            isWorking.set(false);
+    }
+
     /**
      * Returns a worker state with the id generated by this worker
      * @return a worker state with the id of this worker
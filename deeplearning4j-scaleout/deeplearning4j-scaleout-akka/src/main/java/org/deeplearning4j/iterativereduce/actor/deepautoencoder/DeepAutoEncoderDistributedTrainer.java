@@ -10,10 +10,12 @@ import akka.routing.RoundRobinPool;
 import org.deeplearning4j.autoencoder.DeepAutoEncoder;
 import org.deeplearning4j.datasets.iterator.DataSetIterator;
 import org.deeplearning4j.iterativereduce.actor.core.ClusterListener;
+import org.deeplearning4j.iterativereduce.actor.core.DataSetShard;
 import org.deeplearning4j.iterativereduce.actor.core.ModelSaver;
 import org.deeplearning4j.iterativereduce.actor.core.MoreWorkMessage;
 import org.deeplearning4j.iterativereduce.actor.core.actor.BatchActor;
 import org.deeplearning4j.iterativereduce.actor.core.actor.ModelSavingActor;
+import org.deeplearning4j.iterativereduce.actor.core.actor.ShardedBatchActor;
 import org.deeplearning4j.iterativereduce.actor.util.ActorRefUtils;
 import org.deeplearning4j.iterativereduce.tracker.statetracker.StateTracker;
 import org.deeplearning4j.iterativereduce.tracker.statetracker.hazelcast.deepautoencoder.DeepAutoEncoderHazelCastStateTracker;
@@ -28,6 +30,7 @@ import scala.concurrent.duration.Duration;
 import java.io.*;
 import java.net.URI;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -53,6 +56,7 @@ public class DeepAutoEncoderDistributedTrainer implements DeepLearningConfigurab
     private String type = "master";
     private Address masterAddress;
     private DataSetIterator iter;
+    private List<DataSetShard> shards;
     protected ActorRef masterActor;
     protected ModelSaver modelSaver;
     private transient ScheduledExecutorService exec;
@@ -157,7 +161,9 @@ public class DeepAutoEncoderDistributedTrainer implements DeepLearningConfigurab
 
         system.actorOf(Props.create(ClusterListener.class));
 
-        ActorRef batchActor = system.actorOf(Props.create(BatchActor.class,iter,stateTracker,c),"batch");
+        //workers read their own shards when given, otherwise the data goes out through the batch actor
+        Props batchProps = shards != null ? Props.create(ShardedBatchActor.class,shards,stateTracker,c) : Props.create(BatchActor.class,iter,stateTracker,c);
+        ActorRef batchActor = system.actorOf(batchProps,"batch");
 
         log.info("Started batch actor");
 
@@ -221,7 +227,7 @@ public class DeepAutoEncoderDistributedTrainer implements DeepLearningConfigurab
         epochs = conf.getPretrainEpochs();
         if(type.equals("master")) {
 
-            if(iter == null)
+            if(iter == null && shards == null)
                 throw new IllegalStateException("Unable to initialize no dataset to train");
 
             log.info("Starting master");
@@ -423,7 +429,7 @@ public class DeepAutoEncoderDistributedTrainer implements DeepLearningConfigurab
         while(!stateTracker.isDone()) {
             log.info("State tracker not done...blocking");
             try {
-                Thread.sleep(15000);
+                stateTracker.awaitDone(15,TimeUnit.SECONDS);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -496,6 +502,20 @@ public class DeepAutoEncoderDistributedTrainer implements DeepLearningConfigurab
         this.stateTrackerPort = stateTrackerPort;
     }
 
+    public  List<DataSetShard> getShards() {
+        return shards;
+    }
+
+    /**
+     * Trains on shards the workers read themselves
+     * instead of the iterator: the master only hands out
+     * which mini batch of which shard each worker reads next.
+     * @param shards the shards to train on
+     */
+    public  void setShards(List<DataSetShard> shards) {
+        this.shards = shards;
+    }
+
 
 
 }
@@ -193,6 +193,10 @@ public class MasterActor extends org.deeplearning4j.iterativereduce.actor.core.a
             doDoneOrNextPhase();
         }
 
+        else if(message instanceof JobDone) {
+            jobDone((JobDone) message);
+        }
+
 
         else if(message instanceof String) {
             getSender().tell(Ack.getInstance(),getSelf());
@@ -200,15 +200,8 @@ public class WorkerActor extends org.deeplearning4j.iterativereduce.actor.core.a
 
             if(!done) {
                 log.warn("Worker " + id  + " failed! returning null");
-                try {
-                    if(!tracker.isDone())
-                        tracker.clearJob(id);
-
-                }catch(Exception e) {
-                    throw new RuntimeException(e);
-                }
-                if(!tracker.isDone())
-                    isWorking.set(false);
+                if(!tracker.isParameterServer())
+                    clearJob();
             }
 
 
@@ -230,28 +223,14 @@ public class WorkerActor extends org.deeplearning4j.iterativereduce.actor.core.a
 
             if(!done) {
                 log.warn("Worker " + id  + " failed! returning null");
-                try {
-                    if(!tracker.isDone())
-                        tracker.clearJob(id);
-
-                }catch(Exception e) {
-                    throw new RuntimeException(e);
-                }
-                if(!tracker.isDone())
-                    isWorking.set(false);
+                if(!tracker.isParameterServer())
+                    clearJob();
             }
         }
 
-        //job is delegated, clear so as not to cause redundancy
-        try {
-            if(!tracker.isDone())
-                tracker.clearJob(id);
-
-        }catch(Exception e) {
-            throw new RuntimeException(e);
-        }
-        if(!tracker.isDone())
-            isWorking.set(false);
+        //with a parameter server the job is cleared after the update is pushed
+        if(!tracker.isParameterServer())
+            clearJob();
         return new UpdateableEncoderImpl(network);
     }
 
@@ -15,6 +15,7 @@ import org.deeplearning4j.iterativereduce.actor.core.Ack;
 import org.deeplearning4j.iterativereduce.actor.core.ClusterListener;
 import org.deeplearning4j.iterativereduce.actor.core.DoneMessage;
 import org.deeplearning4j.iterativereduce.actor.core.Job;
+import org.deeplearning4j.iterativereduce.actor.core.JobDone;
 import org.deeplearning4j.iterativereduce.actor.core.MoreWorkMessage;
 import org.deeplearning4j.iterativereduce.actor.core.ResetMessage;
 import org.deeplearning4j.iterativereduce.actor.core.actor.BatchActor;
@@ -78,6 +79,19 @@ public class MasterActor extends org.deeplearning4j.iterativereduce.actor.core.a
 
 
 
+    /**
+     * Folds in the updates that are in to the running average
+     * so only the stragglers are left when the batch completes
+     */
+    @Override
+    protected void accumulateArrived() {
+        try {
+            stateTracker.updates().accumulate();
+        }catch(Exception e) {
+            log.debug("Unable to accumulate results",e);
+        }
+    }
+
     @Override
     public  UpdateableImpl compute() {
 
@@ -193,6 +207,10 @@ public class MasterActor extends org.deeplearning4j.iterativereduce.actor.core.a
             doDoneOrNextPhase();
         }
 
+        else if(message instanceof JobDone) {
+            jobDone((JobDone) message);
+        }
+
 
         else if(message instanceof String) {
             getSender().tell(Ack.getInstance(),getSelf());
@@ -210,16 +210,9 @@ public class WorkerActor extends org.deeplearning4j.iterativereduce.actor.core.a
 
         }
 
-        //job is delegated, clear so as not to cause redundancy
-        try {
-            if(!tracker.isDone())
-                tracker.clearJob(id);
-
-        }catch(Exception e) {
-            throw new RuntimeException(e);
-        }
-        if(!tracker.isDone())
-            isWorking.set(false);
+        //with a parameter server the job is cleared after the update is pushed
+        if(!tracker.isParameterServer())
+            clearJob();
         return new UpdateableImpl(network);
     }
 
@@ -3,41 +3,108 @@ package org.deeplearning4j.iterativereduce.akka;
 
 
 import org.deeplearning4j.nn.BaseMultiLayerNetwork;
+import org.jblas.DoubleMatrix;
+import org.jblas.NativeBlas;
 
 
 /**
  * Parameter averaging algorithm.
- * It handles summing and averaging over all of the results
- * accumulated so far
+ * Each network is folded in to a running sum of the parameters
+ * weighted by the number of examples it trained on, as soon as it is accumulated.
+ * Only the sum and the first network (the structure for the average) are kept,
+ * so memory doesn't grow with the number of workers.
+ *
+ * Networks can be accumulated from multiple threads.
  */
 public class DeepLearningAccumulator {
 
     private BaseMultiLayerNetwork averaged = null;
-    private int numWorkers;
+    private double[] sum;
+    private double totalWeight;
+    private int numAccumulated;
 
 
-    public DeepLearningAccumulator(int numWorkers) {
-        this.numWorkers = numWorkers;
-    }
-
     /**
-     * Averages the results of the network so far
+     * Folds in the network weighted by the number of rows of its input
+     * (the examples it last trained on), or 1 without an input
      * @param toAccumulate the network to average in
      */
     public void accumulate(BaseMultiLayerNetwork toAccumulate) {
-		if(averaged == null)
-            this.averaged = toAccumulate;
-        else
-            averaged.merge(toAccumulate,numWorkers);
+        accumulate(toAccumulate,numExamples(toAccumulate));
+    }
+
+    /**
+     * Folds the parameters of the network in to the sum
+     * @param toAccumulate the network to average in, only the first network is kept
+     * @param weight the weight of the network, usually its number of examples
+     */
+    public synchronized void accumulate(BaseMultiLayerNetwork toAccumulate,double weight) {
+        if(weight <= 0)
+            throw new IllegalArgumentException("Weight must be positive");
+        int numParams = toAccumulate.numParams();
+        if(sum == null) {
+            sum = new double[numParams];
+            averaged = toAccumulate;
+        }
+        else if(numParams != sum.length)
+            throw new IllegalArgumentException("Network has " + numParams + " parameters, expected " + sum.length);
+
+        int offset = 0;
+        for(int i = 0; i < toAccumulate.getLayers().length; i++) {
+            offset = axpy(weight,toAccumulate.getLayers()[i].getW(),offset);
+            offset = axpy(weight,toAccumulate.getLayers()[i].gethBias(),offset);
+        }
+        offset = axpy(weight,toAccumulate.getOutputLayer().getW(),offset);
+        axpy(weight,toAccumulate.getOutputLayer().getB(),offset);
+
+        totalWeight += weight;
+        numAccumulated++;
+    }
+
+    /**
+     * The weighted average of the networks so far
+     * @return the first network accumulated with the averaged parameters, null if nothing was accumulated
+     */
+    public synchronized BaseMultiLayerNetwork averaged() {
+        if(sum == null)
+            return null;
+        DoubleMatrix params = new DoubleMatrix(1,sum.length);
+        NativeBlas.daxpy(sum.length,1 / totalWeight,sum,0,1,params.data,0,1);
+        averaged.setParameters(params);
+        return averaged;
+    }
+
+    /**
+     * Drops the sum to start a new average
+     */
+    public synchronized void reset() {
+        averaged = null;
+        sum = null;
+        totalWeight = 0;
+        numAccumulated = 0;
+    }
+
+    public synchronized int numAccumulated() {
+        return numAccumulated;
+    }
 
-	}
+    public synchronized double totalWeight() {
+        return totalWeight;
+    }
 
     /**
-     * The averaged network
-     * @return the averaged network
+     * The number of examples the network last trained on
+     * @param network the network
+     * @return the rows of the network's input, 1 without an input
      */
-	public BaseMultiLayerNetwork averaged() {
-		return averaged;
-	}
+    public static int numExamples(BaseMultiLayerNetwork network) {
+        return network.getInput() != null && network.getInput().rows > 0 ? network.getInput().rows : 1;
+    }
+
+
+    private int axpy(double weight,DoubleMatrix m,int offset) {
+        NativeBlas.daxpy(m.length,weight,m.data,0,1,sum,offset,1);
+        return offset + m.length;
+    }
 
 }
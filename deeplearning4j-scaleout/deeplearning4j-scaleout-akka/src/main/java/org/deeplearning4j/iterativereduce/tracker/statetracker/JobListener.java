@@ -0,0 +1,26 @@
+package org.deeplearning4j.iterativereduce.tracker.statetracker;
+
+/**
+ * Notified by the {@link StateTracker} as workers finish their jobs,
+ * so whoever waits on workers can act as soon as they report
+ * instead of polling.
+ *
+ * Calls come from the state tracker's event threads.
+ *
+ * @author Adam Gibson
+ */
+public interface JobListener {
+
+    /**
+     * A job was removed from the current jobs
+     * @param workerId the worker whose job it was, may be null
+     */
+    void jobDone(String workerId);
+
+    /**
+     * A worker added its update for the current mini batch
+     * @param workerId the worker who added the update
+     */
+    void updateAdded(String workerId);
+
+}
@@ -4,11 +4,13 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.deeplearning4j.datasets.DataSet;
 import org.deeplearning4j.iterativereduce.actor.core.Job;
 import org.deeplearning4j.nn.BaseMultiLayerNetwork;
 import org.deeplearning4j.optimize.TrainingEvaluator;
+import org.deeplearning4j.scaleout.iterativereduce.StalenessPolicy;
 import org.deeplearning4j.scaleout.iterativereduce.Updateable;
 import org.deeplearning4j.scaleout.iterativereduce.multi.UpdateableImpl;
 
@@ -450,6 +452,75 @@ public interface StateTracker<E extends Updateable<?>> extends Serializable {
      * @param numBatchesRan the number of batches ran to increment by
      */
     void incrementBatchesRan(int numBatchesRan);
+
+    /**
+     * Serves the parameters of the current network from the cluster
+     * so workers can train asynchronously
+     * @param numShards the number of ranges to split the parameters in to
+     * @param policy the staleness bound and update scaling
+     */
+    void startParameterServer(int numShards,StalenessPolicy policy);
+
+    /**
+     * Whether workers train against the parameter server
+     * instead of averaging after every mini batch
+     * @return whether the parameter server was started
+     */
+    boolean isParameterServer();
+
+    /**
+     * The latest parameters on the parameter server.
+     * The worker's next update is measured for staleness against these.
+     * @param workerId the worker reading the parameters
+     * @return the parameters of the network
+     * @throws Exception
+     */
+    double[] pullParameters(String workerId) throws Exception;
+
+    /**
+     * Adds the change in parameters of a worker to the parameter server,
+     * scaled down by how stale the parameters it started from are
+     * @param workerId the worker who did the update
+     * @param delta the change in the parameters
+     * @throws IllegalStateException if the parameters were never pulled, so there's nothing to update
+     */
+    void pushParameters(String workerId,double[] delta);
+
+    /**
+     * Whether the worker is within the staleness bound
+     * and may start on more work
+     * @param workerId the worker to check
+     * @return whether the worker may proceed
+     */
+    boolean withinStaleness(String workerId);
+
+    /**
+     * Sets the current result to the parameters on the parameter server
+     * @throws Exception
+     */
+    void syncParameterServer() throws Exception;
+
+    /**
+     * Notifies the listener whenever a job is done or an update is added
+     * @param listener the listener to notify
+     * @return the id of the registration, used to remove the listener
+     */
+    String addJobListener(JobListener listener);
+
+    /**
+     * Stops notifying a listener added with {@link #addJobListener(JobListener)}
+     * @param id the id returned when the listener was added
+     */
+    void removeJobListener(String id);
+
+    /**
+     * Blocks until training is done or the timeout passes
+     * @param timeout how long to wait
+     * @param unit the unit of the timeout
+     * @return whether training is done
+     * @throws InterruptedException
+     */
+    boolean awaitDone(long timeout,TimeUnit unit) throws InterruptedException;
 	
 	/**
 	 * Shutsdown any connections on the cluster
@@ -6,6 +6,7 @@ import com.hazelcast.config.Config;
 import com.hazelcast.config.JoinConfig;
 import com.hazelcast.config.ListConfig;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.SerializerConfig;
 import com.hazelcast.core.*;
 import io.dropwizard.Application;
 import io.dropwizard.setup.Bootstrap;
@@ -18,9 +19,14 @@ import org.deeplearning4j.iterativereduce.tracker.statetracker.*;
 import org.deeplearning4j.nn.BaseMultiLayerNetwork;
 import org.deeplearning4j.optimize.OutputLayerTrainingEvaluator;
 import org.deeplearning4j.optimize.TrainingEvaluator;
+import org.deeplearning4j.scaleout.iterativereduce.NetworkParameters;
+import org.deeplearning4j.scaleout.iterativereduce.ParameterCodec;
+import org.deeplearning4j.scaleout.iterativereduce.ParameterShard;
+import org.deeplearning4j.scaleout.iterativereduce.StalenessPolicy;
 import org.deeplearning4j.scaleout.iterativereduce.Updateable;
 import org.deeplearning4j.scaleout.iterativereduce.multi.UpdateableImpl;
 import org.deeplearning4j.util.SerializationUtils;
+import org.jblas.DoubleMatrix;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
@@ -34,6 +40,8 @@ import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.net.InetAddress;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Baseline hazelcast state tracker
@@ -68,18 +76,40 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
     public final static String PATIENCE_INCREASE = "patienceincrease";
     public final static String BEGUN = "begun";
     public final static String NUM_BATCHES_SO_FAR_RAN = "numbatches";
+    public final static String STRUCTURE = "structure";
+    public final static String PARAMETER_SHARDS = "parametershards";
+    public final static String NUM_PARAMETER_SHARDS = "numparametershards";
+    public final static String PARAMETER_VERSION = "parameterversion";
+    public final static String STALENESS = "staleness";
+    public final static String WORKER_CLOCKS = "workerclocks";
+    public final static String PULLED_VERSIONS = "pulledversions";
+    public final static String DONE_LATCH = "donelatch";
 
     private volatile transient IAtomicReference<Object> master;
+    //the full update, only replicated when the shapes of the network change
+    private volatile transient IAtomicReference<Object> structure;
+    //the last structure sent or received, current parameters are applied to a copy of it
+    private transient volatile E template;
     private volatile transient IList<Job> jobs;
     private volatile transient IAtomicReference<Integer> numTimesPretrain;
     private volatile transient IAtomicReference<Integer> numTimesPretrainRan;
     private volatile transient IAtomicReference<Double> bestLoss;
     private volatile transient IAtomicReference<Double> improvementThreshold;
     private volatile transient IAtomicReference<Integer> numBatches;
+    //parameter server: the parameters by range, the number of updates applied,
+    //the updates pushed by each worker and the version each worker last read
+    private volatile transient IMap<Integer,ParameterShard> parameterShards;
+    private volatile transient IAtomicReference<Integer> numParameterShards;
+    private volatile transient IAtomicLong parameterVersion;
+    private volatile transient IAtomicReference<StalenessPolicy> staleness;
+    private volatile transient IMap<String,Integer> workerClocks;
+    private volatile transient IMap<String,Long> pulledVersions;
 
     private volatile transient IAtomicReference<Boolean> earlyStop;
 
     private volatile transient IAtomicReference<Boolean> done;
+    //counted down once when training finishes
+    private volatile transient ICountDownLatch doneLatch;
     private volatile transient IList<String> replicate;
     private volatile transient IMap<String,Boolean> workerEnabled;
     private volatile transient IList<String> workers;
@@ -103,6 +133,8 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
     private String connectionString;
     private Map<String,Long> heartbeat;
     private StateTrackerDropWizardResource resource;
+    //job listener registrations: the id on the jobs to the id on the updates
+    private final Map<String,String> jobListeners = new ConcurrentHashMap<>();
 
     public BaseHazelCastStateTracker() throws Exception {
         this(DEFAULT_HAZELCAST_PORT);
@@ -607,6 +639,7 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
             log.info("Connecting to hazelcast on " + connectionString);
             ClientConfig client = new ClientConfig();
             client.getNetworkConfig().addAddress(connectionString);
+            client.getSerializationConfig().addSerializerConfig(parameterSerializer());
             h = HazelcastClient.newHazelcastClient(client);
 
         }
@@ -636,10 +669,12 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
         updates = h.getList(UPDATES);
         heartbeat = h.getMap(HEART_BEAT);
         master = h.getAtomicReference(RESULT);
+        structure = h.getAtomicReference(STRUCTURE);
         isPretrain = h.getAtomicReference(IS_PRETRAIN);
         numTimesPretrain = h.getAtomicReference(NUM_TIMES_RUN_PRETRAIN);
         numTimesPretrainRan = h.getAtomicReference(NUM_TIMES_PRETRAIN_RAN);
         done = h.getAtomicReference(DONE);
+        doneLatch = h.getCountDownLatch(DONE_LATCH);
         validationEpochs = h.getAtomicReference(VALIDATION_EPOCHS);
         improvementThreshold = h.getAtomicReference(IMPROVEMENT_THRESHOLD);
         bestLoss = h.getAtomicReference(BEST_LOSS);
@@ -647,6 +682,12 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
         patience = h.getAtomicReference(PATIENCE);
         patienceIncrease = h.getAtomicReference(PATIENCE_INCREASE);
         numBatches = h.getAtomicReference(NUM_BATCHES_SO_FAR_RAN);
+        parameterShards = h.getMap(PARAMETER_SHARDS);
+        numParameterShards = h.getAtomicReference(NUM_PARAMETER_SHARDS);
+        parameterVersion = h.getAtomicLong(PARAMETER_VERSION);
+        staleness = h.getAtomicReference(STALENESS);
+        workerClocks = h.getMap(WORKER_CLOCKS);
+        pulledVersions = h.getMap(PULLED_VERSIONS);
 
         //applyTransformToDestination defaults only when master, otherwise, overrides previous values
         if(type.equals("master")) {
@@ -656,6 +697,7 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
             numTimesPretrain.set(1);
             isPretrain.set(true);
             done.set(false);
+            doneLatch.trySetCount(1);
             resource = new StateTrackerDropWizardResource(this);
             bestLoss.set(Double.POSITIVE_INFINITY);
             earlyStop.set(true);
@@ -678,6 +720,7 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
 
         conf.setProperty("hazelcast.initial.min.cluster.size","1");
         conf.setProperty("hazelcast.shutdownhook.enabled","false");
+        conf.getSerializationConfig().addSerializerConfig(parameterSerializer());
 
 
         JoinConfig join = conf.getNetworkConfig().getJoin();
@@ -735,6 +778,14 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
 
     }
 
+    //parameters as floats or compressed are opt in; readers handle either
+    private SerializerConfig parameterSerializer() {
+        boolean floatPrecision = System.getProperty("hazelcast.parameters.float","false").equals("true");
+        boolean compress = System.getProperty("hazelcast.parameters.compress","false").equals("true");
+        return new SerializerConfig().setTypeClass(NetworkParameters.class)
+                .setImplementation(new NetworkParametersSerializer(new ParameterCodec(floatPrecision,compress)));
+    }
+
 
 
 
@@ -843,12 +894,30 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
 
     @Override
     public  E getCurrent() throws Exception {
-        E u =  (E) master.get();
-        if(u == null)
+        Object current = master.get();
+        if(current == null)
             return null;
-        return u;
+        if(!(current instanceof NetworkParameters))
+            return (E) current;
+
+        NetworkParameters params = (NetworkParameters) current;
+        E template = this.template;
+        if(template == null || !params.matches((BaseMultiLayerNetwork) template.get())) {
+            template = (E) structure.get();
+            this.template = template;
+        }
+
+        BaseMultiLayerNetwork network = ((BaseMultiLayerNetwork) template.get()).clone();
+        params.applyTo(network);
+        return wrap(network);
     }
 
+    /**
+     * Sets the current update. Networks are sent as their parameters,
+     * the whole update is only sent when the shapes of the network change
+     * @param e the new current update
+     * @throws Exception
+     */
     @Override
     public  void setCurrent(E e) throws Exception {
         if(e == null || e.get() == null) {
@@ -856,9 +925,189 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
             return;
         }
 
-        this.master.set(e);
+        if(!(e.get() instanceof BaseMultiLayerNetwork)) {
+            this.master.set(e);
+            return;
+        }
+
+        NetworkParameters params = NetworkParameters.of((BaseMultiLayerNetwork) e.get());
+        E template = this.template;
+        if(template == null || !params.matches((BaseMultiLayerNetwork) template.get())) {
+            //before the parameters: whoever reads them can find their structure
+            structure.set(e);
+            this.template = e;
+        }
+        this.master.set(params);
+    }
+
+    /**
+     * Serves the parameters of the current network from the cluster.
+     * The shards are seeded from the current network on first read.
+     * @param numShards the number of ranges to split the parameters in to
+     * @param policy the staleness bound and update scaling
+     */
+    @Override
+    public void startParameterServer(int numShards,StalenessPolicy policy) {
+        numParameterShards.set(numShards);
+        staleness.set(policy);
+    }
+
+    @Override
+    public boolean isParameterServer() {
+        return !staleness.isNull();
+    }
+
+    @Override
+    public double[] pullParameters(String workerId) throws Exception {
+        Set<Integer> keys = seedParameterShards();
+        //read before the shards: the worker's update is measured from here
+        long version = parameterVersion.get();
+        double[] ret = ParameterShard.join(parameterShards.getAll(keys).values());
+        pulledVersions.put(workerId,version);
+        //workers joining late start from the slowest worker
+        workerClocks.putIfAbsent(workerId,minClock());
+        return ret;
+    }
+
+    /**
+     * Adds the delta to each shard under the shard's lock;
+     * updates to different ranges don't wait on each other
+     * @param workerId the worker who did the update
+     * @param delta the change in the parameters
+     */
+    @Override
+    public void pushParameters(String workerId,double[] delta) {
+        //dropping part of an update would silently corrupt the parameters
+        if(parameterShards.size() < numParameterShards.get())
+            throw new IllegalStateException("Only " + parameterShards.size() + " of " + numParameterShards.get() + " parameter shards found; pull the parameters before pushing an update");
+        Long pulled = pulledVersions.get(workerId);
+        long stale = pulled == null ? 0 : parameterVersion.get() - pulled;
+        double scale = staleness.get().scale(stale);
+        log.info("Applying update from " + workerId + " with staleness " + stale);
+
+        for(int i = 0; i < numParameterShards.get(); i++) {
+            parameterShards.lock(i);
+            try {
+                ParameterShard shard = parameterShards.get(i);
+                if(shard == null)
+                    throw new IllegalStateException("Parameter shard " + i + " is missing");
+                shard.add(delta,scale);
+                parameterShards.put(i,shard);
+            }finally {
+                parameterShards.unlock(i);
+            }
+        }
+
+        parameterVersion.incrementAndGet();
+        Integer clock = workerClocks.get(workerId);
+        workerClocks.put(workerId,clock == null ? 1 : clock + 1);
+    }
+
+    @Override
+    public boolean withinStaleness(String workerId) {
+        Integer clock = workerClocks.get(workerId);
+        return clock == null || staleness.get().canProceed(clock,minClock());
+    }
+
+    @Override
+    public void syncParameterServer() throws Exception {
+        if(!isParameterServer() || parameterShards.isEmpty())
+            return;
+        E current = getCurrent();
+        Set<Integer> keys = seedParameterShards();
+        double[] params = ParameterShard.join(parameterShards.getAll(keys).values());
+        BaseMultiLayerNetwork network = (BaseMultiLayerNetwork) current.get();
+        network.setParameters(new DoubleMatrix(1,params.length,params));
+        setCurrent(current);
+    }
+
+    //splits the current network in to the shards if nobody has yet, returns the shard keys
+    private Set<Integer> seedParameterShards() throws Exception {
+        int numShards = numParameterShards.get();
+        if(parameterShards.size() < numShards) {
+            BaseMultiLayerNetwork network = (BaseMultiLayerNetwork) getCurrent().get();
+            ParameterShard[] shards = ParameterShard.split(network.params().data,numShards);
+            //fewer shards than asked for when there are fewer parameters
+            numShards = shards.length;
+            numParameterShards.set(numShards);
+            for(int i = 0; i < shards.length; i++)
+                parameterShards.putIfAbsent(i,shards[i]);
+        }
+
+        Set<Integer> keys = new HashSet<>();
+        for(int i = 0; i < numShards; i++)
+            keys.add(i);
+        return keys;
     }
 
+    //the clock of the slowest live worker with a job: idle workers may never get another
+    //(the data ran out for the pass) and would otherwise hold the others back for good
+    private int minClock() {
+        int min = Integer.MAX_VALUE;
+        for(String worker : workers()) {
+            Integer clock = workerClocks.get(worker);
+            if(clock != null && hasJob(worker))
+                min = Math.min(min,clock);
+        }
+        return min == Integer.MAX_VALUE ? 0 : min;
+    }
+
+    /**
+     * Listens to removals from the current jobs and additions to the updates
+     * @param listener the listener to notify
+     * @return the id of the registration
+     */
+    @Override
+    public String addJobListener(final JobListener listener) {
+        String id = jobs.addItemListener(new ItemListener<Job>() {
+            @Override
+            public void itemAdded(ItemEvent<Job> item) {
+
+            }
+
+            @Override
+            public void itemRemoved(ItemEvent<Job> item) {
+                Job j = item.getItem();
+                listener.jobDone(j != null ? j.getWorkerId() : null);
+            }
+        },true);
+
+        String updatesId = updates.addItemListener(new ItemListener<String>() {
+            @Override
+            public void itemAdded(ItemEvent<String> item) {
+                listener.updateAdded(item.getItem());
+            }
+
+            @Override
+            public void itemRemoved(ItemEvent<String> item) {
+
+            }
+        },true);
+        jobListeners.put(id,updatesId);
+        return id;
+    }
+
+    @Override
+    public void removeJobListener(String id) {
+        String updatesId = jobListeners.remove(id);
+        if(updatesId == null)
+            return;
+        jobs.removeItemListener(id);
+        updates.removeItemListener(updatesId);
+    }
+
+    @Override
+    public boolean awaitDone(long timeout,TimeUnit unit) throws InterruptedException {
+        return doneLatch.await(timeout,unit) || isDone();
+    }
+
+    /**
+     * Wraps a network received as parameters in the update type of this tracker
+     * @param network the network to wrap
+     * @return the update for the network
+     */
+    protected abstract E wrap(BaseMultiLayerNetwork network);
+
 
     @Override
     public boolean isPretrain() {
@@ -881,6 +1130,11 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
         return j.get();
     }
 
+    //assigned a job, whether or not the worker has picked it up yet
+    private boolean hasJob(String id) {
+        return !h.getAtomicReference("job-" + id).isNull();
+    }
+
     private boolean isCurrentlyJob(String id) {
         for(Job j : jobs)
             if(j.equals(id))
@@ -916,6 +1170,9 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
     @Override
     public void removeWorker(String worker) {
         workers.remove(worker);
+        //don't hold back the rest of the workers
+        workerClocks.remove(worker);
+        pulledVersions.remove(worker);
         if(jobFor(worker) != null) {
             try {
                 clearJob(worker);
@@ -995,6 +1252,7 @@ public abstract class BaseHazelCastStateTracker<E extends Updateable<?>>  implem
         //returns true in case hazelcast is shutdown
         try {
             done.set(true);
+            doneLatch.countDown();
             updateSaver().cleanup();
         }catch(Exception e) {
             log.warn("Hazelcast already shutdown...done() being applyTransformToDestination is pointless");
@@ -5,11 +5,18 @@ import org.deeplearning4j.iterativereduce.tracker.statetracker.IterateAndUpdate;
 import org.deeplearning4j.iterativereduce.tracker.statetracker.UpdateSaver;
 import org.deeplearning4j.scaleout.iterativereduce.multi.UpdateableImpl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * This takes in the accumulator, the update saver, and the ids of
  * the workers and handles iterating and loading over each one of them at a time.
+ *
+ * Accumulating only loads the updates that haven't been accumulated yet,
+ * so it can be called while workers are still finishing to fold in the updates that are in.
+ * Each update is released as soon as it has been added to the accumulator.
  * @author  Adam Gibson
  */
 public class DeepLearningAccumulatorIterateAndUpdate implements IterateAndUpdate<UpdateableImpl> {
@@ -18,6 +25,7 @@ public class DeepLearningAccumulatorIterateAndUpdate implements IterateAndUpdate
     private DeepLearningAccumulator accumulator;
     private UpdateSaver<UpdateableImpl> updateSaver;
     private Collection<String> ids;
+    private Set<String> accumulated = new HashSet<>();
 
 
     public DeepLearningAccumulatorIterateAndUpdate(DeepLearningAccumulator accumulator, UpdateSaver<UpdateableImpl> updateSaver, Collection<String> ids) {
@@ -27,19 +35,27 @@ public class DeepLearningAccumulatorIterateAndUpdate implements IterateAndUpdate
     }
 
     /**
-     * The accumulated result
+     * The accumulated result. This starts a new average:
+     * the next accumulate begins from nothing
      *
      * @return the accumulated result
      */
     @Override
-    public UpdateableImpl accumulated() {
-        return new UpdateableImpl(accumulator.averaged());
+    public synchronized UpdateableImpl accumulated() {
+        UpdateableImpl ret = new UpdateableImpl(accumulator.averaged());
+        accumulator.reset();
+        accumulated.clear();
+        return ret;
     }
 
     @Override
-    public void accumulate() throws Exception {
-        for(String s : ids)
+    public synchronized void accumulate() throws Exception {
+        for(String s : new ArrayList<>(ids)) {
+            if(accumulated.contains(s))
+                continue;
             accumulator.accumulate(updateSaver.load(s).get());
+            accumulated.add(s);
+        }
 
     }
 
@@ -6,6 +6,7 @@ import javax.ws.rs.core.MediaType;
 
 import org.deeplearning4j.iterativereduce.akka.DeepLearningAccumulator;
 import org.deeplearning4j.iterativereduce.tracker.statetracker.*;
+import org.deeplearning4j.nn.BaseMultiLayerNetwork;
 import org.deeplearning4j.scaleout.iterativereduce.multi.UpdateableImpl;
 
 
@@ -20,6 +21,9 @@ import org.deeplearning4j.scaleout.iterativereduce.multi.UpdateableImpl;
 @Produces(MediaType.APPLICATION_JSON)
 public class HazelCastStateTracker  extends BaseHazelCastStateTracker<UpdateableImpl> {
 
+    //one running average: updates are folded in as they arrive
+    private transient DeepLearningAccumulatorIterateAndUpdate updates;
+
     public HazelCastStateTracker() throws Exception {
     }
 
@@ -46,21 +50,27 @@ public class HazelCastStateTracker  extends BaseHazelCastStateTracker<Updateable
         super(connectionString, type, stateTrackerPort);
     }
 
+    @Override
+    protected UpdateableImpl wrap(BaseMultiLayerNetwork network) {
+        return new UpdateableImpl(network);
+    }
+
     @Override
     public UpdateSaver<UpdateableImpl> createUpdateSaver() {
         return new LocalFileUpdateSaver();
     }
 
     /**
-     * Updates  for mini batches
+     * Updates  for mini batches.
+     * The same accumulator is returned until its result is taken
      *
      * @return the current list of updates for mini batches
      */
     @Override
-    public IterateAndUpdate<UpdateableImpl> updates() {
-        DeepLearningAccumulator d = new DeepLearningAccumulator(workerUpdates().size());
-        DeepLearningAccumulatorIterateAndUpdate d2 = new DeepLearningAccumulatorIterateAndUpdate(d,updateSaver(),workers());
-        return d2;
+    public synchronized IterateAndUpdate<UpdateableImpl> updates() {
+        if(updates == null)
+            updates = new DeepLearningAccumulatorIterateAndUpdate(new DeepLearningAccumulator(),updateSaver(),workerUpdates());
+        return updates;
     }
 
 }
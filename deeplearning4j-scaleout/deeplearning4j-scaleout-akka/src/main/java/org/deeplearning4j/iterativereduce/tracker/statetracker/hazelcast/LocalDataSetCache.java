@@ -1,13 +1,16 @@
 package org.deeplearning4j.iterativereduce.tracker.statetracker.hazelcast;
 
 import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.store.MappedDataSet;
+import org.deeplearning4j.datasets.store.MappedDataSetWriter;
 import org.deeplearning4j.iterativereduce.tracker.statetracker.DataSetCache;
-import org.deeplearning4j.util.SerializationUtils;
 
 import java.io.File;
+import java.io.IOException;
 
 /**
  * Stores the data applyTransformToDestination on local disk
+ * in the binary format of {@link MappedDataSetWriter}
  * @author Adam Gibson
  */
 public class LocalDataSetCache implements DataSetCache {
@@ -27,14 +30,23 @@ public class LocalDataSetCache implements DataSetCache {
     @Override
     public DataSet get() {
         File f = new File(dataSetPath);
-        if(f.exists())
-            return SerializationUtils.readObject(f);
+        if(f.exists()) {
+            try {
+                return MappedDataSet.open(f).asDataSet();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
         return null;
     }
 
     @Override
     public void set(DataSet d) {
-        SerializationUtils.saveObject(d,new File(dataSetPath));
+        try {
+            MappedDataSetWriter.save(d,new File(dataSetPath),false);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
 
     }
 }
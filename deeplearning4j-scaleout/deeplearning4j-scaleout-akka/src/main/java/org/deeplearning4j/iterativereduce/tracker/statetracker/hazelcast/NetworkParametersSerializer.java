@@ -0,0 +1,48 @@
+package org.deeplearning4j.iterativereduce.tracker.statetracker.hazelcast;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.deeplearning4j.scaleout.iterativereduce.NetworkParameters;
+import org.deeplearning4j.scaleout.iterativereduce.ParameterCodec;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer for network parameters
+ * using the compact {@link ParameterCodec} format instead of java serialization
+ * @author Adam Gibson
+ */
+public class NetworkParametersSerializer implements StreamSerializer<NetworkParameters> {
+
+    public final static int TYPE_ID = 2510;
+    private ParameterCodec codec;
+
+    public NetworkParametersSerializer(ParameterCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, NetworkParameters object) throws IOException {
+        byte[] bytes = codec.encode(object);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Override
+    public NetworkParameters read(ObjectDataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return codec.decode(bytes);
+    }
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void destroy() {
+
+    }
+}
@@ -1,7 +1,9 @@
 package org.deeplearning4j.iterativereduce.tracker.statetracker.hazelcast.deepautoencoder;
+import org.deeplearning4j.autoencoder.DeepAutoEncoder;
 import org.deeplearning4j.iterativereduce.akka.DeepAutoEncoderAccumulator;
 import org.deeplearning4j.iterativereduce.tracker.statetracker.*;
 import org.deeplearning4j.iterativereduce.tracker.statetracker.hazelcast.*;
+import org.deeplearning4j.nn.BaseMultiLayerNetwork;
 import org.deeplearning4j.scaleout.iterativereduce.deepautoencoder.UpdateableEncoderImpl;
 
 
@@ -39,6 +41,11 @@ public class DeepAutoEncoderHazelCastStateTracker extends BaseHazelCastStateTrac
         super(connectionString, type, stateTrackerPort);
     }
 
+    @Override
+    protected UpdateableEncoderImpl wrap(BaseMultiLayerNetwork network) {
+        return new UpdateableEncoderImpl((DeepAutoEncoder) network);
+    }
+
     @Override
     public UpdateSaver<UpdateableEncoderImpl> createUpdateSaver() {
         return new LocalFileUpdateSaver();
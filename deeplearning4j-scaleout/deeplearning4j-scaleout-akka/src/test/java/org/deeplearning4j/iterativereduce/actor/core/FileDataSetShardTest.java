@@ -0,0 +1,73 @@
+package org.deeplearning4j.iterativereduce.actor.core;
+
+import java.io.File;
+import java.util.List;
+
+import org.deeplearning4j.datasets.DataSet;
+import org.deeplearning4j.datasets.store.MappedDataSetWriter;
+import org.jblas.DoubleMatrix;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Adam Gibson
+ */
+public class FileDataSetShardTest {
+
+    private static Logger log = LoggerFactory.getLogger(FileDataSetShardTest.class);
+    private File file;
+
+    @Before
+    public void before() throws Exception {
+        file = File.createTempFile("shards",".bin");
+        DoubleMatrix x = new DoubleMatrix(10,2);
+        DoubleMatrix y = DoubleMatrix.ones(10,1);
+        for(int i = 0; i < x.rows; i++) {
+            x.put(i,0,i);
+            x.put(i,1,-i);
+        }
+        //small chunks so reads cross chunk boundaries
+        try (MappedDataSetWriter writer = new MappedDataSetWriter(file,2,1,false,3)) {
+            writer.add(new DataSet(x,y));
+        }
+    }
+
+    @After
+    public void after() {
+        file.delete();
+    }
+
+    @Test
+    public void testSplitAndLoad() throws Exception {
+        List<DataSetShard> shards = FileDataSetShard.split(file,3);
+        assertEquals(3,shards.size());
+        assertEquals(3,shards.get(0).numExamples());
+        assertEquals(3,shards.get(1).numExamples());
+        assertEquals(4,shards.get(2).numExamples());
+
+        //shards read their examples in order in mini batches of 2, each one once
+        int example = 0;
+        for(DataSetShard shard : shards) {
+            for(int from = 0; from < shard.numExamples(); from += 2) {
+                DataSet batch = new ShardCursor(shard,from,Math.min(from + 2,shard.numExamples())).load();
+                log.info("Loaded " + batch.numExamples() + " examples from " + shard);
+                for(int j = 0; j < batch.numExamples(); j++,example++) {
+                    assertEquals(example,batch.getFeatureMatrix().get(j,0),1e-12);
+                    assertEquals(-example,batch.getFeatureMatrix().get(j,1),1e-12);
+                }
+            }
+        }
+        assertEquals(10,example);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfShard() throws Exception {
+        new FileDataSetShard(file,2,5).load(0,4);
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.deeplearning4j.iterativereduce.akka;
+
+import org.deeplearning4j.dbn.DBN;
+import org.deeplearning4j.nn.BaseMultiLayerNetwork;
+import org.deeplearning4j.nn.activation.Activations;
+import org.jblas.DoubleMatrix;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Adam Gibson
+ */
+public class DeepLearningAccumulatorTest {
+
+    private static Logger log = LoggerFactory.getLogger(DeepLearningAccumulatorTest.class);
+
+    @Test
+    public void testWeightedAverage() {
+        DBN first = network(1);
+        DBN second = network(3);
+        DoubleMatrix firstParams = first.params();
+        DoubleMatrix secondParams = second.params();
+
+        DeepLearningAccumulator accumulator = new DeepLearningAccumulator();
+        accumulator.accumulate(first);
+        accumulator.accumulate(second);
+        assertEquals(2,accumulator.numAccumulated());
+        assertEquals(4,accumulator.totalWeight(),1e-12);
+
+        DoubleMatrix expected = firstParams.mul(1).add(secondParams.mul(3)).div(4);
+        BaseMultiLayerNetwork averaged = accumulator.averaged();
+        log.info("Averaged " + averaged.numParams() + " parameters");
+        assertEquals(0,expected.distance2(averaged.params()),1e-9);
+
+        accumulator.reset();
+        assertNull(accumulator.averaged());
+        assertEquals(0,accumulator.numAccumulated());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatch() {
+        DeepLearningAccumulator accumulator = new DeepLearningAccumulator();
+        accumulator.accumulate(network(1));
+        accumulator.accumulate(new DBN.Builder().numberOfInputs(4).numberOfOutPuts(2).withActivation(Activations.tanh())
+                .hiddenLayerSizes(new int[]{2}).build());
+    }
+
+    private DBN network(int examples) {
+        DBN dbn = new DBN.Builder().numberOfInputs(4).numberOfOutPuts(2).withActivation(Activations.tanh())
+                .hiddenLayerSizes(new int[]{3}).build();
+        dbn.setParameters(DoubleMatrix.rand(1,dbn.numParams()));
+        dbn.setInput(DoubleMatrix.rand(examples,4));
+        return dbn;
+    }
+
+}
@@ -0,0 +1,248 @@
+package org.deeplearning4j.iterativereduce.tracker.statetracker.hazelcast;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.deeplearning4j.dbn.DBN;
+import org.deeplearning4j.iterativereduce.actor.core.Job;
+import org.deeplearning4j.iterativereduce.tracker.statetracker.JobListener;
+import org.deeplearning4j.nn.BaseMultiLayerNetwork;
+import org.deeplearning4j.nn.activation.Activations;
+import org.deeplearning4j.scaleout.iterativereduce.StalenessPolicy;
+import org.deeplearning4j.scaleout.iterativereduce.multi.UpdateableImpl;
+import org.jblas.DoubleMatrix;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HazelCastStateTrackerTest {
+
+    private HazelCastStateTracker master;
+
+    @Before
+    public void before() throws Exception {
+        master = new HazelCastStateTracker("localhost:" + HazelCastStateTracker.DEFAULT_HAZELCAST_PORT,"master",HazelCastStateTracker.DEFAULT_HAZELCAST_PORT);
+    }
+
+    @After
+    public void after() {
+        master.shutdown();
+    }
+
+    @Test
+    public void testCurrentRoundTrip() throws Exception {
+        DBN network = network();
+        DoubleMatrix params = network.params();
+        master.setCurrent(new UpdateableImpl(network));
+
+        BaseMultiLayerNetwork current = master.getCurrent().get();
+        assertEquals(0,params.distance2(current.params()),1e-12);
+    }
+
+    @Test
+    public void testCurrentIsCopied() throws Exception {
+        DBN network = network();
+        DoubleMatrix params = network.params();
+        master.setCurrent(new UpdateableImpl(network));
+
+        BaseMultiLayerNetwork first = master.getCurrent().get();
+        BaseMultiLayerNetwork second = master.getCurrent().get();
+        assertNotSame(first.getOutputLayer(),second.getOutputLayer());
+        assertNotSame(first.getOutputLayer().getW(),second.getOutputLayer().getW());
+
+        //training one worker's copy must not touch another's
+        first.setParameters(DoubleMatrix.zeros(1,first.numParams()));
+        assertEquals(0,params.distance2(second.params()),1e-12);
+        assertEquals(0,params.distance2(master.getCurrent().get().params()),1e-12);
+    }
+
+    @Test
+    public void testPullAndPush() throws Exception {
+        DBN network = network();
+        DoubleMatrix params = network.params();
+        master.setCurrent(new UpdateableImpl(network));
+        master.startParameterServer(2,new StalenessPolicy(1));
+        assertTrue(master.isParameterServer());
+
+        assertArrayEquals(params.data,master.pullParameters("1"),1e-12);
+        master.pushParameters("1",DoubleMatrix.ones(1,params.length).data);
+        //nothing was applied since the pull: the whole update goes in
+        assertArrayEquals(params.add(1).data,master.pullParameters("1"),1e-12);
+    }
+
+    @Test
+    public void testStaleUpdateScaled() throws Exception {
+        DBN network = network();
+        DoubleMatrix params = network.params();
+        master.setCurrent(new UpdateableImpl(network));
+        master.startParameterServer(2,new StalenessPolicy(1));
+        master.addWorker("1");
+        master.addWorker("2");
+
+        master.pullParameters("1");
+        master.pullParameters("2");
+        master.pushParameters("2",DoubleMatrix.ones(1,params.length).data);
+        //one update was applied since worker 1 pulled
+        master.pushParameters("1",DoubleMatrix.ones(1,params.length).data);
+        assertArrayEquals(params.add(1.5).data,master.pullParameters("1"),1e-12);
+    }
+
+    @Test
+    public void testWithinStaleness() throws Exception {
+        DBN network = network();
+        double[] delta = new double[network.numParams()];
+        master.setCurrent(new UpdateableImpl(network));
+        master.startParameterServer(2,new StalenessPolicy(1));
+        master.addWorker("1");
+        master.addWorker("2");
+        master.addJobToCurrent(new Job("1","hi"));
+        master.addJobToCurrent(new Job("2","hi"));
+        master.pullParameters("1");
+        master.pullParameters("2");
+
+        master.pushParameters("1",delta);
+        assertTrue(master.withinStaleness("1"));
+        master.pullParameters("1");
+        master.pushParameters("1",delta);
+        //two updates ahead of worker 2
+        assertFalse(master.withinStaleness("1"));
+        assertTrue(master.withinStaleness("2"));
+
+        master.pushParameters("2",delta);
+        assertTrue(master.withinStaleness("1"));
+    }
+
+    @Test
+    public void testPushWithoutPull() throws Exception {
+        DBN network = network();
+        master.setCurrent(new UpdateableImpl(network));
+        master.startParameterServer(2,new StalenessPolicy(1));
+        try {
+            master.pushParameters("1",new double[network.numParams()]);
+            throw new AssertionError("Pushing to shards that were never seeded should fail");
+        }catch(IllegalStateException e) {
+            //expected
+        }finally {
+            }
+    }
+
+    @Test
+    public void testIdleWorkerDoesNotHoldBack() throws Exception {
+        DBN network = network();
+        double[] delta = new double[network.numParams()];
+        master.setCurrent(new UpdateableImpl(network));
+        master.startParameterServer(2,new StalenessPolicy(0));
+        master.addWorker("1");
+        master.addWorker("2");
+        master.addJobToCurrent(new Job("1","hi"));
+        master.addJobToCurrent(new Job("2","hi"));
+        master.pullParameters("1");
+        master.pullParameters("2");
+
+        master.pushParameters("1",delta);
+        assertFalse(master.withinStaleness("1"));
+        //worker 2 finished its job and the data ran out: there is nothing left to wait on
+        master.clearJob("2");
+        assertTrue(master.withinStaleness("1"));
+    }
+
+    @Test
+    public void testSyncParameterServer() throws Exception {
+        DBN network = network();
+        DoubleMatrix params = network.params();
+        master.setCurrent(new UpdateableImpl(network));
+        master.startParameterServer(2,new StalenessPolicy(1));
+
+        master.pullParameters("1");
+        master.pushParameters("1",DoubleMatrix.ones(1,params.length).data);
+        //the current network only sees the server's parameters after a sync
+        assertEquals(0,params.distance2(master.getCurrent().get().params()),1e-12);
+        master.syncParameterServer();
+        assertEquals(0,params.add(1).distance2(master.getCurrent().get().params()),1e-12);
+    }
+
+    @Test
+    public void testJobListener() throws Exception {
+        final CountDownLatch jobDone = new CountDownLatch(1);
+        final CountDownLatch updateAdded = new CountDownLatch(1);
+        master.addJobListener(new JobListener() {
+            @Override
+            public void jobDone(String workerId) {
+                if("1".equals(workerId))
+                    jobDone.countDown();
+            }
+
+            @Override
+            public void updateAdded(String workerId) {
+                if("1".equals(workerId))
+                    updateAdded.countDown();
+            }
+        });
+
+        master.addJobToCurrent(new Job("1","hi"));
+        master.clearJob("1");
+        //listeners are notified on hazelcast's event threads
+        assertTrue(jobDone.await(10,TimeUnit.SECONDS));
+
+        master.addUpdate("1",new UpdateableImpl(network()));
+        assertTrue(updateAdded.await(10,TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRemoveJobListener() throws Exception {
+        final CountDownLatch removedDone = new CountDownLatch(1);
+        final CountDownLatch stillListening = new CountDownLatch(2);
+        String id = master.addJobListener(new JobListener() {
+            @Override
+            public void jobDone(String workerId) {
+                removedDone.countDown();
+            }
+
+            @Override
+            public void updateAdded(String workerId) {
+                removedDone.countDown();
+            }
+        });
+        master.addJobListener(new JobListener() {
+            @Override
+            public void jobDone(String workerId) {
+                stillListening.countDown();
+            }
+
+            @Override
+            public void updateAdded(String workerId) {
+                stillListening.countDown();
+            }
+        });
+
+        master.removeJobListener(id);
+        master.addJobToCurrent(new Job("1","hi"));
+        master.clearJob("1");
+        master.addUpdate("1",new UpdateableImpl(network()));
+        //once the remaining listener has seen both events the removed one would have too
+        assertTrue(stillListening.await(10,TimeUnit.SECONDS));
+        assertEquals(1,removedDone.getCount());
+    }
+
+    @Test
+    public void testAwaitDone() throws Exception {
+        assertFalse(master.awaitDone(10,TimeUnit.MILLISECONDS));
+        master.finish();
+        assertTrue(master.awaitDone(10,TimeUnit.SECONDS));
+    }
+
+
+    private DBN network() {
+        DBN dbn = new DBN.Builder().numberOfInputs(4).numberOfOutPuts(2).withActivation(Activations.tanh())
+                .hiddenLayerSizes(new int[]{3}).build();
+        dbn.setParameters(DoubleMatrix.rand(1,dbn.numParams()));
+        return dbn;
+    }
+
+}
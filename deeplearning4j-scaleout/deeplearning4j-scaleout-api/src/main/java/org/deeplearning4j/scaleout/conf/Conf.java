@@ -80,8 +80,49 @@ public class Conf implements Serializable,Cloneable {
     private Map<Integer,Boolean> sampleHiddenActivationsByLayer = new HashMap<>();
     private boolean useDropConnect = false;
     private double outputLayerDropOut = 0.0;
+    private boolean asynchronous = false;
+    private int maxStaleness = 3;
+    private int numParameterShards = 4;
 
 
+    /**
+     * Whether workers train against a parameter server on their own cadence
+     * instead of averaging after every mini batch
+     * @return whether training is asynchronous
+     */
+    public boolean isAsynchronous() {
+        return asynchronous;
+    }
+
+    public void setAsynchronous(boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
+    /**
+     * The number of updates the fastest worker may be ahead of the slowest
+     * when training asynchronously
+     * @return the max staleness
+     */
+    public int getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public void setMaxStaleness(int maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    /**
+     * The number of ranges the parameters are split in to on the parameter server
+     * @return the number of parameter shards
+     */
+    public int getNumParameterShards() {
+        return numParameterShards;
+    }
+
+    public void setNumParameterShards(int numParameterShards) {
+        this.numParameterShards = numParameterShards;
+    }
+
     public boolean isUseDropConnect() {
         return useDropConnect;
     }
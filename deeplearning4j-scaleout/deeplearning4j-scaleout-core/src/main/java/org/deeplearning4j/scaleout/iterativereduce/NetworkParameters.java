@@ -0,0 +1,101 @@
+package org.deeplearning4j.scaleout.iterativereduce;
+
+import org.deeplearning4j.nn.BaseMultiLayerNetwork;
+import org.jblas.DoubleMatrix;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The parameters of a network without the network:
+ * a manifest of the shape of each weight matrix and bias (in the order of {@link BaseMultiLayerNetwork#params()})
+ * and the flat parameter vector.
+ *
+ * Used to ship updates of a network whose structure the receiver already has,
+ * see {@link ParameterCodec} for the wire format.
+ *
+ * @author Adam Gibson
+ */
+public class NetworkParameters implements Serializable {
+
+    private static final long serialVersionUID = -2360287446129391405L;
+    //rows and columns of each matrix
+    private int[] shapes;
+    private double[] params;
+
+    /**
+     * @param shapes the rows and columns of each matrix
+     * @param params the flat parameter vector
+     */
+    public NetworkParameters(int[] shapes,double[] params) {
+        if(shapes.length % 2 != 0)
+            throw new IllegalArgumentException("Shapes must be pairs of rows and columns");
+        int length = 0;
+        for(int i = 0; i < shapes.length; i += 2)
+            length += shapes[i] * shapes[i + 1];
+        if(length != params.length)
+            throw new IllegalArgumentException("Shapes describe " + length + " parameters, got " + params.length);
+        this.shapes = shapes;
+        this.params = params;
+    }
+
+    /**
+     * The parameters of the given network
+     * @param network the network to get the parameters of
+     * @return the shapes and parameters of the network
+     */
+    public static NetworkParameters of(BaseMultiLayerNetwork network) {
+        return new NetworkParameters(shapesOf(network),network.params().data);
+    }
+
+    /**
+     * Whether the network has the shapes of these parameters
+     * @param network the network to check
+     * @return whether the parameters can be applied to the network
+     */
+    public boolean matches(BaseMultiLayerNetwork network) {
+        return network != null && network.getLayers() != null && network.getOutputLayer() != null
+                && Arrays.equals(shapes,shapesOf(network));
+    }
+
+    /**
+     * Sets the parameters of the network
+     * @param network the network to update, must match the parameters
+     */
+    public void applyTo(BaseMultiLayerNetwork network) {
+        if(!matches(network))
+            throw new IllegalArgumentException("Network does not match the shapes of the parameters");
+        network.setParameters(new DoubleMatrix(1,params.length,params));
+    }
+
+    public int[] getShapes() {
+        return shapes;
+    }
+
+    public double[] getParams() {
+        return params;
+    }
+
+    public int numParams() {
+        return params.length;
+    }
+
+    private static int[] shapesOf(BaseMultiLayerNetwork network) {
+        int[] ret = new int[(network.getLayers().length + 1) * 4];
+        int i = 0;
+        for(int layer = 0; layer < network.getLayers().length; layer++) {
+            i = shape(network.getLayers()[layer].getW(),ret,i);
+            i = shape(network.getLayers()[layer].gethBias(),ret,i);
+        }
+        i = shape(network.getOutputLayer().getW(),ret,i);
+        shape(network.getOutputLayer().getB(),ret,i);
+        return ret;
+    }
+
+    private static int shape(DoubleMatrix m,int[] shapes,int i) {
+        shapes[i] = m.rows;
+        shapes[i + 1] = m.columns;
+        return i + 2;
+    }
+
+}
@@ -0,0 +1,161 @@
+package org.deeplearning4j.scaleout.iterativereduce;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary format for {@link NetworkParameters}.
+ *
+ * Everything is little endian:
+ *
+ * byte version
+ * byte flags: whether the parameters are floats and whether they are compressed
+ * int number of matrices, then the rows and columns of each matrix
+ * int length of the body in bytes
+ * body: the parameter vector as doubles (or floats), deflated when compressed
+ *
+ * The flags are read back from the header, so nodes with different settings can read each other.
+ * Floats halve the size of the parameters at the cost of precision.
+ *
+ * @author Adam Gibson
+ */
+public class ParameterCodec {
+
+    public final static byte VERSION = 1;
+    public final static byte FLOAT = 1;
+    public final static byte COMPRESSED = 1 << 1;
+
+    private boolean floatPrecision;
+    private boolean compress;
+
+    /**
+     * Full precision, no compression
+     */
+    public ParameterCodec() {
+        this(false,false);
+    }
+
+    /**
+     * @param floatPrecision whether to send the parameters as floats
+     * @param compress whether to deflate the parameters
+     */
+    public ParameterCodec(boolean floatPrecision,boolean compress) {
+        this.floatPrecision = floatPrecision;
+        this.compress = compress;
+    }
+
+
+    /**
+     * Encodes the parameters
+     * @param parameters the parameters to encode
+     * @return the encoded parameters
+     */
+    public byte[] encode(NetworkParameters parameters) {
+        double[] params = parameters.getParams();
+        ByteBuffer body = ByteBuffer.allocate(params.length * (floatPrecision ? 4 : 8)).order(ByteOrder.LITTLE_ENDIAN);
+        if(floatPrecision)
+            for(double d : params)
+                body.putFloat((float) d);
+        else
+            body.asDoubleBuffer().put(params);
+
+        byte[] bodyBytes = compress ? deflate(body.array()) : body.array();
+
+        int[] shapes = parameters.getShapes();
+        ByteBuffer ret = ByteBuffer.allocate(2 + 4 + shapes.length * 4 + 4 + bodyBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        ret.put(VERSION);
+        ret.put((byte) ((floatPrecision ? FLOAT : 0) | (compress ? COMPRESSED : 0)));
+        ret.putInt(shapes.length / 2);
+        for(int shape : shapes)
+            ret.putInt(shape);
+        ret.putInt(bodyBytes.length);
+        ret.put(bodyBytes);
+        return ret.array();
+    }
+
+    /**
+     * Decodes parameters encoded with any settings
+     * @param bytes the encoded parameters
+     * @return the decoded parameters
+     */
+    public NetworkParameters decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        byte version = buffer.get();
+        if(version != VERSION)
+            throw new IllegalArgumentException("Unknown parameter format version " + version);
+        byte flags = buffer.get();
+        boolean floats = (flags & FLOAT) != 0;
+
+        int[] shapes = new int[buffer.getInt() * 2];
+        int length = 0;
+        for(int i = 0; i < shapes.length; i++)
+            shapes[i] = buffer.getInt();
+        for(int i = 0; i < shapes.length; i += 2)
+            length += shapes[i] * shapes[i + 1];
+
+        byte[] bodyBytes = new byte[buffer.getInt()];
+        buffer.get(bodyBytes);
+        if((flags & COMPRESSED) != 0)
+            bodyBytes = inflate(bodyBytes,length * (floats ? 4 : 8));
+
+        ByteBuffer body = ByteBuffer.wrap(bodyBytes).order(ByteOrder.LITTLE_ENDIAN);
+        double[] params = new double[length];
+        if(floats)
+            for(int i = 0; i < length; i++)
+                params[i] = body.getFloat();
+        else
+            body.asDoubleBuffer().get(params);
+
+        return new NetworkParameters(shapes,params);
+    }
+
+    public boolean isFloatPrecision() {
+        return floatPrecision;
+    }
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+
+    private byte[] deflate(byte[] bytes) {
+        //speed over ratio: the parameters don't compress much
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(bytes);
+        deflater.finish();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(bytes.length / 2);
+        byte[] chunk = new byte[64 * 1024];
+        while(!deflater.finished())
+            bos.write(chunk,0,deflater.deflate(chunk));
+        deflater.end();
+        return bos.toByteArray();
+    }
+
+    private byte[] inflate(byte[] bytes,int length) {
+        Inflater inflater = new Inflater();
+        inflater.setInput(bytes);
+        byte[] ret = new byte[length];
+        try {
+            int read = 0;
+            while(read < length && !inflater.finished()) {
+                int inflated = inflater.inflate(ret,read,length - read);
+                //truncated
+                if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+                read += inflated;
+            }
+            if(read != length)
+                throw new IllegalArgumentException("Expected " + length + " bytes of parameters, got " + read);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt parameters",e);
+        } finally {
+            inflater.end();
+        }
+        return ret;
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.deeplearning4j.scaleout.iterativereduce;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * A contiguous range of the flat parameter vector
+ * (in the order of {@link org.deeplearning4j.nn.BaseMultiLayerNetwork#params()}).
+ *
+ * The parameter server keeps the parameters as shards so that updates
+ * to different ranges don't contend with each other and each shard can live on a different node.
+ *
+ * @author Adam Gibson
+ */
+public class ParameterShard implements Serializable {
+
+    private static final long serialVersionUID = 4163573513418460733L;
+    private int offset;
+    private int numParams;
+    private double[] values;
+
+    /**
+     * @param offset where the shard starts in the parameter vector
+     * @param numParams the length of the whole parameter vector
+     * @param values the parameters in the range
+     */
+    public ParameterShard(int offset,int numParams,double[] values) {
+        if(offset < 0 || offset + values.length > numParams)
+            throw new IllegalArgumentException("Shard of " + values.length + " at " + offset + " is out of range of " + numParams + " parameters");
+        this.offset = offset;
+        this.numParams = numParams;
+        this.values = values;
+    }
+
+    /**
+     * Splits the parameters in to near equal contiguous ranges
+     * @param params the parameters to split
+     * @param numShards the number of shards, capped at the number of parameters
+     * @return the shards in order
+     */
+    public static ParameterShard[] split(double[] params,int numShards) {
+        if(numShards < 1)
+            throw new IllegalArgumentException("Number of shards must be positive");
+        numShards = Math.max(1,Math.min(numShards,params.length));
+        ParameterShard[] ret = new ParameterShard[numShards];
+        int offset = 0;
+        for(int i = 0; i < numShards; i++) {
+            //the first params.length % numShards shards get one more
+            int length = params.length / numShards + (i < params.length % numShards ? 1 : 0);
+            double[] values = new double[length];
+            System.arraycopy(params,offset,values,0,length);
+            ret[i] = new ParameterShard(offset,params.length,values);
+            offset += length;
+        }
+        return ret;
+    }
+
+    /**
+     * Joins the shards back in to the parameter vector
+     * @param shards all of the shards of the parameters, in any order
+     * @return the parameter vector
+     */
+    public static double[] join(Collection<ParameterShard> shards) {
+        if(shards.isEmpty())
+            throw new IllegalArgumentException("No shards to join");
+        double[] ret = null;
+        int joined = 0;
+        for(ParameterShard shard : shards) {
+            if(ret == null)
+                ret = new double[shard.numParams];
+            else if(shard.numParams != ret.length)
+                throw new IllegalArgumentException("Shards are of different parameter vectors");
+            System.arraycopy(shard.values,0,ret,shard.offset,shard.values.length);
+            joined += shard.values.length;
+        }
+        if(joined != ret.length)
+            throw new IllegalArgumentException("Shards cover " + joined + " of " + ret.length + " parameters");
+        return ret;
+    }
+
+    /**
+     * Adds the shard's range of the delta to the parameters
+     * @param delta the change to the whole parameter vector
+     * @param scale what to multiply the delta by
+     */
+    public void add(double[] delta,double scale) {
+        if(delta.length != numParams)
+            throw new IllegalArgumentException("Delta has " + delta.length + " parameters, expected " + numParams);
+        for(int i = 0; i < values.length; i++)
+            values[i] += scale * delta[offset + i];
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getNumParams() {
+        return numParams;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.deeplearning4j.scaleout.iterativereduce;
+
+import java.io.Serializable;
+
+/**
+ * Bounded staleness (stale synchronous parallel) for asynchronous training.
+ *
+ * Each worker has a clock, the number of updates it has pushed.
+ * A worker may only start on more work while it is at most max staleness
+ * updates ahead of the slowest worker.
+ *
+ * Updates computed against old parameters are scaled down by how many
+ * updates were applied since the parameters were read: 1 / (1 + staleness).
+ *
+ * @author Adam Gibson
+ */
+public class StalenessPolicy implements Serializable {
+
+    private static final long serialVersionUID = -2209745431236283385L;
+    private int maxStaleness;
+
+    /**
+     * @param maxStaleness how many updates the fastest worker may be ahead of the slowest,
+     *                     0 is lock step
+     */
+    public StalenessPolicy(int maxStaleness) {
+        if(maxStaleness < 0)
+            throw new IllegalArgumentException("Max staleness must not be negative");
+        this.maxStaleness = maxStaleness;
+    }
+
+    /**
+     * Whether a worker may start on more work
+     * @param clock the clock of the worker
+     * @param minClock the clock of the slowest worker
+     * @return whether the worker is within the staleness bound
+     */
+    public boolean canProceed(int clock,int minClock) {
+        return clock - minClock <= maxStaleness;
+    }
+
+    /**
+     * How much to scale an update by
+     * @param staleness the number of updates applied since the parameters of the update were read
+     * @return the scale for the update
+     */
+    public double scale(long staleness) {
+        return 1.0 / (1 + Math.max(0,staleness));
+    }
+
+    public int getMaxStaleness() {
+        return maxStaleness;
+    }
+
+}
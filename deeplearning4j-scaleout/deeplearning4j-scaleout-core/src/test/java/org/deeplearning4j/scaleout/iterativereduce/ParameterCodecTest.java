@@ -0,0 +1,55 @@
+package org.deeplearning4j.scaleout.iterativereduce;
+
+import org.deeplearning4j.dbn.DBN;
+import org.deeplearning4j.nn.activation.Activations;
+import org.jblas.DoubleMatrix;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Adam Gibson
+ */
+public class ParameterCodecTest {
+
+    private static Logger log = LoggerFactory.getLogger(ParameterCodecTest.class);
+
+    @Test
+    public void testRoundTrip() {
+        DBN dbn = network(new int[]{4,3});
+        NetworkParameters params = NetworkParameters.of(dbn);
+
+        for(boolean floats : new boolean[]{false,true})
+            for(boolean compress : new boolean[]{false,true}) {
+                byte[] bytes = new ParameterCodec(floats,compress).encode(params);
+                log.info("Floats " + floats + " compressed " + compress + " " + bytes.length + " bytes");
+                //settings are read from the header
+                NetworkParameters decoded = new ParameterCodec().decode(bytes);
+                assertArrayEquals(params.getShapes(),decoded.getShapes());
+                assertArrayEquals(params.getParams(),decoded.getParams(),floats ? 1e-6 : 0);
+            }
+
+        DBN other = network(new int[]{4,3});
+        other.setParameters(DoubleMatrix.rand(1,other.numParams()));
+        NetworkParameters.of(other).applyTo(dbn);
+        assertEquals(other.params(),dbn.params());
+    }
+
+    @Test
+    public void testMatches() {
+        NetworkParameters params = NetworkParameters.of(network(new int[]{4,3}));
+        assertTrue(params.matches(network(new int[]{4,3})));
+        assertFalse(params.matches(network(new int[]{4,2})));
+    }
+
+    private DBN network(int[] hiddenLayerSizes) {
+        return new DBN.Builder().numberOfInputs(4).numberOfOutPuts(3).withActivation(Activations.tanh())
+                .hiddenLayerSizes(hiddenLayerSizes).build();
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.deeplearning4j.scaleout.iterativereduce;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Adam Gibson
+ */
+public class ParameterShardTest {
+
+    private static Logger log = LoggerFactory.getLogger(ParameterShardTest.class);
+
+    @Test
+    public void testSplitAndJoin() {
+        double[] params = new double[11];
+        for(int i = 0; i < params.length; i++)
+            params[i] = i;
+
+        ParameterShard[] shards = ParameterShard.split(params,4);
+        assertEquals(4,shards.length);
+        assertEquals(3,shards[0].getValues().length);
+        assertEquals(2,shards[3].getValues().length);
+        assertEquals(9,shards[3].getOffset());
+
+        //order doesn't matter
+        ParameterShard[] reversed = new ParameterShard[shards.length];
+        for(int i = 0; i < shards.length; i++)
+            reversed[i] = shards[shards.length - 1 - i];
+        assertArrayEquals(params,ParameterShard.join(Arrays.asList(reversed)),0);
+
+        assertEquals(2,ParameterShard.split(new double[2],4).length);
+    }
+
+    @Test
+    public void testAdd() {
+        ParameterShard[] shards = ParameterShard.split(new double[6],2);
+        double[] delta = {1,2,3,4,5,6};
+        for(ParameterShard shard : shards)
+            shard.add(delta,0.5);
+        double[] params = ParameterShard.join(Arrays.asList(shards));
+        log.info("Params " + Arrays.toString(params));
+        assertArrayEquals(new double[]{0.5,1,1.5,2,2.5,3},params,1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingShard() {
+        ParameterShard[] shards = ParameterShard.split(new double[6],3);
+        ParameterShard.join(Arrays.asList(shards[0],shards[2]));
+    }
+
+}
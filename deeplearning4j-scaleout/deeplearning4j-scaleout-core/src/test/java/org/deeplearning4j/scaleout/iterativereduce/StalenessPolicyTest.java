@@ -0,0 +1,52 @@
+package org.deeplearning4j.scaleout.iterativereduce;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Adam Gibson
+ */
+public class StalenessPolicyTest {
+
+    private static Logger log = LoggerFactory.getLogger(StalenessPolicyTest.class);
+
+    @Test
+    public void testCanProceed() {
+        StalenessPolicy policy = new StalenessPolicy(2);
+        assertTrue(policy.canProceed(3,3));
+        assertTrue(policy.canProceed(5,3));
+        assertFalse(policy.canProceed(6,3));
+        //behind the slowest worker's clock can only happen for a worker that just joined
+        assertTrue(policy.canProceed(0,3));
+    }
+
+    @Test
+    public void testLockStep() {
+        StalenessPolicy policy = new StalenessPolicy(0);
+        assertTrue(policy.canProceed(4,4));
+        assertFalse(policy.canProceed(5,4));
+    }
+
+    @Test
+    public void testScale() {
+        StalenessPolicy policy = new StalenessPolicy(2);
+        assertEquals(1,policy.scale(0),0);
+        assertEquals(0.5,policy.scale(1),0);
+        assertEquals(0.25,policy.scale(3),0);
+        //stale updates never count more than fresh ones
+        assertEquals(1,policy.scale(-2),0);
+        log.info("Scale after 100 updates " + policy.scale(100));
+        assertTrue(policy.scale(100) < policy.scale(99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaxStaleness() {
+        new StalenessPolicy(-1);
+    }
+
+}
@@ -1,8 +1,6 @@
 package org.deeplearning4j.linalg.api.activation;
 
 
-import org.deeplearning4j.linalg.api.complex.IComplexNDArray;
-import org.deeplearning4j.linalg.api.complex.IComplexNumber;
 import org.deeplearning4j.linalg.api.ndarray.INDArray;
 import org.deeplearning4j.linalg.factory.NDArrays;
 import org.deeplearning4j.linalg.ops.ElementWiseOp;
@@ -24,21 +22,6 @@ public class Sigmoid extends BaseActivationFunction {
      *
      */
     private static final long serialVersionUID = -6280602270833101092L;
-    private int k = 1;
-
-    @Override
-    public INDArray apply(INDArray input) {
-        if(input instanceof IComplexNDArray) {
-            IComplexNumber number = (IComplexNumber) input.element();
-            double arg = number.complexArgument().doubleValue();
-            double sigArg = 1  / 1 + (Math.exp(-arg)) - k + .5;
-            double ret = Math.exp(sigArg);
-            return NDArrays.scalar(NDArrays.createDouble(ret,0));
-
-        }
-        else
-            return  NDArrays.scalar(1 / 1 + Math.exp(-(double) input.element()));
-    }
 
     /**
      * The class used for transformation
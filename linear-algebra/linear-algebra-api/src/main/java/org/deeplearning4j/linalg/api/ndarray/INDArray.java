@@ -120,12 +120,15 @@ public interface INDArray {
     public int[] endsForSlices();
 
     /**
-     *
-     * http://docs.scipy.org/doc/numpy/reference/generated/numpy.ufunc.reduce.html
+     * Reduces along a dimension with the same convention as
+     * {@link #sum(int)}, {@link #mean(int)} and {@link #max(int)}.
+     * For a matrix dimension 0 gives the per row results as a column vector and
+     * dimension 1 gives the per column results as a row vector;
+     * for higher dimensions dimension i reduces over shape[rank - 1 - i].
      * @param op the operation to do
      * @param dimension the dimension to return from
      * @return the results of the reduce (applying the operation along the specified
-     * dimension)t
+     * dimension)
      */
     public INDArray reduce(Ops.DimensionOp op,int dimension);
 
@@ -142,6 +145,7 @@ public interface INDArray {
      * Iterate along a dimension.
      * This encapsulates the process of sum, mean, and other processes
      * take when iterating over a dimension.
+     * For a matrix or higher, the op is handed every vector of length shape[dimension]
      * @param dimension the dimension to iterate over
      * @param op the operation to apply
      * @param modify whether to modify this array while iterating
@@ -542,6 +546,9 @@ public interface INDArray {
 
     /**
      * Returns the overall mean of this ndarray
+     * For a matrix dimension 0 gives the per row results as a column vector and
+     * dimension 1 gives the per column results as a row vector;
+     * for higher dimensions dimension i reduces over shape[rank - 1 - i].
      * @param dimension the dimension to getScalar the mean along
      * @return the mean along the specified dimension of this ndarray
      */
@@ -550,6 +557,9 @@ public interface INDArray {
 
     /**
      * Returns the overall max of this ndarray
+     * For a matrix dimension 0 gives the per row results as a column vector and
+     * dimension 1 gives the per column results as a row vector;
+     * for higher dimensions dimension i reduces over shape[rank - 1 - i].
      * @param dimension the dimension to getScalar the mean along
      * @return the mean along the specified dimension of this ndarray
      */
@@ -564,6 +574,9 @@ public interface INDArray {
 
     /**
      * Returns the sum along the last dimension of this ndarray
+     * For a matrix dimension 0 gives the per row results as a column vector and
+     * dimension 1 gives the per column results as a row vector;
+     * for higher dimensions dimension i reduces over shape[rank - 1 - i].
      * @param dimension  the dimension to getScalar the sum along
      * @return the sum along the specified dimension of this ndarray
      */
@@ -0,0 +1,75 @@
+package org.deeplearning4j.linalg.factory;
+
+import org.deeplearning4j.linalg.api.complex.IComplexDouble;
+import org.deeplearning4j.linalg.api.complex.IComplexFloat;
+import org.deeplearning4j.linalg.api.complex.IComplexNDArray;
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+
+/**
+ * Creates the ndarrays and complex numbers of a linear algebra implementation.
+ *
+ * Implementations are discovered once by {@link NDArrays}: either
+ * via the factory.class entry in dl4j-linalg.properties
+ * or via {@link java.util.ServiceLoader} (META-INF/services/org.deeplearning4j.linalg.factory.NDArrayFactory)
+ *
+ * @author Adam Gibson
+ */
+public interface NDArrayFactory {
+
+    /**
+     * Creates an ndarray with the specified shape
+     * @param data the data to use with the ndarray
+     * @param shape the shape of the ndarray
+     * @param stride the stride for the ndarray
+     * @param offset the offset of the ndarray
+     * @return the instance
+     */
+    INDArray create(double[] data,int[] shape,int[] stride,int offset);
+
+    /**
+     * Creates an ndarray with the specified shape
+     * @param data the data to use with the ndarray
+     * @param shape the shape of the ndarray
+     * @param stride the stride for the ndarray
+     * @param offset the offset of the ndarray
+     * @return the instance
+     */
+    INDArray create(float[] data,int[] shape,int[] stride,int offset);
+
+    /**
+     * Creates a complex ndarray with the specified shape
+     * @param data the interleaved (real,imag) data to use with the ndarray
+     * @param shape the shape of the ndarray
+     * @param stride the stride for the ndarray
+     * @param offset the offset of the ndarray
+     * @return the instance
+     */
+    IComplexNDArray createComplex(double[] data,int[] shape,int[] stride,int offset);
+
+    /**
+     * Creates a complex ndarray with the specified shape
+     * @param data the interleaved (real,imag) data to use with the ndarray
+     * @param shape the shape of the ndarray
+     * @param stride the stride for the ndarray
+     * @param offset the offset of the ndarray
+     * @return the instance
+     */
+    IComplexNDArray createComplex(float[] data,int[] shape,int[] stride,int offset);
+
+    /**
+     * Create an instance of a complex double
+     * @param real the real component
+     * @param imag the imaginary component
+     * @return a new complex double with the specified real and imaginary components
+     */
+    IComplexDouble createDouble(double real,double imag);
+
+    /**
+     * Create an instance of a complex float
+     * @param real the real component
+     * @param imag the imaginary component
+     * @return a new complex float with the specified real and imaginary components
+     */
+    IComplexFloat createFloat(float real,float imag);
+
+}
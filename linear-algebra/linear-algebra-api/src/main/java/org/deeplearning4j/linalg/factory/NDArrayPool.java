@@ -0,0 +1,126 @@
+package org.deeplearning4j.linalg.factory;
+
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.util.ArrayUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per thread pools of scratch scalars and small ndarrays for hot call sites.
+ *
+ * Each pool is a ring of {@link #RING_SIZE} instances: an instance handed out
+ * is only valid until {@link #RING_SIZE} more instances of the same shape are
+ * requested on the same thread. Pooled instances must never be stored,
+ * returned to callers or shared with other threads. Use
+ * {@link NDArrays#pooledScalar(double)} and {@link NDArrays#pooledZeros(int[])}
+ *
+ * @author Adam Gibson
+ */
+public class NDArrayPool {
+
+    public final static int RING_SIZE = 8;
+    //anything longer than this is not worth pooling
+    public final static int MAX_POOLED_LENGTH = 64;
+
+    private static ThreadLocal<NDArrayPool> pools = new ThreadLocal<NDArrayPool>() {
+        @Override
+        protected NDArrayPool initialValue() {
+            return new NDArrayPool();
+        }
+    };
+
+    private Ring scalars = new Ring(new int[]{1});
+    private Map<ShapeKey,Ring> rings = new HashMap<>();
+    //reused for lookups so a pooled request does not allocate a key
+    private ShapeKey lookup = new ShapeKey(null);
+
+    private NDArrayPool() {}
+
+    /**
+     * The pool for the calling thread
+     * @return the pool for the calling thread
+     */
+    public static NDArrayPool get() {
+        return pools.get();
+    }
+
+
+    /**
+     * A scratch scalar with the given value
+     * @param value the value of the scalar
+     * @return a pooled scalar set to value
+     */
+    public INDArray scalar(double value) {
+        INDArray ret = scalars.next();
+        ret.assign(value);
+        return ret;
+    }
+
+    /**
+     * A scratch ndarray of zeros. Shapes longer than
+     * {@link #MAX_POOLED_LENGTH} are not pooled
+     * @param shape the shape of the ndarray
+     * @return a pooled ndarray of zeros
+     */
+    public INDArray zeros(int[] shape) {
+        if(ArrayUtil.prod(shape) > MAX_POOLED_LENGTH)
+            return NDArrays.zeros(shape);
+
+        lookup.shape = shape;
+        Ring ring = rings.get(lookup);
+        if(ring == null) {
+            int[] copy = Arrays.copyOf(shape,shape.length);
+            ring = new Ring(copy);
+            rings.put(new ShapeKey(copy),ring);
+        }
+
+        INDArray ret = ring.next();
+        ret.assign(0);
+        return ret;
+    }
+
+
+    private static class Ring {
+        private int[] shape;
+        private INDArray[] instances = new INDArray[RING_SIZE];
+        private int next = 0;
+
+        private Ring(int[] shape) {
+            this.shape = shape;
+        }
+
+        private INDArray next() {
+            INDArray ret = instances[next];
+            if(ret == null) {
+                ret = NDArrays.create(shape);
+                instances[next] = ret;
+            }
+            next = (next + 1) % RING_SIZE;
+            return ret;
+        }
+    }
+
+
+    private static class ShapeKey {
+        private int[] shape;
+
+        private ShapeKey(int[] shape) {
+            this.shape = shape;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ShapeKey)) return false;
+            return Arrays.equals(shape,((ShapeKey) o).shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(shape);
+        }
+    }
+
+}
@@ -8,22 +8,24 @@ import org.deeplearning4j.linalg.api.ndarray.INDArray;
 import org.deeplearning4j.linalg.util.ArrayUtil;
 import org.springframework.core.io.ClassPathResource;
 
-import java.lang.reflect.Constructor;
+import java.util.Iterator;
 import java.util.Properties;
+import java.util.ServiceLoader;
 
 /**
  *
  * Creation of ndarrays via classpath discovery.
  *
+ * The {@link NDArrayFactory} is resolved once: the factory.class
+ * entry in dl4j-linalg.properties wins, then any factory registered with
+ * {@link ServiceLoader}, falling back to a {@link ReflectionNDArrayFactory}
+ * over the real/complex classes in the properties.
  *
  * @author Adam Gibson
  */
 public class NDArrays {
 
-    private static Class<? extends INDArray> clazz;
-    private static Class<? extends IComplexNDArray> complexClazz;
-    private static Class<? extends IComplexDouble> complexDoubleClazz;
-    private static Class<? extends IComplexFloat> complexFloatClazz;
+    private static NDArrayFactory factory;
 
     public final static String LINALG_PROPS = "/dl4j-linalg.properties";
     public final static String REAL_CLASS_PROP = "real.class";
@@ -31,6 +33,7 @@ public class NDArrays {
     public final static String DTYPE = "dtype";
     public final static String COMPLEX_DOUBLE = "complex.double.class";
     public final static String COMPLEX_FLOAT = "complex.float.class";
+    public final static String FACTORY_CLASS = "factory.class";
 
     public static String dtype;
     private static Properties props = new Properties();
@@ -40,19 +43,68 @@ public class NDArrays {
         try {
             ClassPathResource c = new ClassPathResource(LINALG_PROPS);
             props.load(c.getInputStream());
-            String realType = props.get(REAL_CLASS_PROP + "." + props.get(DTYPE)).toString();
-            String complexType = props.get(COMPLEX_CLASS_PROP + "." + props.get(DTYPE)).toString();
             dtype = props.get(DTYPE).toString();
-            complexDoubleClazz = (Class<? extends IComplexDouble>) Class.forName(props.get(COMPLEX_DOUBLE).toString());
-            complexFloatClazz = (Class<? extends IComplexFloat>) Class.forName(props.get(COMPLEX_FLOAT).toString());
-
-            clazz = (Class<? extends INDArray>) Class.forName(realType);
-            complexClazz = (Class<? extends IComplexNDArray>) Class.forName(complexType);
+            factory = loadFactory();
         }catch(Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+
+    private static NDArrayFactory loadFactory() throws Exception {
+        if(props.containsKey(FACTORY_CLASS))
+            return (NDArrayFactory) Class.forName(props.getProperty(FACTORY_CLASS).trim()).newInstance();
+
+        Iterator<NDArrayFactory> factories = ServiceLoader.load(NDArrayFactory.class).iterator();
+        if(factories.hasNext())
+            return factories.next();
+
+        String realType = props.get(REAL_CLASS_PROP + "." + dtype).toString();
+        String complexType = props.get(COMPLEX_CLASS_PROP + "." + dtype).toString();
+        return new ReflectionNDArrayFactory(
+                (Class<? extends INDArray>) Class.forName(realType),
+                (Class<? extends IComplexNDArray>) Class.forName(complexType),
+                (Class<? extends IComplexDouble>) Class.forName(props.get(COMPLEX_DOUBLE).toString()),
+                (Class<? extends IComplexFloat>) Class.forName(props.get(COMPLEX_FLOAT).toString()));
+    }
+
+    /**
+     * The factory used for creating ndarrays
+     * @return the factory used for creating ndarrays
+     */
+    public static NDArrayFactory factory() {
+        return factory;
+    }
+
+    /**
+     * Overrides the discovered factory
+     * @param factory the factory to use for creating ndarrays
+     */
+    public static void setFactory(NDArrayFactory factory) {
+        NDArrays.factory = factory;
+    }
+
+
+    /**
+     * A per thread scratch scalar for hot call sites,
+     * see {@link NDArrayPool} for when it is safe to use
+     * @param value the value of the scalar
+     * @return a pooled scalar with the given value
+     */
+    public static INDArray pooledScalar(double value) {
+        return NDArrayPool.get().scalar(value);
+    }
+
+    /**
+     * A per thread scratch ndarray of zeros for hot call sites,
+     * see {@link NDArrayPool} for when it is safe to use
+     * @param shape the shape of the ndarray
+     * @return a pooled ndarray of zeros
+     */
+    public static INDArray pooledZeros(int[] shape) {
+        return NDArrayPool.get().zeros(shape);
+    }
+
     /**
      * Create float
      * @param real real component
@@ -60,12 +112,7 @@ public class NDArrays {
      * @return
      */
     public static IComplexFloat createFloat(float real,float imag) {
-        try {
-            Constructor c = complexDoubleClazz.getConstructor(double.class,double.class);
-            return (IComplexFloat) c.newInstance(real,imag);
-        }catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return factory.createFloat(real,imag);
     }
 
 
@@ -76,12 +123,7 @@ public class NDArrays {
      * @return a new imaginary double with the specified real and imaginary components
      */
     public static IComplexDouble createDouble(double real,double imag) {
-        try {
-            Constructor c = complexDoubleClazz.getConstructor(double.class,double.class);
-            return (IComplexDouble) c.newInstance(real,imag);
-        }catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return factory.createDouble(real,imag);
     }
 
 
@@ -231,12 +273,7 @@ public class NDArrays {
      * @return the instance
      */
     public static IComplexNDArray createComplex(float[] data,int[] shape,int[] stride,int offset) {
-        try {
-            Constructor c = complexClazz.getConstructor(float[].class,int[].class,int[].class,int.class);
-            return (IComplexNDArray) c.newInstance(data,shape,stride,offset);
-        }catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return factory.createComplex(data,shape,stride,offset);
     }
 
 
@@ -250,12 +287,7 @@ public class NDArrays {
      * @return the instance
      */
     public static INDArray create(float[] data,int[] shape,int[] stride,int offset) {
-        try {
-            Constructor c = clazz.getConstructor(float[].class,int[].class,int[].class,int.class);
-            return (INDArray) c.newInstance(data,shape,stride,offset);
-        }catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return factory.create(data,shape,stride,offset);
     }
 
 
@@ -336,12 +368,7 @@ public class NDArrays {
      * @return the instance
      */
     public static IComplexNDArray createComplex(double[] data,int[] shape,int[] stride,int offset) {
-        try {
-            Constructor c = complexClazz.getConstructor(double[].class,int[].class,int[].class,int.class);
-            return (IComplexNDArray) c.newInstance(data,shape,stride,offset);
-        }catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return factory.createComplex(data,shape,stride,offset);
     }
 
 
@@ -353,12 +380,7 @@ public class NDArrays {
      * @return the instance
      */
     public static INDArray create(double[] data,int[] shape,int[] stride,int offset) {
-        try {
-            Constructor c = clazz.getConstructor(double[].class,int[].class,int[].class,int.class);
-            return (INDArray) c.newInstance(data,shape,stride,offset);
-        }catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return factory.create(data,shape,stride,offset);
     }
 
 
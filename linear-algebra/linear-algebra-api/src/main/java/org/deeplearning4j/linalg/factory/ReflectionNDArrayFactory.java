@@ -0,0 +1,91 @@
+package org.deeplearning4j.linalg.factory;
+
+import org.deeplearning4j.linalg.api.complex.IComplexDouble;
+import org.deeplearning4j.linalg.api.complex.IComplexFloat;
+import org.deeplearning4j.linalg.api.complex.IComplexNDArray;
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Fallback factory for implementations that only specify their classes
+ * in dl4j-linalg.properties.
+ *
+ * Constructors are resolved once up front rather than on every call.
+ * A constructor the implementation does not have results in an
+ * {@link UnsupportedOperationException} when it is used.
+ *
+ * @author Adam Gibson
+ */
+public class ReflectionNDArrayFactory implements NDArrayFactory {
+
+    private Constructor<? extends INDArray> doubleConstructor,floatConstructor;
+    private Constructor<? extends IComplexNDArray> complexDoubleConstructor,complexFloatConstructor;
+    private Constructor<? extends IComplexDouble> complexDouble;
+    private Constructor<? extends IComplexFloat> complexFloat;
+
+
+    public ReflectionNDArrayFactory(Class<? extends INDArray> clazz,
+                                    Class<? extends IComplexNDArray> complexClazz,
+                                    Class<? extends IComplexDouble> complexDoubleClazz,
+                                    Class<? extends IComplexFloat> complexFloatClazz) {
+        doubleConstructor = constructor(clazz,double[].class,int[].class,int[].class,int.class);
+        floatConstructor = constructor(clazz,float[].class,int[].class,int[].class,int.class);
+        complexDoubleConstructor = constructor(complexClazz,double[].class,int[].class,int[].class,int.class);
+        complexFloatConstructor = constructor(complexClazz,float[].class,int[].class,int[].class,int.class);
+        complexDouble = constructor(complexDoubleClazz,double.class,double.class);
+        complexFloat = constructor(complexFloatClazz,float.class,float.class);
+    }
+
+    @Override
+    public INDArray create(double[] data, int[] shape, int[] stride, int offset) {
+        return newInstance(doubleConstructor,data,shape,stride,offset);
+    }
+
+    @Override
+    public INDArray create(float[] data, int[] shape, int[] stride, int offset) {
+        return newInstance(floatConstructor,data,shape,stride,offset);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(double[] data, int[] shape, int[] stride, int offset) {
+        return newInstance(complexDoubleConstructor,data,shape,stride,offset);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(float[] data, int[] shape, int[] stride, int offset) {
+        return newInstance(complexFloatConstructor,data,shape,stride,offset);
+    }
+
+    @Override
+    public IComplexDouble createDouble(double real, double imag) {
+        return newInstance(complexDouble,real,imag);
+    }
+
+    @Override
+    public IComplexFloat createFloat(float real, float imag) {
+        return newInstance(complexFloat,real,imag);
+    }
+
+
+    private static <E> Constructor<? extends E> constructor(Class<? extends E> clazz,Class<?>...parameterTypes) {
+        if(clazz == null)
+            return null;
+        try {
+            return clazz.getConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static <E> E newInstance(Constructor<? extends E> c,Object...args) {
+        if(c == null)
+            throw new UnsupportedOperationException("No constructor available for the configured implementation");
+        try {
+            return c.newInstance(args);
+        }catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
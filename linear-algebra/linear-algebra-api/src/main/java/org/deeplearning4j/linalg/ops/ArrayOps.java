@@ -14,6 +14,7 @@ public class ArrayOps {
 
     private INDArray from,scalar;
     private Class<? extends ElementWiseOp> clazz;
+    private ElementWiseOp op;
     private Object[] extraArgs;
 
 
@@ -37,6 +38,19 @@ public class ArrayOps {
         return this;
     }
 
+    /**
+     * An already created operation to perform.
+     * {@link #build()} returns a copy of the op (no reflection)
+     * with the input of {@link #from(INDArray)}, the op itself
+     * is never modified and may be shared across threads
+     * @param op the operation to perform
+     * @return builder pattern
+     */
+    public ArrayOps op(ElementWiseOp op) {
+        this.op = op;
+        return this;
+    }
+
 
     public ArrayOps from(INDArray from) {
         this.from = from;
@@ -53,7 +67,9 @@ public class ArrayOps {
     public ElementWiseOp build() {
         try {
             ElementWiseOp op;
-            if(extraArgs == null)
+            if(this.op != null)
+                op = ((BaseElementWiseOp) this.op).copy();
+            else if(extraArgs == null)
                 op = clazz.newInstance();
             else {
                 Constructor c = clazz.getConstructor(ReflectionUtil.classesFor(extraArgs));
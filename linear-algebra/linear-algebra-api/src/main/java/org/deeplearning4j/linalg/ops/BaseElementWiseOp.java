@@ -1,17 +1,24 @@
 package org.deeplearning4j.linalg.ops;
 
 
+import org.deeplearning4j.linalg.api.complex.IComplexNDArray;
 import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrays;
 
 /**
  * Baseline element wise operation so only applyTransformToOrigin has to be implemented.
  * This also handles the ability to perform scalar wise operations vs just
  * a functional transformation
  *
+ * Ops that override {@link #applyDouble(double)} get an allocation free
+ * loop over the data of real ndarrays. Everything else (complex ndarrays,
+ * views that don't start at the beginning of their data) goes through
+ * the boxed {@link #apply(INDArray, int)} one element at a time.
+ *
  * @author Adam Gibson
  */
 
-public abstract class BaseElementWiseOp implements ElementWiseOp {
+public abstract class BaseElementWiseOp implements ElementWiseOp,Cloneable {
 
     protected INDArray from;
     //this is for operations like adding or multiplying a scalar over the from array
@@ -41,6 +48,19 @@ public abstract class BaseElementWiseOp implements ElementWiseOp {
 
     }
 
+    /**
+     * A shallow copy of this op: the same configuration
+     * with its own input and scalar
+     * @return the copy
+     */
+    public BaseElementWiseOp copy() {
+        try {
+            return (BaseElementWiseOp) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public INDArray getFromOrigin(int i) {
         return from.getScalar(i);
@@ -56,13 +76,74 @@ public abstract class BaseElementWiseOp implements ElementWiseOp {
         return from;
     }
 
+    /**
+     * The transformation for a given real value.
+     * By default this goes through {@link #apply(INDArray, int)}
+     * with a pooled scalar ndarray, ops should override this with a primitive kernel.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        return (double) apply(NDArrays.pooledScalar(value),0).element();
+    }
+
+    /**
+     * The transformation for a given real value in single precision.
+     * By default this delegates to {@link #applyDouble(double)}
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public float applyFloat(float value) {
+        return (float) applyDouble(value);
+    }
+
     /**
      * Apply the transformation
      */
     @Override
     public void exec() {
+        if(from instanceof IComplexNDArray || from.offset() != 0) {
+            execBoxed();
+            return;
+        }
+
+        //with no offset, data() is the backing array of the ndarray
+        double[] data = from.data();
+        int length = from.length();
+        if(data.length == length) {
+            for(int i = 0; i < length; i++)
+                data[i] = applyDouble(data[i]);
+        }
+        else if(data.length > length && from.isVector()) {
+            int stride = linearStride();
+            for(int i = 0, idx = 0; i < length; i++, idx += stride)
+                data[idx] = applyDouble(data[idx]);
+        }
+        else
+            execBoxed();
+
+    }
+
+    /**
+     * Apply the transformation one scalar ndarray at a time
+     */
+    protected void execBoxed() {
         for(int i = 0; i < from.length(); i++)
             applyTransformToOrigin(i);
+    }
 
+    //the distance between successive elements when linearly indexing a vector
+    private int linearStride() {
+        int[] stride = from.stride();
+        int[] shape = from.shape();
+        if(stride == null || stride.length < 1)
+            return 1;
+        if(stride.length == 2 && shape[0] == 1)
+            return stride[1];
+        return stride[0];
     }
 }
@@ -52,6 +52,23 @@ public interface ElementWiseOp {
 
     INDArray apply(INDArray value, int i);
 
+    /**
+     * The transformation for a given real value.
+     * This is the allocation free kernel used by {@link #exec()}
+     * when the underlying data of the ndarray is directly accessible.
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    double applyDouble(double value);
+
+    /**
+     * The transformation for a given real value
+     * in single precision
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    float applyFloat(float value);
+
     /**
      * Apply the transformation
      */
@@ -1,11 +1,19 @@
 package org.deeplearning4j.linalg.ops;
 
+import org.deeplearning4j.linalg.api.complex.IComplexNDArray;
+import org.deeplearning4j.linalg.api.complex.IComplexNumber;
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrays;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 /**
- * Aggregation of element wise operations
+ * Aggregation of element wise operations.
+ *
+ * {@link #exec()} runs each op as its own pass over its input,
+ * {@link #fuse()} turns the chain in to a single op that does one pass.
  *
  * @author Adam Gibson
  */
@@ -18,6 +26,42 @@ public class ElementWiseOpCompose {
         return this;
     }
 
+    /**
+     * Add a scalar to every element
+     * @param scalar the scalar to add
+     * @return this compose
+     */
+    public ElementWiseOpCompose add(double scalar) {
+        return op(new ScalarOp('+',scalar));
+    }
+
+    /**
+     * Subtract a scalar from every element
+     * @param scalar the scalar to subtract
+     * @return this compose
+     */
+    public ElementWiseOpCompose sub(double scalar) {
+        return op(new ScalarOp('-',scalar));
+    }
+
+    /**
+     * Multiply every element by a scalar
+     * @param scalar the scalar to multiply by
+     * @return this compose
+     */
+    public ElementWiseOpCompose mul(double scalar) {
+        return op(new ScalarOp('*',scalar));
+    }
+
+    /**
+     * Divide every element by a scalar
+     * @param scalar the scalar to divide by
+     * @return this compose
+     */
+    public ElementWiseOpCompose div(double scalar) {
+        return op(new ScalarOp('/',scalar));
+    }
+
 
     public void exec() {
         if(reverse)
@@ -30,6 +74,56 @@ public class ElementWiseOpCompose {
     }
 
 
+    /**
+     * Fuse the ops added so far in to one op
+     * that applies all of them in a single pass.
+     * The result has no input yet, set it via
+     * {@link ArrayOps#op(ElementWiseOp)}
+     * @return the fused op
+     */
+    public FusedElementWiseOp fuse() {
+        List<ElementWiseOp> ops = new ArrayList<>(opsToExecute);
+        if(reverse)
+            Collections.reverse(ops);
+        return new FusedElementWiseOp(ops);
+    }
+
+
+    //scalar arithmetic as a standalone transform of each element
+    private static class ScalarOp extends BaseElementWiseOp {
+        private char op;
+        private double scalar;
+
+        private ScalarOp(char op,double scalar) {
+            this.op = op;
+            this.scalar = scalar;
+        }
+
+        @Override
+        public INDArray apply(INDArray value, int i) {
+            if(value instanceof IComplexNDArray) {
+                IComplexNumber n = (IComplexNumber) value.element();
+                switch(op) {
+                    case '+' : return NDArrays.scalar(n.add(scalar));
+                    case '-' : return NDArrays.scalar(n.sub(scalar));
+                    case '*' : return NDArrays.scalar(n.mul(scalar));
+                    default : return NDArrays.scalar(n.div(scalar));
+                }
+            }
+
+            return NDArrays.scalar(applyDouble((double) value.element()));
+        }
+
+        @Override
+        public double applyDouble(double value) {
+            switch(op) {
+                case '+' : return value + scalar;
+                case '-' : return value - scalar;
+                case '*' : return value * scalar;
+                default : return value / scalar;
+            }
+        }
+    }
 
 
 }
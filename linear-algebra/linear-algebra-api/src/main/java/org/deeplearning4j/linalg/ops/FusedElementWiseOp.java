@@ -0,0 +1,75 @@
+package org.deeplearning4j.linalg.ops;
+
+
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+
+import java.util.List;
+
+/**
+ * A chain of element wise operations applied in a single pass
+ * over the input. Each element is read once, run through every
+ * op in order and written back once.
+ *
+ * Build one with {@link ElementWiseOpCompose#fuse()} and reuse it
+ * via {@link ArrayOps#op(ElementWiseOp)} to avoid creating the chain
+ * per call. Each build copies the fused op with its own input,
+ * so one fused op can be shared across threads.
+ *
+ * @author Adam Gibson
+ */
+public class FusedElementWiseOp extends BaseElementWiseOp {
+
+    private ElementWiseOp[] ops;
+
+    /**
+     * Fuse the given ops, applied in list order
+     * @param ops the ops to fuse
+     */
+    public FusedElementWiseOp(List<ElementWiseOp> ops) {
+        for(ElementWiseOp op : ops)
+            if(op instanceof TwoArrayElementWiseOp)
+                throw new IllegalArgumentException("Unable to fuse two array op " + op.getClass().getName() + ", use the scalar ops on ElementWiseOpCompose instead");
+        this.ops = ops.toArray(new ElementWiseOp[ops.size()]);
+    }
+
+    /**
+     * The transformation for a given value (a scalar ndarray)
+     *
+     * @param value the value to applyTransformToOrigin (a scalar ndarray)
+     * @param i     the index of the element being acted upon
+     * @return the transformed value based on the input
+     */
+    @Override
+    public INDArray apply(INDArray value, int i) {
+        INDArray ret = value;
+        for(ElementWiseOp op : ops)
+            ret = op.apply(ret,i);
+        return ret;
+    }
+
+    /**
+     * The transformation for a given real value.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        for(ElementWiseOp op : ops)
+            value = op.applyDouble(value);
+        return value;
+    }
+
+    /**
+     * The transformation for a given real value in single precision.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public float applyFloat(float value) {
+        for(ElementWiseOp op : ops)
+            value = op.applyFloat(value);
+        return value;
+    }
+}
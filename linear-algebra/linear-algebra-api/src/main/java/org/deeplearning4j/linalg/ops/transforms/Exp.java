@@ -30,4 +30,15 @@ public class Exp extends BaseElementWiseOp {
         }
 
     }
+
+    /**
+     * The transformation for a given real value.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        return Math.exp(value);
+    }
 }
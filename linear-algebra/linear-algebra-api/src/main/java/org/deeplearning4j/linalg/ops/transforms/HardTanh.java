@@ -46,4 +46,20 @@ public class HardTanh extends BaseElementWiseOp {
                 return NDArrays.scalar(ret);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The transformation for a given real value.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        double ret = Math.tanh(value);
+        if(ret < -1)
+            return -1;
+        else if(ret > 1)
+            return 1;
+        return ret;
+    }
+}
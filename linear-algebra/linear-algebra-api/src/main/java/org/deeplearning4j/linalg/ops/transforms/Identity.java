@@ -19,4 +19,15 @@ public class Identity extends BaseElementWiseOp {
     public INDArray apply(INDArray value, int i) {
         return value.dup();
     }
+
+    /**
+     * The transformation for a given real value.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        return value;
+    }
 }
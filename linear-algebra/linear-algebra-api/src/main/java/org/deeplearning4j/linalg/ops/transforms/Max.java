@@ -39,4 +39,15 @@ public class Max extends BaseElementWiseOp {
         double val = (double) value.element();
         return NDArrays.scalar(Math.max(max,val));
     }
+
+    /**
+     * The transformation for a given real value.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        return Math.max(max,value);
+    }
 }
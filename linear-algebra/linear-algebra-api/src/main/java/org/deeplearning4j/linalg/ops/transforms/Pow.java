@@ -47,4 +47,15 @@ public class Pow extends BaseElementWiseOp {
         double d = (double) value.element();
         return NDArrays.scalar(Math.pow(d,power));
     }
+
+    /**
+     * The transformation for a given real value.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        return Math.pow(value,power);
+    }
 }
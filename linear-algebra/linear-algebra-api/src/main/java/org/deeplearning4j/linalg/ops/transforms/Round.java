@@ -30,4 +30,15 @@ public class Round extends BaseElementWiseOp {
         }
 
     }
+
+    /**
+     * The transformation for a given real value.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        return Math.round(value);
+    }
 }
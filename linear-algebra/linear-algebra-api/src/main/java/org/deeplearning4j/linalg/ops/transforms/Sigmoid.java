@@ -1,12 +1,17 @@
 package org.deeplearning4j.linalg.ops.transforms;
 
+import org.deeplearning4j.linalg.api.complex.IComplexNDArray;
+import org.deeplearning4j.linalg.api.complex.IComplexNumber;
 import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrays;
 import org.deeplearning4j.linalg.ops.BaseElementWiseOp;
+import org.deeplearning4j.linalg.util.ComplexUtil;
 
 /**
- * Sigmoid operation
+ * Sigmoid operation: 1 / (1 + e^-z) (complex AND real!)
  */
 public class Sigmoid extends BaseElementWiseOp {
+
     /**
      * The transformation for a given value (a scalar ndarray)
      *
@@ -16,6 +21,24 @@ public class Sigmoid extends BaseElementWiseOp {
      */
     @Override
     public INDArray apply(INDArray value, int i) {
-        return null;
+        if(value instanceof IComplexNDArray) {
+            IComplexNumber number = (IComplexNumber) value.element();
+            IComplexNumber denominator = ComplexUtil.exp(number.neg()).addi(1);
+            return NDArrays.scalar(NDArrays.createDouble(1,0).divi(denominator));
+
+        }
+        else
+            return NDArrays.scalar(applyDouble((double) value.element()));
+    }
+
+    /**
+     * The transformation for a given real value.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        return 1 / (1 + Math.exp(-value));
     }
 }
@@ -0,0 +1,42 @@
+package org.deeplearning4j.linalg.ops.transforms;
+
+import org.deeplearning4j.linalg.api.complex.IComplexNDArray;
+import org.deeplearning4j.linalg.api.complex.IComplexNumber;
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrays;
+import org.deeplearning4j.linalg.ops.BaseElementWiseOp;
+
+/**
+ * Square root of a complex or real number
+ *
+ * @author Adam Gibson
+ */
+public class Sqrt extends BaseElementWiseOp {
+    /**
+     * The transformation for a given value (a scalar ndarray)
+     *
+     * @param value the value to applyTransformToOrigin (a scalar ndarray)
+     * @param i     the index of the element being acted upon
+     * @return the transformed value based on the input
+     */
+    @Override
+    public INDArray apply(INDArray value, int i) {
+        if(value instanceof IComplexNDArray) {
+            IComplexNumber n = (IComplexNumber) value.element();
+            return NDArrays.scalar(n.sqrt());
+        }
+        double d = (double) value.element();
+        return NDArrays.scalar(applyDouble(d));
+    }
+
+    /**
+     * The transformation for a given real value.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        return Math.sqrt(value);
+    }
+}
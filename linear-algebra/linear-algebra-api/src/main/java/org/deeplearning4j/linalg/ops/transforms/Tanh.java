@@ -32,4 +32,15 @@ public class Tanh extends BaseElementWiseOp {
             return NDArrays.scalar(Math.tanh(d));
         }
     }
+
+    /**
+     * The transformation for a given real value.
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    @Override
+    public double applyDouble(double value) {
+        return Math.tanh(value);
+    }
 }
@@ -0,0 +1,112 @@
+package org.deeplearning4j.linalg.benchmarks;
+
+import org.deeplearning4j.linalg.api.complex.IComplexNDArray;
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrayFactory;
+import org.deeplearning4j.linalg.jblas.JblasNDArrayFactory;
+import org.deeplearning4j.linalg.util.ArrayUtil;
+
+import java.util.Random;
+
+/**
+ * Backend and shape parameters shared by the benchmarks.
+ *
+ * The jcublas backend needs its factory on the classpath. When it is missing
+ * or can't create ndarrays, setup fails rather than quietly
+ * benchmarking jblas under the jcublas name.
+ *
+ * @author Adam Gibson
+ */
+public class Backends {
+
+    public final static String JBLAS = "jblas";
+    public final static String JCUBLAS = "jcublas";
+    public final static String JCUBLAS_FACTORY = "org.deeplearning4j.linalg.api.ndarray.JCUBlasNDArrayFactory";
+
+    //fixed seed: every run (and every commit) benchmarks the same data
+    private static final long SEED = 123;
+
+    private Backends() {}
+
+
+    /**
+     * The factory for the given backend
+     * @param backend the name of the backend
+     * @return the factory for the backend
+     * @throws IllegalStateException if the backend is unavailable
+     */
+    public static NDArrayFactory factory(String backend) {
+        if(JBLAS.equals(backend))
+            return new JblasNDArrayFactory();
+        if(JCUBLAS.equals(backend)) {
+            try {
+                NDArrayFactory factory = (NDArrayFactory) Class.forName(JCUBLAS_FACTORY).newInstance();
+                factory.create(new double[1],new int[]{1},new int[]{1},0);
+                return factory;
+            }catch(Exception e) {
+                throw new IllegalStateException("Jcublas is unavailable: " + JCUBLAS_FACTORY + " could not create an ndarray",e);
+            }
+        }
+
+        throw new IllegalArgumentException("Illegal backend " + backend);
+    }
+
+    /**
+     * Parses a shape of the form 100x784
+     * @param shape the shape to parse
+     * @return the parsed shape
+     */
+    public static int[] shape(String shape) {
+        String[] split = shape.split("x");
+        int[] ret = new int[split.length];
+        for(int i = 0; i < split.length; i++)
+            ret[i] = Integer.parseInt(split[i].trim());
+        return ret;
+    }
+
+    /**
+     * An ndarray of uniform random values
+     * @param factory the factory to create the ndarray with
+     * @param shape the shape of the ndarray
+     * @return the random ndarray
+     */
+    public static INDArray rand(NDArrayFactory factory,int[] shape) {
+        return factory.create(randData(ArrayUtil.prod(shape)),shape,ArrayUtil.calcStrides(shape),0);
+    }
+
+    /**
+     * An ndarray of ones
+     * @param factory the factory to create the ndarray with
+     * @param shape the shape of the ndarray
+     * @return the ndarray of ones
+     */
+    public static INDArray ones(NDArrayFactory factory,int[] shape) {
+        INDArray ret = factory.create(new double[ArrayUtil.prod(shape)],shape,ArrayUtil.calcStrides(shape),0);
+        ret.assign(1);
+        return ret;
+    }
+
+    /**
+     * A complex ndarray of uniform random values
+     * @param factory the factory to create the ndarray with
+     * @param shape the shape of the ndarray
+     * @return the random complex ndarray
+     */
+    public static IComplexNDArray randComplex(NDArrayFactory factory,int[] shape) {
+        return factory.createComplex(randData(ArrayUtil.prod(shape) * 2),shape,ArrayUtil.calcStrides(shape,2),0);
+    }
+
+    /**
+     * Uniform random data in [0,1)
+     * @param length the length of the data
+     * @return the random data
+     */
+    public static double[] randData(int length) {
+        Random random = new Random(SEED);
+        double[] ret = new double[length];
+        for(int i = 0; i < length; i++)
+            ret[i] = random.nextDouble();
+        return ret;
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.deeplearning4j.linalg.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual jmh command line, writing
+ * json results (jmh-result.json unless -rf/-rff say otherwise)
+ * so runs can be diffed between commits:
+ *
+ * java -jar target/benchmarks.jar [jmh options] [benchmark regexps]
+ *
+ * @author Adam Gibson
+ */
+public class BenchmarkRunner {
+
+    public final static String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLine);
+        if(!commandLine.getResultFormat().hasValue())
+            builder.resultFormat(ResultFormatType.JSON);
+        if(!commandLine.getResult().hasValue())
+            builder.result(DEFAULT_RESULT_FILE);
+
+        new Runner(builder.build()).run();
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.deeplearning4j.linalg.benchmarks;
+
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrayFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row and column vector broadcasting (bias addition, per example scaling)
+ *
+ * @author Adam Gibson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    @Param({Backends.JBLAS,Backends.JCUBLAS})
+    public String backend;
+    @Param({"10x784","100x784","1000x784"})
+    public String shape;
+
+    private INDArray matrix,rowVector,columnVector;
+
+    @Setup
+    public void setup() {
+        NDArrayFactory factory = Backends.factory(backend);
+        int[] dims = Backends.shape(shape);
+        matrix = Backends.rand(factory,dims);
+        rowVector = Backends.rand(factory,new int[]{1,dims[1]});
+        //ones keep repeated in place multiplication from drifting to denormals
+        columnVector = Backends.ones(factory,new int[]{dims[0],1});
+    }
+
+    @Benchmark
+    public INDArray addiRowVector() {
+        return matrix.addiRowVector(rowVector);
+    }
+
+    @Benchmark
+    public INDArray muliColumnVector() {
+        return matrix.muliColumnVector(columnVector);
+    }
+
+}
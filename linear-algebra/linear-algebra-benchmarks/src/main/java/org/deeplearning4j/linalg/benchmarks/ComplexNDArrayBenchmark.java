@@ -0,0 +1,62 @@
+package org.deeplearning4j.linalg.benchmarks;
+
+import org.deeplearning4j.linalg.api.complex.IComplexNDArray;
+import org.deeplearning4j.linalg.factory.NDArrayFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Complex ndarray arithmetic
+ *
+ * @author Adam Gibson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ComplexNDArrayBenchmark {
+
+    @Param({Backends.JBLAS,Backends.JCUBLAS})
+    public String backend;
+    @Param({"28x28","100x100"})
+    public String shape;
+
+    private IComplexNDArray a,b;
+
+    @Setup
+    public void setup() {
+        NDArrayFactory factory = Backends.factory(backend);
+        int[] dims = Backends.shape(shape);
+        a = Backends.randComplex(factory,dims);
+        b = Backends.randComplex(factory,dims);
+    }
+
+    @Benchmark
+    public IComplexNDArray add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public IComplexNDArray mul() {
+        return a.mul(b);
+    }
+
+    @Benchmark
+    public IComplexNDArray mmul() {
+        return a.mmul(b);
+    }
+
+}
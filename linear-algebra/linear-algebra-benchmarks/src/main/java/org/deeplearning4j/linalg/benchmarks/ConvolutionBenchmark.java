@@ -0,0 +1,62 @@
+package org.deeplearning4j.linalg.benchmarks;
+
+import org.deeplearning4j.nn.linalg.NDArray;
+import org.deeplearning4j.util.ArrayUtil;
+import org.deeplearning4j.util.Convolution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * N dimensional (fft based) convolution over the deeplearning4j-core ndarrays
+ *
+ * @author Adam Gibson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ConvolutionBenchmark {
+
+    @Param({Backends.JBLAS,Backends.JCUBLAS})
+    public String backend;
+    @Param({"28x28","64x64"})
+    public String shape;
+    @Param({"5x5","9x9"})
+    public String kernelShape;
+    @Param({"VALID","FULL"})
+    public Convolution.Type type;
+
+    private NDArray input,kernel;
+
+    @Setup
+    public void setup() {
+        //fails when the backend is unavailable
+        Backends.factory(backend);
+        //the convolution is only implemented over the jblas backed core ndarrays
+        if(!Backends.JBLAS.equals(backend))
+            throw new IllegalStateException("No convolution for the " + backend + " backend");
+        int[] dims = Backends.shape(shape);
+        int[] kernelDims = Backends.shape(kernelShape);
+        input = new NDArray(Backends.randData(ArrayUtil.prod(dims)),dims);
+        kernel = new NDArray(Backends.randData(ArrayUtil.prod(kernelDims)),kernelDims);
+    }
+
+    @Benchmark
+    public NDArray convn() {
+        return Convolution.convn(input,kernel,type);
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.deeplearning4j.linalg.benchmarks;
+
+import org.deeplearning4j.fft.FFT;
+import org.deeplearning4j.nn.linalg.ComplexNDArray;
+import org.deeplearning4j.nn.linalg.NDArray;
+import org.deeplearning4j.util.ArrayUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * N dimensional fft over the deeplearning4j-core ndarrays
+ * (power of 2 and bluestein lengths)
+ *
+ * @author Adam Gibson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FFTBenchmark {
+
+    @Param({Backends.JBLAS,Backends.JCUBLAS})
+    public String backend;
+    @Param({"32x32","28x28","100x100"})
+    public String shape;
+
+    private NDArray arr;
+    private ComplexNDArray complex;
+
+    @Setup
+    public void setup() {
+        //fails when the backend is unavailable
+        Backends.factory(backend);
+        //the fft is only implemented over the jblas backed core ndarrays
+        if(!Backends.JBLAS.equals(backend))
+            throw new IllegalStateException("No fft for the " + backend + " backend");
+        int[] dims = Backends.shape(shape);
+        arr = new NDArray(Backends.randData(ArrayUtil.prod(dims)),dims);
+        complex = new ComplexNDArray(arr);
+    }
+
+    @Benchmark
+    public ComplexNDArray fftn() {
+        return FFT.fftn(arr);
+    }
+
+    @Benchmark
+    public ComplexNDArray fftnComplex() {
+        return FFT.fftn(complex);
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.deeplearning4j.linalg.benchmarks;
+
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrayFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matrix multiplication: a (rows x inner) times b (inner x columns)
+ *
+ * @author Adam Gibson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MmulBenchmark {
+
+    @Param({Backends.JBLAS,Backends.JCUBLAS})
+    public String backend;
+    //rows x inner x columns
+    @Param({"10x784x500","100x784x500","500x500x500"})
+    public String shape;
+
+    private INDArray a,b,result;
+
+    @Setup
+    public void setup() {
+        NDArrayFactory factory = Backends.factory(backend);
+        int[] dims = Backends.shape(shape);
+        a = Backends.rand(factory,new int[]{dims[0],dims[1]});
+        b = Backends.rand(factory,new int[]{dims[1],dims[2]});
+        result = Backends.rand(factory,new int[]{dims[0],dims[2]});
+    }
+
+    @Benchmark
+    public INDArray mmul() {
+        return a.mmul(b);
+    }
+
+    @Benchmark
+    public INDArray mmuliResult() {
+        return a.mmuli(b,result);
+    }
+
+}
@@ -0,0 +1,90 @@
+package org.deeplearning4j.linalg.benchmarks;
+
+import org.deeplearning4j.linalg.api.complex.IComplexDouble;
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrayFactory;
+import org.deeplearning4j.linalg.factory.NDArrays;
+import org.deeplearning4j.linalg.factory.ReflectionNDArrayFactory;
+import org.deeplearning4j.linalg.jblas.NDArray;
+import org.deeplearning4j.linalg.jblas.complex.ComplexDouble;
+import org.deeplearning4j.linalg.jblas.complex.ComplexFloat;
+import org.deeplearning4j.linalg.jblas.complex.ComplexNDArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating scalars and complex numbers:
+ * per call reflection (how {@link NDArrays} used to create everything)
+ * vs cached constructors vs the discovered {@link NDArrayFactory}
+ * vs the per thread scalar pool.
+ *
+ * @author Adam Gibson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NDArrayCreationBenchmark {
+
+    private NDArrayFactory cachedReflection;
+    private double value;
+
+    @Setup
+    public void setup() {
+        cachedReflection = new ReflectionNDArrayFactory(NDArray.class,ComplexNDArray.class,ComplexDouble.class,ComplexFloat.class);
+        value = Math.random();
+    }
+
+
+    @Benchmark
+    public INDArray scalarReflectionPerCall() throws Exception {
+        Constructor c = NDArray.class.getConstructor(double[].class,int[].class,int[].class,int.class);
+        return (INDArray) c.newInstance(new double[]{value},new int[]{1},new int[]{1},0);
+    }
+
+    @Benchmark
+    public INDArray scalarCachedReflection() {
+        return cachedReflection.create(new double[]{value},new int[]{1},new int[]{1},0);
+    }
+
+    @Benchmark
+    public INDArray scalarFactory() {
+        return NDArrays.scalar(value);
+    }
+
+    @Benchmark
+    public INDArray scalarPooled() {
+        return NDArrays.pooledScalar(value);
+    }
+
+
+    @Benchmark
+    public IComplexDouble complexDoubleReflectionPerCall() throws Exception {
+        Constructor c = ComplexDouble.class.getConstructor(double.class,double.class);
+        return (IComplexDouble) c.newInstance(value,value);
+    }
+
+    @Benchmark
+    public IComplexDouble complexDoubleCachedReflection() {
+        return cachedReflection.createDouble(value,value);
+    }
+
+    @Benchmark
+    public IComplexDouble complexDoubleFactory() {
+        return NDArrays.createDouble(value,value);
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.deeplearning4j.linalg.benchmarks;
+
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrayFactory;
+import org.deeplearning4j.linalg.ops.reduceops.Ops;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reductions along a dimension
+ *
+ * @author Adam Gibson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ReduceBenchmark {
+
+    @Param({Backends.JBLAS,Backends.JCUBLAS})
+    public String backend;
+    @Param({"100x784","10000x784","100x28x28"})
+    public String shape;
+    @Param({"0","1"})
+    public int dimension;
+
+    private INDArray arr;
+
+    @Setup
+    public void setup() {
+        NDArrayFactory factory = Backends.factory(backend);
+        arr = Backends.rand(factory,Backends.shape(shape));
+    }
+
+    @Benchmark
+    public INDArray reduceSum() {
+        return arr.reduce(Ops.DimensionOp.SUM,dimension);
+    }
+
+    @Benchmark
+    public INDArray reduceMax() {
+        return arr.reduce(Ops.DimensionOp.MAX,dimension);
+    }
+
+    @Benchmark
+    public INDArray sum() {
+        return arr.sum(dimension);
+    }
+
+    @Benchmark
+    public INDArray mean() {
+        return arr.mean(dimension);
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.deeplearning4j.linalg.benchmarks;
+
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrayFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slicing and element access
+ *
+ * @author Adam Gibson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SliceBenchmark {
+
+    @Param({Backends.JBLAS,Backends.JCUBLAS})
+    public String backend;
+    @Param({"100x784","10x28x28"})
+    public String shape;
+
+    private INDArray arr;
+    private int slice,element;
+
+    @Setup
+    public void setup() {
+        NDArrayFactory factory = Backends.factory(backend);
+        arr = Backends.rand(factory,Backends.shape(shape));
+        slice = arr.slices() / 2;
+        element = arr.length() / 2;
+    }
+
+    @Benchmark
+    public INDArray slice() {
+        return arr.slice(slice);
+    }
+
+    @Benchmark
+    public INDArray getScalar() {
+        return arr.getScalar(element);
+    }
+
+    @Benchmark
+    public double iterateGetScalar() {
+        double sum = 0;
+        for(int i = 0; i < arr.length(); i++)
+            sum += (double) arr.getScalar(i).element();
+        return sum;
+    }
+
+}
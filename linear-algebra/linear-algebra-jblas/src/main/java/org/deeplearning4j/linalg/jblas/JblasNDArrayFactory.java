@@ -0,0 +1,58 @@
+package org.deeplearning4j.linalg.jblas;
+
+import org.deeplearning4j.linalg.api.complex.IComplexDouble;
+import org.deeplearning4j.linalg.api.complex.IComplexFloat;
+import org.deeplearning4j.linalg.api.complex.IComplexNDArray;
+import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrayFactory;
+import org.deeplearning4j.linalg.jblas.complex.ComplexDouble;
+import org.deeplearning4j.linalg.jblas.complex.ComplexFloat;
+import org.deeplearning4j.linalg.jblas.complex.ComplexNDArray;
+
+/**
+ * Jblas ndarray factory. Jblas is double precision only:
+ * float data is widened to double.
+ *
+ * @author Adam Gibson
+ */
+public class JblasNDArrayFactory implements NDArrayFactory {
+
+    @Override
+    public INDArray create(double[] data, int[] shape, int[] stride, int offset) {
+        return new NDArray(data,shape,stride,offset);
+    }
+
+    @Override
+    public INDArray create(float[] data, int[] shape, int[] stride, int offset) {
+        return new NDArray(toDoubles(data),shape,stride,offset);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(double[] data, int[] shape, int[] stride, int offset) {
+        return new ComplexNDArray(data,shape,stride,offset);
+    }
+
+    @Override
+    public IComplexNDArray createComplex(float[] data, int[] shape, int[] stride, int offset) {
+        return new ComplexNDArray(toDoubles(data),shape,stride,offset);
+    }
+
+    @Override
+    public IComplexDouble createDouble(double real, double imag) {
+        return new ComplexDouble(real,imag);
+    }
+
+    @Override
+    public IComplexFloat createFloat(float real, float imag) {
+        return new ComplexFloat(real,imag);
+    }
+
+
+    private static double[] toDoubles(float[] data) {
+        double[] ret = new double[data.length];
+        for(int i = 0; i < data.length; i++)
+            ret[i] = data[i];
+        return ret;
+    }
+
+}
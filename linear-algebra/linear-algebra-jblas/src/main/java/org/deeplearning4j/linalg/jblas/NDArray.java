@@ -13,6 +13,7 @@ import org.deeplearning4j.linalg.jblas.complex.ComplexNDArray;
 import org.deeplearning4j.linalg.jblas.util.MatrixUtil;
 import org.deeplearning4j.linalg.jblas.util.NDArrayBlas;
 import org.deeplearning4j.linalg.jblas.util.NDArrayUtil;
+import org.deeplearning4j.linalg.jblas.util.ParallelExecution;
 import org.deeplearning4j.linalg.ops.TwoArrayOps;
 import org.deeplearning4j.linalg.ops.elementwise.AddOp;
 import org.deeplearning4j.linalg.ops.elementwise.DivideOp;
@@ -20,7 +21,6 @@ import org.deeplearning4j.linalg.ops.elementwise.MultiplyOp;
 import org.deeplearning4j.linalg.ops.elementwise.SubtractOp;
 import org.deeplearning4j.linalg.ops.reduceops.Ops;
 import org.deeplearning4j.linalg.util.ArrayUtil;
-import org.deeplearning4j.linalg.util.IterationResult;
 import org.deeplearning4j.linalg.util.Shape;
 import org.jblas.ComplexDouble;
 import org.jblas.DoubleMatrix;
@@ -403,8 +403,11 @@ public class NDArray extends DoubleMatrix implements INDArray {
     }
 
     /**
-     *
-     * http://docs.scipy.org/doc/numpy/reference/generated/numpy.ufunc.reduce.html
+     * Reduces along a dimension with the same convention as
+     * {@link #sum(int)}, {@link #mean(int)} and {@link #max(int)}:
+     * for a matrix dimension 0 gives the per row results as a column vector and
+     * dimension 1 gives the per column results as a row vector.
+     * For higher dimensions, dimension i reduces over shape[rank - 1 - i]
      * @param op the operation to do
      * @param dimension the dimension to return from
      * @return the results of the reduce (applying the operation along the specified
@@ -420,60 +423,154 @@ public class NDArray extends DoubleMatrix implements INDArray {
             return NDArray.scalar(reduceVector(op, this));
 
 
-        int[] shape = ArrayUtil.removeIndex(this.shape,dimension);
+        return reduceDimension(op,dimension);
+    }
 
-        if(dimension == 0) {
-            double[] data2 = new double[ArrayUtil.prod(shape)];
-            int dataIter = 0;
 
-            //iterating along the dimension is relative to the number of slices
-            //in the return dimension
-            int numTimes = ArrayUtil.prod(shape);
-            for(int offset = this.offset; offset < numTimes; offset++) {
-                double reduce = op(dimension, offset, op);
-                data2[dataIter++] = reduce;
+    /**
+     * Reduces along the given dimension and lays out the result the way
+     * the jblas row/column operations do: for a matrix
+     * dimension 0 gives the per row results as a column vector and
+     * dimension 1 gives the per column results as a row vector.
+     * For higher dimensions, dimension i reduces over shape[rank - 1 - i]
+     * @param op the operation to do
+     * @param dimension the dimension to reduce over
+     * @return the reduced ndarray
+     */
+    private NDArray reduceDimension(Ops.DimensionOp op,int dimension) {
+        if(dimension < 0 || dimension >= shape.length)
+            throw new IllegalArgumentException("Illegal dimension " + dimension + " for shape " + Arrays.toString(shape));
 
-            }
+        int axis = shape.length - 1 - dimension;
+        double[] reduced = reduceAlongAxis(op,axis);
+        if(shape.length == 2)
+            return dimension == 0 ? new NDArray(reduced,new int[]{shape[0],1}) : new NDArray(reduced,new int[]{1,shape[1]});
+        return new NDArray(reduced,ArrayUtil.removeIndex(shape,axis));
+    }
 
-            return new NDArray(data2,shape);
-        }
 
+    /**
+     * Reduces along an axis of the c ordered (packed) data of this ndarray
+     * (numpy semantics: the result is c ordered with the axis removed).
+     *
+     * The work is split in to slice aligned chunks and run on the
+     * {@link ParallelExecution} pool once the array is past the parallel threshold.
+     * Every result is accumulated sequentially by a single thread,
+     * so the output is the same regardless of the number of threads.
+     * @param op the operation to do
+     * @param axis the axis to reduce over
+     * @return the reduced values
+     */
+    private double[] reduceAlongAxis(final Ops.DimensionOp op,int axis) {
+        final double[] data = packedData();
+        //outer: number of slices before the axis, n: length of the axis, inner: elements per step along the axis
+        int outer = 1;
+        for(int i = 0; i < axis; i++)
+            outer *= shape[i];
+        final int n = shape[axis];
+        final int inner = length / (outer * n);
+        final double[] ret = new double[outer * inner];
+
+        if(outer > 1) {
+            final int sliceLength = n * inner;
+            ParallelExecution.run(outer,length,new ParallelExecution.Chunk() {
+                @Override
+                public void operate(int from, int to) {
+                    for(int slice = from; slice < to; slice++)
+                        reduceSlice(op,data,slice * sliceLength,n,inner,0,inner,ret,slice * inner);
+                }
+            });
+        }
         else {
-            double[] data2 = new double[ArrayUtil.prod(shape)];
-            int dataIter = 0;
-            //want the milestone to slice[1] and beyond
-            int[] sliceIndices = endsForSlices();
-            int currOffset = 0;
-
-            //iterating along the dimension is relative to the number of slices
-            //in the return dimension
-            int numTimes = ArrayUtil.prod(shape);
-            
-
-            for(int offset = this.offset; offset < numTimes; ) {
-                if(dataIter >= data2.length || currOffset >= sliceIndices.length)
-                    break;
-
-                //do the operation,, and look for whether it exceeded the current slice
-                IterationResult pair = op(dimension, offset, op,sliceIndices[currOffset]);
-                //append the result
-                double reduce = pair.getResult();
-                data2[dataIter++] = reduce;
-
-                //go to next slice and iterate over that
-                if(pair.isNextSlice()) {
-                    //will update to next step
-                    offset = sliceIndices[currOffset];
-                    numTimes +=  sliceIndices[currOffset];
-                    currOffset++;
+            ParallelExecution.run(inner,length,new ParallelExecution.Chunk() {
+                @Override
+                public void operate(int from, int to) {
+                    reduceSlice(op,data,0,n,inner,from,to,ret,from);
                 }
+            });
+        }
 
-            }
+        return ret;
+    }
 
-            return new NDArray(data2,shape);
+    //reduces columns from to to of an n x inner block starting at offset, walking the block row by row
+    private static void reduceSlice(Ops.DimensionOp op,double[] data,int offset,int n,int inner,int from,int to,double[] ret,int retOffset) {
+        int count = to - from;
+        double init;
+        switch(op) {
+            case PROD: init = 1; break;
+            case MAX: init = Double.NEGATIVE_INFINITY; break;
+            case MIN: init = Double.POSITIVE_INFINITY; break;
+            case SUM:
+            case MEAN:
+            case NORM_1:
+            case NORM_2:
+            case NORM_MAX: init = 0; break;
+            default: throw new IllegalArgumentException("Illegal operation " + op);
+        }
+
+        Arrays.fill(ret,retOffset,retOffset + count,init);
+        //the op is switched on outside of the loops to keep the inner loops tight
+        for(int k = 0; k < n; k++) {
+            int rowOffset = offset + k * inner + from;
+            switch(op) {
+                case SUM:
+                case MEAN:
+                    for(int j = 0; j < count; j++)
+                        ret[retOffset + j] += data[rowOffset + j];
+                    break;
+                case PROD:
+                    for(int j = 0; j < count; j++)
+                        ret[retOffset + j] *= data[rowOffset + j];
+                    break;
+                case MAX:
+                    for(int j = 0; j < count; j++)
+                        ret[retOffset + j] = Math.max(ret[retOffset + j],data[rowOffset + j]);
+                    break;
+                case MIN:
+                    for(int j = 0; j < count; j++)
+                        ret[retOffset + j] = Math.min(ret[retOffset + j],data[rowOffset + j]);
+                    break;
+                case NORM_1:
+                    for(int j = 0; j < count; j++)
+                        ret[retOffset + j] += Math.abs(data[rowOffset + j]);
+                    break;
+                case NORM_2:
+                    for(int j = 0; j < count; j++) {
+                        double d = data[rowOffset + j];
+                        ret[retOffset + j] += d * d;
+                    }
+                    break;
+                case NORM_MAX:
+                    for(int j = 0; j < count; j++)
+                        ret[retOffset + j] = Math.max(ret[retOffset + j],Math.abs(data[rowOffset + j]));
+                    break;
+            }
         }
 
+        if(op == Ops.DimensionOp.MEAN)
+            for(int j = 0; j < count; j++)
+                ret[retOffset + j] /= n;
+        else if(op == Ops.DimensionOp.NORM_2)
+            for(int j = 0; j < count; j++)
+                ret[retOffset + j] = Math.sqrt(ret[retOffset + j]);
+    }
+
+
+    //the c ordered elements of this ndarray: the backing array when this is not a view
+    private double[] packedData() {
+        if(isPacked())
+            return data;
+        NDArray linear = reshape(new int[]{1,length});
+        double[] ret = new double[length];
+        for(int i = 0; i < length; i++)
+            ret[i] = (double) linear.getScalar(i).element();
+        return ret;
+    }
 
+    //whether this ndarray owns all of its backing data
+    private boolean isPacked() {
+        return offset == 0 && data.length == length;
     }
 
 
@@ -540,41 +637,6 @@ public class NDArray extends DoubleMatrix implements INDArray {
     }
 
 
-    //getFromOrigin one result along one dimension based on the given offset
-    private IterationResult op(int dimension, int offset, Ops.DimensionOp op,int currOffsetForSlice) {
-        double[] dim = new double[this.shape[dimension]];
-        int count = 0;
-        boolean newSlice = false;
-        for(int j = offset; count < dim.length; j+= this.stride[dimension]) {
-        	  
-        	if(j >= currOffsetForSlice){
-                  newSlice = true;
-                  break;
-        	}
-        	
-        	double d = data[j];
-            dim[count++] = d;
-          
-        }
-
-        return new IterationResult(reduceVector(op,new DoubleMatrix(dim)),newSlice);
-    }
-
-
-    //getFromOrigin one result along one dimension based on the given offset
-    private double op(int dimension, int offset, Ops.DimensionOp op) {
-        double[] dim = new double[this.shape[dimension]];
-        int count = 0;
-        for(int j = offset; count < dim.length; j+= this.stride[dimension]) {
-            double d = data[j];
-            dim[count++] = d;
-        }
-
-        return reduceVector(op,new DoubleMatrix(dim));
-    }
-
-
-
     private double reduceVector(Ops.DimensionOp op,DoubleMatrix vector) {
 
         switch(op) {
@@ -729,6 +791,8 @@ public class NDArray extends DoubleMatrix implements INDArray {
      * Iterate along a dimension.
      * This encapsulates the process of sum, mean, and other processes
      * take when iterating over a dimension.
+     * For a matrix or higher, the op is handed every vector of length shape[dimension]
+     * (dimension 0 of a matrix gives the columns, dimension 1 the rows)
      * @param dimension the dimension to iterate over
      * @param op the operation to apply
      * @param modify whether to modify this array while iterating
@@ -781,6 +845,8 @@ public class NDArray extends DoubleMatrix implements INDArray {
                 throw new IllegalArgumentException("Illegal dimension for vector " + dimension);
         }
 
+        else if(modify && isPacked())
+            iterateOverAxis(dimension,op);
 
         else {
 
@@ -814,6 +880,43 @@ public class NDArray extends DoubleMatrix implements INDArray {
 
     }
 
+    /**
+     * Hands a copy of every vector along the given axis of the packed data
+     * to {@link SliceOp#operate(INDArray)} and writes the copy back,
+     * so ops that modify the vector in place modify this array.
+     * The vectors are split in to slice aligned chunks and run on the
+     * {@link ParallelExecution} pool once the array is past the parallel threshold,
+     * so the op must be safe to call from multiple threads for large arrays.
+     * @param axis the axis to iterate over
+     * @param op the operation to apply
+     */
+    private void iterateOverAxis(int axis,final SliceOp op) {
+        int outer = 1;
+        for(int i = 0; i < axis; i++)
+            outer *= shape[i];
+        final int n = shape[axis];
+        final int inner = length / (outer * n);
+
+        ParallelExecution.run(outer * inner,length,new ParallelExecution.Chunk() {
+            @Override
+            public void operate(int from, int to) {
+                for(int vector = from; vector < to; vector++) {
+                    int begin = (vector / inner) * n * inner + vector % inner;
+                    int[] indices = new int[n];
+                    NDArray ret = new NDArray(new int[]{n});
+                    for(int k = 0; k < n; k++) {
+                        indices[k] = begin + k * inner;
+                        ret.data[k] = data[indices[k]];
+                    }
+
+                    op.operate(ret);
+                    for(int k = 0; k < n; k++)
+                        data[indices[k]] = ret.data[k];
+                }
+            }
+        });
+    }
+
     /**
      * Get elements from specified rows and columns.
      *
@@ -1542,31 +1645,7 @@ public class NDArray extends DoubleMatrix implements INDArray {
             return NDArray.scalar(normmax());
         }
         else {
-            int[] shape = ArrayUtil.removeIndex(shape(),dimension);
-            final INDArray arr = NDArrays.create(new int[]{ArrayUtil.prod(shape)});
-            final AtomicInteger i = new AtomicInteger(0);
-            iterateOverDimension(dimension, new SliceOp() {
-                @Override
-                public void operate(DimensionSlice nd) {
-                    INDArray arr2 = (INDArray) nd.getResult();
-                    arr.put(i.get(),arr2.normmax(0));
-                    i.incrementAndGet();
-                }
-
-                /**
-                 * Operates on an ndarray slice
-                 *
-                 * @param nd the result to operate on
-                 */
-                @Override
-                public void operate(INDArray nd) {
-                    INDArray arr2 = nd;
-                    arr.put(i.get(),arr2.normmax(0));
-                    i.incrementAndGet();
-                }
-            }, false);
-
-            return arr.reshape(shape);
+            return reduceDimension(Ops.DimensionOp.NORM_MAX,dimension);
         }
     }
 
@@ -2587,31 +2666,7 @@ public class NDArray extends DoubleMatrix implements INDArray {
             return NDArray.scalar(prod());
         }
         else {
-            int[] shape = ArrayUtil.removeIndex(shape(),dimension);
-            final INDArray arr = NDArrays.create(new int[]{ArrayUtil.prod(shape)});
-            final AtomicInteger i = new AtomicInteger(0);
-            iterateOverDimension(dimension, new SliceOp() {
-                @Override
-                public void operate(DimensionSlice nd) {
-                    IComplexNDArray arr2 = (IComplexNDArray) nd.getResult();
-                    arr.put(i.get(),arr2.prod(0));
-                    i.incrementAndGet();
-                }
-
-                /**
-                 * Operates on an ndarray slice
-                 *
-                 * @param nd the result to operate on
-                 */
-                @Override
-                public void operate(INDArray nd) {
-                    arr.put(i.get(),nd.prod(0));
-                    i.incrementAndGet();
-
-                }
-            }, false);
-
-            return arr.reshape(shape);
+            return reduceDimension(Ops.DimensionOp.PROD,dimension);
         }
     }
 
@@ -2630,30 +2685,7 @@ public class NDArray extends DoubleMatrix implements INDArray {
             return NDArray.scalar(sum() / length());
         }
         else {
-            int[] shape = ArrayUtil.removeIndex(shape(),dimension);
-            final INDArray arr = NDArrays.create(new int[]{ArrayUtil.prod(shape)});
-            final AtomicInteger i = new AtomicInteger(0);
-            iterateOverDimension(dimension, new SliceOp() {
-                @Override
-                public void operate(DimensionSlice nd) {
-                    INDArray arr2 = (INDArray) nd.getResult();
-                    arr.put(i.get(),arr2.mean(0));
-                    i.incrementAndGet();
-                }
-
-                /**
-                 * Operates on an ndarray slice
-                 *
-                 * @param nd the result to operate on
-                 */
-                @Override
-                public void operate(INDArray nd) {
-                    arr.put(i.get(),nd.mean(0));
-                    i.incrementAndGet();
-                }
-            }, false);
-
-            return arr.reshape(shape);
+            return reduceDimension(Ops.DimensionOp.MEAN,dimension);
         }
     }
 
@@ -2673,30 +2705,7 @@ public class NDArray extends DoubleMatrix implements INDArray {
             return NDArray.scalar(max());
         }
         else {
-            int[] shape = ArrayUtil.removeIndex(shape(),dimension);
-            final INDArray arr = NDArrays.create(new int[]{ArrayUtil.prod(shape)});
-            final AtomicInteger i = new AtomicInteger(0);
-            iterateOverDimension(dimension, new SliceOp() {
-                @Override
-                public void operate(DimensionSlice nd) {
-                    INDArray arr2 = (INDArray) nd.getResult();
-                    arr.put(i.get(),arr2.max(0));
-                    i.incrementAndGet();
-                }
-
-                /**
-                 * Operates on an ndarray slice
-                 *
-                 * @param nd the result to operate on
-                 */
-                @Override
-                public void operate(INDArray nd) {
-                    arr.put(i.get(),nd.max(0));
-                    i.incrementAndGet();
-                }
-            }, false);
-
-            return arr.reshape(shape).transpose();
+            return reduceDimension(Ops.DimensionOp.MAX,dimension);
         }
     }
 
@@ -2716,30 +2725,7 @@ public class NDArray extends DoubleMatrix implements INDArray {
             return NDArray.scalar(min());
         }
         else {
-            int[] shape = ArrayUtil.removeIndex(shape(),dimension);
-            final INDArray arr = NDArrays.create(new int[]{ArrayUtil.prod(shape)});
-            final AtomicInteger i = new AtomicInteger(0);
-            iterateOverDimension(dimension, new SliceOp() {
-                @Override
-                public void operate(DimensionSlice nd) {
-                    INDArray arr2 = (INDArray) nd.getResult();
-                    arr.put(i.get(),arr2.min(0));
-                    i.incrementAndGet();
-                }
-
-                /**
-                 * Operates on an ndarray slice
-                 *
-                 * @param nd the result to operate on
-                 */
-                @Override
-                public void operate(INDArray nd) {
-                    arr.put(i.get(),nd.min(0));
-                    i.incrementAndGet();
-                }
-            }, false);
-
-            return arr.reshape(shape).transpose();
+            return reduceDimension(Ops.DimensionOp.MIN,dimension);
         }
     }
 
@@ -2759,30 +2745,7 @@ public class NDArray extends DoubleMatrix implements INDArray {
             return NDArray.scalar(sum());
         }
         else {
-            int[] shape = ArrayUtil.removeIndex(shape(),dimension);
-            final INDArray arr = NDArrays.create(new int[]{ArrayUtil.prod(shape)});
-            final AtomicInteger i = new AtomicInteger(0);
-            iterateOverDimension(dimension, new SliceOp() {
-                @Override
-                public void operate(DimensionSlice nd) {
-                    INDArray arr2 = (INDArray) nd.getResult();
-                    arr.put(i.get(),arr2.sum(0));
-                    i.incrementAndGet();
-                }
-
-                /**
-                 * Operates on an ndarray slice
-                 *
-                 * @param nd the result to operate on
-                 */
-                @Override
-                public void operate(INDArray nd) {
-                    arr.put(i.get(),nd.sum(0));
-                    i.incrementAndGet();
-                }
-            }, false);
-
-            return arr.reshape(shape).transpose();
+            return reduceDimension(Ops.DimensionOp.SUM,dimension);
         }
     }
 
@@ -2815,31 +2778,7 @@ public class NDArray extends DoubleMatrix implements INDArray {
             return NDArray.scalar(norm1());
         }
         else {
-            int[] shape = ArrayUtil.removeIndex(shape(),dimension);
-            final INDArray arr = NDArrays.create(new int[]{ArrayUtil.prod(shape)});
-            final AtomicInteger i = new AtomicInteger(0);
-            iterateOverDimension(dimension, new SliceOp() {
-                @Override
-                public void operate(DimensionSlice nd) {
-                    INDArray arr2 = (INDArray) nd.getResult();
-                    arr.put(i.get(),arr2.norm1(0));
-                    i.incrementAndGet();
-                }
-
-                /**
-                 * Operates on an ndarray slice
-                 *
-                 * @param nd the result to operate on
-                 */
-                @Override
-                public void operate(INDArray nd) {
-                    arr.put(i.get(),nd.norm1(0));
-                    i.incrementAndGet();
-
-                }
-            }, false);
-
-            return arr.reshape(shape);
+            return reduceDimension(Ops.DimensionOp.NORM_1,dimension);
         }
     }
 
@@ -2914,31 +2853,7 @@ public class NDArray extends DoubleMatrix implements INDArray {
             return NDArray.scalar(norm2());
         }
         else {
-            int[] shape = ArrayUtil.removeIndex(shape(),dimension);
-            final INDArray arr = NDArrays.create(new int[]{ArrayUtil.prod(shape)});
-            final AtomicInteger i = new AtomicInteger(0);
-            iterateOverDimension(dimension, new SliceOp() {
-                @Override
-                public void operate(DimensionSlice nd) {
-                    INDArray arr2 = (INDArray) nd.getResult();
-                    arr.put(i.get(),arr2.norm2(0));
-                    i.incrementAndGet();
-                }
-
-                /**
-                 * Operates on an ndarray slice
-                 *
-                 * @param nd the result to operate on
-                 */
-                @Override
-                public void operate(INDArray nd) {
-                    arr.put(i.get(),nd.norm2(0));
-                    i.incrementAndGet();
-
-                }
-            }, false);
-
-            return arr.reshape(shape);
+            return reduceDimension(Ops.DimensionOp.NORM_2,dimension);
         }
     }
 
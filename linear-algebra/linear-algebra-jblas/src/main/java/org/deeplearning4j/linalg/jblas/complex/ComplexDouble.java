@@ -254,12 +254,7 @@ public class ComplexDouble extends org.jblas.ComplexDouble implements IComplexDo
 
     @Override
     public IComplexNumber muli(Number v, IComplexNumber result) {
-        if (this == result) {
-            set(real() + v.doubleValue(),imag());
-        } else {
-            result.set(result.realComponent().doubleValue() + v.doubleValue(),imaginaryComponent());
-
-        }
+        result.set(real() * v.doubleValue(),imag() * v.doubleValue());
         return result;
     }
 
@@ -300,12 +295,7 @@ public class ComplexDouble extends org.jblas.ComplexDouble implements IComplexDo
 
     @Override
     public IComplexNumber divi(Number v, IComplexNumber result) {
-        if (this == result) {
-            set(real() / v.doubleValue(),imag());
-        } else {
-            result.set(result.realComponent().doubleValue() / v.doubleValue(),imaginaryComponent());
-
-        }
+        result.set(real() / v.doubleValue(),imag() / v.doubleValue());
         return result;
     }
 
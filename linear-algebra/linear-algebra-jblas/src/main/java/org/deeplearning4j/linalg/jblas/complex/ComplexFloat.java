@@ -254,12 +254,7 @@ public class ComplexFloat extends org.jblas.ComplexFloat implements IComplexFloa
 
     @Override
     public IComplexNumber muli(Number v, IComplexNumber result) {
-        if (this == result) {
-            set(real() + v.floatValue(),imag());
-        } else {
-            result.set(result.realComponent().floatValue() + v.floatValue(),imaginaryComponent());
-
-        }
+        result.set(real() * v.floatValue(),imag() * v.floatValue());
         return result;
     }
 
@@ -300,12 +295,7 @@ public class ComplexFloat extends org.jblas.ComplexFloat implements IComplexFloa
 
     @Override
     public IComplexNumber divi(Number v, IComplexNumber result) {
-        if (this == result) {
-            set(real() / v.floatValue(),imag());
-        } else {
-            result.set(result.realComponent().floatValue() / v.floatValue(),imaginaryComponent());
-
-        }
+        result.set(real() / v.floatValue(),imag() / v.floatValue());
         return result;
     }
 
@@ -0,0 +1,107 @@
+package org.deeplearning4j.linalg.jblas.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork join execution of chunked ndarray work (reductions, dimension iteration).
+ *
+ * Work is described as a range of units (usually slices) where each unit
+ * is independent of the others. Ranges are split in half until they are
+ * small enough and each chunk is run on a shared fork join pool.
+ * Anything with less than {@link #getParallelThreshold()} elements
+ * worth of work runs on the calling thread.
+ *
+ * The threshold can be set with the system property
+ * {@value #PARALLEL_THRESHOLD} or with {@link #setParallelThreshold(int)}
+ *
+ * @author Adam Gibson
+ */
+public class ParallelExecution {
+
+    public final static String PARALLEL_THRESHOLD = "org.deeplearning4j.linalg.parallel.threshold";
+    public final static int DEFAULT_PARALLEL_THRESHOLD = 65536;
+    //number of chunks per thread, gives the pool room to balance uneven chunks
+    private final static int CHUNKS_PER_THREAD = 4;
+
+    private static volatile int parallelThreshold = Integer.getInteger(PARALLEL_THRESHOLD,DEFAULT_PARALLEL_THRESHOLD);
+    private static ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+
+    private ParallelExecution() {}
+
+    /**
+     * A unit of work over the units from (inclusive) to (exclusive)
+     */
+    public static interface Chunk {
+        void operate(int from,int to);
+    }
+
+
+    /**
+     * The minimum number of elements touched by an operation
+     * before it is run in parallel
+     * @return the parallel threshold
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets the minimum number of elements touched by an operation
+     * before it is run in parallel. Use {@link Integer#MAX_VALUE} to
+     * always run on the calling thread
+     * @param parallelThreshold the new threshold
+     */
+    public static void setParallelThreshold(int parallelThreshold) {
+        if(parallelThreshold < 1)
+            throw new IllegalArgumentException("Parallel threshold must be at least 1");
+        ParallelExecution.parallelThreshold = parallelThreshold;
+    }
+
+
+    /**
+     * Runs the given chunk over all of the units.
+     * @param units the number of independent units of work
+     * @param numElements the total number of elements touched by the work,
+     *                    compared against the parallel threshold
+     * @param chunk the work to do
+     */
+    public static void run(int units,long numElements,Chunk chunk) {
+        if(units < 1)
+            return;
+        int parallelism = pool.getParallelism();
+        if(units == 1 || parallelism < 2 || numElements < parallelThreshold) {
+            chunk.operate(0,units);
+            return;
+        }
+
+        int grain = Math.max(1,units / (parallelism * CHUNKS_PER_THREAD));
+        pool.invoke(new ChunkAction(chunk,0,units,grain));
+    }
+
+
+    private static class ChunkAction extends RecursiveAction {
+        private Chunk chunk;
+        private int from,to,grain;
+
+        private ChunkAction(Chunk chunk, int from, int to, int grain) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= grain) {
+                chunk.operate(from,to);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkAction(chunk,from,mid,grain),new ChunkAction(chunk,mid,to,grain));
+        }
+    }
+
+}
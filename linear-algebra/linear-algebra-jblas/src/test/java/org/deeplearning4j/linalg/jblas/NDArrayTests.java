@@ -8,6 +8,12 @@ import org.deeplearning4j.linalg.api.ndarray.INDArray;
 import org.deeplearning4j.linalg.api.ndarray.SliceOp;
 import org.deeplearning4j.linalg.factory.NDArrays;
 import org.deeplearning4j.linalg.jblas.complex.ComplexNDArray;
+import org.deeplearning4j.linalg.jblas.util.ParallelExecution;
+import org.deeplearning4j.linalg.ops.ArrayOps;
+import org.deeplearning4j.linalg.ops.ElementWiseOp;
+import org.deeplearning4j.linalg.ops.ElementWiseOpCompose;
+import org.deeplearning4j.linalg.ops.transforms.Exp;
+import org.deeplearning4j.linalg.ops.transforms.Sigmoid;
 import org.deeplearning4j.linalg.ops.reduceops.Ops;
 import org.deeplearning4j.linalg.util.ArrayUtil;
 import org.deeplearning4j.linalg.util.Shape;
@@ -50,6 +56,126 @@ public class NDArrayTests {
     }
 
 
+    @Test
+    public void testElementWiseKernel() {
+        INDArray n = new NDArray(DoubleMatrix.linspace(1,6,6).data,new int[]{2,3});
+        new ArrayOps().from(n).op(Exp.class).build().exec();
+        for(int i = 0; i < 6; i++)
+            assertEquals(Math.exp(i + 1),n.data()[i],1e-6);
+
+        NDArray strided = new NDArray(new double[]{1,2,3,4,5,6},new int[]{3},new int[]{2},0);
+        new ArrayOps().from(strided).op(Exp.class).build().exec();
+        assertTrue(Arrays.equals(new double[]{Math.exp(1),2,Math.exp(3),4,Math.exp(5),6},strided.data));
+    }
+
+
+    @Test
+    public void testParallelReduce() {
+        INDArray matrix = new NDArray(DoubleMatrix.linspace(1,6,6).data,new int[]{2,3});
+        //dimension 0 is per row, dimension 1 per column for every reduction
+        assertEquals(new NDArray(new double[]{6,15},new int[]{2,1}),matrix.reduce(Ops.DimensionOp.SUM,0));
+        assertEquals(new NDArray(new double[]{5,7,9},new int[]{1,3}),matrix.reduce(Ops.DimensionOp.SUM,1));
+        assertEquals(matrix.sum(0),matrix.reduce(Ops.DimensionOp.SUM,0));
+        assertEquals(matrix.sum(1),matrix.reduce(Ops.DimensionOp.SUM,1));
+        assertEquals(new NDArray(new double[]{3,6},new int[]{2,1}),matrix.max(0));
+        assertEquals(new NDArray(new double[]{4,5,6},new int[]{1,3}),matrix.max(1));
+        assertEquals(new NDArray(new double[]{2,5},new int[]{2,1}),matrix.mean(0));
+        assertEquals(new NDArray(new double[]{2.5,3.5,4.5},new int[]{1,3}),matrix.mean(1));
+
+        INDArray cube = new NDArray(DoubleMatrix.linspace(1,24,24).data,new int[]{2,3,4});
+        assertEquals(new NDArray(new double[]{10,26,42,58,74,90},new int[]{2,3}),cube.reduce(Ops.DimensionOp.SUM,0));
+        assertEquals(new NDArray(new double[]{15,18,21,24,51,54,57,60},new int[]{2,4}),cube.reduce(Ops.DimensionOp.SUM,1));
+        assertEquals(cube.sum(0),cube.reduce(Ops.DimensionOp.SUM,0));
+
+        INDArray big = new NDArray(DoubleMatrix.rand(300,70).data,new int[]{300,70});
+        INDArray copy = big.dup();
+        ParallelExecution.setParallelThreshold(Integer.MAX_VALUE);
+        double[] rowSums = big.sum(0).data();
+        double[] columnNorms = big.norm2(1).data();
+        ParallelExecution.setParallelThreshold(1);
+        try {
+            assertArrayEquals(rowSums,big.sum(0).data(),0);
+            assertArrayEquals(columnNorms,big.norm2(1).data(),0);
+
+            big.iterateOverDimension(1,new ScaleByFirst(),true);
+            for(int i = 0; i < 300; i++)
+                for(int j = 0; j < 70; j++)
+                    assertEquals(copy.data()[i * 70 + j] * copy.data()[i * 70],big.data()[i * 70 + j],0);
+
+            assertIterateOverDimension();
+        }
+        finally {
+            ParallelExecution.setParallelThreshold(ParallelExecution.DEFAULT_PARALLEL_THRESHOLD);
+        }
+
+        assertIterateOverDimension();
+    }
+
+    private void assertIterateOverDimension() {
+        //dimension 0 hands over the columns, dimension 1 the rows
+        INDArray columns = new NDArray(new double[]{1,2,3,4,5,6},new int[]{2,3});
+        columns.iterateOverDimension(0,new ScaleByFirst(),true);
+        assertEquals(new NDArray(new double[]{1,4,9,4,10,18},new int[]{2,3}),columns);
+
+        INDArray rows = new NDArray(new double[]{1,2,3,4,5,6},new int[]{2,3});
+        rows.iterateOverDimension(1,new ScaleByFirst(),true);
+        assertEquals(new NDArray(new double[]{1,2,3,16,20,24},new int[]{2,3}),rows);
+    }
+
+    //multiplies every vector by its first element
+    private static class ScaleByFirst implements SliceOp {
+        @Override
+        public void operate(DimensionSlice nd) {
+            throw new IllegalStateException("Expected an ndarray");
+        }
+
+        @Override
+        public void operate(INDArray nd) {
+            double first = (double) nd.getScalar(0).element();
+            nd.muli(NDArrays.scalar(first));
+        }
+    }
+
+
+    @Test
+    public void testFusedElementWise() {
+        ElementWiseOp fused = new ElementWiseOpCompose().mul(2).add(1).op(new Sigmoid()).fuse();
+        INDArray first = new NDArray(DoubleMatrix.linspace(1,6,6).data,new int[]{2,3});
+        INDArray second = new NDArray(DoubleMatrix.linspace(1,6,6).data,new int[]{2,3});
+        //each build gets its own input: building the second doesn't redirect the first
+        ElementWiseOp firstOp = new ArrayOps().from(first).op(fused).build();
+        ElementWiseOp secondOp = new ArrayOps().from(second).op(fused).build();
+        assertNull(fused.from());
+        firstOp.exec();
+        assertEquals(new NDArray(DoubleMatrix.linspace(1,6,6).data,new int[]{2,3}),second);
+        secondOp.exec();
+        for(INDArray n : new INDArray[]{first,second})
+            for(int i = 0; i < 6; i++)
+                assertEquals(1 / (1 + Math.exp(-(2 * (i + 1) + 1))),n.data()[i],1e-6);
+
+        IComplexNDArray complex = new ComplexNDArray(new double[]{1,1,2,0},new int[]{2});
+        ElementWiseOp scale = new ElementWiseOpCompose().mul(2).add(1).fuse();
+        new ArrayOps().from(complex).op(scale).build().exec();
+        assertEquals(new ComplexNDArray(new double[]{3,2,5,0},new int[]{2}),complex);
+    }
+
+
+    @Test
+    public void testComplexSigmoid() {
+        ComplexNDArray complex = new ComplexNDArray(new double[]{1,1,-2,0},new int[]{2});
+        new ArrayOps().from(complex).op(Sigmoid.class).build().exec();
+
+        //1 / (1 + e^-z) for z = 1 + i: e^-z = e^-1 (cos 1 - i sin 1)
+        double re = 1 + Math.exp(-1) * Math.cos(1),im = -Math.exp(-1) * Math.sin(1);
+        double norm = re * re + im * im;
+        assertEquals(re / norm,complex.get(0).real(),1e-6);
+        assertEquals(-im / norm,complex.get(0).imag(),1e-6);
+        //a real argument gives the real sigmoid
+        assertEquals(1 / (1 + Math.exp(2)),complex.get(1).real(),1e-6);
+        assertEquals(0,complex.get(1).imag(),1e-6);
+    }
+
+
     @Test
     public void testSlices() {
         INDArray arr = new NDArray(DoubleMatrix.linspace(1,24,24).data,new int[]{4,3,2});
@@ -2,7 +2,9 @@ package org.deeplearning4j.linalg.jblas;
 
 import static org.junit.Assert.*;
 
+import org.deeplearning4j.linalg.api.complex.IComplexFloat;
 import org.deeplearning4j.linalg.api.ndarray.INDArray;
+import org.deeplearning4j.linalg.factory.NDArrayPool;
 import org.deeplearning4j.linalg.factory.NDArrays;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -27,6 +29,34 @@ public class TestNDArrayCreation {
 
     }
 
+    @Test
+    public void testFactory() {
+        assertTrue(NDArrays.factory() instanceof JblasNDArrayFactory);
+        IComplexFloat f = NDArrays.createFloat(1,2);
+        assertEquals(1,f.realComponent(),1e-6);
+        assertEquals(2,f.imaginaryComponent(),1e-6);
+
+        INDArray fromFloats = NDArrays.create(new float[]{1,2,3,4},new int[]{2,2});
+        assertEquals(NDArrays.create(new double[]{1,2,3,4},new int[]{2,2}),fromFloats);
+    }
+
+    @Test
+    public void testPooled() {
+        INDArray scalar = NDArrays.pooledScalar(2);
+        assertEquals(NDArrays.scalar(2d),scalar);
+        for(int i = 1; i < NDArrayPool.RING_SIZE; i++)
+            assertNotSame(scalar,NDArrays.pooledScalar(i));
+        assertSame(scalar,NDArrays.pooledScalar(3));
+        assertEquals(NDArrays.scalar(3d),scalar);
+
+        INDArray zeros = NDArrays.pooledZeros(new int[]{2,2});
+        zeros.assign(5);
+        for(int i = 1; i < NDArrayPool.RING_SIZE; i++)
+            NDArrays.pooledZeros(new int[]{2,2});
+        assertSame(zeros,NDArrays.pooledZeros(new int[]{2,2}));
+        assertEquals(NDArrays.zeros(new int[]{2,2}),zeros);
+    }
+
 
 
 